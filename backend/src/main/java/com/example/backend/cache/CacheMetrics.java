@@ -0,0 +1,47 @@
+package com.example.backend.cache;
+
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+
+/**
+ * Registriert die Kennzahlen eines {@link ExpiringCache} bei Micrometer.
+ * Die Werte werden beim Auslesen direkt aus dem Cache gelesen, es entsteht
+ * kein zusätzlicher Aufwand pro Zugriff.
+ */
+public final class CacheMetrics {
+
+  private CacheMetrics() {}
+
+  /**
+   * Bindet Treffer, Fehlschläge, Verdrängungen und Größe eines Caches.
+   *
+   * @param registry Registry, bei der die Metriken registriert werden.
+   * @param name Name des Caches, wird als Tag {@code cache} gesetzt.
+   * @param cache Der zu beobachtende Cache.
+   */
+  public static void bind(
+    MeterRegistry registry,
+    String name,
+    ExpiringCache<?, ?> cache
+  ) {
+    FunctionCounter
+      .builder("cache.gets", cache, ExpiringCache::getHits)
+      .tag("cache", name)
+      .tag("result", "hit")
+      .register(registry);
+    FunctionCounter
+      .builder("cache.gets", cache, ExpiringCache::getMisses)
+      .tag("cache", name)
+      .tag("result", "miss")
+      .register(registry);
+    FunctionCounter
+      .builder("cache.evictions", cache, ExpiringCache::getEvictions)
+      .tag("cache", name)
+      .register(registry);
+    Gauge
+      .builder("cache.size", cache, ExpiringCache::size)
+      .tag("cache", name)
+      .register(registry);
+  }
+}
@@ -0,0 +1,175 @@
+package com.example.backend.cache;
+
+import java.util.Iterator;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.BiPredicate;
+import java.util.function.LongSupplier;
+
+/**
+ * Größenbeschränkter In-Memory-Cache, dessen Einträge einen eigenen
+ * Ablaufzeitpunkt besitzen.
+ * Lesezugriffe sind sperrfrei ({@link ConcurrentHashMap}). Wird die maximale
+ * Größe überschritten, werden zuerst abgelaufene und danach beliebige Einträge
+ * verdrängt, bis die Grenze wieder eingehalten ist.
+ * Zählt Treffer und Fehlschläge für einfache Metriken.
+ *
+ * @param <K> Typ der Schlüssel.
+ * @param <V> Typ der Werte.
+ */
+public class ExpiringCache<K, V> {
+
+  private final Map<K, Entry<V>> entries = new ConcurrentHashMap<>();
+  private final int maxSize;
+  private final long defaultTtlMillis;
+  private final LongSupplier clock;
+
+  private final AtomicLong hits = new AtomicLong();
+  private final AtomicLong misses = new AtomicLong();
+  private final AtomicLong evictions = new AtomicLong();
+
+  /**
+   * Konstruktor mit der Systemzeit als Uhr.
+   *
+   * @param maxSize Maximale Anzahl an Einträgen.
+   * @param defaultTtlMillis Standard-Lebensdauer eines Eintrags in Millisekunden.
+   */
+  public ExpiringCache(int maxSize, long defaultTtlMillis) {
+    this(maxSize, defaultTtlMillis, System::currentTimeMillis);
+  }
+
+  /**
+   * Konstruktor mit frei wählbarer Uhr (z. B. für Tests).
+   *
+   * @param maxSize Maximale Anzahl an Einträgen.
+   * @param defaultTtlMillis Standard-Lebensdauer eines Eintrags in Millisekunden.
+   * @param clock Liefert die aktuelle Zeit in Millisekunden.
+   */
+  public ExpiringCache(int maxSize, long defaultTtlMillis, LongSupplier clock) {
+    if (maxSize <= 0) {
+      throw new IllegalArgumentException("maxSize must be positive");
+    }
+    this.maxSize = maxSize;
+    this.defaultTtlMillis = defaultTtlMillis;
+    this.clock = clock;
+  }
+
+  /**
+   * Liefert den Wert zu einem Schlüssel, sofern er vorhanden und nicht abgelaufen ist.
+   *
+   * @param key Gesuchter Schlüssel.
+   * @return Der Wert oder {@code null}, wenn kein gültiger Eintrag existiert.
+   */
+  public V get(K key) {
+    Entry<V> entry = entries.get(key);
+    if (entry == null) {
+      misses.incrementAndGet();
+      return null;
+    }
+    if (entry.expiresAt <= clock.getAsLong()) {
+      entries.remove(key, entry);
+      misses.incrementAndGet();
+      return null;
+    }
+    hits.incrementAndGet();
+    return entry.value;
+  }
+
+  /**
+   * Speichert einen Wert mit der Standard-Lebensdauer.
+   *
+   * @param key Schlüssel.
+   * @param value Zu speichernder Wert.
+   */
+  public void put(K key, V value) {
+    put(key, value, clock.getAsLong() + defaultTtlMillis);
+  }
+
+  /**
+   * Speichert einen Wert bis zu einem festen Ablaufzeitpunkt. Der Zeitpunkt wird
+   * auf die Standard-Lebensdauer begrenzt.
+   *
+   * @param key Schlüssel.
+   * @param value Zu speichernder Wert.
+   * @param expiresAtMillis Ablaufzeitpunkt in Millisekunden seit der Epoche.
+   */
+  public void put(K key, V value, long expiresAtMillis) {
+    long now = clock.getAsLong();
+    long expiresAt = Math.min(expiresAtMillis, now + defaultTtlMillis);
+    if (expiresAt <= now) {
+      return;
+    }
+    entries.put(key, new Entry<>(value, expiresAt));
+    if (entries.size() > maxSize) {
+      evict(now);
+    }
+  }
+
+  /**
+   * Entfernt den Eintrag zu einem Schlüssel.
+   *
+   * @param key Zu entfernender Schlüssel.
+   */
+  public void invalidate(K key) {
+    entries.remove(key);
+  }
+
+  /**
+   * Entfernt alle Einträge, auf die das Prädikat zutrifft.
+   *
+   * @param predicate Prüft Schlüssel und Wert eines Eintrags.
+   */
+  public void invalidateIf(BiPredicate<K, V> predicate) {
+    entries
+      .entrySet()
+      .removeIf(e -> predicate.test(e.getKey(), e.getValue().value));
+  }
+
+  /**
+   * Leert den Cache vollständig.
+   */
+  public void clear() {
+    entries.clear();
+  }
+
+  /**
+   * @return Aktuelle Anzahl an Einträgen (inklusive noch nicht bereinigter, abgelaufener Einträge).
+   */
+  public int size() {
+    return entries.size();
+  }
+
+  /**
+   * @return Anzahl der Treffer seit dem Start.
+   */
+  public long getHits() {
+    return hits.get();
+  }
+
+  /**
+   * @return Anzahl der Fehlschläge seit dem Start.
+   */
+  public long getMisses() {
+    return misses.get();
+  }
+
+  /**
+   * @return Anzahl der wegen Platzmangels verdrängten Einträge.
+   */
+  public long getEvictions() {
+    return evictions.get();
+  }
+
+  private void evict(long now) {
+    entries.values().removeIf(e -> e.expiresAt <= now);
+    Iterator<K> keys = entries.keySet().iterator();
+    while (entries.size() > maxSize && keys.hasNext()) {
+      keys.next();
+      keys.remove();
+      evictions.incrementAndGet();
+    }
+  }
+
+  private record Entry<V>(V value, long expiresAt) {}
+}
@@ -0,0 +1,65 @@
+package com.example.backend.cache;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+
+import org.springframework.stereotype.Component;
+
+/**
+ * Versionszähler für die Daten eines Benutzers (Medien, Kategorien, Personen
+ * und Ausleihen).
+ * Jede ändernde Operation erhöht die Version ihres Benutzers; Listen-Endpunkte
+ * leiten daraus ihr ETag ab und beantworten {@code If-None-Match} mit 304,
+ * ohne die Datenbank abzufragen. Die Versionen stammen aus einer globalen,
+ * monoton steigenden Folge und werden nur im Speicher gehalten. Damit ETags
+ * aus einem früheren Lauf nach einem Neustart nicht wieder gültig werden,
+ * enthalten sie zusätzlich den Startzeitpunkt der Instanz.
+ * Bei mehreren Instanzen ohne Sticky Sessions kennt jede Instanz nur ihre
+ * eigenen Änderungen; die ETags werden deshalb nur verwendet, wenn
+ * {@code http.conditional-get.enabled} gesetzt ist (siehe
+ * {@link com.example.backend.controller.ConditionalGet}).
+ */
+@Component
+public class UserDataVersions {
+
+  private final String epoch = Long.toString(System.currentTimeMillis(), 36);
+  private final AtomicLong sequence = new AtomicLong();
+  private final Map<Long, Long> versions = new ConcurrentHashMap<>();
+
+  /**
+   * @param userId ID des Benutzers.
+   * @return Aktuelle Version der Daten des Benutzers; 0, solange seit dem Start nichts geändert wurde.
+   */
+  public long current(Long userId) {
+    return versions.getOrDefault(userId, 0L);
+  }
+
+  /**
+   * Markiert die Daten eines Benutzers als geändert.
+   * Muss nach dem Speichern aufgerufen werden, damit eine gleichzeitige
+   * Leseanfrage keine neue Version mit alten Daten ausliefert.
+   * @param userId ID des Benutzers.
+   */
+  public void bump(Long userId) {
+    versions.put(userId, sequence.incrementAndGet());
+  }
+
+  /**
+   * Erstellt ein ETag für den aktuellen Datenstand eines Benutzers.
+   * @param userId ID des Benutzers.
+   * @param variant Zusätzliche Bestandteile, von denen die Antwort abhängt
+   * (z. B. ein Stichtag); werden an das ETag angehängt.
+   * @return Das ETag einschließlich Anführungszeichen.
+   */
+  public String etag(Long userId, Object... variant) {
+    StringBuilder etag = new StringBuilder("\"")
+      .append(epoch)
+      .append('-')
+      .append(current(userId));
+    for (Object part : variant) {
+      etag.append('-').append(part);
+    }
+    return etag.append('"').toString();
+  }
+}
@@ -0,0 +1,133 @@
+package com.example.backend.calendar;
+
+import java.time.LocalDate;
+import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import com.example.backend.cache.CacheMetrics;
+import com.example.backend.cache.ExpiringCache;
+import com.example.backend.cache.UserDataVersions;
+import com.example.backend.dto.LoanDTO;
+import com.example.backend.exception.LoanException;
+import com.example.backend.repository.LoanRepository;
+import com.example.backend.security.AuthenticatedUser;
+
+import io.micrometer.core.instrument.MeterRegistry;
+
+/**
+ * Service für die Kalenderansicht der Ausleihen des angemeldeten Benutzers.
+ * Liefert die Ausleihen, deren Zeitraum (siehe {@link LoanIntervalTree}) ein
+ * Datumsfenster berührt, z. B. den angezeigten Monat.
+ * Die offenen Ausleihen werden pro Benutzer als {@link LoanIntervalTree} im
+ * Speicher gehalten, sodass das Blättern zwischen Monaten keine Abfrage
+ * auslöst. Der Baum merkt sich die {@link UserDataVersions Datenversion},
+ * aus der er aufgebaut wurde, und wird beim nächsten Zugriff nach einer
+ * Änderung neu geladen. Zurückgegebene Ausleihen werden nur auf Wunsch
+ * über den Index {@code (person_id, returned_at, borrowed_at)} abgefragt.
+ */
+@Service
+public class LoanCalendarService {
+
+  /** Maximale Länge eines Datumsfensters in Tagen. */
+  public static final int MAX_WINDOW_DAYS = 366;
+
+  private static final Comparator<LoanDTO> ORDER = Comparator
+    .comparing(LoanDTO::getBorrowedAt)
+    .thenComparing(LoanDTO::getLoanId);
+
+  private final LoanRepository loanRepository;
+  private final AuthenticatedUser authenticatedUser;
+  private final UserDataVersions userDataVersions;
+  private final ExpiringCache<Long, Snapshot> activeLoans;
+
+  /**
+   * Konstruktor.
+   * @param loanRepository Repository für Ausleihen
+   * @param authenticatedUser Angemeldeter Benutzer der aktuellen Anfrage
+   * @param userDataVersions Versionszähler, an dem veraltete Bäume erkannt werden
+   * @param meterRegistry Registry für die Cache-Metriken
+   * @param maxUsers Maximale Anzahl von Benutzern, deren Baum im Speicher gehalten wird
+   * @param ttlMillis Lebensdauer eines Baums in Millisekunden
+   */
+  public LoanCalendarService(
+    LoanRepository loanRepository,
+    AuthenticatedUser authenticatedUser,
+    UserDataVersions userDataVersions,
+    MeterRegistry meterRegistry,
+    @Value("${loans.calendar.max-users:1000}") int maxUsers,
+    @Value("${loans.calendar.ttl-ms:1800000}") long ttlMillis
+  ) {
+    this.loanRepository = loanRepository;
+    this.authenticatedUser = authenticatedUser;
+    this.userDataVersions = userDataVersions;
+    this.activeLoans = new ExpiringCache<>(maxUsers, ttlMillis);
+    CacheMetrics.bind(meterRegistry, "loan-calendar", activeLoans);
+  }
+
+  /**
+   * Liefert die Ausleihen des angemeldeten Benutzers, die das Datumsfenster berühren.
+   * @param from Erster Tag des Fensters.
+   * @param to Letzter Tag des Fensters (einschließlich).
+   * @param includeReturned Ob auch zurückgegebene Ausleihen geliefert werden.
+   * @return Ausleihen aufsteigend nach Ausleihzeitpunkt und ID.
+   * @throws LoanException Wenn das Fenster fehlt, umgekehrt oder länger als {@link #MAX_WINDOW_DAYS} Tage ist.
+   */
+  public List<LoanDTO> getCalendar(
+    LocalDate from,
+    LocalDate to,
+    boolean includeReturned
+  ) {
+    if (from == null || to == null) {
+      throw new LoanException("from and to are required");
+    }
+    if (from.isAfter(to)) {
+      throw new LoanException("from must not be after to");
+    }
+    if (ChronoUnit.DAYS.between(from, to) >= MAX_WINDOW_DAYS) {
+      throw new LoanException(
+        "Window must not be longer than " + MAX_WINDOW_DAYS + " days"
+      );
+    }
+    Long userId = authenticatedUser.getUserId();
+    List<LoanDTO> loans = new ArrayList<>(treeFor(userId).overlapping(from, to));
+    if (includeReturned) {
+      loans.addAll(
+        loanRepository.findReturnedLoanDTOsOverlapping(
+          userId,
+          from.atStartOfDay(),
+          to.plusDays(1).atStartOfDay()
+        )
+      );
+    }
+    loans.sort(ORDER);
+    return loans;
+  }
+
+  private LoanIntervalTree treeFor(Long userId) {
+    // Version vor dem Laden lesen: Eine Änderung, die währenddessen festgeschrieben
+    // wird, erhöht die Version danach und erzwingt beim nächsten Zugriff einen Neuaufbau
+    long version = userDataVersions.current(userId);
+    Snapshot snapshot = activeLoans.get(userId);
+    if (snapshot == null || snapshot.version() != version) {
+      snapshot =
+        new Snapshot(
+          version,
+          LoanIntervalTree.of(loanRepository.findActiveLoanDTOsByUserId(userId))
+        );
+      activeLoans.put(userId, snapshot);
+    }
+    return snapshot.tree();
+  }
+
+  /**
+   * Baum der offenen Ausleihen eines Benutzers.
+   * @param version Datenversion, aus der der Baum aufgebaut wurde.
+   * @param tree Der Baum.
+   */
+  private record Snapshot(long version, LoanIntervalTree tree) {}
+}
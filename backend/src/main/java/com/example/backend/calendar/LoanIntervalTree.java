@@ -0,0 +1,141 @@
+package com.example.backend.calendar;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.List;
+
+import com.example.backend.dto.LoanDTO;
+
+/**
+ * Unveränderlicher Intervallbaum über Ausleihen für die Kalenderansicht.
+ * Jede Ausleihe belegt die Tage von der Ausleihe bis zur Rückgabe bzw., wenn
+ * sie noch offen ist, bis zur Fälligkeit (jeweils einschließlich).
+ * Die Intervalle liegen nach Beginn sortiert in Arrays; die Mitte jedes
+ * Bereichs bildet implizit einen balancierten Suchbaum, in dem jeder Knoten
+ * das späteste Ende seines Teilbaums speichert. Eine Abfrage überspringt so
+ * alle Teilbäume, die vor dem Zeitraum enden oder nach ihm beginnen, und
+ * braucht O(log n + k) Schritte für k Treffer.
+ * Die Klasse ist threadsicher, da sie nach dem Aufbau nicht mehr verändert
+ * wird; bei Änderungen wird ein neuer Baum aufgebaut.
+ */
+public final class LoanIntervalTree {
+
+  private static final LoanIntervalTree EMPTY = new LoanIntervalTree(List.of());
+
+  private final LoanDTO[] loans;
+  private final long[] starts;
+  private final long[] ends;
+  private final long[] maxEnds;
+
+  private LoanIntervalTree(List<LoanDTO> sorted) {
+    int size = sorted.size();
+    loans = sorted.toArray(new LoanDTO[size]);
+    starts = new long[size];
+    ends = new long[size];
+    maxEnds = new long[size];
+    for (int i = 0; i < size; i++) {
+      starts[i] = start(loans[i]);
+      ends[i] = Math.max(starts[i], end(loans[i]));
+    }
+    computeMaxEnds(0, size);
+  }
+
+  /**
+   * Baut einen Baum aus vielen Ausleihen auf einmal auf.
+   * Ausleihen ohne Ausleihzeitpunkt werden nicht aufgenommen.
+   * @param loans Ausleihen.
+   * @return Der neue Baum.
+   */
+  public static LoanIntervalTree of(Collection<LoanDTO> loans) {
+    if (loans.isEmpty()) {
+      return EMPTY;
+    }
+    List<LoanDTO> sorted = new ArrayList<>(loans.size());
+    for (LoanDTO loan : loans) {
+      if (loan.getBorrowedAt() != null) {
+        sorted.add(loan);
+      }
+    }
+    sorted.sort(
+      Comparator
+        .comparingLong(LoanIntervalTree::start)
+        .thenComparing(LoanDTO::getLoanId)
+    );
+    return new LoanIntervalTree(sorted);
+  }
+
+  /**
+   * @return Anzahl der Ausleihen im Baum.
+   */
+  public int size() {
+    return loans.length;
+  }
+
+  /**
+   * Liefert alle Ausleihen, deren Intervall den Zeitraum berührt.
+   * @param from Erster Tag des Zeitraums.
+   * @param to Letzter Tag des Zeitraums (einschließlich).
+   * @return Ausleihen aufsteigend nach Ausleihtag und ID.
+   */
+  public List<LoanDTO> overlapping(LocalDate from, LocalDate to) {
+    List<LoanDTO> result = new ArrayList<>();
+    collect(0, loans.length, from.toEpochDay(), to.toEpochDay(), result);
+    return result;
+  }
+
+  /**
+   * @return Ausleihtag als Epochentag.
+   */
+  static long start(LoanDTO loan) {
+    return loan.getBorrowedAt().toLocalDate().toEpochDay();
+  }
+
+  /**
+   * @return Rückgabetag bzw. Fälligkeitstag als Epochentag; der Ausleihtag, wenn beides fehlt.
+   */
+  static long end(LoanDTO loan) {
+    if (loan.getReturnedAt() != null) {
+      return loan.getReturnedAt().toLocalDate().toEpochDay();
+    }
+    if (loan.getDueDate() != null) {
+      return loan.getDueDate().toEpochDay();
+    }
+    return start(loan);
+  }
+
+  /** @return Spätestes Ende im Teilbaum {@code [low, high)}. */
+  private long computeMaxEnds(int low, int high) {
+    if (low >= high) {
+      return Long.MIN_VALUE;
+    }
+    int mid = (low + high) >>> 1;
+    long max = Math.max(
+      ends[mid],
+      Math.max(computeMaxEnds(low, mid), computeMaxEnds(mid + 1, high))
+    );
+    maxEnds[mid] = max;
+    return max;
+  }
+
+  private void collect(int low, int high, long from, long to, List<LoanDTO> result) {
+    if (low >= high) {
+      return;
+    }
+    int mid = (low + high) >>> 1;
+    // Kein Intervall im Teilbaum reicht bis in den Zeitraum
+    if (maxEnds[mid] < from) {
+      return;
+    }
+    collect(low, mid, from, to, result);
+    // Alle Intervalle rechts davon beginnen erst nach dem Zeitraum
+    if (starts[mid] > to) {
+      return;
+    }
+    if (ends[mid] >= from) {
+      result.add(loans[mid]);
+    }
+    collect(mid + 1, high, from, to, result);
+  }
+}
@@ -16,6 +16,7 @@ import com.example.backend.dto.AuthResponseDTO;
 import com.example.backend.dto.LoginDTO;
 import com.example.backend.dto.RegisterDTO;
 import com.example.backend.exception.LoginException;
+import com.example.backend.exception.PasswordHashingBusyException;
 import com.example.backend.model.UserEntity;
 import com.example.backend.repository.UserRepository;
 import com.example.backend.security.JWTGenerator;
@@ -59,6 +60,7 @@ public class AuthController {
    *
    * @param registerDto Registrierungsdaten des Benutzers
    * @return Eine {@link ResponseEntity}, die eine Erfolgs- oder Fehlermeldung enthält
+   * @throws PasswordHashingBusyException Wenn das Passwort-Hashing ausgelastet ist
    */
   @PostMapping("register")
   public ResponseEntity<String> register(@RequestBody RegisterDTO registerDto) {
@@ -104,6 +106,7 @@ public class AuthController {
    * @param loginDto  Login-Daten des Benutzers
    * @return Eine {@link ResponseEntity}, die das Authentifizierungs-Token enthält, falls der Login erfolgreich ist
    * @throws LoginException Wenn der Benutzername oder das Passwort ungültig ist
+   * @throws PasswordHashingBusyException Wenn das Passwort-Hashing ausgelastet ist
    */
   @PostMapping("login")
   public ResponseEntity<AuthResponseDTO> login(@RequestBody LoginDTO loginDto) {
@@ -126,7 +129,13 @@ public class AuthController {
         new AuthResponseDTO(token, token),
         HttpStatus.OK
       );
+    } catch (PasswordHashingBusyException ex) {
+      throw ex;
     } catch (Exception ex) {
+      // Spring Security verpackt Fehler aus dem Benutzer-Lookup
+      if (ex.getCause() instanceof PasswordHashingBusyException busy) {
+        throw busy;
+      }
       throw new LoginException("Invalid username or password");
     }
   }
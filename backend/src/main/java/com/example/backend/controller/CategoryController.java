@@ -3,7 +3,6 @@ package com.example.backend.controller;
 import java.util.List;
 
 import org.springframework.http.ResponseEntity;
-import org.springframework.security.core.Authentication;
 import org.springframework.web.bind.annotation.DeleteMapping;
 import org.springframework.web.bind.annotation.GetMapping;
 import org.springframework.web.bind.annotation.PathVariable;
@@ -12,6 +11,7 @@ import org.springframework.web.bind.annotation.PutMapping;
 import org.springframework.web.bind.annotation.RequestBody;
 import org.springframework.web.bind.annotation.RequestMapping;
 import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.context.request.WebRequest;
 
 import com.example.backend.dto.CategoryDTO;
 import com.example.backend.model.CategoryEntity;
@@ -26,29 +26,31 @@ import com.example.backend.service.CategoryService;
 public class CategoryController {
 
   private final CategoryService categoryService;
+  private final ConditionalGet conditionalGet;
 
   /**
    * Konstruktor  {@code CategoryController}.
    * 
    * @param categoryService Implementiert Logik für Kategorien.
+   * @param conditionalGet Beantwortet unveränderte Listen mit 304.
    */
-  public CategoryController(CategoryService categoryService) {
+  public CategoryController(
+    CategoryService categoryService,
+    ConditionalGet conditionalGet
+  ) {
     this.categoryService = categoryService;
+    this.conditionalGet = conditionalGet;
   }
 
   /**
    * Erstellt eine neue Kategorie.
    * 
    * @param categoryDTO Informationen zur neuen Kategorie.
-   * @param authentication Die Authentifizierung des aktuellen Benutzers.
    * @return Erstellte {@link CategoryEntity}.
    */
   @PostMapping
-  public CategoryEntity createCategory(
-    @RequestBody CategoryDTO categoryDTO,
-    Authentication authentication
-  ) {
-    return categoryService.createCategory(categoryDTO, authentication);
+  public CategoryEntity createCategory(@RequestBody CategoryDTO categoryDTO) {
+    return categoryService.createCategory(categoryDTO);
   }
 
   /**
@@ -82,14 +84,16 @@ public class CategoryController {
    * Gibt Liste alle Kategorien aus, die dem jeweiligen aktuell authentifizierten
    * Benutzer zu geordnet sind. Kategorien liegen als Data Transfer Objects vor.
    * 
-   * @param authentication Authentifizierungsinformationen des aktuellen Benutzers.
+   * Unterstützt bedingte Anfragen über {@code If-None-Match}.
+   * 
+   * @param request Aktuelle Anfrage.
    * @return Eine Liste von {@link CategoryDTO}-Objekten, die zu dem Benutzer gehören.
    */
   @GetMapping("/user/dto")
-  public List<CategoryDTO> getCategoryDTOsForUser(
-    Authentication authentication
-  ) {
-    String username = authentication.getName();
-    return categoryService.getCategoryDTOsByUsername(username);
+  public List<CategoryDTO> getCategoryDTOsForUser(WebRequest request) {
+    if (conditionalGet.isNotModified(request)) {
+      return null;
+    }
+    return categoryService.getCategoryDTOsOfCurrentUser();
   }
 }
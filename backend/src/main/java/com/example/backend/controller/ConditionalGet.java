@@ -0,0 +1,92 @@
+package com.example.backend.controller;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.HttpHeaders;
+import org.springframework.stereotype.Component;
+import org.springframework.web.context.request.NativeWebRequest;
+import org.springframework.web.context.request.WebRequest;
+
+import com.example.backend.cache.UserDataVersions;
+import com.example.backend.security.AuthenticatedUser;
+
+import jakarta.servlet.http.HttpServletResponse;
+
+/**
+ * Unterstützung für bedingte GET-Anfragen auf benutzerbezogene Listen.
+ * Das ETag wird aus der Datenversion des Benutzers ({@link UserDataVersions})
+ * gebildet. Stimmt es mit {@code If-None-Match} überein, antwortet der
+ * Endpunkt mit 304, bevor Daten geladen werden.
+ * Die Datenversion wird nur im Speicher der jeweiligen Instanz gezählt. Daher
+ * ist die Unterstützung standardmäßig ausgeschaltet und darf über
+ * {@code http.conditional-get.enabled=true} nur eingeschaltet werden, wenn
+ * genau eine Instanz läuft oder alle Anfragen eines Benutzers per Sticky
+ * Session dieselbe Instanz erreichen. Sonst liefert eine Instanz, die eine
+ * Änderung nicht gesehen hat, für ein veraltetes ETag weiterhin 304.
+ */
+@Component
+public class ConditionalGet {
+
+  /** Browser dürfen die Antwort speichern, müssen sie aber vor jeder Verwendung prüfen. */
+  static final String CACHE_CONTROL = "private, no-cache";
+
+  private final UserDataVersions userDataVersions;
+  private final AuthenticatedUser authenticatedUser;
+  private final boolean enabled;
+
+  /**
+   * Konstruktor.
+   * @param userDataVersions Versionszähler der Benutzerdaten.
+   * @param authenticatedUser Angemeldeter Benutzer der aktuellen Anfrage.
+   * @param enabled Ob ETags gesetzt und geprüft werden; nur für eine Instanz oder Sticky Sessions.
+   */
+  public ConditionalGet(
+    UserDataVersions userDataVersions,
+    AuthenticatedUser authenticatedUser,
+    @Value("${http.conditional-get.enabled:false}") boolean enabled
+  ) {
+    this.userDataVersions = userDataVersions;
+    this.authenticatedUser = authenticatedUser;
+    this.enabled = enabled;
+  }
+
+  /**
+   * Prüft, ob sich die Daten des angemeldeten Benutzers seit dem vom Client
+   * übermittelten ETag geändert haben, und setzt ETag und Cache-Control.
+   * @param request Aktuelle Anfrage.
+   * @param variant Zusätzliche Bestandteile des ETags, siehe {@link UserDataVersions#etag}.
+   * @return {@code true}, wenn mit 304 geantwortet wird; der Endpunkt gibt dann {@code null} zurück.
+   * Bei ausgeschalteter Unterstützung immer {@code false}.
+   */
+  public boolean isNotModified(WebRequest request, Object... variant) {
+    if (!enabled) {
+      return false;
+    }
+    return isNotModifiedForUser(request, authenticatedUser.getUserId(), variant);
+  }
+
+  /**
+   * Wie {@link #isNotModified(WebRequest, Object...)}, aber für die Daten eines bestimmten Benutzers.
+   * @param request Aktuelle Anfrage.
+   * @param userId ID des Benutzers, dessen Daten geliefert werden.
+   * @param variant Zusätzliche Bestandteile des ETags.
+   * @return {@code true}, wenn mit 304 geantwortet wird.
+   */
+  public boolean isNotModifiedForUser(
+    WebRequest request,
+    Long userId,
+    Object... variant
+  ) {
+    if (!enabled) {
+      return false;
+    }
+    if (request instanceof NativeWebRequest nativeRequest) {
+      HttpServletResponse response = nativeRequest.getNativeResponse(
+        HttpServletResponse.class
+      );
+      if (response != null) {
+        response.setHeader(HttpHeaders.CACHE_CONTROL, CACHE_CONTROL);
+      }
+    }
+    return request.checkNotModified(userDataVersions.etag(userId, variant));
+  }
+}
@@ -0,0 +1,144 @@
+package com.example.backend.controller;
+
+import java.io.IOException;
+import java.nio.channels.Channels;
+import java.nio.channels.FileChannel;
+import java.nio.channels.WritableByteChannel;
+import java.nio.file.Files;
+import java.nio.file.StandardOpenOption;
+import java.util.List;
+
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.HttpRange;
+import org.springframework.http.HttpStatus;
+import org.springframework.stereotype.Component;
+import org.springframework.web.context.request.ServletWebRequest;
+
+import com.example.backend.cover.CoverFile;
+
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+
+/**
+ * Schreibt Bilddateien direkt in die Antwort, ohne sie in den Heap zu laden.
+ * Unterstützt bedingte Anfragen über das starke ETag ({@code If-None-Match}),
+ * einzelne Byte-Bereiche ({@code Range}, {@code If-Range}) und langlebige
+ * Cache-Header für unveränderliche Inhalte.
+ * Unterstützt der Connector Sendfile (Tomcat NIO), übergibt Tomcat die Datei
+ * selbst per {@link FileChannel#transferTo} an den Socket; andernfalls wird
+ * die Datei mit {@link FileChannel#transferTo} in den Ausgabestrom kopiert.
+ */
+@Component
+public class CoverFileSender {
+
+  /** Inhalte unter inhaltsadressierten URLs ändern sich nie. */
+  static final String CACHE_IMMUTABLE = "public, max-age=31536000, immutable";
+
+  /** Vorläufige Inhalte müssen vor jeder Verwendung geprüft werden. */
+  static final String CACHE_REVALIDATE = "public, no-cache";
+
+  static final String SENDFILE_SUPPORT = "org.apache.tomcat.sendfile.support";
+  static final String SENDFILE_FILENAME = "org.apache.tomcat.sendfile.filename";
+  static final String SENDFILE_START = "org.apache.tomcat.sendfile.start";
+  static final String SENDFILE_END = "org.apache.tomcat.sendfile.end";
+
+  /**
+   * Beantwortet eine GET- oder HEAD-Anfrage mit der Datei.
+   * @param request Aktuelle Anfrage.
+   * @param response Antwort, in die geschrieben wird.
+   * @param file Auszuliefernde Datei.
+   * @throws IOException Wenn die Datei nicht gelesen oder die Antwort nicht geschrieben werden kann.
+   */
+  public void send(
+    HttpServletRequest request,
+    HttpServletResponse response,
+    CoverFile file
+  ) throws IOException {
+    long length = Files.size(file.path());
+    response.setHeader(
+      HttpHeaders.CACHE_CONTROL,
+      file.immutable() ? CACHE_IMMUTABLE : CACHE_REVALIDATE
+    );
+    response.setHeader(HttpHeaders.ACCEPT_RANGES, "bytes");
+    if (new ServletWebRequest(request, response).checkNotModified(file.etag())) {
+      return;
+    }
+
+    long start = 0;
+    long count = length;
+    HttpRange range = requestedRange(request, file.etag());
+    if (range != null) {
+      long end;
+      try {
+        start = range.getRangeStart(length);
+        end = range.getRangeEnd(length);
+      } catch (IllegalArgumentException ex) {
+        start = length;
+        end = -1;
+      }
+      if (start >= length || end < start) {
+        response.setStatus(HttpStatus.REQUESTED_RANGE_NOT_SATISFIABLE.value());
+        response.setHeader(HttpHeaders.CONTENT_RANGE, "bytes */" + length);
+        return;
+      }
+      count = end - start + 1;
+      response.setStatus(HttpStatus.PARTIAL_CONTENT.value());
+      response.setHeader(
+        HttpHeaders.CONTENT_RANGE,
+        "bytes " + start + "-" + end + "/" + length
+      );
+    }
+
+    response.setContentType(file.format().getContentType());
+    response.setContentLengthLong(count);
+    if (HttpMethod.HEAD.matches(request.getMethod()) || count == 0) {
+      return;
+    }
+
+    if (Boolean.TRUE.equals(request.getAttribute(SENDFILE_SUPPORT))) {
+      // Tomcat sendet die Datei nach Rückkehr des Servlets selbst
+      request.setAttribute(SENDFILE_FILENAME, file.path().toRealPath().toString());
+      request.setAttribute(SENDFILE_START, start);
+      request.setAttribute(SENDFILE_END, start + count);
+      return;
+    }
+    try (FileChannel channel = FileChannel.open(file.path(), StandardOpenOption.READ)) {
+      WritableByteChannel out = Channels.newChannel(response.getOutputStream());
+      long position = start;
+      long remaining = count;
+      while (remaining > 0) {
+        long sent = channel.transferTo(position, remaining, out);
+        if (sent <= 0) {
+          break;
+        }
+        position += sent;
+        remaining -= sent;
+      }
+    }
+  }
+
+  /**
+   * Ermittelt den angefragten Byte-Bereich. Mehrere Bereiche werden nicht
+   * unterstützt und wie eine Anfrage ohne {@code Range} behandelt, ebenso ein
+   * {@code If-Range}, das nicht zum aktuellen ETag passt.
+   * @return Der Bereich oder {@code null}, wenn die ganze Datei geliefert wird.
+   */
+  private static HttpRange requestedRange(HttpServletRequest request, String etag) {
+    String header = request.getHeader(HttpHeaders.RANGE);
+    if (header == null) {
+      return null;
+    }
+    String ifRange = request.getHeader(HttpHeaders.IF_RANGE);
+    if (ifRange != null && !ifRange.trim().equals(etag)) {
+      return null;
+    }
+    List<HttpRange> ranges;
+    try {
+      ranges = HttpRange.parseRanges(header);
+    } catch (IllegalArgumentException ex) {
+      return null;
+    }
+    return ranges.size() == 1 ? ranges.get(0) : null;
+  }
+}
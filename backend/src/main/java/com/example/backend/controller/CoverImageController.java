@@ -0,0 +1,117 @@
+package com.example.backend.controller;
+
+import java.io.IOException;
+import java.io.InputStream;
+
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.DeleteMapping;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.PutMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+
+import com.example.backend.cover.CoverImageService;
+import com.example.backend.dto.MediaCoverDTO;
+
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+
+/**
+ * REST-Controller für die Titelbilder der Medien.
+ * Hochladen und Entfernen erfolgen je Medium; abgerufen werden die Bilder über
+ * ihren inhaltsadressierten Schlüssel, ohne Datenbankzugriff und mit
+ * unbegrenzt gültigen Cache-Headern.
+ */
+@RestController
+@RequestMapping("/api")
+public class CoverImageController {
+
+  private final CoverImageService coverImageService;
+  private final CoverFileSender coverFileSender;
+
+  /**
+   * Konstruktor {@code CoverImageController}.
+   *
+   * @param coverImageService Implementierung der Logik für Titelbilder.
+   * @param coverFileSender Schreibt die Bilddateien in die Antwort.
+   */
+  public CoverImageController(
+    CoverImageService coverImageService,
+    CoverFileSender coverFileSender
+  ) {
+    this.coverImageService = coverImageService;
+    this.coverFileSender = coverFileSender;
+  }
+
+  /**
+   * Setzt oder ersetzt das Titelbild eines Mediums. Die Bilddaten werden direkt
+   * als Anfrageinhalt übertragen (kein Multipart).
+   *
+   * @param mediaId ID des Mediums.
+   * @param image Bilddaten (JPEG, PNG oder GIF).
+   * @return Schlüssel des Bilds als {@link MediaCoverDTO}.
+   * @throws IOException Wenn das Bild nicht gelesen oder gespeichert werden kann.
+   */
+  @PutMapping(
+    value = "/media/{mediaId}/cover",
+    consumes = {
+      MediaType.IMAGE_JPEG_VALUE,
+      MediaType.IMAGE_PNG_VALUE,
+      MediaType.IMAGE_GIF_VALUE,
+    }
+  )
+  public MediaCoverDTO uploadCover(
+    @PathVariable Long mediaId,
+    InputStream image
+  ) throws IOException {
+    return coverImageService.uploadCover(mediaId, image);
+  }
+
+  /**
+   * Entfernt das Titelbild eines Mediums.
+   *
+   * @param mediaId ID des Mediums.
+   * @return Eine leere {@link ResponseEntity} mit dem HTTP-Status "204 No Content".
+   */
+  @DeleteMapping("/media/{mediaId}/cover")
+  public ResponseEntity<Void> deleteCover(@PathVariable Long mediaId) {
+    coverImageService.deleteCover(mediaId);
+    return ResponseEntity.noContent().build();
+  }
+
+  /**
+   * Liefert ein Titelbild in Originalgröße.
+   *
+   * @param key Schlüssel des Bilds.
+   * @param request Aktuelle Anfrage.
+   * @param response Antwort, in die das Bild geschrieben wird.
+   * @throws IOException Wenn das Bild nicht gelesen werden kann.
+   */
+  @GetMapping("/covers/{key}")
+  public void getCover(
+    @PathVariable String key,
+    HttpServletRequest request,
+    HttpServletResponse response
+  ) throws IOException {
+    coverFileSender.send(request, response, coverImageService.getOriginal(key));
+  }
+
+  /**
+   * Liefert die Vorschau eines Titelbilds für Listen und Raster.
+   *
+   * @param key Schlüssel des Bilds.
+   * @param request Aktuelle Anfrage.
+   * @param response Antwort, in die das Bild geschrieben wird.
+   * @throws IOException Wenn das Bild nicht gelesen werden kann.
+   */
+  @GetMapping("/covers/{key}/thumbnail")
+  public void getCoverThumbnail(
+    @PathVariable String key,
+    HttpServletRequest request,
+    HttpServletResponse response
+  ) throws IOException {
+    coverFileSender.send(request, response, coverImageService.getThumbnail(key));
+  }
+}
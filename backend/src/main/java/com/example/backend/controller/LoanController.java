@@ -9,7 +9,6 @@ import java.util.Map;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
-import org.springframework.security.core.Authentication;
 import org.springframework.web.bind.annotation.GetMapping;
 import org.springframework.web.bind.annotation.PathVariable;
 import org.springframework.web.bind.annotation.PostMapping;
@@ -19,11 +18,20 @@ import org.springframework.web.bind.annotation.RequestMapping;
 import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.ResponseStatus;
 import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.context.request.WebRequest;
 import org.springframework.web.server.ResponseStatusException;
 
+import com.example.backend.calendar.LoanCalendarService;
+import com.example.backend.dto.LoanBatchCheckoutDTO;
+import com.example.backend.dto.LoanBatchResultDTO;
+import com.example.backend.dto.LoanBatchReturnDTO;
+import com.example.backend.dto.LoanDTO;
+import com.example.backend.dto.LoanHistoryFilterDTO;
+import com.example.backend.dto.LoanPageDTO;
 import com.example.backend.exception.MediaNotFoundException;
 import com.example.backend.exception.PersonNotFoundException;
 import com.example.backend.model.LoanEntity;
+import com.example.backend.service.LoanBatchService;
 import com.example.backend.service.LoanService;
 
 /**
@@ -36,35 +44,61 @@ public class LoanController {
 
   @Autowired
   private final LoanService loanService;
+  private final LoanBatchService loanBatchService;
+  private final LoanCalendarService loanCalendarService;
+  private final ConditionalGet conditionalGet;
 
   /**
    * Konstruktor {@code LoanController}.
    * 
    * @param loanService Implementiert Logik zu Ausleihen.
+   * @param loanBatchService Implementiert Sammelausleihen und -rückgaben.
+   * @param loanCalendarService Liefert Ausleihen für die Kalenderansicht.
+   * @param conditionalGet Beantwortet unveränderte Listen mit 304.
    */
-  public LoanController(LoanService loanService) {
+  public LoanController(
+    LoanService loanService,
+    LoanBatchService loanBatchService,
+    LoanCalendarService loanCalendarService,
+    ConditionalGet conditionalGet
+  ) {
     this.loanService = loanService;
+    this.loanBatchService = loanBatchService;
+    this.loanCalendarService = loanCalendarService;
+    this.conditionalGet = conditionalGet;
   }
 
   /**
    * Gibt alle Ausleihen des aktuell authentifizierten Benutzers zurück.
+   * Unterstützt bedingte Anfragen über {@code If-None-Match}.
    * 
-   * @return Eine {@link ResponseEntity} mit einer Liste von {@link LoanEntity}.
+   * @param request Aktuelle Anfrage.
+   * @return Eine {@link ResponseEntity} mit einer Liste von {@link LoanDTO}.
    */
   @GetMapping("/all")
-  public ResponseEntity<List<LoanEntity>> getLoansByUser() {
-    List<LoanEntity> loans = loanService.getLoansByUser();
+  public ResponseEntity<List<LoanDTO>> getLoansByUser(WebRequest request) {
+    if (conditionalGet.isNotModified(request)) {
+      return null;
+    }
+    List<LoanDTO> loans = loanService.getLoansByUser();
     return new ResponseEntity<>(loans, HttpStatus.OK);
   }
 
   /**
    * Gibt alle aktiven Ausleihen des aktuell authentifizierten Benutzers zurück.
+   * Unterstützt bedingte Anfragen über {@code If-None-Match}.
    * 
-   * @return Eine {@link ResponseEntity} mit einer Liste von {@link LoanEntity}, die noch nicht zurückgegeben wurden.
+   * @param request Aktuelle Anfrage.
+   * @return Eine {@link ResponseEntity} mit einer Liste von {@link LoanDTO}, die noch nicht zurückgegeben wurden.
    */
   @GetMapping("/active")
-  public ResponseEntity<List<LoanEntity>> getActiveLoansByUser() {
-    List<LoanEntity> activeLoans = loanService.getActiveLoansByUser();
+  public ResponseEntity<List<LoanDTO>> getActiveLoansByUser(
+    WebRequest request
+  ) {
+    if (conditionalGet.isNotModified(request)) {
+      return null;
+    }
+    List<LoanDTO> activeLoans = loanService.getActiveLoansByUser();
     return new ResponseEntity<>(activeLoans, HttpStatus.OK);
   }
 
@@ -73,21 +107,79 @@ public class LoanController {
    * 
    * @param currentDate Genutzt um Überfälligkeit zu überprüfen. Standardmäßig wird das heutige Datum verwendet.
    *                    Ist optional.
-   * @return Eine {@link ResponseEntity} mit einer Liste von {@link LoanEntity}, die überfällig sind.
+   * @param request Aktuelle Anfrage; bedingte Anfragen über {@code If-None-Match} werden unterstützt.
+   * @return Eine {@link ResponseEntity} mit einer Liste von {@link LoanDTO}, die überfällig sind.
    */
   @GetMapping("/overdue")
-  public ResponseEntity<List<LoanEntity>> getOverdueLoansByUser(
-    @RequestParam(required = false) LocalDate currentDate
+  public ResponseEntity<List<LoanDTO>> getOverdueLoansByUser(
+    @RequestParam(required = false) LocalDate currentDate,
+    WebRequest request
   ) {
     if (currentDate == null) {
       currentDate = LocalDate.now(); // Standardwert: heutiges Datum
     }
-    List<LoanEntity> overdueLoans = loanService.getOverdueLoansByUser(
+    // Das Ergebnis hängt vom Stichtag ab und ändert sich daher auch ohne Schreibzugriff
+    if (conditionalGet.isNotModified(request, currentDate)) {
+      return null;
+    }
+    List<LoanDTO> overdueLoans = loanService.getOverdueLoansByUser(
       currentDate
     );
     return new ResponseEntity<>(overdueLoans, HttpStatus.OK);
   }
 
+  /**
+   * Gibt eine Seite der Ausleihhistorie des aktuellen Benutzers zurück, die
+   * neuesten Ausleihen zuerst. Filter werden als Query-Parameter übergeben, z. B.
+   * {@code ?personId=3&status=RETURNED&borrowedFrom=2023-01-01&borrowedTo=2023-12-31}.
+   * Die nächste Seite wird mit dem gelieferten {@code nextCursor} abgerufen.
+   *
+   * @param filter Filterkriterien.
+   * @param cursor Cursor der vorherigen Seite; leer für die erste Seite.
+   * @param limit Seitengröße (höchstens 200).
+   * @param request Aktuelle Anfrage; bedingte Anfragen über {@code If-None-Match} werden unterstützt.
+   * @return Die Seite als {@link LoanPageDTO}.
+   */
+  @GetMapping("/history")
+  public LoanPageDTO getLoanHistory(
+    LoanHistoryFilterDTO filter,
+    @RequestParam(required = false) String cursor,
+    @RequestParam(defaultValue = "50") int limit,
+    WebRequest request
+  ) {
+    LocalDate today = LocalDate.now();
+    // Der Status OVERDUE hängt vom Stichtag ab
+    if (conditionalGet.isNotModified(request, today)) {
+      return null;
+    }
+    return loanService.getLoanHistory(filter, cursor, limit, today);
+  }
+
+  /**
+   * Gibt die Ausleihen des aktuellen Benutzers zurück, deren Zeitraum ein
+   * Datumsfenster berührt, z. B. {@code ?from=2024-05-01&to=2024-05-31}.
+   * Offene Ausleihen belegen die Tage bis zur Fälligkeit, zurückgegebene die
+   * Tage bis zur Rückgabe.
+   *
+   * @param from Erster Tag des Fensters.
+   * @param to Letzter Tag des Fensters (einschließlich, höchstens 366 Tage).
+   * @param includeReturned Ob auch zurückgegebene Ausleihen geliefert werden.
+   * @param request Aktuelle Anfrage; bedingte Anfragen über {@code If-None-Match} werden unterstützt.
+   * @return Liste von {@link LoanDTO}, aufsteigend nach Ausleihzeitpunkt.
+   */
+  @GetMapping("/calendar")
+  public List<LoanDTO> getCalendar(
+    @RequestParam LocalDate from,
+    @RequestParam LocalDate to,
+    @RequestParam(defaultValue = "false") boolean includeReturned,
+    WebRequest request
+  ) {
+    if (conditionalGet.isNotModified(request)) {
+      return null;
+    }
+    return loanCalendarService.getCalendar(from, to, includeReturned);
+  }
+
   /**
    * Ausleihe als "zurückgegeben" markieren.
    * 
@@ -114,18 +206,16 @@ public class LoanController {
    * 
    * @param mediaId ID des Mediums, das ausgeliehen werden soll.
    * @param personId ID der Person, die das Medium ausleiht.
-   * @param authentication Authentifizierung des aktuellen Benutzers.
    * @param dueDate Fälligkeitsdatum der Ausleihe. Ist optional.
    * @param borrowedAt Zeitpunkt der Ausleihe. Ist optional.
-   * @return Eine {@link ResponseEntity}, die die erstellte {@link LoanEntity} enthält.
+   * @return Eine {@link ResponseEntity}, die die erstellte Ausleihe als {@link LoanDTO} enthält.
    * @throws ResponseStatusException Exception für den Fall, dass das Medium oder die Person nicht gefunden wird.
    */
   @PostMapping("/{mediaId}/{personId}")
   @ResponseStatus(HttpStatus.CREATED)
-  public ResponseEntity<LoanEntity> createLoan(
+  public ResponseEntity<LoanDTO> createLoan(
     @PathVariable Long mediaId,
     @PathVariable Long personId,
-    Authentication authentication,
     @RequestParam(required = false) LocalDate dueDate,
     @RequestParam(required = false) LocalDateTime borrowedAt
   ) {
@@ -133,11 +223,12 @@ public class LoanController {
       LoanEntity createdLoan = loanService.createLoan(
         mediaId,
         personId,
-        authentication,
         dueDate,
         borrowedAt
       );
-      return ResponseEntity.status(HttpStatus.CREATED).body(createdLoan);
+      return ResponseEntity
+        .status(HttpStatus.CREATED)
+        .body(LoanDTO.of(createdLoan));
     } catch (MediaNotFoundException | PersonNotFoundException e) {
       throw new ResponseStatusException(
         HttpStatus.NOT_FOUND,
@@ -146,4 +237,28 @@ public class LoanController {
       );
     }
   }
+
+  /**
+   * Leiht mehrere Medien in einer Transaktion an eine Person aus.
+   * 
+   * @param request Person, Medien sowie optional Fälligkeitsdatum und Ausleihzeitpunkt.
+   * @return Ergebnis je Medium als {@link LoanBatchResultDTO}.
+   */
+  @PostMapping("/batch/checkout")
+  public LoanBatchResultDTO batchCheckout(
+    @RequestBody LoanBatchCheckoutDTO request
+  ) {
+    return loanBatchService.checkout(request);
+  }
+
+  /**
+   * Markiert mehrere Ausleihen in einer Transaktion als zurückgegeben.
+   * 
+   * @param request Ausleihen sowie optional der Rückgabezeitpunkt.
+   * @return Ergebnis je Ausleihe als {@link LoanBatchResultDTO}.
+   */
+  @PostMapping("/batch/return")
+  public LoanBatchResultDTO batchReturn(@RequestBody LoanBatchReturnDTO request) {
+    return loanBatchService.returnLoans(request);
+  }
 }
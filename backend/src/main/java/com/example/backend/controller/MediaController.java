@@ -1,11 +1,14 @@
 package com.example.backend.controller;
 
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
 import java.util.List;
-import java.util.Optional;
 
-import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.ContentDisposition;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
-import org.springframework.security.core.Authentication;
 import org.springframework.web.bind.annotation.DeleteMapping;
 import org.springframework.web.bind.annotation.GetMapping;
 import org.springframework.web.bind.annotation.PathVariable;
@@ -13,14 +16,30 @@ import org.springframework.web.bind.annotation.PostMapping;
 import org.springframework.web.bind.annotation.PutMapping;
 import org.springframework.web.bind.annotation.RequestBody;
 import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.context.request.WebRequest;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
+import com.example.backend.dto.MediaBulkRequestDTO;
+import com.example.backend.dto.MediaBulkResultDTO;
 import com.example.backend.dto.MediaCreationDTO;
+import com.example.backend.dto.MediaExportFormat;
+import com.example.backend.dto.MediaFacetsDTO;
+import com.example.backend.dto.MediaFilterDTO;
+import com.example.backend.dto.MediaImportResultDTO;
+import com.example.backend.dto.MediaNotesDTO;
+import com.example.backend.dto.MediaPageDTO;
+import com.example.backend.dto.MediaSearchHitDTO;
+import com.example.backend.dto.MediaTitleDTO;
 import com.example.backend.dto.MediaWithCategoriesDTO;
 import com.example.backend.model.MediaEntity;
-import com.example.backend.model.UserEntity;
+import com.example.backend.search.MediaSearchService;
+import com.example.backend.service.MediaBulkService;
+import com.example.backend.service.MediaExportService;
+import com.example.backend.service.MediaImportService;
+import com.example.backend.service.MediaIsbnLookupService;
 import com.example.backend.service.MediaService;
-import com.example.backend.service.UserService;
 
 /**
  * REST-Controller zur Verwaltung von Medien.
@@ -31,47 +50,243 @@ import com.example.backend.service.UserService;
 public class MediaController {
 
   private final MediaService mediaService;
-
-  @Autowired
-  private UserService userService;
+  private final MediaExportService mediaExportService;
+  private final MediaImportService mediaImportService;
+  private final MediaSearchService mediaSearchService;
+  private final MediaIsbnLookupService mediaIsbnLookupService;
+  private final MediaBulkService mediaBulkService;
+  private final ConditionalGet conditionalGet;
 
   /**
    * Konstruktor {@code MediaController}.
    * 
    * @param mediaService Implementierung der Logik für Medien.
+   * @param mediaExportService Implementierung des Medienexports.
+   * @param mediaImportService Implementierung des Medienimports.
+   * @param mediaSearchService Implementierung der Volltextsuche.
+   * @param mediaIsbnLookupService Implementierung der ISBN-Suche.
+   * @param mediaBulkService Implementierung der Massenoperationen.
+   * @param conditionalGet Beantwortet unveränderte Listen mit 304.
    */
-  public MediaController(MediaService mediaService) {
+  public MediaController(
+    MediaService mediaService,
+    MediaExportService mediaExportService,
+    MediaImportService mediaImportService,
+    MediaSearchService mediaSearchService,
+    MediaIsbnLookupService mediaIsbnLookupService,
+    MediaBulkService mediaBulkService,
+    ConditionalGet conditionalGet
+  ) {
     this.mediaService = mediaService;
+    this.mediaExportService = mediaExportService;
+    this.mediaImportService = mediaImportService;
+    this.mediaSearchService = mediaSearchService;
+    this.mediaIsbnLookupService = mediaIsbnLookupService;
+    this.mediaBulkService = mediaBulkService;
+    this.conditionalGet = conditionalGet;
   }
 
 
   /**
-   * Gibt alle Medien eines Benutzers mit zugehörigen Kategorien zurück.
+   * Gibt alle Medien des aktuellen Benutzers mit zugehörigen Kategorien zurück.
+   * Bleibt aus Kompatibilitätsgründen bestehen; für große Sammlungen sollte
+   * {@link #getMediaPage} verwendet werden. Unterstützt bedingte Anfragen
+   * über {@code If-None-Match}.
    * 
-   * @param authentication Authentifizierung des aktuellen Benutzers.
+   * @param request Aktuelle Anfrage.
    * @return Eine Liste von {@link MediaWithCategoriesDTO}.
    */
   @GetMapping("/by-username")
   public List<MediaWithCategoriesDTO> getAllMediaByUsernameTest(
-    Authentication authentication
+    WebRequest request
+  ) {
+    if (conditionalGet.isNotModified(request)) {
+      return null;
+    }
+    return mediaService.getAllMediaWithCategories();
+  }
+
+  /**
+   * Gibt eine Seite der Medien des aktuellen Benutzers mit zugehörigen Kategorien zurück.
+   * Filter und Sortierung werden als Query-Parameter übergeben, z. B.
+   * {@code ?type=BOOK&isFavorite=true&releaseYearFrom=1990&sort=TITLE&direction=ASC}.
+   * Die nächste Seite wird mit dem gelieferten {@code nextCursor} abgerufen.
+   * 
+   * @param filter Filter- und Sortierkriterien.
+   * @param cursor Cursor der vorherigen Seite; leer für die erste Seite.
+   * @param limit Seitengröße (höchstens 200).
+   * @param request Aktuelle Anfrage; bedingte Anfragen über {@code If-None-Match} werden unterstützt.
+   * @return Die Seite als {@link MediaPageDTO}.
+   */
+  @GetMapping("/page")
+  public MediaPageDTO getMediaPage(
+    MediaFilterDTO filter,
+    @RequestParam(required = false) String cursor,
+    @RequestParam(defaultValue = "50") int limit,
+    WebRequest request
+  ) {
+    if (conditionalGet.isNotModified(request)) {
+      return null;
+    }
+    return mediaService.getMediaPage(filter, cursor, limit);
+  }
+
+  /**
+   * Gibt die Anzahl der Medien des aktuellen Benutzers je Status, Typ,
+   * Favoritenstatus, Jahrzehnt und Kategorie zurück. Es gelten dieselben
+   * Filter-Parameter wie bei {@link #getMediaPage}.
+   * 
+   * @param filter Filterkriterien.
+   * @param request Aktuelle Anfrage; bedingte Anfragen über {@code If-None-Match} werden unterstützt.
+   * @return Die Zählungen als {@link MediaFacetsDTO}.
+   */
+  @GetMapping("/facets")
+  public MediaFacetsDTO getMediaFacets(
+    MediaFilterDTO filter,
+    WebRequest request
+  ) {
+    if (conditionalGet.isNotModified(request)) {
+      return null;
+    }
+    return mediaService.getMediaFacets(filter);
+  }
+
+  /**
+   * Durchsucht Titel, Produzent, Notizen und ISBN der Medien des aktuellen Benutzers.
+   * Jeder Begriff der Anfrage muss als Wortanfang vorkommen, z. B. findet
+   * {@code ?q=herr ring} "Der Herr der Ringe".
+   * 
+   * @param q Suchanfrage.
+   * @param limit Maximale Anzahl der Treffer (höchstens 100).
+   * @return Eine Liste von {@link MediaSearchHitDTO}, absteigend nach Relevanz.
+   */
+  @GetMapping("/search")
+  public List<MediaSearchHitDTO> searchMedia(
+    @RequestParam String q,
+    @RequestParam(defaultValue = "20") int limit
+  ) {
+    return mediaSearchService.search(q, limit);
+  }
+
+  /**
+   * Schlägt Titel der Medien des aktuellen Benutzers für eine begonnene Eingabe
+   * vor, z. B. bei der Auswahl eines Mediums für eine Ausleihe. Groß- und
+   * Kleinschreibung sowie diakritische Zeichen werden ignoriert; Titel, die mit
+   * der Eingabe beginnen, stehen vor Titeln, in denen ein späteres Wort passt.
+   * 
+   * @param prefix Eingegebener Anfang.
+   * @param limit Maximale Anzahl der Vorschläge (höchstens 50).
+   * @return Eine Liste von {@link MediaTitleDTO}.
+   */
+  @GetMapping("/autocomplete")
+  public List<MediaTitleDTO> autocompleteTitles(
+    @RequestParam String prefix,
+    @RequestParam(defaultValue = "10") int limit
   ) {
-    String username = authentication.getName();
-    return mediaService.getAllMediaByUsernameWithCategories(username);
+    return mediaSearchService.suggestTitles(prefix, limit);
+  }
+
+  /**
+   * Findet die Medien des aktuellen Benutzers mit einer bestimmten ISBN,
+   * z. B. nach dem Scannen eines Barcodes. ISBN-10 und ISBN-13 werden mit und
+   * ohne Bindestriche akzeptiert.
+   * 
+   * @param isbn Die gesuchte ISBN.
+   * @return Eine Liste von {@link MediaWithCategoriesDTO}; leer, wenn keine passt.
+   */
+  @GetMapping("/isbn/{isbn}")
+  public List<MediaWithCategoriesDTO> getMediaByIsbn(@PathVariable String isbn) {
+    return mediaIsbnLookupService.findByIsbn(isbn);
+  }
+
+  /**
+   * Gibt die vollständigen Notizen eines Mediums des aktuellen Benutzers zurück.
+   * Listen enthalten nur den Anfang der Notizen. Unterstützt bedingte Anfragen
+   * über {@code If-None-Match}.
+   * 
+   * @param mediaId ID des Mediums.
+   * @param request Aktuelle Anfrage.
+   * @return Die Notizen als {@link MediaNotesDTO}.
+   */
+  @GetMapping("/{mediaId}/notes")
+  public MediaNotesDTO getMediaNotes(
+    @PathVariable Long mediaId,
+    WebRequest request
+  ) {
+    if (conditionalGet.isNotModified(request, mediaId)) {
+      return null;
+    }
+    return mediaService.getMediaNotes(mediaId);
+  }
+
+  /**
+   * Exportiert alle Medien des aktuellen Benutzers mit zugehörigen Kategorien als Datei.
+   * Die Antwort wird gestreamt, sodass auch sehr große Sammlungen ohne erhöhten
+   * Speicherbedarf exportiert werden können.
+   * 
+   * @param format Ausgabeformat, {@code JSONL} (Standard) oder {@code CSV}.
+   * @return Eine {@link ResponseEntity} mit dem gestreamten Export.
+   */
+  @GetMapping("/export")
+  public ResponseEntity<StreamingResponseBody> exportMedia(
+    @RequestParam(defaultValue = "JSONL") MediaExportFormat format
+  ) {
+    boolean csv = format == MediaExportFormat.CSV;
+    return ResponseEntity
+      .ok()
+      .contentType(
+        csv
+          ? new MediaType("text", "csv", StandardCharsets.UTF_8)
+          : MediaType.APPLICATION_NDJSON
+      )
+      .header(
+        HttpHeaders.CONTENT_DISPOSITION,
+        ContentDisposition
+          .attachment()
+          .filename(csv ? "media.csv" : "media.jsonl")
+          .build()
+          .toString()
+      )
+      .body(mediaExportService.exportMedia(format));
   }
 
    /**
    * Erstellt neues Medium und verknüpft es mit einem Benutzer.
    * 
    * @param media Zu erstellenden Mediendaten als {@link MediaCreationDTO}.
-   * @param authentication Authentifizierung des aktuellen Benutzers.
    * @return Erstelltes Medium mit Kategorien als {@link MediaWithCategoriesDTO}.
    */
   @PostMapping
   public MediaWithCategoriesDTO createMedia(
-    @RequestBody MediaCreationDTO media,
-    Authentication authentication
+    @RequestBody MediaCreationDTO media
+  ) {
+    return mediaService.createMedia(media);
+  }
+
+  /**
+   * Importiert mehrere Medien auf einmal aus einem JSON-Array.
+   * 
+   * @param media Zu importierende Medien als Liste von {@link MediaCreationDTO}.
+   * @return Anzahl der gespeicherten Medien und Fehler je Eintrag als {@link MediaImportResultDTO}.
+   */
+  @PostMapping(value = "/import", consumes = MediaType.APPLICATION_JSON_VALUE)
+  public MediaImportResultDTO importMedia(
+    @RequestBody List<MediaCreationDTO> media
   ) {
-    return mediaService.createMedia(media, authentication);
+    return mediaImportService.importMedia(media);
+  }
+
+  /**
+   * Importiert mehrere Medien auf einmal aus CSV-Daten (Format wie beim CSV-Export).
+   * 
+   * @param csv CSV-Daten mit Kopfzeile.
+   * @return Anzahl der gespeicherten Medien und Fehler je Zeile als {@link MediaImportResultDTO}.
+   * @throws IOException Wenn die Anfrage nicht gelesen werden kann.
+   */
+  @PostMapping(value = "/import", consumes = "text/csv")
+  public MediaImportResultDTO importMediaCsv(InputStream csv)
+    throws IOException {
+    return mediaImportService.importCsv(csv);
   }
 
   /**
@@ -79,16 +294,14 @@ public class MediaController {
    * 
    * @param mediaId ID des zu aktualisierenden Mediums.
    * @param dto Neuen Daten als {@link MediaCreationDTO}.
-   * @param authentication Authentifizierung des aktuellen Benutzers.
    * @return Das aktualisierte {@link MediaEntity}.
    */
   @PutMapping("/{mediaId}")
   public MediaEntity updateMedia(
     @PathVariable Long mediaId,
-    @RequestBody MediaCreationDTO dto,
-    Authentication authentication
+    @RequestBody MediaCreationDTO dto
   ) {
-    return mediaService.updateMedia(mediaId, dto, authentication);
+    return mediaService.updateMedia(mediaId, dto);
   }
 
   /**
@@ -96,29 +309,16 @@ public class MediaController {
    * 
    * @param mediaId ID des Mediums, das als Favorit markiert werden soll.
    * @param add Informationen des Mediums.
-   * @param authentication Authentifizierung des aktuellen Benutzers.
    * @return Aktualisierte Medium mit Kategorien als {@link MediaWithCategoriesDTO}.
    */
   @PutMapping("/{mediaId}/favorite")
   public ResponseEntity<MediaWithCategoriesDTO> addFavorite(
     @PathVariable Long mediaId,
-    @RequestBody MediaEntity add,
-    Authentication authentication
+    @RequestBody MediaEntity add
   ) {
-    String username = authentication.getName();
-    Optional<UserEntity> userOptional = userService.getUserByUsername(username);
-
-    if (userOptional.isEmpty()) {
-      throw new RuntimeException("User not found");
-    }
-
-    UserEntity user = userOptional.get();
-    add.setUser(user);
-
     MediaWithCategoriesDTO updatedFavorite = mediaService.addToFavorite(
       mediaId,
-      add,
-      authentication
+      add
     );
     return ResponseEntity.ok(updatedFavorite);
   }
@@ -128,20 +328,14 @@ public class MediaController {
    * 
    * @param mediaId ID des Mediums, dem die Kategorie hinzugefügt werden soll.
    * @param categoryId ID der hinzuzufügenden Kategorie.
-   * @param authentication Authentifizierung des aktuellen Benutzers.
    * @return Das aktualisierte {@link MediaEntity}.
    */
   @PostMapping("/{mediaId}/assign-category/{categoryId}")
   public MediaEntity assignCategoryToMedia(
     @PathVariable Long mediaId,
-    @PathVariable Long categoryId,
-    Authentication authentication
+    @PathVariable Long categoryId
   ) {
-    return mediaService.assignCategoryToMedia(
-      mediaId,
-      categoryId,
-      authentication
-    );
+    return mediaService.assignCategoryToMedia(mediaId, categoryId);
   }
 
   /**
@@ -149,15 +343,13 @@ public class MediaController {
    * 
    * @param mediaId ID des Mediums, von dem die Kategorie entfernt werden soll.
    * @param categoryId ID der zu entfernenden Kategorie.
-   * @param authentication Authentifizierung des aktuellen Benutzers.
    */
   @DeleteMapping("/{mediaId}/remove-category/{categoryId}")
   public void removeCategoryFromMedia(
     @PathVariable Long mediaId,
-    @PathVariable Long categoryId,
-    Authentication authentication
+    @PathVariable Long categoryId
   ) {
-    mediaService.removeCategoryFromMedia(mediaId, categoryId, authentication);
+    mediaService.removeCategoryFromMedia(mediaId, categoryId);
   }
 
   /**
@@ -171,4 +363,71 @@ public class MediaController {
     mediaService.deleteMedia(id);
     return ResponseEntity.noContent().build();
   }
+
+  /**
+   * Setzt den Status mehrerer Medien.
+   * 
+   * @param request Auswahl der Medien (IDs oder Filter) und neuer Status.
+   * @return Anzahl der geänderten Medien als {@link MediaBulkResultDTO}.
+   */
+  @PostMapping("/bulk/state")
+  public MediaBulkResultDTO bulkUpdateState(
+    @RequestBody MediaBulkRequestDTO request
+  ) {
+    return mediaBulkService.updateState(request);
+  }
+
+  /**
+   * Setzt den Favoritenstatus mehrerer Medien.
+   * 
+   * @param request Auswahl der Medien (IDs oder Filter) und neuer Favoritenstatus.
+   * @return Anzahl der geänderten Medien als {@link MediaBulkResultDTO}.
+   */
+  @PostMapping("/bulk/favorite")
+  public MediaBulkResultDTO bulkUpdateFavorite(
+    @RequestBody MediaBulkRequestDTO request
+  ) {
+    return mediaBulkService.updateFavorite(request);
+  }
+
+  /**
+   * Löscht mehrere Medien samt ihrer Ausleihen.
+   * 
+   * @param request Auswahl der Medien (IDs oder Filter).
+   * @return Anzahl der gelöschten Medien und Ausleihen als {@link MediaBulkResultDTO}.
+   */
+  @PostMapping("/bulk/delete")
+  public MediaBulkResultDTO bulkDelete(@RequestBody MediaBulkRequestDTO request) {
+    return mediaBulkService.deleteMedia(request);
+  }
+
+  /**
+   * Verknüpft eine Kategorie mit mehreren Medien.
+   * 
+   * @param categoryId ID der hinzuzufügenden Kategorie.
+   * @param request Auswahl der Medien (IDs oder Filter).
+   * @return Anzahl der neu verknüpften Medien als {@link MediaBulkResultDTO}.
+   */
+  @PostMapping("/bulk/assign-category/{categoryId}")
+  public MediaBulkResultDTO bulkAssignCategory(
+    @PathVariable Long categoryId,
+    @RequestBody MediaBulkRequestDTO request
+  ) {
+    return mediaBulkService.assignCategory(categoryId, request);
+  }
+
+  /**
+   * Entfernt eine Kategorie von mehreren Medien.
+   * 
+   * @param categoryId ID der zu entfernenden Kategorie.
+   * @param request Auswahl der Medien (IDs oder Filter).
+   * @return Anzahl der geänderten Medien als {@link MediaBulkResultDTO}.
+   */
+  @PostMapping("/bulk/remove-category/{categoryId}")
+  public MediaBulkResultDTO bulkRemoveCategory(
+    @PathVariable Long categoryId,
+    @RequestBody MediaBulkRequestDTO request
+  ) {
+    return mediaBulkService.removeCategory(categoryId, request);
+  }
 }
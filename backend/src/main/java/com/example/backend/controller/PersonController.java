@@ -3,7 +3,6 @@ package com.example.backend.controller;
 import java.util.List;
 import java.util.Optional;
 
-import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.core.Authentication;
@@ -15,11 +14,10 @@ import org.springframework.web.bind.annotation.PutMapping;
 import org.springframework.web.bind.annotation.RequestBody;
 import org.springframework.web.bind.annotation.RequestMapping;
 import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.context.request.WebRequest;
 
 import com.example.backend.model.PersonEntity;
-import com.example.backend.model.UserEntity;
 import com.example.backend.service.PersonService;
-import com.example.backend.service.UserService;
 
 /**
  * REST-Controller zur Verwaltung von Personen.
@@ -30,17 +28,20 @@ import com.example.backend.service.UserService;
 public class PersonController {
 
   private final PersonService personService;
-
-  @Autowired
-  private UserService userService;
+  private final ConditionalGet conditionalGet;
 
   /**
    * Konstruktor  {@code PersonController}.
    * 
    * @param personService Implementierung für die Logik für Person.
+   * @param conditionalGet Beantwortet unveränderte Listen mit 304.
    */
-  public PersonController(PersonService personService) {
+  public PersonController(
+    PersonService personService,
+    ConditionalGet conditionalGet
+  ) {
     this.personService = personService;
+    this.conditionalGet = conditionalGet;
   }
 
    /**
@@ -58,27 +59,37 @@ public class PersonController {
   }
 
   /**
-   * Gibt alle Personen zurück, die einem Benutzer basierend auf dem Benutzernamen zugeordnet sind.
+   * Gibt alle Personen zurück, die dem aktuellen Benutzer zugeordnet sind.
+   * Unterstützt bedingte Anfragen über {@code If-None-Match}.
    * 
-   * @param authentication Authentifizierung des aktuellen Benutzers.
+   * @param request Aktuelle Anfrage.
    * @return Eine Liste von {@link PersonEntity}, die dem Benutzer gehören.
    */
   @GetMapping("/by-username")
-  public List<PersonEntity> getPersonsByUsername(
-    Authentication authentication
-  ) {
-    String username = authentication.getName();
-    return personService.getPersonsByUsername(username);
+  public List<PersonEntity> getPersonsByUsername(WebRequest request) {
+    if (conditionalGet.isNotModified(request)) {
+      return null;
+    }
+    return personService.getPersonsOfCurrentUser();
   }
 
    /**
    * Gibt alle Personen zurück, die einem Benutzer anhand der Benutzer-ID zugeordnet sind.
    * 
+   * Unterstützt bedingte Anfragen über {@code If-None-Match}.
+   * 
    * @param userId ID des Benutzers.
+   * @param request Aktuelle Anfrage.
    * @return Eine Liste von {@link PersonEntity}, die dem Benutzer gehören.
    */
   @GetMapping("/user/{userId}")
-  public List<PersonEntity> getPersonsByUserId(@PathVariable Long userId) {
+  public List<PersonEntity> getPersonsByUserId(
+    @PathVariable Long userId,
+    WebRequest request
+  ) {
+    if (conditionalGet.isNotModifiedForUser(request, userId)) {
+      return null;
+    }
     return personService.getPersonsByUserId(userId);
   }
 
@@ -86,19 +97,11 @@ public class PersonController {
    * Erstellt neue Person und verknüpft sie mit dem aktuellen Benutzer.
    * 
    * @param person Zu erstellende Person als {@link PersonEntity}.
-   * @param authentication Authentifizierung des aktuellen Benutzers.
    * @return Erstellte Person.
    */
   @PostMapping
-  public PersonEntity createPerson(
-    @RequestBody PersonEntity person,
-    Authentication authentication
-  ) {
-    String username = authentication.getName();
-    Optional<UserEntity> userOptional = userService.getUserByUsername(username);
-    UserEntity user = userOptional.get();
-    person.setUser(user);
-    return personService.createPerson(person, authentication);
+  public PersonEntity createPerson(@RequestBody PersonEntity person) {
+    return personService.createPerson(person);
   }
 
    /**
@@ -106,24 +109,16 @@ public class PersonController {
    * 
    * @param personId ID der zu aktualisierenden Person.
    * @param currentPerson Aktualisierte Personendaten als {@link PersonEntity}.
-   * @param authentication Authentifizierung des aktuellen Benutzers.
    * @return Die aktualisierte Person als {@link ResponseEntity}.
    */
   @PutMapping("/{personId}")
   public ResponseEntity<PersonEntity> updatePerson(
     @PathVariable Long personId,
-    @RequestBody PersonEntity currentPerson,
-    Authentication authentication
+    @RequestBody PersonEntity currentPerson
   ) {
-    String username = authentication.getName();
-    Optional<UserEntity> userOptional = userService.getUserByUsername(username);
-    UserEntity user = userOptional.get();
-    currentPerson.setUser(user);
-
     PersonEntity updatedPerson = personService.updatePerson(
       personId,
-      currentPerson,
-      authentication
+      currentPerson
     );
 
     return ResponseEntity.ok(updatedPerson);
@@ -0,0 +1,53 @@
+package com.example.backend.controller;
+
+import org.springframework.http.HttpStatus;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.server.ResponseStatusException;
+
+import com.example.backend.dto.SyncChangesDTO;
+import com.example.backend.sync.SyncService;
+
+/**
+ * REST-Controller für die Delta-Synchronisation. Clients halten eine lokale
+ * Kopie ihrer Daten und fragen nur die Änderungen seit dem letzten Abgleich ab.
+ */
+@RestController
+@RequestMapping("/api/sync")
+public class SyncController {
+
+  private final SyncService syncService;
+
+  /**
+   * Konstruktor  {@code SyncController}.
+   * 
+   * @param syncService Implementiert die Delta-Synchronisation.
+   */
+  public SyncController(SyncService syncService) {
+    this.syncService = syncService;
+  }
+
+  /**
+   * Gibt die Änderungen des aktuellen Benutzers seit einem Synchronisationstoken zurück.
+   * 
+   * @param since Token aus der vorherigen Antwort. Ist optional; ohne Token wird der vollständige Stand geliefert.
+   * @return Die Änderungen als {@link SyncChangesDTO}.
+   * @throws ResponseStatusException Mit Status 400, wenn das Token ungültig ist.
+   */
+  @GetMapping
+  public SyncChangesDTO getChanges(
+    @RequestParam(required = false) String since
+  ) {
+    try {
+      return syncService.getChanges(since);
+    } catch (IllegalArgumentException e) {
+      throw new ResponseStatusException(
+        HttpStatus.BAD_REQUEST,
+        e.getMessage(),
+        e
+      );
+    }
+  }
+}
@@ -0,0 +1,19 @@
+package com.example.backend.cover;
+
+import java.nio.file.Path;
+
+/**
+ * Eine auszuliefernde Bilddatei aus dem {@link CoverImageStore}.
+ *
+ * @param path Pfad der Datei.
+ * @param format Bildformat, bestimmt den {@code Content-Type}.
+ * @param etag Starkes ETag (inklusive Anführungszeichen), abgeleitet aus dem Inhaltshash.
+ * @param immutable {@code true}, wenn sich der Inhalt unter dieser URL nie ändert
+ *        und dauerhaft gecacht werden darf.
+ */
+public record CoverFile(
+  Path path,
+  CoverImageFormat format,
+  String etag,
+  boolean immutable
+) {}
@@ -0,0 +1,83 @@
+package com.example.backend.cover;
+
+import java.util.Optional;
+
+/**
+ * Unterstützte Bildformate für Titelbilder.
+ * Das Format wird anhand der ersten Bytes der Datei erkannt (nicht anhand des
+ * vom Client angegebenen Content-Types) und bestimmt die Dateiendung im
+ * Bildspeicher.
+ */
+public enum CoverImageFormat {
+  JPEG("jpg", "image/jpeg"),
+  PNG("png", "image/png"),
+  GIF("gif", "image/gif");
+
+  /** Anzahl der Bytes, die {@link #detect(byte[])} mindestens benötigt. */
+  public static final int HEADER_LENGTH = 8;
+
+  private final String extension;
+  private final String contentType;
+
+  CoverImageFormat(String extension, String contentType) {
+    this.extension = extension;
+    this.contentType = contentType;
+  }
+
+  /**
+   * @return Dateiendung ohne Punkt.
+   */
+  public String getExtension() {
+    return extension;
+  }
+
+  /**
+   * @return MIME-Typ für den {@code Content-Type}-Header.
+   */
+  public String getContentType() {
+    return contentType;
+  }
+
+  /**
+   * Erkennt das Format anhand der Signatur am Dateianfang.
+   * @param header Die ersten Bytes der Datei.
+   * @return Das erkannte Format oder leer, wenn es nicht unterstützt wird.
+   */
+  public static Optional<CoverImageFormat> detect(byte[] header) {
+    if (startsWith(header, 0xFF, 0xD8, 0xFF)) {
+      return Optional.of(JPEG);
+    }
+    if (startsWith(header, 0x89, 'P', 'N', 'G', 0x0D, 0x0A, 0x1A, 0x0A)) {
+      return Optional.of(PNG);
+    }
+    if (startsWith(header, 'G', 'I', 'F', '8')) {
+      return Optional.of(GIF);
+    }
+    return Optional.empty();
+  }
+
+  /**
+   * @param extension Dateiendung ohne Punkt.
+   * @return Das Format zur Endung oder leer, wenn sie unbekannt ist.
+   */
+  public static Optional<CoverImageFormat> fromExtension(String extension) {
+    for (CoverImageFormat format : values()) {
+      if (format.extension.equals(extension)) {
+        return Optional.of(format);
+      }
+    }
+    return Optional.empty();
+  }
+
+  private static boolean startsWith(byte[] header, int... signature) {
+    if (header.length < signature.length) {
+      return false;
+    }
+    for (int i = 0; i < signature.length; i++) {
+      if ((header[i] & 0xFF) != signature[i]) {
+        return false;
+      }
+    }
+    return true;
+  }
+}
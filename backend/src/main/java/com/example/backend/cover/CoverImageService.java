@@ -0,0 +1,158 @@
+package com.example.backend.cover;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.file.Path;
+import java.util.Optional;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import com.example.backend.cache.UserDataVersions;
+import com.example.backend.dto.MediaCoverDTO;
+import com.example.backend.exception.MediaNotFoundException;
+import com.example.backend.model.MediaEntity;
+import com.example.backend.repository.MediaRepository;
+import com.example.backend.security.AuthenticatedUser;
+
+/**
+ * Service für die Titelbilder der Medien.
+ * Die Bilder liegen im {@link CoverImageStore}; am Medium wird nur der
+ * Schlüssel gespeichert. Das Ausliefern benötigt keinen Datenbankzugriff, weil
+ * der Schlüssel bereits den Inhalt eindeutig bestimmt.
+ */
+@Service
+public class CoverImageService {
+
+  private final MediaRepository mediaRepository;
+  private final CoverImageStore store;
+  private final CoverThumbnailGenerator thumbnailGenerator;
+  private final AuthenticatedUser authenticatedUser;
+  private final UserDataVersions userDataVersions;
+  private final long maxBytes;
+
+  /**
+   * Konstruktor.
+   * @param mediaRepository Repository für Medien
+   * @param store Bildspeicher
+   * @param thumbnailGenerator Erzeugt die Vorschaubilder im Hintergrund
+   * @param authenticatedUser Angemeldeter Benutzer der aktuellen Anfrage
+   * @param userDataVersions Versionszähler, der bei jeder Änderung erhöht wird
+   * @param maxBytes Maximale Größe eines Titelbilds in Bytes
+   */
+  public CoverImageService(
+    MediaRepository mediaRepository,
+    CoverImageStore store,
+    CoverThumbnailGenerator thumbnailGenerator,
+    AuthenticatedUser authenticatedUser,
+    UserDataVersions userDataVersions,
+    @Value("${covers.max-bytes:5242880}") long maxBytes
+  ) {
+    this.mediaRepository = mediaRepository;
+    this.store = store;
+    this.thumbnailGenerator = thumbnailGenerator;
+    this.authenticatedUser = authenticatedUser;
+    this.userDataVersions = userDataVersions;
+    this.maxBytes = maxBytes;
+  }
+
+  /**
+   * Speichert ein Titelbild für ein Medium des angemeldeten Benutzers und
+   * stößt die Erzeugung der Vorschau an. Ein vorhandenes Titelbild wird ersetzt.
+   *
+   * @param mediaId ID des Mediums.
+   * @param content Bilddaten (JPEG, PNG oder GIF).
+   * @return Schlüssel des gespeicherten Bilds als {@link MediaCoverDTO}.
+   * @throws MediaNotFoundException Wenn das Medium nicht existiert oder einem anderen Benutzer gehört.
+   * @throws com.example.backend.exception.MediaException Wenn das Bild zu groß ist oder kein unterstütztes Format hat.
+   * @throws IOException Wenn das Bild nicht gelesen oder gespeichert werden kann.
+   */
+  public MediaCoverDTO uploadCover(Long mediaId, InputStream content)
+    throws IOException {
+    MediaEntity media = findOwnedMedia(mediaId);
+    String key = store.store(content, maxBytes);
+    media.setCoverKey(key);
+    mediaRepository.save(media);
+    userDataVersions.bump(media.getUser().getUserId());
+    thumbnailGenerator.request(key);
+    return new MediaCoverDTO(mediaId, key);
+  }
+
+  /**
+   * Entfernt das Titelbild eines Mediums des angemeldeten Benutzers.
+   * Die Bilddatei bleibt erhalten, da andere Medien denselben Inhalt verwenden können.
+   *
+   * @param mediaId ID des Mediums.
+   * @throws MediaNotFoundException Wenn das Medium nicht existiert oder einem anderen Benutzer gehört.
+   */
+  public void deleteCover(Long mediaId) {
+    MediaEntity media = findOwnedMedia(mediaId);
+    if (media.getCoverKey() == null) {
+      return;
+    }
+    media.setCoverKey(null);
+    mediaRepository.save(media);
+    userDataVersions.bump(media.getUser().getUserId());
+  }
+
+  /**
+   * Liefert das Original eines Titelbilds.
+   *
+   * @param key Schlüssel des Bilds.
+   * @return Die auszuliefernde Datei; unveränderlich.
+   * @throws MediaNotFoundException Wenn der Schlüssel ungültig ist oder das Bild fehlt.
+   */
+  public CoverFile getOriginal(String key) {
+    Path path = store
+      .findOriginal(key)
+      .orElseThrow(() ->
+        new MediaNotFoundException("Cover image not found: " + key)
+      );
+    return new CoverFile(path, formatOf(key), "\"" + hashOf(key) + "\"", true);
+  }
+
+  /**
+   * Liefert die Vorschau eines Titelbilds. Existiert sie noch nicht, wird ihre
+   * Erzeugung angestoßen und bis dahin das Original geliefert, das dann nicht
+   * dauerhaft gecacht werden darf.
+   *
+   * @param key Schlüssel des Bilds.
+   * @return Die auszuliefernde Datei.
+   * @throws MediaNotFoundException Wenn der Schlüssel ungültig ist oder das Bild fehlt.
+   */
+  public CoverFile getThumbnail(String key) {
+    int width = thumbnailGenerator.getWidth();
+    Optional<Path> thumbnail = store.findThumbnail(key, width);
+    if (thumbnail.isPresent()) {
+      return new CoverFile(
+        thumbnail.get(),
+        CoverImageFormat.JPEG,
+        "\"" + hashOf(key) + "-" + width + "\"",
+        true
+      );
+    }
+    CoverFile original = getOriginal(key);
+    thumbnailGenerator.request(key);
+    return new CoverFile(original.path(), original.format(), original.etag(), false);
+  }
+
+  private MediaEntity findOwnedMedia(Long mediaId) {
+    Long userId = authenticatedUser.getUserId();
+    return mediaRepository
+      .findById(mediaId)
+      .filter(media -> media.getUser().getUserId().equals(userId))
+      .orElseThrow(() ->
+        new MediaNotFoundException("Media not found with ID: " + mediaId)
+      );
+  }
+
+  private static String hashOf(String key) {
+    return key.substring(0, key.indexOf('.'));
+  }
+
+  private static CoverImageFormat formatOf(String key) {
+    return CoverImageFormat
+      .fromExtension(key.substring(key.indexOf('.') + 1))
+      .orElseThrow();
+  }
+}
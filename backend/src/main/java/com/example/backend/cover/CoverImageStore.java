@@ -0,0 +1,194 @@
+package com.example.backend.cover;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.Arrays;
+import java.util.HexFormat;
+import java.util.Optional;
+import java.util.regex.Pattern;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import com.example.backend.exception.MediaException;
+
+/**
+ * Inhaltsadressierter Bildspeicher für Titelbilder im lokalen Dateisystem.
+ * Jedes Bild wird unter dem SHA-256-Hash seines Inhalts abgelegt; der Schlüssel
+ * hat die Form {@code <hash>.<endung>}. Gleiche Bilder werden dadurch nur
+ * einmal gespeichert, und eine Datei ändert sich nach dem Schreiben nie mehr,
+ * sodass sie unbegrenzt gecacht werden kann.
+ * Aufbau des Verzeichnisses:
+ * {@code originals/<ab>/<schlüssel>}, {@code thumbnails/<ab>/<hash>-<breite>.jpg}
+ * und {@code tmp/} für unvollständige Uploads ({@code <ab>} sind die ersten
+ * beiden Zeichen des Hashs).
+ */
+@Component
+public class CoverImageStore {
+
+  private static final Pattern KEY = Pattern.compile("[0-9a-f]{64}\\.(jpg|png|gif)");
+
+  private final Path originals;
+  private final Path thumbnails;
+  private final Path tmp;
+
+  /**
+   * Konstruktor. Die Verzeichnisse werden erst beim ersten Schreiben angelegt.
+   * @param storageDir Wurzelverzeichnis des Bildspeichers.
+   */
+  public CoverImageStore(@Value("${covers.storage-dir:covers}") String storageDir) {
+    Path root = Paths.get(storageDir).toAbsolutePath().normalize();
+    this.originals = root.resolve("originals");
+    this.thumbnails = root.resolve("thumbnails");
+    this.tmp = root.resolve("tmp");
+  }
+
+  /**
+   * Speichert ein Bild. Der Inhalt wird in eine temporäre Datei geschrieben,
+   * währenddessen gehasht und anschließend atomar an seinen endgültigen Ort
+   * verschoben; ist das Bild bereits vorhanden, wird die Kopie verworfen.
+   * @param content Bilddaten.
+   * @param maxBytes Maximale Größe in Bytes.
+   * @return Schlüssel des gespeicherten Bilds.
+   * @throws MediaException Wenn das Bild zu groß ist oder kein unterstütztes Format hat.
+   * @throws IOException Wenn das Lesen oder Schreiben fehlschlägt.
+   */
+  public String store(InputStream content, long maxBytes) throws IOException {
+    Files.createDirectories(tmp);
+    Path temp = Files.createTempFile(tmp, "upload-", ".part");
+    try {
+      MessageDigest digest = sha256();
+      byte[] header = new byte[CoverImageFormat.HEADER_LENGTH];
+      int headerLength = 0;
+      long size = 0;
+      try (OutputStream out = Files.newOutputStream(temp)) {
+        byte[] buffer = new byte[8192];
+        int read;
+        while ((read = content.read(buffer)) != -1) {
+          size += read;
+          if (size > maxBytes) {
+            throw new MediaException(
+              "Cover image must not be larger than " + maxBytes + " bytes"
+            );
+          }
+          if (headerLength < header.length) {
+            int n = Math.min(read, header.length - headerLength);
+            System.arraycopy(buffer, 0, header, headerLength, n);
+            headerLength += n;
+          }
+          digest.update(buffer, 0, read);
+          out.write(buffer, 0, read);
+        }
+      }
+      CoverImageFormat format = CoverImageFormat
+        .detect(Arrays.copyOf(header, headerLength))
+        .orElseThrow(() ->
+          new MediaException("Cover image must be a JPEG, PNG or GIF file")
+        );
+
+      String hash = HexFormat.of().formatHex(digest.digest());
+      String key = hash + "." + format.getExtension();
+      Path target = originalPath(key);
+      if (!Files.exists(target)) {
+        moveIntoPlace(temp, target);
+      }
+      return key;
+    } finally {
+      Files.deleteIfExists(temp);
+    }
+  }
+
+  /**
+   * @param key Schlüssel eines Bilds, z. B. aus einer URL.
+   * @return {@code true}, wenn der Schlüssel die Form {@code <hash>.<endung>} hat.
+   */
+  public static boolean isValidKey(String key) {
+    return key != null && KEY.matcher(key).matches();
+  }
+
+  /**
+   * @param key Schlüssel des Bilds.
+   * @return Pfad des Originals oder leer, wenn der Schlüssel ungültig ist oder das Bild fehlt.
+   */
+  public Optional<Path> findOriginal(String key) {
+    if (!isValidKey(key)) {
+      return Optional.empty();
+    }
+    Path path = originalPath(key);
+    return Files.isRegularFile(path) ? Optional.of(path) : Optional.empty();
+  }
+
+  /**
+   * @param key Schlüssel des Bilds.
+   * @param width Breite der Vorschau in Pixeln.
+   * @return Pfad der Vorschau oder leer, wenn sie (noch) nicht erzeugt wurde.
+   */
+  public Optional<Path> findThumbnail(String key, int width) {
+    if (!isValidKey(key)) {
+      return Optional.empty();
+    }
+    Path path = thumbnailPath(key, width);
+    return Files.isRegularFile(path) ? Optional.of(path) : Optional.empty();
+  }
+
+  /**
+   * @param key Gültiger Schlüssel des Bilds.
+   * @return Pfad des Originals, unabhängig davon, ob es existiert.
+   */
+  Path originalPath(String key) {
+    return originals.resolve(key.substring(0, 2)).resolve(key);
+  }
+
+  /**
+   * @param key Gültiger Schlüssel des Bilds.
+   * @param width Breite der Vorschau in Pixeln.
+   * @return Pfad der Vorschau, unabhängig davon, ob sie existiert.
+   */
+  Path thumbnailPath(String key, int width) {
+    String hash = key.substring(0, key.indexOf('.'));
+    return thumbnails
+      .resolve(hash.substring(0, 2))
+      .resolve(hash + "-" + width + ".jpg");
+  }
+
+  /**
+   * @return Neue, leere temporäre Datei innerhalb des Bildspeichers.
+   * @throws IOException Wenn die Datei nicht angelegt werden kann.
+   */
+  Path createTempFile() throws IOException {
+    Files.createDirectories(tmp);
+    return Files.createTempFile(tmp, "thumb-", ".part");
+  }
+
+  /**
+   * Verschiebt eine vollständig geschriebene temporäre Datei atomar an ihr Ziel,
+   * damit Leser nie eine halb geschriebene Datei sehen.
+   * @param temp Temporäre Datei.
+   * @param target Zielpfad.
+   * @throws IOException Wenn das Verschieben fehlschlägt.
+   */
+  void moveIntoPlace(Path temp, Path target) throws IOException {
+    Files.createDirectories(target.getParent());
+    Files.move(
+      temp,
+      target,
+      StandardCopyOption.ATOMIC_MOVE,
+      StandardCopyOption.REPLACE_EXISTING
+    );
+  }
+
+  private static MessageDigest sha256() {
+    try {
+      return MessageDigest.getInstance("SHA-256");
+    } catch (NoSuchAlgorithmException ex) {
+      throw new IllegalStateException("SHA-256 not available", ex);
+    }
+  }
+}
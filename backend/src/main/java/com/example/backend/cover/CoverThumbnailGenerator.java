@@ -0,0 +1,250 @@
+package com.example.backend.cover;
+
+import java.awt.Color;
+import java.awt.Graphics2D;
+import java.awt.RenderingHints;
+import java.awt.image.BufferedImage;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Iterator;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import javax.imageio.ImageIO;
+import javax.imageio.ImageReadParam;
+import javax.imageio.ImageReader;
+import javax.imageio.stream.ImageInputStream;
+
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+
+/**
+ * Erzeugt Vorschaubilder der Titelbilder asynchron auf einem eigenen,
+ * begrenzten Worker-Pool.
+ * Ein Upload wartet nicht auf die Vorschau; bis sie fertig ist, wird das
+ * Original ausgeliefert. Es laufen höchstens {@code threads} Aufträge
+ * gleichzeitig, höchstens {@code queueCapacity} warten. Ist die Warteschlange
+ * voll, wird der Auftrag verworfen und beim nächsten Abruf der Vorschau erneut
+ * angestoßen. Jedes Bild wird höchstens einmal gleichzeitig verarbeitet.
+ * Erfasst die Dauer, die Länge der Warteschlange sowie verworfene und
+ * fehlgeschlagene Aufträge als Metriken.
+ */
+@Component
+public class CoverThumbnailGenerator implements DisposableBean {
+
+  private final CoverImageStore store;
+  private final int width;
+  private final long maxPixels;
+  private final ThreadPoolExecutor executor;
+  private final Set<String> pending = ConcurrentHashMap.newKeySet();
+
+  private final Timer duration;
+  private final Counter rejected;
+  private final Counter failed;
+
+  /**
+   * Konstruktor.
+   * @param store Bildspeicher, aus dem gelesen und in den geschrieben wird.
+   * @param width Breite der Vorschaubilder in Pixeln.
+   * @param maxPixels Maximale Pixelanzahl eines Originals; größere Bilder erhalten keine Vorschau.
+   * @param threads Anzahl der Worker-Threads.
+   * @param queueCapacity Maximale Anzahl wartender Aufträge.
+   * @param meterRegistry Registry für die Metriken.
+   */
+  public CoverThumbnailGenerator(
+    CoverImageStore store,
+    @Value("${covers.thumbnail-width:240}") int width,
+    @Value("${covers.thumbnail-max-pixels:50000000}") long maxPixels,
+    @Value("${covers.thumbnail-threads:2}") int threads,
+    @Value("${covers.thumbnail-queue-capacity:200}") int queueCapacity,
+    MeterRegistry meterRegistry
+  ) {
+    this.store = store;
+    this.width = width;
+    this.maxPixels = maxPixels;
+    this.executor =
+      new ThreadPoolExecutor(
+        threads,
+        threads,
+        0L,
+        TimeUnit.MILLISECONDS,
+        new ArrayBlockingQueue<>(queueCapacity),
+        new ThumbnailThreadFactory(),
+        new ThreadPoolExecutor.AbortPolicy()
+      );
+
+    this.duration = Timer.builder("cover.thumbnail.duration").register(meterRegistry);
+    this.rejected =
+      Counter.builder("cover.thumbnail.rejected").register(meterRegistry);
+    this.failed = Counter.builder("cover.thumbnail.failed").register(meterRegistry);
+    Gauge
+      .builder("cover.thumbnail.queue.depth", executor, e -> e.getQueue().size())
+      .register(meterRegistry);
+  }
+
+  /**
+   * @return Breite der Vorschaubilder in Pixeln.
+   */
+  public int getWidth() {
+    return width;
+  }
+
+  /**
+   * Stößt die Erzeugung der Vorschau an, sofern sie noch nicht existiert und
+   * nicht bereits in Arbeit ist. Kehrt sofort zurück.
+   * @param key Schlüssel des Originals.
+   */
+  public void request(String key) {
+    if (store.findThumbnail(key, width).isPresent() || !pending.add(key)) {
+      return;
+    }
+    try {
+      executor.execute(() -> {
+        try {
+          duration.record(() -> {
+            generate(key);
+          });
+        } finally {
+          pending.remove(key);
+        }
+      });
+    } catch (RejectedExecutionException ex) {
+      pending.remove(key);
+      rejected.increment();
+    }
+  }
+
+  /**
+   * Fährt den Worker-Pool beim Herunterfahren des Kontexts herunter.
+   */
+  @Override
+  public void destroy() {
+    executor.shutdownNow();
+  }
+
+  /**
+   * Erzeugt die Vorschau synchron auf dem aufrufenden Thread.
+   * Das Original wird verkleinert, auf weißen Hintergrund gezeichnet (JPEG
+   * kennt keine Transparenz) und als JPEG gespeichert.
+   * @param key Schlüssel des Originals.
+   * @return {@code true}, wenn die Vorschau geschrieben wurde.
+   */
+  boolean generate(String key) {
+    Optional<Path> original = store.findOriginal(key);
+    if (original.isEmpty()) {
+      return false;
+    }
+    try {
+      BufferedImage source = read(original.get());
+      if (source == null) {
+        failed.increment();
+        return false;
+      }
+      Path temp = store.createTempFile();
+      try {
+        if (!ImageIO.write(scale(source), "jpg", temp.toFile())) {
+          failed.increment();
+          return false;
+        }
+        store.moveIntoPlace(temp, store.thumbnailPath(key, width));
+      } finally {
+        Files.deleteIfExists(temp);
+      }
+      return true;
+    } catch (IOException | RuntimeException ex) {
+      failed.increment();
+      return false;
+    }
+  }
+
+  /**
+   * Dekodiert das Original. Große Bilder werden schon beim Dekodieren nur in
+   * jeder n-ten Zeile und Spalte gelesen (höchstens doppelte Zielbreite), was
+   * Speicher und Rechenzeit spart.
+   * @return Das Bild oder {@code null}, wenn es nicht lesbar oder zu groß ist.
+   */
+  private BufferedImage read(Path path) throws IOException {
+    try (ImageInputStream in = ImageIO.createImageInputStream(path.toFile())) {
+      Iterator<ImageReader> readers = ImageIO.getImageReaders(in);
+      if (!readers.hasNext()) {
+        return null;
+      }
+      ImageReader reader = readers.next();
+      try {
+        reader.setInput(in, true, true);
+        int sourceWidth = reader.getWidth(0);
+        int sourceHeight = reader.getHeight(0);
+        if ((long) sourceWidth * sourceHeight > maxPixels) {
+          return null;
+        }
+        int step = Math.max(1, sourceWidth / (width * 2));
+        ImageReadParam param = reader.getDefaultReadParam();
+        param.setSourceSubsampling(step, step, 0, 0);
+        return reader.read(0, param);
+      } finally {
+        reader.dispose();
+      }
+    }
+  }
+
+  private BufferedImage scale(BufferedImage source) {
+    int targetWidth = Math.min(width, source.getWidth());
+    int targetHeight = Math.max(
+      1,
+      (int) Math.round(
+        (double) source.getHeight() * targetWidth / source.getWidth()
+      )
+    );
+    BufferedImage target = new BufferedImage(
+      targetWidth,
+      targetHeight,
+      BufferedImage.TYPE_INT_RGB
+    );
+    Graphics2D graphics = target.createGraphics();
+    try {
+      graphics.setRenderingHint(
+        RenderingHints.KEY_INTERPOLATION,
+        RenderingHints.VALUE_INTERPOLATION_BILINEAR
+      );
+      graphics.setRenderingHint(
+        RenderingHints.KEY_RENDERING,
+        RenderingHints.VALUE_RENDER_QUALITY
+      );
+      graphics.setColor(Color.WHITE);
+      graphics.fillRect(0, 0, targetWidth, targetHeight);
+      graphics.drawImage(source, 0, 0, targetWidth, targetHeight, null);
+    } finally {
+      graphics.dispose();
+    }
+    return target;
+  }
+
+  private static final class ThumbnailThreadFactory implements ThreadFactory {
+
+    private final AtomicInteger counter = new AtomicInteger();
+
+    @Override
+    public Thread newThread(Runnable runnable) {
+      Thread thread = new Thread(
+        runnable,
+        "cover-thumbnail-" + counter.incrementAndGet()
+      );
+      thread.setDaemon(true);
+      return thread;
+    }
+  }
+}
@@ -0,0 +1,19 @@
+package com.example.backend.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * Data Transfer Object für die Anzahl der Medien einer Kategorie innerhalb
+ * einer gefilterten Treffermenge.
+ */
+@Data
+@AllArgsConstructor
+@NoArgsConstructor
+public class CategoryFacetDTO {
+
+  private Long categoryId;
+  private String categoryName;
+  private long count;
+}
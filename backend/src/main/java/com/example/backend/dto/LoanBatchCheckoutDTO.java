@@ -0,0 +1,26 @@
+package com.example.backend.dto;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.List;
+
+import lombok.Data;
+
+/**
+ * Data Transfer Object für die Sammelausleihe mehrerer Medien an eine Person.
+ */
+@Data
+public class LoanBatchCheckoutDTO {
+
+  /** ID der Person, die die Medien ausleiht. */
+  private Long personId;
+
+  /** IDs der auszuleihenden Medien. */
+  private List<Long> mediaIds;
+
+  /** Fälligkeitsdatum aller Ausleihen; Standard ist in einem Monat. */
+  private LocalDate dueDate;
+
+  /** Zeitpunkt der Ausleihe; Standard ist jetzt. */
+  private LocalDateTime borrowedAt;
+}
@@ -0,0 +1,26 @@
+package com.example.backend.dto;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * Data Transfer Object für das Ergebnis eines einzelnen Elements einer
+ * Sammelausleihe oder -rückgabe.
+ */
+@Data
+@AllArgsConstructor
+@NoArgsConstructor
+@JsonInclude(JsonInclude.Include.NON_NULL)
+public class LoanBatchItemDTO {
+
+  /** ID des Mediums (bei der Ausleihe immer, bei der Rückgabe falls bekannt). */
+  private Long mediaId;
+
+  /** ID der Ausleihe (bei der Rückgabe immer, bei der Ausleihe falls angelegt). */
+  private Long loanId;
+
+  private LoanBatchItemStatus status;
+}
@@ -0,0 +1,19 @@
+package com.example.backend.dto;
+
+/**
+ * Ergebnis einer Sammelausleihe oder -rückgabe für ein einzelnes Element.
+ */
+public enum LoanBatchItemStatus {
+  /** Ausleihe wurde angelegt. */
+  CREATED,
+  /** Ausleihe wurde als zurückgegeben markiert. */
+  RETURNED,
+  /** Medium bzw. Ausleihe existiert nicht oder gehört nicht dem Benutzer. */
+  NOT_FOUND,
+  /** Medium ist ausgeliehen oder nicht verfügbar. */
+  UNAVAILABLE,
+  /** Ausleihe war bereits zurückgegeben. */
+  ALREADY_RETURNED,
+  /** Rückgabezeitpunkt liegt vor dem Ausleihzeitpunkt. */
+  RETURNED_BEFORE_BORROWED,
+}
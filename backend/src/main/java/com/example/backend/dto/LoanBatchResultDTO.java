@@ -0,0 +1,23 @@
+package com.example.backend.dto;
+
+import java.util.List;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * Data Transfer Object für das Ergebnis einer Sammelausleihe oder -rückgabe.
+ * Enthält je angefragtem Medium bzw. angefragter Ausleihe einen Eintrag in
+ * der Reihenfolge der Anfrage (ohne Duplikate).
+ */
+@Data
+@AllArgsConstructor
+@NoArgsConstructor
+public class LoanBatchResultDTO {
+
+  /** Anzahl der angelegten bzw. zurückgegebenen Ausleihen. */
+  private int succeeded;
+
+  private List<LoanBatchItemDTO> items;
+}
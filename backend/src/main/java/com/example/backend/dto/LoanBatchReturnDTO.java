@@ -0,0 +1,19 @@
+package com.example.backend.dto;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+import lombok.Data;
+
+/**
+ * Data Transfer Object für die Sammelrückgabe mehrerer Ausleihen.
+ */
+@Data
+public class LoanBatchReturnDTO {
+
+  /** IDs der zurückgegebenen Ausleihen. */
+  private List<Long> loanIds;
+
+  /** Zeitpunkt der Rückgabe aller Ausleihen; Standard ist jetzt. */
+  private LocalDateTime returnedAt;
+}
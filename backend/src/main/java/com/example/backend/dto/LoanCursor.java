@@ -0,0 +1,56 @@
+package com.example.backend.dto;
+
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeParseException;
+import java.util.Base64;
+
+import com.example.backend.exception.LoanException;
+
+/**
+ * Position innerhalb der nach Ausleihdatum absteigend sortierten Ausleihhistorie
+ * für die Keyset-Paginierung. Besteht aus Ausleihdatum und ID der letzten
+ * Ausleihe einer Seite; die nächste Seite beginnt direkt dahinter (kein OFFSET).
+ *
+ * @param borrowedAt Zeitpunkt der Ausleihe.
+ * @param loanId ID der Ausleihe.
+ */
+public record LoanCursor(LocalDateTime borrowedAt, Long loanId) {
+
+  private static final String SEPARATOR = "|";
+
+  /**
+   * Kodiert den Cursor als URL-sichere Zeichenkette.
+   * @return Base64url-kodierter Cursor.
+   */
+  public String encode() {
+    String raw = loanId + SEPARATOR + borrowedAt;
+    return Base64
+      .getUrlEncoder()
+      .withoutPadding()
+      .encodeToString(raw.getBytes(StandardCharsets.UTF_8));
+  }
+
+  /**
+   * Dekodiert einen mit {@link #encode()} erzeugten Cursor.
+   * @param encoded Kodierter Cursor.
+   * @return Der dekodierte Cursor.
+   * @throws LoanException Wenn der Cursor ungültig ist.
+   */
+  public static LoanCursor decode(String encoded) {
+    try {
+      String raw = new String(
+        Base64.getUrlDecoder().decode(encoded),
+        StandardCharsets.UTF_8
+      );
+      String[] parts = raw.split("\\" + SEPARATOR, 2);
+      return new LoanCursor(LocalDateTime.parse(parts[1]), Long.valueOf(parts[0]));
+    } catch (
+      IllegalArgumentException
+      | ArrayIndexOutOfBoundsException
+      | DateTimeParseException e
+    ) {
+      throw new LoanException("Invalid cursor");
+    }
+  }
+}
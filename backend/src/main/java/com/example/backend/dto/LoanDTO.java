@@ -0,0 +1,93 @@
+package com.example.backend.dto;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+
+import com.example.backend.model.LoanEntity;
+import com.example.backend.model.MediaEntity;
+import com.example.backend.model.MediaState;
+import com.example.backend.model.MediaType;
+import com.example.backend.model.PersonEntity;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * Data Transfer Object für eine Ausleihe mit Kurzfassungen der Person und des
+ * Mediums. Wird statt der {@link LoanEntity} ausgeliefert, damit weder der
+ * Benutzer (samt Passwort-Hash) noch weitere Felder und Beziehungen der
+ * Entitäten serialisiert werden. Die Listen werden per JPQL-Konstruktor
+ * direkt aus der Datenbank gefüllt, ohne Entitäten zu laden.
+ */
+@Data
+@AllArgsConstructor
+@NoArgsConstructor
+public class LoanDTO {
+
+  private Long loanId;
+  private LocalDateTime borrowedAt;
+  private LocalDateTime returnedAt;
+  private LocalDate dueDate;
+  private PersonSummaryDTO person;
+  private MediaSummaryDTO media;
+
+  /**
+   * Konstruktor für JPQL-Konstruktorausdrücke, die nur flache Werte liefern können.
+   * @param loanId ID der Ausleihe.
+   * @param borrowedAt Zeitpunkt der Ausleihe.
+   * @param returnedAt Zeitpunkt der Rückgabe oder {@code null}.
+   * @param dueDate Fälligkeitsdatum.
+   * @param personId ID der Person.
+   * @param firstName Vorname der Person.
+   * @param lastName Nachname der Person.
+   * @param mediaId ID des Mediums.
+   * @param title Titel des Mediums.
+   * @param type Typ des Mediums.
+   * @param mediaState Status des Mediums.
+   */
+  public LoanDTO(
+    Long loanId,
+    LocalDateTime borrowedAt,
+    LocalDateTime returnedAt,
+    LocalDate dueDate,
+    Long personId,
+    String firstName,
+    String lastName,
+    Long mediaId,
+    String title,
+    MediaType type,
+    MediaState mediaState
+  ) {
+    this(
+      loanId,
+      borrowedAt,
+      returnedAt,
+      dueDate,
+      new PersonSummaryDTO(personId, firstName, lastName),
+      new MediaSummaryDTO(mediaId, title, type, mediaState)
+    );
+  }
+
+  /**
+   * @param loan Gespeicherte Ausleihe mit Person und Medium.
+   * @return Die Ausleihe als DTO.
+   */
+  public static LoanDTO of(LoanEntity loan) {
+    PersonEntity person = loan.getPerson();
+    MediaEntity media = loan.getMedia();
+    return new LoanDTO(
+      loan.getLoanId(),
+      loan.getBorrowedAt(),
+      loan.getReturnedAt(),
+      loan.getDueDate(),
+      person.getPersonId(),
+      person.getFirstName(),
+      person.getLastName(),
+      media.getMediaId(),
+      media.getTitle(),
+      media.getType(),
+      media.getMediaState()
+    );
+  }
+}
@@ -0,0 +1,28 @@
+package com.example.backend.dto;
+
+import java.time.LocalDate;
+
+import lombok.Data;
+
+/**
+ * Data Transfer Object mit den Filterkriterien für die seitenweise Abfrage
+ * der Ausleihhistorie eines Benutzers.
+ * Alle Filter sind optional; nicht gesetzte Felder schränken das Ergebnis nicht ein.
+ */
+@Data
+public class LoanHistoryFilterDTO {
+
+  /** Nur Ausleihen dieser Person. */
+  private Long personId;
+
+  /** Nur Ausleihen dieses Mediums. */
+  private Long mediaId;
+
+  private LoanStatus status;
+
+  /** Untere Grenze des Ausleihdatums (inklusive). */
+  private LocalDate borrowedFrom;
+
+  /** Obere Grenze des Ausleihdatums (inklusive). */
+  private LocalDate borrowedTo;
+}
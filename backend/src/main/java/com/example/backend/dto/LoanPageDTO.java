@@ -0,0 +1,25 @@
+package com.example.backend.dto;
+
+import java.util.List;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * Data Transfer Object für eine Seite der Ausleihhistorie.
+ * Die nächste Seite wird über {@code nextCursor} abgerufen; ist er {@code null},
+ * wurde die letzte Seite erreicht.
+ */
+@Data
+@AllArgsConstructor
+@NoArgsConstructor
+public class LoanPageDTO {
+
+  private List<LoanDTO> items;
+
+  /** Cursor für die nächste Seite oder {@code null}. */
+  private String nextCursor;
+
+  private boolean hasMore;
+}
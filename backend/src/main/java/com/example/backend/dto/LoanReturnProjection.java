@@ -0,0 +1,14 @@
+package com.example.backend.dto;
+
+import java.time.LocalDateTime;
+
+/**
+ * Ein Interface, das die für eine Rückgabe benötigten Felder einer Ausleihe
+ * beschreibt, ohne Person und Medium als Entitäten zu laden.
+ */
+public interface LoanReturnProjection {
+  Long getLoanId();
+  Long getMediaId();
+  LocalDateTime getBorrowedAt();
+  LocalDateTime getReturnedAt();
+}
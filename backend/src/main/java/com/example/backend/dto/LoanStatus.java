@@ -0,0 +1,13 @@
+package com.example.backend.dto;
+
+/**
+ * Status einer Ausleihe für die Filterung der Ausleihhistorie.
+ */
+public enum LoanStatus {
+  /** Noch nicht zurückgegeben. */
+  ACTIVE,
+  /** Zurückgegeben. */
+  RETURNED,
+  /** Noch nicht zurückgegeben und das Fälligkeitsdatum liegt vor dem Stichtag. */
+  OVERDUE,
+}
@@ -0,0 +1,29 @@
+package com.example.backend.dto;
+
+import java.util.List;
+
+import com.example.backend.model.MediaState;
+
+import lombok.Data;
+
+/**
+ * Data Transfer Object für eine Massenoperation auf Medien des angemeldeten
+ * Benutzers. Die betroffenen Medien werden entweder über ihre IDs oder über
+ * einen Filter bestimmt; genau eines von beiden muss angegeben sein.
+ * Medien anderer Benutzer werden stillschweigend übergangen.
+ */
+@Data
+public class MediaBulkRequestDTO {
+
+  /** IDs der betroffenen Medien. */
+  private List<Long> mediaIds;
+
+  /** Filter, der die betroffenen Medien beschreibt; Sortierkriterien werden ignoriert. */
+  private MediaFilterDTO filter;
+
+  /** Neuer Status (nur für die Statusänderung). */
+  private MediaState mediaState;
+
+  /** Neuer Favoritenstatus (nur für die Favoritenänderung). */
+  private Boolean isFavorite;
+}
@@ -0,0 +1,34 @@
+package com.example.backend.dto;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * Data Transfer Object für das Ergebnis einer Massenoperation auf Medien.
+ */
+@Data
+@AllArgsConstructor
+@NoArgsConstructor
+public class MediaBulkResultDTO {
+
+  /**
+   * Anzahl der tatsächlich geänderten Medien bzw. Zuordnungen. Medien, die
+   * bereits im Zielzustand waren, zählen nicht mit.
+   */
+  private int affected;
+
+  /** Anzahl der mitgelöschten Ausleihen (nur beim Löschen). */
+  @JsonInclude(JsonInclude.Include.NON_NULL)
+  private Integer loansDeleted;
+
+  /**
+   * Konstruktor für Ergebnisse ohne gelöschte Ausleihen.
+   * @param affected Anzahl der geänderten Medien bzw. Zuordnungen.
+   */
+  public MediaBulkResultDTO(int affected) {
+    this.affected = affected;
+  }
+}
@@ -0,0 +1,12 @@
+package com.example.backend.dto;
+
+/**
+ * Ein Interface, das die Projektion einer Zuordnung zwischen Medium und Kategorie beschreibt.
+ * Enthält neben der Medien-ID die ID und den Namen der Kategorie, sodass keine
+ * Entitäten geladen werden müssen.
+ */
+public interface MediaCategoryProjection {
+  Long getMediaId();
+  Long getCategoryId();
+  String getCategoryName();
+}
@@ -0,0 +1,19 @@
+package com.example.backend.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * Data Transfer Object mit dem Titelbild eines Mediums.
+ * Das Bild wird über {@code /api/covers/{coverKey}} bzw.
+ * {@code /api/covers/{coverKey}/thumbnail} abgerufen.
+ */
+@Data
+@AllArgsConstructor
+@NoArgsConstructor
+public class MediaCoverDTO {
+
+  private Long mediaId;
+  private String coverKey;
+}
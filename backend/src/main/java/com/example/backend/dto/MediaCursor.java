@@ -0,0 +1,97 @@
+package com.example.backend.dto;
+
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeParseException;
+import java.util.Base64;
+
+import com.example.backend.exception.MediaException;
+
+/**
+ * Position innerhalb einer sortierten Medienliste für die Keyset-Paginierung.
+ * Besteht aus dem Wert des Sortierfeldes und der Medien-ID des letzten Eintrags
+ * einer Seite. Die nächste Seite beginnt direkt hinter dieser Position, sodass
+ * die Datenbank keine übersprungenen Zeilen zählen muss (kein OFFSET).
+ *
+ * @param sort Sortierfeld, für das der Cursor erzeugt wurde.
+ * @param value Wert des Sortierfeldes als Zeichenkette.
+ * @param mediaId ID des Mediums.
+ */
+public record MediaCursor(MediaSortField sort, String value, Long mediaId) {
+
+  private static final String SEPARATOR = "|";
+
+  /**
+   * Erstellt einen Cursor aus einem Erstellungsdatum.
+   * @param createdAt Erstellungsdatum des Mediums.
+   * @param mediaId ID des Mediums.
+   * @return Cursor für die Sortierung nach Erstellungsdatum.
+   */
+  public static MediaCursor ofCreatedAt(LocalDateTime createdAt, Long mediaId) {
+    return new MediaCursor(MediaSortField.CREATED_AT, createdAt.toString(), mediaId);
+  }
+
+  /**
+   * Erstellt einen Cursor aus einem Titel.
+   * @param title Titel des Mediums.
+   * @param mediaId ID des Mediums.
+   * @return Cursor für die Sortierung nach Titel.
+   */
+  public static MediaCursor ofTitle(String title, Long mediaId) {
+    return new MediaCursor(MediaSortField.TITLE, title, mediaId);
+  }
+
+  /**
+   * @return Erstellungsdatum dieses Cursors.
+   */
+  public LocalDateTime createdAt() {
+    return LocalDateTime.parse(value);
+  }
+
+  /**
+   * Kodiert den Cursor als URL-sichere Zeichenkette.
+   * @return Base64url-kodierter Cursor.
+   */
+  public String encode() {
+    String raw = sort.name() + SEPARATOR + mediaId + SEPARATOR + value;
+    return Base64
+      .getUrlEncoder()
+      .withoutPadding()
+      .encodeToString(raw.getBytes(StandardCharsets.UTF_8));
+  }
+
+  /**
+   * Dekodiert einen mit {@link #encode()} erzeugten Cursor.
+   * @param encoded Kodierter Cursor.
+   * @param expectedSort Sortierfeld der aktuellen Anfrage.
+   * @return Der dekodierte Cursor.
+   * @throws MediaException Wenn der Cursor ungültig ist oder zu einer anderen Sortierung gehört.
+   */
+  public static MediaCursor decode(String encoded, MediaSortField expectedSort) {
+    try {
+      String raw = new String(
+        Base64.getUrlDecoder().decode(encoded),
+        StandardCharsets.UTF_8
+      );
+      String[] parts = raw.split("\\" + SEPARATOR, 3);
+      MediaCursor cursor = new MediaCursor(
+        MediaSortField.valueOf(parts[0]),
+        parts[2],
+        Long.valueOf(parts[1])
+      );
+      if (cursor.sort() != expectedSort) {
+        throw new MediaException("Cursor does not match the requested sort order");
+      }
+      if (cursor.sort() == MediaSortField.CREATED_AT) {
+        cursor.createdAt();
+      }
+      return cursor;
+    } catch (
+      IllegalArgumentException
+      | ArrayIndexOutOfBoundsException
+      | DateTimeParseException e
+    ) {
+      throw new MediaException("Invalid cursor");
+    }
+  }
+}
@@ -0,0 +1,11 @@
+package com.example.backend.dto;
+
+/**
+ * Unterstützte Formate für den Export der Medien.
+ */
+public enum MediaExportFormat {
+  /** Ein JSON-Objekt pro Zeile ({@code application/x-ndjson}). */
+  JSONL,
+  /** Kommagetrennte Werte mit Kopfzeile ({@code text/csv}). */
+  CSV,
+}
@@ -0,0 +1,14 @@
+package com.example.backend.dto;
+
+/**
+ * Ein Interface, das eine Zeile des Medienexports beschreibt.
+ * Enthält die Spalten eines Mediums und höchstens eine seiner Kategorien; ein
+ * Medium mit mehreren Kategorien erscheint in mehreren aufeinanderfolgenden Zeilen.
+ * Die Kategoriespalten sind {@code null}, wenn das Medium keine Kategorie hat.
+ * Im Gegensatz zu {@link MediaProjection} enthält sie die vollständigen Notizen.
+ */
+public interface MediaExportProjection extends MediaProjection {
+  String getNotes();
+  Long getCategoryId();
+  String getCategoryName();
+}
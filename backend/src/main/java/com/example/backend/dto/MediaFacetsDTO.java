@@ -0,0 +1,53 @@
+package com.example.backend.dto;
+
+import java.util.ArrayList;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+
+import com.example.backend.model.MediaState;
+import com.example.backend.model.MediaType;
+
+import lombok.Data;
+
+/**
+ * Data Transfer Object mit den Facettenzählungen der Medien eines Benutzers.
+ * Alle Zählungen beziehen sich auf die Treffermenge des aktuellen Filters,
+ * sodass die Oberfläche Filter und Statistiken ohne Laden der gesamten
+ * Sammlung darstellen kann. Status, Typ und Favoritenstatus enthalten auch
+ * Werte ohne Treffer (Anzahl 0).
+ */
+@Data
+public class MediaFacetsDTO {
+
+  /** Anzahl aller Medien der Treffermenge. */
+  private long total;
+
+  private Map<MediaState, Long> mediaState = new EnumMap<>(MediaState.class);
+  private Map<MediaType, Long> type = new EnumMap<>(MediaType.class);
+  private Map<Boolean, Long> isFavorite = new TreeMap<>();
+
+  /** Anzahl pro Jahrzehnt; Schlüssel ist das erste Jahr des Jahrzehnts, z. B. 1990. */
+  private Map<Integer, Long> releaseDecade = new TreeMap<>();
+
+  /** Anzahl der Medien ohne Erscheinungsjahr. */
+  private long releaseYearUnknown;
+
+  /** Anzahl pro Kategorie, nach Namen sortiert; ein Medium zählt in jeder seiner Kategorien. */
+  private List<CategoryFacetDTO> categories = new ArrayList<>();
+
+  /**
+   * Erstellt ein Ergebnis, in dem alle Status, Typen und Favoritenwerte mit 0 vorbelegt sind.
+   */
+  public MediaFacetsDTO() {
+    for (MediaState state : MediaState.values()) {
+      mediaState.put(state, 0L);
+    }
+    for (MediaType mediaType : MediaType.values()) {
+      type.put(mediaType, 0L);
+    }
+    isFavorite.put(false, 0L);
+    isFavorite.put(true, 0L);
+  }
+}
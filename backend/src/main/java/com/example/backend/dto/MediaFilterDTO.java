@@ -0,0 +1,36 @@
+package com.example.backend.dto;
+
+import org.springframework.data.domain.Sort;
+
+import com.example.backend.model.MediaState;
+import com.example.backend.model.MediaType;
+
+import lombok.Data;
+
+/**
+ * Data Transfer Object mit den Filter- und Sortierkriterien für die seitenweise
+ * Abfrage der Medien eines Benutzers.
+ * Alle Filter sind optional; nicht gesetzte Felder schränken das Ergebnis nicht ein.
+ */
+@Data
+public class MediaFilterDTO {
+
+  private MediaState mediaState;
+  private MediaType type;
+  private Boolean isFavorite;
+
+  /** Nur Medien, die dieser Kategorie zugeordnet sind. */
+  private Long categoryId;
+
+  /** Untere Grenze des Erscheinungsjahres (inklusive). */
+  private Integer releaseYearFrom;
+
+  /** Obere Grenze des Erscheinungsjahres (inklusive). */
+  private Integer releaseYearTo;
+
+  /** Sortierfeld; Standard ist das Erstellungsdatum. */
+  private MediaSortField sort = MediaSortField.CREATED_AT;
+
+  /** Sortierrichtung; Standard ist absteigend (neueste zuerst). */
+  private Sort.Direction direction = Sort.Direction.DESC;
+}
@@ -0,0 +1,19 @@
+package com.example.backend.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * Data Transfer Object für einen Fehler beim Import eines einzelnen Mediums.
+ */
+@Data
+@AllArgsConstructor
+@NoArgsConstructor
+public class MediaImportErrorDTO {
+
+  /** Nummer des Eintrags im Import, beginnend bei 1 (bei CSV ohne Kopfzeile). */
+  private int row;
+
+  private String message;
+}
@@ -0,0 +1,21 @@
+package com.example.backend.dto;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import lombok.Data;
+
+/**
+ * Data Transfer Object für das Ergebnis eines Massenimports von Medien.
+ * Fehlerhafte Einträge werden übersprungen und einzeln gemeldet; alle übrigen
+ * Einträge werden gespeichert.
+ */
+@Data
+public class MediaImportResultDTO {
+
+  /** Anzahl der gespeicherten Medien. */
+  private int imported;
+
+  /** Fehler der nicht gespeicherten Einträge. */
+  private List<MediaImportErrorDTO> errors = new ArrayList<>();
+}
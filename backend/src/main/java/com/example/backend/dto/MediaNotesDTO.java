@@ -0,0 +1,18 @@
+package com.example.backend.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * Data Transfer Object mit den vollständigen Notizen eines Mediums.
+ * Wird einzeln abgerufen, weil Listen nur den Anfang der Notizen enthalten.
+ */
+@Data
+@AllArgsConstructor
+@NoArgsConstructor
+public class MediaNotesDTO {
+
+  private Long mediaId;
+  private String notes;
+}
@@ -3,10 +3,13 @@ package com.example.backend.dto;
 import java.time.LocalDateTime;
 
 /**
- * Ein Interface, das die Projektion von Medien mit zugehörigen Kategorien beschreibt.
+ * Ein Interface, das die Projektion der Spalten eines Mediums beschreibt.
  * Wird verwendet, um Daten aus der Datenbank abzurufen, ohne, dass die vollständigen Entitäten geladen werden müssen.
+ * Die Kategorien werden separat über {@link MediaCategoryProjection} geladen.
+ * Statt der vollständigen Notizen enthält sie nur deren Anfang
+ * ({@link MediaWithCategoriesDTO#NOTES_PREVIEW_LENGTH} Zeichen).
  */
-public interface MediaWithCategoriesProjection {
+public interface MediaProjection {
   Long getMediaId();
   Long getUserId();
   String getProducer();
@@ -14,14 +17,11 @@ public interface MediaWithCategoriesProjection {
   String getMediaState();
   String getType();
   Integer getReleaseYear();
-  String getNotes();
+  String getNotesPreview();
   String getIsbn();
+  String getCoverKey();
   Boolean getIsFavorite();
   LocalDateTime getCreatedAt();
-
-  /**
-   * Gibt Zeichenkette zurück, die die Kategorie-IDs und -Namen des Mediums enthält.
-   * @return Kategorie-Paare als Zeichenkette.
-   */
-  String getCategoryPairs();
+  LocalDateTime getUpdatedAt();
+  Long getVersion();
 }
@@ -0,0 +1,24 @@
+package com.example.backend.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * Data Transfer Object für einen Treffer der Volltextsuche.
+ * Enthält nur die Felder, die für die Anzeige einer Trefferliste nötig sind.
+ */
+@Data
+@AllArgsConstructor
+@NoArgsConstructor
+public class MediaSearchHitDTO {
+
+  private Long mediaId;
+  private String title;
+  private String producer;
+  private String isbn;
+  private String type;
+
+  /** Relevanz des Treffers; höhere Werte sind relevanter. */
+  private int score;
+}
@@ -0,0 +1,15 @@
+package com.example.backend.dto;
+
+/**
+ * Ein Interface, das die für die Volltextsuche benötigten Spalten eines
+ * Mediums beschreibt. Enthält im Gegensatz zu {@link MediaProjection} die
+ * vollständigen Notizen.
+ */
+public interface MediaSearchProjection {
+  Long getMediaId();
+  String getTitle();
+  String getProducer();
+  String getNotes();
+  String getIsbn();
+  String getType();
+}
@@ -0,0 +1,11 @@
+package com.example.backend.dto;
+
+/**
+ * Felder, nach denen die seitenweise Medienabfrage sortiert werden kann.
+ * Bei gleichen Werten wird zusätzlich nach der Medien-ID sortiert, damit die
+ * Reihenfolge eindeutig ist und als Cursor dienen kann.
+ */
+public enum MediaSortField {
+  CREATED_AT,
+  TITLE,
+}
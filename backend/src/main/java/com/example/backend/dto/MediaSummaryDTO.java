@@ -0,0 +1,23 @@
+package com.example.backend.dto;
+
+import com.example.backend.model.MediaState;
+import com.example.backend.model.MediaType;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * Data Transfer Object mit den Angaben eines Mediums, die zur Anzeige einer
+ * Ausleihe nötig sind.
+ */
+@Data
+@AllArgsConstructor
+@NoArgsConstructor
+public class MediaSummaryDTO {
+
+  private Long mediaId;
+  private String title;
+  private MediaType type;
+  private MediaState mediaState;
+}
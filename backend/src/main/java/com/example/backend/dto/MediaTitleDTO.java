@@ -0,0 +1,18 @@
+package com.example.backend.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * Data Transfer Object mit ID und Titel eines Mediums, z. B. als Vorschlag der
+ * Autovervollständigung.
+ */
+@Data
+@AllArgsConstructor
+@NoArgsConstructor
+public class MediaTitleDTO {
+
+  private Long mediaId;
+  private String title;
+}
@@ -4,6 +4,8 @@ import java.time.LocalDateTime;
 import java.util.ArrayList;
 import java.util.List;
 
+import com.fasterxml.jackson.annotation.JsonInclude;
+
 import lombok.Data;
 
 /**
@@ -13,6 +15,9 @@ import lombok.Data;
 @Data
 public class MediaWithCategoriesDTO {
 
+  /** Anzahl der Zeichen von {@link #notesPreview}; muss zu den Abfragen in {@code MediaRepository} passen. */
+  public static final int NOTES_PREVIEW_LENGTH = 100;
+
   private Long mediaId;
   private Long userId;
 
@@ -21,10 +26,31 @@ public class MediaWithCategoriesDTO {
   private String mediaState;
   private String type;
   private Integer releaseYear;
+
+  /**
+   * Vollständige Notizen. Nur in Antworten zu einem einzelnen Medium gesetzt;
+   * in Listen fehlen sie und werden bei Bedarf einzeln abgerufen.
+   */
+  @JsonInclude(JsonInclude.Include.NON_NULL)
   private String notes;
+
+  /** Anfang der Notizen für Listenansichten; fehlt, wenn es keine Notizen gibt. */
+  @JsonInclude(JsonInclude.Include.NON_NULL)
+  private String notesPreview;
+
   private String isbn;
+
+  /**
+   * Schlüssel des Titelbilds; das Bild wird über {@code /api/covers/{coverKey}}
+   * abgerufen. Fehlt, wenn kein Titelbild hinterlegt ist.
+   */
+  @JsonInclude(JsonInclude.Include.NON_NULL)
+  private String coverKey;
+
   private Boolean isFavorite;
   private LocalDateTime createdAt;
+  private LocalDateTime updatedAt;
+  private Long version;
 
   /** Eine Liste von Kategorien, die dem Medium zugeordnet sind. */
   private List<CategoryDTO> categories = new ArrayList<>();
@@ -44,21 +70,20 @@ public class MediaWithCategoriesDTO {
     this.type = media.getType();
     this.releaseYear = media.getReleaseYear();
     this.notes = media.getNotes();
+    this.notesPreview = previewOf(media.getNotes());
     this.isbn = media.getIsbn();
     this.isFavorite = media.getIsFavorite();
     this.createdAt = media.getCreatedAt();
   }
 
   /**
-   * Methode erstellt MediaWithCategoriesDTO-Objekt aus einer {@link MediaWithCategoriesProjection}.
-   * Sie verarbeitet die Kategorien und erstellt entsprechende {@link CategoryDTO}-Instanzen.
+   * Methode erstellt MediaWithCategoriesDTO-Objekt aus einer {@link MediaProjection}.
+   * Die Kategorien bleiben leer und werden vom Aufrufer ergänzt.
    *
-   * @param projection Projektion mit den Medien- und Kategoriedaten.
-   * @return Vollständig initialisiertes MediaWithCategoriesDTO-Objekt.
+   * @param projection Projektion mit den Mediendaten.
+   * @return MediaWithCategoriesDTO-Objekt ohne Kategorien.
    */
-  public static MediaWithCategoriesDTO fromProjection(
-    MediaWithCategoriesProjection projection
-  ) {
+  public static MediaWithCategoriesDTO fromProjection(MediaProjection projection) {
     MediaWithCategoriesDTO dto = new MediaWithCategoriesDTO();
     dto.setMediaId(projection.getMediaId());
     dto.setUserId(projection.getUserId());
@@ -67,25 +92,24 @@ public class MediaWithCategoriesDTO {
     dto.setMediaState(projection.getMediaState());
     dto.setType(projection.getType());
     dto.setReleaseYear(projection.getReleaseYear());
-    dto.setNotes(projection.getNotes());
+    dto.setNotesPreview(projection.getNotesPreview());
     dto.setIsbn(projection.getIsbn());
+    dto.setCoverKey(projection.getCoverKey());
     dto.setIsFavorite(projection.getIsFavorite());
     dto.setCreatedAt(projection.getCreatedAt());
+    dto.setUpdatedAt(projection.getUpdatedAt());
+    dto.setVersion(projection.getVersion());
+    return dto;
+  }
 
-    if (projection.getCategoryPairs() != null) {
-      String[] pairs = projection.getCategoryPairs().split(",");
-      for (String pair : pairs) {
-        String[] parts = pair.split(":");
-        if (parts.length == 2) {
-          Long catId = Long.valueOf(parts[0]);
-          String catName = parts[1];
-          CategoryDTO categoryDTO = new CategoryDTO();
-          categoryDTO.setCategoryId(catId);
-          categoryDTO.setCategoryName(catName);
-          dto.getCategories().add(categoryDTO);
-        }
-      }
+  /**
+   * @param notes Vollständige Notizen oder {@code null}.
+   * @return Die ersten {@link #NOTES_PREVIEW_LENGTH} Zeichen der Notizen.
+   */
+  public static String previewOf(String notes) {
+    if (notes == null || notes.length() <= NOTES_PREVIEW_LENGTH) {
+      return notes;
     }
-    return dto;
+    return notes.substring(0, NOTES_PREVIEW_LENGTH);
   }
 }
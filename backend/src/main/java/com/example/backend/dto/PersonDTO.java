@@ -0,0 +1,27 @@
+package com.example.backend.dto;
+
+import java.time.LocalDateTime;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * Data Transfer Object für eine Person. Wird statt der {@link
+ * com.example.backend.model.PersonEntity} ausgeliefert, damit der Benutzer
+ * (samt Passwort-Hash) nicht serialisiert wird. Wird per JPQL-Konstruktor
+ * direkt aus der Datenbank gefüllt, ohne Entitäten zu laden.
+ */
+@Data
+@AllArgsConstructor
+@NoArgsConstructor
+public class PersonDTO {
+
+  private Long personId;
+  private String firstName;
+  private String lastName;
+  private String address;
+  private String email;
+  private String phone;
+  private LocalDateTime createdAt;
+}
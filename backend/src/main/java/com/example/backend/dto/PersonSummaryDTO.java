@@ -0,0 +1,19 @@
+package com.example.backend.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * Data Transfer Object mit den Angaben einer Person, die zur Anzeige einer
+ * Ausleihe nötig sind.
+ */
+@Data
+@AllArgsConstructor
+@NoArgsConstructor
+public class PersonSummaryDTO {
+
+  private Long personId;
+  private String firstName;
+  private String lastName;
+}
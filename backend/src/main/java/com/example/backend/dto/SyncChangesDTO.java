@@ -0,0 +1,39 @@
+package com.example.backend.dto;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import lombok.Data;
+
+/**
+ * Data Transfer Object mit den Änderungen seit einem Synchronisationstoken.
+ * Die Listen enthalten Einträge in derselben Form wie die jeweiligen
+ * Listen-Endpunkte; der Client übernimmt sie anhand ihrer ID in sein Replikat.
+ * Einträge können in aufeinanderfolgenden Antworten wiederholt auftreten und
+ * sind idempotent anzuwenden.
+ * Mit einer Person oder einem Medium gelöschte Ausleihen werden als eigene
+ * Einträge in {@link #deleted} gemeldet. Wird eine Kategorie umbenannt oder
+ * gelöscht, erscheint nur die Kategorie selbst; die Kategorien in den
+ * betroffenen Medien passt der Client selbst an.
+ */
+@Data
+public class SyncChangesDTO {
+
+  /** Token für den nächsten Abgleich. */
+  private String syncToken;
+
+  /**
+   * {@code true}, wenn die Antwort den vollständigen Datenstand enthält
+   * (erster Abgleich oder abgelaufenes Token). Der Client ersetzt dann sein
+   * Replikat, statt es zu ergänzen.
+   */
+  private boolean full;
+
+  private List<MediaWithCategoriesDTO> media = new ArrayList<>();
+  private List<LoanDTO> loans = new ArrayList<>();
+  private List<PersonDTO> persons = new ArrayList<>();
+  private List<CategoryDTO> categories = new ArrayList<>();
+
+  /** Seit dem Token gelöschte Entitäten. */
+  private List<SyncTombstoneDTO> deleted = new ArrayList<>();
+}
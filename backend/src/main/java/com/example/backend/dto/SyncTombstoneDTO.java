@@ -0,0 +1,19 @@
+package com.example.backend.dto;
+
+import com.example.backend.model.SyncEntityType;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * Data Transfer Object für eine gelöschte Entität in der Delta-Synchronisation.
+ */
+@Data
+@AllArgsConstructor
+@NoArgsConstructor
+public class SyncTombstoneDTO {
+
+  private SyncEntityType type;
+  private Long id;
+}
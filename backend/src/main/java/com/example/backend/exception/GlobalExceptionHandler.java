@@ -1,5 +1,6 @@
 package com.example.backend.exception;
 
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.ControllerAdvice;
@@ -52,6 +53,28 @@ public class GlobalExceptionHandler {
     return ResponseEntity.status(HttpStatus.NOT_FOUND).body(ex.getMessage());
   }
 
+  /**
+   * Behandelt Ausnahme {@link MediaException}, wenn eine Medienanfrage ungültig ist (z. B. ein ungültiger Cursor).
+   *
+   * @param ex Ausgelöste {@code MediaException}.
+   * @return Eine {@link ResponseEntity}, die einen HTTP-Status 400 (Bad Request) und die Fehlermeldung enthält.
+   */
+  @ExceptionHandler(MediaException.class)
+  public ResponseEntity<String> handleMediaException(MediaException ex) {
+    return ResponseEntity.status(HttpStatus.BAD_REQUEST).body(ex.getMessage());
+  }
+
+  /**
+   * Behandelt Ausnahme {@link LoanException}, wenn eine Anfrage zu Ausleihen ungültig ist (z. B. ein ungültiger Cursor).
+   *
+   * @param ex Ausgelöste {@code LoanException}.
+   * @return Eine {@link ResponseEntity}, die einen HTTP-Status 400 (Bad Request) und die Fehlermeldung enthält.
+   */
+  @ExceptionHandler(LoanException.class)
+  public ResponseEntity<String> handleLoanException(LoanException ex) {
+    return ResponseEntity.status(HttpStatus.BAD_REQUEST).body(ex.getMessage());
+  }
+
    /**
    * Behandelt Ausnahme {@link LoginException}, wenn ein Problem bei der Anmeldung auftritt.
    *
@@ -62,4 +85,20 @@ public class GlobalExceptionHandler {
   public ResponseEntity<String> handleLoginException(LoginException ex) {
     return ResponseEntity.status(HttpStatus.UNAUTHORIZED).body(ex.getMessage());
   }
+
+  /**
+   * Behandelt Ausnahme {@link PasswordHashingBusyException}, wenn der Worker-Pool für das Passwort-Hashing ausgelastet ist.
+   *
+   * @param ex Ausgelöste {@code PasswordHashingBusyException}.
+   * @return Eine {@link ResponseEntity}, die einen HTTP-Status 503 (Service Unavailable), den Header {@code Retry-After} und die Fehlermeldung enthält.
+   */
+  @ExceptionHandler(PasswordHashingBusyException.class)
+  public ResponseEntity<String> handlePasswordHashingBusyException(
+    PasswordHashingBusyException ex
+  ) {
+    return ResponseEntity
+      .status(HttpStatus.SERVICE_UNAVAILABLE)
+      .header(HttpHeaders.RETRY_AFTER, String.valueOf(ex.getRetryAfterSeconds()))
+      .body(ex.getMessage());
+  }
 }
@@ -0,0 +1,17 @@
+package com.example.backend.exception;
+
+/**
+ * Ausnahme für ungültige Anfragen zu Ausleihen, z. B. einen ungültigen Cursor
+ * oder widersprüchliche Filter.
+ */
+public class LoanException extends RuntimeException {
+
+  /**
+   * Erstellt neue Instanz der {@code LoanException} mit angegebener Fehlermeldung.
+   *
+   * @param m Fehlermeldung, die die Ursache oder den Kontext des Fehlers beschreibt.
+   */
+  public LoanException(String m) {
+    super(m);
+  }
+}
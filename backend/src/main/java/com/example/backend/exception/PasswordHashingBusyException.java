@@ -0,0 +1,29 @@
+package com.example.backend.exception;
+
+/**
+ * Exception, die ausgelöst wird, wenn der Worker-Pool für das Passwort-Hashing
+ * ausgelastet ist und keine weiteren Aufträge annimmt.
+ * Wird als HTTP 503 mit {@code Retry-After}-Header beantwortet.
+ */
+public class PasswordHashingBusyException extends RuntimeException {
+
+  private final long retryAfterSeconds;
+
+  /**
+   * Erstellt Instanz der {@code PasswordHashingBusyException}.
+   *
+   * @param message Fehlermeldung, die die Ursache beschreibt.
+   * @param retryAfterSeconds Empfohlene Wartezeit in Sekunden bis zum nächsten Versuch.
+   */
+  public PasswordHashingBusyException(String message, long retryAfterSeconds) {
+    super(message);
+    this.retryAfterSeconds = retryAfterSeconds;
+  }
+
+  /**
+   * @return Empfohlene Wartezeit in Sekunden bis zum nächsten Versuch.
+   */
+  public long getRetryAfterSeconds() {
+    return retryAfterSeconds;
+  }
+}
@@ -20,8 +20,13 @@ import lombok.Setter;
 @NoArgsConstructor
 @AllArgsConstructor
 @Entity
-@Table(name = "category")
-public class CategoryEntity {
+@Table(
+  name = "category",
+  indexes = {
+    @Index(name = "idx_category_user_updated", columnList = "user_id, updated_at"),
+  }
+)
+public class CategoryEntity extends SyncTrackedEntity {
 
   /**
    * Eindeutige ID der Kategorie.
@@ -35,8 +40,11 @@ public class CategoryEntity {
    * Verknüpfter Benutzer.
    * Beziehung wird durch Foreign-Key-Verknüpfung mit der Spalte {@code user_id}
    * definiert und darf nicht leer sein ({@code nullable = false}).
+   * Wird nicht serialisiert, damit Benutzerdaten samt Passwort-Hash nicht
+   * ausgeliefert werden.
    */
   @ManyToOne
+  @JsonIgnore
   @JoinColumn(name = "user_id", nullable = false)
   private UserEntity user;
 
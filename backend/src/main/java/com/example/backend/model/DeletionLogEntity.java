@@ -0,0 +1,76 @@
+package com.example.backend.model;
+
+import java.time.LocalDateTime;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.Entity;
+import jakarta.persistence.EnumType;
+import jakarta.persistence.Enumerated;
+import jakarta.persistence.GeneratedValue;
+import jakarta.persistence.GenerationType;
+import jakarta.persistence.Id;
+import jakarta.persistence.Index;
+import jakarta.persistence.Table;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+/**
+ * Entität zur Darstellung der Löschprotokoll-Datenbanktabelle.
+ * Jeder Eintrag hält fest, dass eine Entität eines Benutzers gelöscht wurde,
+ * damit die Delta-Synchronisation Clients davon benachrichtigen kann
+ * ("Tombstone"). Einträge werden nach Ablauf der Aufbewahrungsfrist entfernt.
+ */
+@Getter
+@Setter
+@NoArgsConstructor
+@Entity
+@Table(
+  name = "deletion_log",
+  indexes = {
+    @Index(name = "idx_deletion_log_user_deleted", columnList = "user_id, deleted_at"),
+    @Index(name = "idx_deletion_log_deleted", columnList = "deleted_at"),
+  }
+)
+public class DeletionLogEntity {
+
+  @Id
+  @GeneratedValue(strategy = GenerationType.IDENTITY)
+  private Long id;
+
+  /**
+   * ID des Benutzers, dem die gelöschte Entität gehörte.
+   * Bewusst ohne Foreign Key, damit das Protokoll unabhängig vom Benutzer bleibt.
+   */
+  @Column(name = "user_id", nullable = false)
+  private Long userId;
+
+  @Enumerated(EnumType.STRING)
+  @Column(name = "entity_type", nullable = false, length = 16)
+  private SyncEntityType entityType;
+
+  @Column(name = "entity_id", nullable = false)
+  private Long entityId;
+
+  @Column(name = "deleted_at", nullable = false)
+  private LocalDateTime deletedAt;
+
+  /**
+   * Konstruktor für einen neuen Protokolleintrag.
+   * @param userId ID des Benutzers.
+   * @param entityType Art der gelöschten Entität.
+   * @param entityId ID der gelöschten Entität.
+   * @param deletedAt Zeitpunkt der Löschung.
+   */
+  public DeletionLogEntity(
+    Long userId,
+    SyncEntityType entityType,
+    Long entityId,
+    LocalDateTime deletedAt
+  ) {
+    this.userId = userId;
+    this.entityType = entityType;
+    this.entityId = entityId;
+    this.deletedAt = deletedAt;
+  }
+}
@@ -0,0 +1,82 @@
+package com.example.backend.model;
+
+import java.util.regex.Pattern;
+
+/**
+ * Hilfsfunktionen für ISBNs.
+ * ISBNs werden in unterschiedlichen Schreibweisen erfasst (mit oder ohne
+ * Bindestriche, als ISBN-10 oder ISBN-13), Barcode-Scanner liefern dagegen
+ * immer die 13-stellige EAN. Für Vergleiche und Suchen werden daher alle
+ * Schreibweisen auf die ISBN-13 ohne Trennzeichen abgebildet.
+ */
+public final class Isbn {
+
+  private static final Pattern PREFIX = Pattern.compile(
+    "^\\s*ISBN(-1[03])?:?",
+    Pattern.CASE_INSENSITIVE
+  );
+
+  private Isbn() {}
+
+  /**
+   * Normalisiert eine ISBN auf die 13-stellige Form ohne Trennzeichen.
+   * Ein vorangestelltes {@code ISBN}, Leerzeichen und Bindestriche werden
+   * ignoriert, eine ISBN-10 wird in die entsprechende ISBN-13 umgerechnet.
+   * @param isbn ISBN in beliebiger Schreibweise.
+   * @return Die ISBN-13 oder {@code null}, wenn der Wert keine gültige ISBN ist.
+   */
+  public static String normalize(String isbn) {
+    if (isbn == null) {
+      return null;
+    }
+    String value = PREFIX.matcher(isbn).replaceFirst("");
+    StringBuilder compact = new StringBuilder(13);
+    for (int i = 0; i < value.length(); i++) {
+      char c = value.charAt(i);
+      if (c >= '0' && c <= '9') {
+        compact.append(c);
+      } else if (c == 'X' || c == 'x') {
+        compact.append('X');
+      } else if (c != '-' && !Character.isWhitespace(c)) {
+        return null;
+      }
+    }
+    if (compact.length() == 10) {
+      return isValidIsbn10(compact) ? toIsbn13(compact) : null;
+    }
+    if (compact.length() == 13) {
+      String isbn13 = compact.toString();
+      return isbn13.indexOf('X') < 0 &&
+        (isbn13.startsWith("978") || isbn13.startsWith("979")) &&
+        ean13CheckDigit(isbn13) == isbn13.charAt(12) - '0'
+        ? isbn13
+        : null;
+    }
+    return null;
+  }
+
+  private static boolean isValidIsbn10(CharSequence isbn) {
+    int sum = 0;
+    for (int i = 0; i < 10; i++) {
+      char c = isbn.charAt(i);
+      if (c == 'X' && i < 9) {
+        return false;
+      }
+      sum += (10 - i) * (c == 'X' ? 10 : c - '0');
+    }
+    return sum % 11 == 0;
+  }
+
+  private static String toIsbn13(CharSequence isbn10) {
+    String withoutCheckDigit = "978" + isbn10.subSequence(0, 9);
+    return withoutCheckDigit + ean13CheckDigit(withoutCheckDigit);
+  }
+
+  private static int ean13CheckDigit(String digits) {
+    int sum = 0;
+    for (int i = 0; i < 12; i++) {
+      sum += (digits.charAt(i) - '0') * (i % 2 == 0 ? 1 : 3);
+    }
+    return (10 - sum % 10) % 10;
+  }
+}
@@ -3,13 +3,21 @@ package com.example.backend.model;
 import java.time.LocalDate;
 import java.time.LocalDateTime;
 
+import com.fasterxml.jackson.annotation.JsonIgnore;
+import com.fasterxml.jackson.annotation.JsonIgnoreProperties;
+
 import jakarta.persistence.Column;
 import jakarta.persistence.Entity;
 import jakarta.persistence.GeneratedValue;
 import jakarta.persistence.GenerationType;
 import jakarta.persistence.Id;
+import jakarta.persistence.Index;
 import jakarta.persistence.JoinColumn;
 import jakarta.persistence.ManyToOne;
+import jakarta.persistence.NamedAttributeNode;
+import jakarta.persistence.NamedEntityGraph;
+import jakarta.persistence.NamedSubgraph;
+import jakarta.persistence.SequenceGenerator;
 import jakarta.persistence.Table;
 import lombok.AllArgsConstructor;
 import lombok.Getter;
@@ -19,22 +27,64 @@ import lombok.Setter;
 /**
  * Entität, zur Darstellung der Ausleihe-Datenbanktabelle.
  * Speichert Informationen über Ausleihen von Medien.
+ * Abfragen, die Ausleihen als Entitäten liefern, laden Person und Medium samt
+ * Benutzer über den Graphen {@link #WITH_PERSON_AND_MEDIA} in derselben
+ * Anweisung, statt pro Zeile weitere SELECTs auszulösen.
  */
 @Getter
 @Setter
 @NoArgsConstructor
 @AllArgsConstructor
 @Entity
-@Table(name = "loan")
-public class LoanEntity {
+@NamedEntityGraph(
+  name = LoanEntity.WITH_PERSON_AND_MEDIA,
+  attributeNodes = {
+    @NamedAttributeNode(value = "person", subgraph = "person"),
+    @NamedAttributeNode(value = "media", subgraph = "media"),
+  },
+  subgraphs = {
+    @NamedSubgraph(name = "person", attributeNodes = @NamedAttributeNode("user")),
+    @NamedSubgraph(name = "media", attributeNodes = @NamedAttributeNode("user")),
+  }
+)
+@Table(
+  name = "loan",
+  indexes = {
+    @Index(name = "idx_loan_person_updated", columnList = "person_id, updated_at"),
+    // Keyset-Paginierung der Ausleihhistorie (siehe LoanHistoryRepository)
+    @Index(
+      name = "idx_loan_user_borrowed",
+      columnList = "user_id, borrowed_at, loan_id"
+    ),
+    @Index(
+      name = "idx_loan_person_borrowed",
+      columnList = "person_id, borrowed_at, loan_id"
+    ),
+    // Zurückgegebene Ausleihen im Kalender (siehe LoanCalendarService)
+    @Index(
+      name = "idx_loan_person_returned",
+      columnList = "person_id, returned_at, borrowed_at"
+    ),
+  }
+)
+public class LoanEntity extends SyncTrackedEntity {
 
+  /** Name des Entity-Graphen mit Person, Medium und deren Benutzern. */
+  public static final String WITH_PERSON_AND_MEDIA = "LoanEntity.withPersonAndMedia";
 
   /**
    * Primärschlüssel der Ausleihe.
    * Wird automatisch generiert und dient zur eindeutigen Identifizierung jeder Ausleihe.
+   * IDs werden wie bei {@link MediaEntity} blockweise aus einer Sequenz
+   * reserviert, damit Sammelausleihen per JDBC-Batch eingefügt werden können.
    */
   @Id
-  @GeneratedValue(strategy = GenerationType.IDENTITY)
+  @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "loan_seq")
+  @SequenceGenerator(
+    name = "loan_seq",
+    sequenceName = "loan_seq",
+    allocationSize = MediaEntity.ID_ALLOCATION_SIZE
+  )
   private Long loanId;
 
   /**
@@ -50,11 +100,24 @@ public class LoanEntity {
    * Verknüpftes Medium.
    * Beziehung wird durch Foreign-Key-Verknüpfung mit der Spalte {@code media_id}
    * definiert und darf nicht leer sein ({@code nullable = false}).
+   * Die Notizen des Mediums sind in Ausleihen nicht enthalten.
    */
   @ManyToOne
+  @JsonIgnoreProperties({ "notes" })
   @JoinColumn(name = "media_id", nullable = false)
   private MediaEntity media;
 
+  /**
+   * ID des Benutzers, dem die Person der Ausleihe gehört.
+   * Doppelt zu {@code person.user} gespeichert, damit die Ausleihhistorie
+   * eines Benutzers über den Index {@code (user_id, borrowed_at, loan_id)}
+   * bereits sortiert gelesen wird. Wird beim Anlegen gesetzt; ältere Zeilen
+   * ergänzt der {@code LoanUserIdInitializer} beim Start.
+   */
+  @JsonIgnore
+  @Column(name = "user_id", updatable = false)
+  private Long userId;
+
    //Nicht aktualisierbar
   @Column(name = "borrowed_at", nullable = false, updatable = false)
   private LocalDateTime borrowedAt;
@@ -11,6 +11,7 @@ import jakarta.persistence.GenerationType;
 import jakarta.persistence.Id;
 import jakarta.persistence.JoinColumn;
 import jakarta.persistence.ManyToOne;
+import jakarta.persistence.SequenceGenerator;
 import jakarta.persistence.Table;
 import lombok.AllArgsConstructor;
 import lombok.Getter;
@@ -31,9 +32,15 @@ public class MediaCategory {
 
   /**
    * Primärschlüssel der Media-Category-Verknüpfung.
+   * Wird wie bei {@link MediaEntity} blockweise aus einer Sequenz reserviert.
    */
   @Id
-  @GeneratedValue(strategy = GenerationType.IDENTITY)
+  @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "media_category_seq")
+  @SequenceGenerator(
+    name = "media_category_seq",
+    sequenceName = "media_category_seq",
+    allocationSize = MediaEntity.ID_ALLOCATION_SIZE
+  )
   private Long id;
 
   /**
@@ -6,18 +6,24 @@ import java.util.Set;
 
 import com.fasterxml.jackson.annotation.JsonIgnore;
 
+import jakarta.persistence.Basic;
 import jakarta.persistence.CascadeType;
 import jakarta.persistence.Column;
 import jakarta.persistence.Entity;
 import jakarta.persistence.EnumType;
 import jakarta.persistence.Enumerated;
+import jakarta.persistence.FetchType;
 import jakarta.persistence.GeneratedValue;
 import jakarta.persistence.GenerationType;
 import jakarta.persistence.Id;
+import jakarta.persistence.Index;
 import jakarta.persistence.JoinColumn;
 import jakarta.persistence.Lob;
 import jakarta.persistence.ManyToOne;
 import jakarta.persistence.OneToMany;
+import jakarta.persistence.PrePersist;
+import jakarta.persistence.PreUpdate;
+import jakarta.persistence.SequenceGenerator;
 import jakarta.persistence.Table;
 import jakarta.persistence.Transient;
 import lombok.AllArgsConstructor;
@@ -34,15 +40,39 @@ import lombok.Setter;
 @NoArgsConstructor
 @AllArgsConstructor
 @Entity
-@Table(name = "media")
-public class MediaEntity {
+@Table(
+  name = "media",
+  indexes = {
+    // Keyset-Paginierung der Medienliste (siehe MediaPageRepository)
+    @Index(
+      name = "idx_media_user_created",
+      columnList = "user_id, created_at, media_id"
+    ),
+    @Index(name = "idx_media_user_title", columnList = "user_id, title, media_id"),
+    // ISBN-Suche pro Benutzer (Barcode-Scanner)
+    @Index(name = "idx_media_user_isbn", columnList = "user_id, normalized_isbn"),
+    // Delta-Synchronisation (siehe SyncService)
+    @Index(name = "idx_media_user_updated", columnList = "user_id, updated_at"),
+  }
+)
+public class MediaEntity extends SyncTrackedEntity {
+
+  /** Anzahl der IDs, die pro Sequenzzugriff reserviert werden. */
+  public static final int ID_ALLOCATION_SIZE = 50;
 
   /**
    * Primärschlüssel des Mediums.
    * Wird automatisch generiert und dient zur eindeutigen Identifizierung jedes Mediums.
+   * IDs werden blockweise aus einer Sequenz reserviert, damit Hibernate Inserts
+   * per JDBC-Batch ausführen kann (mit IDENTITY ist das nicht möglich).
    */
   @Id
-  @GeneratedValue(strategy = GenerationType.IDENTITY)
+  @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "media_seq")
+  @SequenceGenerator(
+    name = "media_seq",
+    sequenceName = "media_seq",
+    allocationSize = MediaEntity.ID_ALLOCATION_SIZE
+  )
   private Long mediaId;
 
   /**
@@ -85,15 +115,34 @@ public class MediaEntity {
   /**
    * Notizen zu dem Medium.
    * Wird in der Datenbank als "Large Object" gespeichert ({@link Lob}).
-   * Optionales Feld.
+   * Optionales Feld. Wird erst beim ersten Zugriff geladen (erfordert das
+   * Bytecode-Enhancement von Hibernate), damit Abfragen von Medien ohne
+   * Notizen die Spalte nicht mitlesen.
    */
   @Lob
+  @Basic(fetch = FetchType.LAZY)
   @Column(name = "notes")
   private String notes; // indicates that the property should be stored in the database in the form of a large object type in the database.
 
   @Column(name = "isbn")
   private String isbn;
 
+  /**
+   * ISBN in normalisierter Form (ISBN-13 ohne Trennzeichen, siehe {@link Isbn}).
+   * Wird beim Speichern aus {@link #isbn} abgeleitet und dient der indizierten
+   * Suche; {@code null}, wenn keine gültige ISBN erfasst ist.
+   */
+  @Column(name = "normalized_isbn", length = 13)
+  private String normalizedIsbn;
+
+  /**
+   * Schlüssel des Titelbilds im Bildspeicher ({@code <SHA-256>.<Endung>}, siehe
+   * {@link com.example.backend.cover.CoverImageStore}). Das Bild selbst liegt
+   * nicht in der Datenbank. Optionales Feld.
+   */
+  @Column(name = "cover_key", length = 80)
+  private String coverKey;
+
   /**
    * Gibt an, ob das Medium als Favorit markiert ist.
    * Standardwert: {@code false}.
@@ -150,5 +199,14 @@ public class MediaEntity {
     return categories;
   }
 
+  /**
+   * Leitet vor jedem Speichern die normalisierte ISBN ab.
+   */
+  @PrePersist
+  @PreUpdate
+  void normalizeIsbn() {
+    normalizedIsbn = Isbn.normalize(isbn);
+  }
+
 
 }
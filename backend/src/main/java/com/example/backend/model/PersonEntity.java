@@ -12,6 +12,7 @@ import jakarta.persistence.Entity;
 import jakarta.persistence.GeneratedValue;
 import jakarta.persistence.GenerationType;
 import jakarta.persistence.Id;
+import jakarta.persistence.Index;
 import jakarta.persistence.JoinColumn;
 import jakarta.persistence.ManyToOne;
 import jakarta.persistence.OneToMany;
@@ -30,8 +31,13 @@ import lombok.Setter;
 @NoArgsConstructor
 @AllArgsConstructor
 @Entity
-@Table(name = "person")
-public class PersonEntity {
+@Table(
+  name = "person",
+  indexes = {
+    @Index(name = "idx_person_user_updated", columnList = "user_id, updated_at"),
+  }
+)
+public class PersonEntity extends SyncTrackedEntity {
 
   /**
    * Primärschlüssel der Person.
@@ -44,8 +50,11 @@ public class PersonEntity {
   /**
    * Der Benutzer, dem die Person gehört. Pflichtfeld
    * Verknüpfung mit der {@link UserEntity}-Tabelle durch einen Foreign Key.
+   * Wird nicht serialisiert, damit Benutzerdaten samt Passwort-Hash nicht
+   * ausgeliefert werden.
    */
   @ManyToOne
+  @JsonIgnore
   @JoinColumn(name = "user_id", nullable = false)
   private UserEntity user;
 
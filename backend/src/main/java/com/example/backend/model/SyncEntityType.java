@@ -0,0 +1,11 @@
+package com.example.backend.model;
+
+/**
+ * Art der Entität in der Delta-Synchronisation.
+ */
+public enum SyncEntityType {
+  MEDIA,
+  LOAN,
+  PERSON,
+  CATEGORY,
+}
@@ -0,0 +1,42 @@
+package com.example.backend.model;
+
+import java.time.LocalDateTime;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.EntityListeners;
+import jakarta.persistence.MappedSuperclass;
+import lombok.Getter;
+import lombok.Setter;
+
+/**
+ * Basisklasse für Entitäten, die über die Delta-Synchronisation an Clients
+ * ausgeliefert werden. Zeitpunkt und Version der letzten Änderung setzt
+ * {@link SyncTrackingListener} bei jedem Speichern.
+ */
+@Getter
+@Setter
+@MappedSuperclass
+@EntityListeners(SyncTrackingListener.class)
+public abstract class SyncTrackedEntity {
+
+  /**
+   * Zeitpunkt der letzten Änderung. Grundlage der Delta-Synchronisation.
+   */
+  @Column(name = "updated_at")
+  private LocalDateTime updatedAt;
+
+  /**
+   * Anzahl der Aktualisierungen seit dem Anlegen.
+   */
+  @Column(name = "row_version")
+  private Long version;
+
+  /**
+   * Markiert die Entität als geändert, auch wenn sich keine ihrer Spalten
+   * geändert hat (z. B. nur die Kategoriezuordnungen eines Mediums).
+   * Beim nächsten Speichern erhält sie dadurch einen neuen Zeitstempel.
+   */
+  public void markChanged() {
+    updatedAt = LocalDateTime.now();
+  }
+}
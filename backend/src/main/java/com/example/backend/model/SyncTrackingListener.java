@@ -0,0 +1,26 @@
+package com.example.backend.model;
+
+import java.time.LocalDateTime;
+
+import jakarta.persistence.PrePersist;
+import jakarta.persistence.PreUpdate;
+
+/**
+ * Setzt Änderungszeitpunkt und Version von {@link SyncTrackedEntity}-Entitäten.
+ * Die Version beginnt bei 0 und wird bei jeder Aktualisierung erhöht; Clients
+ * können damit doppelt ausgelieferte Änderungen erkennen.
+ */
+public class SyncTrackingListener {
+
+  @PrePersist
+  void onPersist(SyncTrackedEntity entity) {
+    entity.setUpdatedAt(LocalDateTime.now());
+    entity.setVersion(0L);
+  }
+
+  @PreUpdate
+  void onUpdate(SyncTrackedEntity entity) {
+    entity.setUpdatedAt(LocalDateTime.now());
+    entity.setVersion(entity.getVersion() == null ? 1L : entity.getVersion() + 1);
+  }
+}
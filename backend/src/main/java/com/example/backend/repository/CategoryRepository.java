@@ -1,5 +1,7 @@
 package com.example.backend.repository;
 
+import java.time.LocalDateTime;
+import java.util.Collection;
 import java.util.List;
 
 import org.springframework.data.jpa.repository.JpaRepository;
@@ -40,4 +42,46 @@ public interface CategoryRepository
     "WHERE c.user.username = :username"
   )
   List<CategoryDTO> findCategoryDTOsByUsername(String username);
+
+  /**
+   * Findet Liste von {@link CategoryDTO} anhand der ID des jeweiligen Benutzers.
+   * 
+   * @param userId Die ID des Benutzers, dessen Kategorien abgerufen werden sollen.
+   * @return Eine Liste von {@link CategoryDTO}-Objekten, die die Kategorie-ID und den 
+   * Kategorie-Namen enthalten und zu dem jeweiligen Benutzer gehören.
+   */
+  @Query(
+    "SELECT new com.example.backend.dto.CategoryDTO(c.categoryId, c.categoryName) " +
+    "FROM CategoryEntity c " +
+    "WHERE c.user.userId = :userId"
+  )
+  List<CategoryDTO> findCategoryDTOsByUserId(Long userId);
+
+  /**
+   * Findet Liste von {@link CategoryDTO} der Kategorien eines Benutzers, die
+   * seit einem Zeitpunkt angelegt oder geändert wurden.
+   * 
+   * @param userId Die ID des Benutzers, dessen Kategorien abgerufen werden sollen.
+   * @param since Frühester Änderungszeitpunkt (inklusive).
+   * @return Eine Liste von {@link CategoryDTO}-Objekten der geänderten Kategorien.
+   */
+  @Query(
+    "SELECT new com.example.backend.dto.CategoryDTO(c.categoryId, c.categoryName) " +
+    "FROM CategoryEntity c " +
+    "WHERE c.user.userId = :userId AND c.updatedAt >= :since"
+  )
+  List<CategoryDTO> findCategoryDTOsChangedSince(Long userId, LocalDateTime since);
+
+  /**
+   * Findet die Kategorien eines Benutzers mit den angegebenen IDs.
+   * IDs, die nicht existieren oder einem anderen Benutzer gehören, fehlen im Ergebnis.
+   *
+   * @param userId Die ID des Benutzers, dem die Kategorien gehören müssen.
+   * @param categoryIds Die IDs der gesuchten Kategorien.
+   * @return Eine Liste der gefundenen {@link CategoryEntity}-Objekte.
+   */
+  List<CategoryEntity> findByUserUserIdAndCategoryIdIn(
+    Long userId,
+    Collection<Long> categoryIds
+  );
 }
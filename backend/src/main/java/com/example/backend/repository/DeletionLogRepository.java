@@ -0,0 +1,86 @@
+package com.example.backend.repository;
+
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.List;
+
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
+
+import com.example.backend.model.DeletionLogEntity;
+
+/**
+ * Repository zur Verwaltung des Löschprotokolls ({@link DeletionLogEntity}).
+ */
+@Repository
+public interface DeletionLogRepository
+  extends JpaRepository<DeletionLogEntity, Long> {
+
+  /**
+   * Findet die Löschungen eines Benutzers seit einem Zeitpunkt.
+   * 
+   * @param userId ID des Benutzers.
+   * @param since Frühester Löschzeitpunkt (inklusive).
+   * @return Eine Liste von {@link DeletionLogEntity}-Objekten.
+   */
+  List<DeletionLogEntity> findByUserIdAndDeletedAtGreaterThanEqual(
+    Long userId,
+    LocalDateTime since
+  );
+
+  /**
+   * Entfernt alle Einträge, die vor einem Zeitpunkt angelegt wurden.
+   * 
+   * @param before Einträge mit älterem Löschzeitpunkt werden entfernt.
+   * @return Anzahl der entfernten Einträge.
+   */
+  @Transactional
+  @Modifying
+  @Query("DELETE FROM DeletionLogEntity d WHERE d.deletedAt < :before")
+  int deleteOlderThan(LocalDateTime before);
+
+  /**
+   * Protokolliert die Löschung mehrerer Medien mit einer einzigen Anweisung.
+   * Muss vor dem Löschen der Medien innerhalb derselben Transaktion aufgerufen werden.
+   * 
+   * @param mediaIds IDs der Medien.
+   * @param deletedAt Zeitpunkt der Löschung.
+   * @return Anzahl der angelegten Einträge.
+   */
+  @Modifying
+  @Query(
+    """
+    INSERT INTO DeletionLogEntity (userId, entityType, entityId, deletedAt)
+    SELECT m.user.userId, com.example.backend.model.SyncEntityType.MEDIA, m.mediaId, :deletedAt
+    FROM MediaEntity m
+    WHERE m.mediaId IN :mediaIds
+    """
+  )
+  int insertMediaDeletions(Collection<Long> mediaIds, LocalDateTime deletedAt);
+
+  /**
+   * Protokolliert die Löschung aller Ausleihen mehrerer Medien mit einer
+   * einzigen Anweisung. Einträge gehören dem Besitzer des Mediums. Muss vor
+   * dem Löschen der Ausleihen innerhalb derselben Transaktion aufgerufen werden.
+   * 
+   * @param mediaIds IDs der Medien.
+   * @param deletedAt Zeitpunkt der Löschung.
+   * @return Anzahl der angelegten Einträge.
+   */
+  @Modifying
+  @Query(
+    """
+    INSERT INTO DeletionLogEntity (userId, entityType, entityId, deletedAt)
+    SELECT m.user.userId, com.example.backend.model.SyncEntityType.LOAN, l.loanId, :deletedAt
+    FROM LoanEntity l JOIN l.media m
+    WHERE m.mediaId IN :mediaIds
+    """
+  )
+  int insertLoanDeletionsForMedia(
+    Collection<Long> mediaIds,
+    LocalDateTime deletedAt
+  );
+}
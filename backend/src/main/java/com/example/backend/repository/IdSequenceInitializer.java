@@ -0,0 +1,66 @@
+package com.example.backend.repository;
+
+import org.springframework.beans.factory.InitializingBean;
+import org.springframework.context.annotation.DependsOn;
+import org.springframework.dao.DataAccessException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+
+import com.example.backend.model.MediaEntity;
+
+/**
+ * Gleicht die ID-Sequenzen beim Start mit den vorhandenen Daten ab.
+ * Medien, Kategoriezuordnungen und Ausleihen wurden früher mit IDENTITY-Spalten angelegt;
+ * die von Hibernate neu erzeugten Sequenzen beginnen aber bei 1. Damit es
+ * keine Kollisionen mit bestehenden IDs gibt, wird jede Sequenz hinter die
+ * größte vorhandene ID gesetzt. Eine Sequenz, die bereits weiter ist, bleibt
+ * unverändert ({@code SETVAL} setzt in MariaDB nie zurück). Schlägt der
+ * Abgleich fehl, bricht der Start ab, statt später beim Einfügen auf
+ * doppelte Primärschlüssel zu laufen.
+ */
+@Component
+@DependsOn("entityManagerFactory")
+public class IdSequenceInitializer implements InitializingBean {
+
+  private static final String[][] SEQUENCES = {
+    { "media_seq", "media", "media_id" },
+    { "media_category_seq", "media_category", "id" },
+    { "loan_seq", "loan", "loan_id" },
+  };
+
+  private final JdbcTemplate jdbcTemplate;
+
+  /**
+   * Konstruktor.
+   * @param jdbcTemplate Zugriff auf die Datenbank
+   */
+  public IdSequenceInitializer(JdbcTemplate jdbcTemplate) {
+    this.jdbcTemplate = jdbcTemplate;
+  }
+
+  @Override
+  public void afterPropertiesSet() {
+    for (String[] sequence : SEQUENCES) {
+      try {
+        Long maxId = jdbcTemplate.queryForObject(
+          "SELECT COALESCE(MAX(" + sequence[2] + "), 0) FROM " + sequence[1],
+          Long.class
+        );
+        jdbcTemplate.queryForObject(
+          "SELECT SETVAL(" +
+          sequence[0] +
+          ", " +
+          (maxId + MediaEntity.ID_ALLOCATION_SIZE) +
+          ")",
+          Long.class
+        );
+      } catch (DataAccessException e) {
+        // Ohne abgeglichene Sequenz würden neue IDs mit vorhandenen kollidieren
+        throw new IllegalStateException(
+          "Could not align sequence " + sequence[0] + " with " + sequence[1] + "." + sequence[2],
+          e
+        );
+      }
+    }
+  }
+}
@@ -0,0 +1,34 @@
+package com.example.backend.repository;
+
+import java.time.LocalDate;
+import java.util.List;
+
+import com.example.backend.dto.LoanCursor;
+import com.example.backend.dto.LoanDTO;
+import com.example.backend.dto.LoanHistoryFilterDTO;
+
+/**
+ * Erweiterung des {@link LoanRepository} um die seitenweise, gefilterte Abfrage
+ * der Ausleihhistorie mittels Keyset-Paginierung.
+ */
+public interface LoanHistoryRepository {
+
+  /**
+   * Ermittelt eine Seite der Ausleihen eines Benutzers, absteigend nach
+   * Ausleihdatum und ID sortiert, mit einer einzigen Abfrage.
+   *
+   * @param userId ID des Benutzers, dessen Ausleihen abgefragt werden.
+   * @param filter Filterkriterien.
+   * @param today Stichtag für den Status {@code OVERDUE}.
+   * @param after Position, hinter der die Seite beginnt, oder {@code null} für die erste Seite.
+   * @param limit Maximale Anzahl der gelieferten Einträge.
+   * @return Ausleihen als {@link LoanDTO} in Sortierreihenfolge.
+   */
+  List<LoanDTO> findHistoryPage(
+    Long userId,
+    LoanHistoryFilterDTO filter,
+    LocalDate today,
+    LoanCursor after,
+    int limit
+  );
+}
@@ -0,0 +1,117 @@
+package com.example.backend.repository;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+
+import com.example.backend.dto.LoanCursor;
+import com.example.backend.dto.LoanDTO;
+import com.example.backend.dto.LoanHistoryFilterDTO;
+import com.example.backend.model.LoanEntity;
+import com.example.backend.model.MediaEntity;
+import com.example.backend.model.PersonEntity;
+
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import jakarta.persistence.criteria.CriteriaBuilder;
+import jakarta.persistence.criteria.CriteriaQuery;
+import jakarta.persistence.criteria.Join;
+import jakarta.persistence.criteria.Path;
+import jakarta.persistence.criteria.Predicate;
+import jakarta.persistence.criteria.Root;
+
+/**
+ * Implementierung von {@link LoanHistoryRepository} mit der Criteria API.
+ * Person und Medium werden per Join gelesen und direkt in {@link LoanDTO}
+ * übernommen. Der Benutzer wird über die Spalte {@code user_id} der
+ * Ausleihe gefiltert, sodass der Index {@code (user_id, borrowed_at, loan_id)}
+ * die Reihenfolge liefert; Filter auf eine Person nutzen den Index
+ * {@code (person_id, borrowed_at, loan_id)}.
+ */
+public class LoanHistoryRepositoryImpl implements LoanHistoryRepository {
+
+  @PersistenceContext
+  private EntityManager entityManager;
+
+  @Override
+  public List<LoanDTO> findHistoryPage(
+    Long userId,
+    LoanHistoryFilterDTO filter,
+    LocalDate today,
+    LoanCursor after,
+    int limit
+  ) {
+    CriteriaBuilder cb = entityManager.getCriteriaBuilder();
+    CriteriaQuery<LoanDTO> query = cb.createQuery(LoanDTO.class);
+    Root<LoanEntity> loan = query.from(LoanEntity.class);
+    Join<LoanEntity, PersonEntity> person = loan.join("person");
+    Join<LoanEntity, MediaEntity> media = loan.join("media");
+    Path<Long> loanId = loan.get("loanId");
+    Path<LocalDateTime> borrowedAt = loan.get("borrowedAt");
+    Path<LocalDateTime> returnedAt = loan.get("returnedAt");
+
+    List<Predicate> predicates = new ArrayList<>();
+    predicates.add(cb.equal(loan.get("userId"), userId));
+    if (filter.getPersonId() != null) {
+      predicates.add(cb.equal(person.get("personId"), filter.getPersonId()));
+    }
+    if (filter.getMediaId() != null) {
+      predicates.add(cb.equal(media.get("mediaId"), filter.getMediaId()));
+    }
+    if (filter.getStatus() != null) {
+      switch (filter.getStatus()) {
+        case ACTIVE -> predicates.add(cb.isNull(returnedAt));
+        case RETURNED -> predicates.add(cb.isNotNull(returnedAt));
+        case OVERDUE -> {
+          predicates.add(cb.isNull(returnedAt));
+          predicates.add(cb.lessThan(loan.<LocalDate>get("dueDate"), today));
+        }
+      }
+    }
+    if (filter.getBorrowedFrom() != null) {
+      predicates.add(
+        cb.greaterThanOrEqualTo(borrowedAt, filter.getBorrowedFrom().atStartOfDay())
+      );
+    }
+    if (filter.getBorrowedTo() != null) {
+      predicates.add(
+        cb.lessThan(borrowedAt, filter.getBorrowedTo().plusDays(1).atStartOfDay())
+      );
+    }
+    if (after != null) {
+      // borrowed_at < value OR (borrowed_at = value AND loan_id < id)
+      predicates.add(
+        cb.or(
+          cb.lessThan(borrowedAt, after.borrowedAt()),
+          cb.and(
+            cb.equal(borrowedAt, after.borrowedAt()),
+            cb.lessThan(loanId, after.loanId())
+          )
+        )
+      );
+    }
+
+    query
+      .select(
+        cb.construct(
+          LoanDTO.class,
+          loanId,
+          borrowedAt,
+          returnedAt,
+          loan.get("dueDate"),
+          person.get("personId"),
+          person.get("firstName"),
+          person.get("lastName"),
+          media.get("mediaId"),
+          media.get("title"),
+          media.get("type"),
+          media.get("mediaState")
+        )
+      )
+      .where(predicates.toArray(Predicate[]::new))
+      .orderBy(cb.desc(borrowedAt), cb.desc(loanId));
+
+    return entityManager.createQuery(query).setMaxResults(limit).getResultList();
+  }
+}
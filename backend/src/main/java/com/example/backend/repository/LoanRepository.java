@@ -1,23 +1,35 @@
 package com.example.backend.repository;
 
 import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.Collection;
 import java.util.List;
 
+import org.springframework.data.jpa.repository.EntityGraph;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import com.example.backend.dto.LoanDTO;
+import com.example.backend.dto.LoanReturnProjection;
 import com.example.backend.model.LoanEntity;
-import com.example.backend.model.PersonEntity;
+
+import jakarta.persistence.LockModeType;
 
 /**
  * Repository zur Verwaltung der {@link LoanEntity}-Daten.
  * Ermöglicht Zugriff auf {@link LoanEntity}-Datenbanktabelle und stellt
  * Methoden zum Abrufen von Ausleihen anhand verschiedenen Kriterien zur Verfügung.
+ * Methoden, die Entitäten liefern, verwenden den Entity-Graphen
+ * {@link LoanEntity#WITH_PERSON_AND_MEDIA}, damit eine Liste mit einer
+ * einzigen Anweisung geladen wird.
  */
 @Repository
-public interface LoanRepository extends JpaRepository<LoanEntity, Long> {
+public interface LoanRepository
+  extends JpaRepository<LoanEntity, Long>, LoanHistoryRepository {
   /**
    * Findet alle Ausleihen.
    * 
@@ -25,29 +37,69 @@ public interface LoanRepository extends JpaRepository<LoanEntity, Long> {
    */
   @SuppressWarnings("null")
   @Override
+  @EntityGraph(LoanEntity.WITH_PERSON_AND_MEDIA)
   List<LoanEntity> findAll();
 
+  /**
+   * Gemeinsamer Teil der Abfragen, die Ausleihen als {@link LoanDTO} liefern.
+   * Person und Medium werden per Join gelesen, nicht als Entitäten geladen.
+   */
+  String LOAN_DTO_SELECT =
+    """
+    SELECT new com.example.backend.dto.LoanDTO(
+      l.loanId, l.borrowedAt, l.returnedAt, l.dueDate,
+      p.personId, p.firstName, p.lastName,
+      m.mediaId, m.title, m.type, m.mediaState
+    )
+    FROM LoanEntity l JOIN l.person p JOIN l.media m
+    """;
+
+  /**
+   * Findet alle Ausleihen des jeweiligen Benutzers.
+   * 
+   * @param userId Die ID des Benutzers, dessen Ausleihen abgerufen werden sollen.
+   * @return Liste von {@link LoanDTO}-Objekten des Benutzers, sortiert nach ID.
+   */
+  @Query(LOAN_DTO_SELECT + "WHERE p.user.userId = :userId ORDER BY l.loanId")
+  List<LoanDTO> findLoanDTOsByUserId(@Param("userId") Long userId);
+
   /**
    * Findet Liste von Ausleihen des jeweiligen Benutzer, bei denen die
    * Rückgabe noch nicht erfolgt ist.
    * 
    * @param userId Die ID des Benutzers, dessen Ausleihen abgerufen werden sollen.
-   * @return Liste von {@link LoanEntity}-Objekten für den jeweiligen Benutzer,
+   * @return Liste von {@link LoanDTO}-Objekten für den jeweiligen Benutzer,
    *  bei denen das Rückgabedatum noch {@code null} ist.
    */
-  List<LoanEntity> findByPerson_User_UserIdAndReturnedAtIsNull(Long userId);
+  @Query(
+    LOAN_DTO_SELECT +
+    "WHERE p.user.userId = :userId AND l.returnedAt IS NULL ORDER BY l.loanId"
+  )
+  List<LoanDTO> findActiveLoanDTOsByUserId(@Param("userId") Long userId);
 
   /**
-   * Findet Liste von Ausleihen, die für eine Liste von Personen vorgenommen
-   * wurden.
+   * Findet die zurückgegebenen Ausleihen des jeweiligen Benutzers, deren
+   * Zeitraum von der Ausleihe bis zur Rückgabe einen Zeitraum berührt.
    * 
-   * @param persons Liste von {@link PersonEntity}-Objekten, deren Ausleihen
-   * abgerufen werden sollen.
-   * @return Liste von {@link LoanEntity}-Objekten, die den jeweiligen
-   * Personen zugeordnet sind.
+   * @param userId ID des Benutzers.
+   * @param from Beginn des Zeitraums.
+   * @param toExclusive Ende des Zeitraums (ausschließlich).
+   * @return Liste von {@link LoanDTO}-Objekten, sortiert nach Ausleihzeitpunkt und ID.
    */
-  @Query("SELECT l FROM LoanEntity l WHERE l.person IN :persons")
-  List<LoanEntity> findByPersons(@Param("persons") List<PersonEntity> persons);
+  @Query(
+    LOAN_DTO_SELECT +
+    """
+    WHERE p.user.userId = :userId
+      AND l.returnedAt >= :from
+      AND l.borrowedAt < :toExclusive
+    ORDER BY l.borrowedAt, l.loanId
+    """
+  )
+  List<LoanDTO> findReturnedLoanDTOsOverlapping(
+    @Param("userId") Long userId,
+    @Param("from") LocalDateTime from,
+    @Param("toExclusive") LocalDateTime toExclusive
+  );
 
   /**
    * Findet Liste von Ausleihen für den jeweiligen Benutzer, deren Fälligkeit
@@ -58,13 +110,34 @@ public interface LoanRepository extends JpaRepository<LoanEntity, Long> {
    * werden sollen.
    * @param currentDate Aktuelle Datum, das als Grenze für die Fälligkeit
    * dient.
-   * @return Liste von {@link LoanEntity}-Objekten für den jeweiligen
+   * @return Liste von {@link LoanDTO}-Objekten für den jeweiligen
    * Benutzer, bei denen das Rückgabedatum noch {@code null} ist und das
    * Fälligkeitsdatum vor dem angegebenen  Datum {@code currentDate} liegt.
    */
-  List<LoanEntity> findByPerson_User_UserIdAndDueDateBeforeAndReturnedAtIsNull(
-    Long userId,
-    LocalDate currentDate
+  @Query(
+    LOAN_DTO_SELECT +
+    "WHERE p.user.userId = :userId AND l.returnedAt IS NULL AND l.dueDate < :currentDate ORDER BY l.loanId"
+  )
+  List<LoanDTO> findOverdueLoanDTOsByUserId(
+    @Param("userId") Long userId,
+    @Param("currentDate") LocalDate currentDate
+  );
+
+  /**
+   * Findet Liste von Ausleihen des jeweiligen Benutzers, die seit einem
+   * Zeitpunkt angelegt oder geändert wurden.
+   * 
+   * @param userId Die ID des Benutzers, dessen Ausleihen abgerufen werden sollen.
+   * @param since Frühester Änderungszeitpunkt (inklusive).
+   * @return Liste der geänderten Ausleihen als {@link LoanDTO}.
+   */
+  @Query(
+    LOAN_DTO_SELECT +
+    "WHERE p.user.userId = :userId AND l.updatedAt >= :since ORDER BY l.loanId"
+  )
+  List<LoanDTO> findLoanDTOsChangedSince(
+    @Param("userId") Long userId,
+    @Param("since") LocalDateTime since
   );
 
   /**
@@ -74,7 +147,66 @@ public interface LoanRepository extends JpaRepository<LoanEntity, Long> {
    * @param dueDate Fälligkeitsdatum, nach dem die Ausleihen gefiltert werden sollen.
    * @return Liste von {@link LoanEntity}-Objekten, die die angegebenen Kriterien erfüllen.
    */
-    @Query("SELECT l FROM LoanEntity l WHERE l.returnedAt IS NULL AND l.dueDate <= :dueDate")
-    List<LoanEntity> findAllDueToday(@Param("dueDate") LocalDate dueDate);
+  @EntityGraph(LoanEntity.WITH_PERSON_AND_MEDIA)
+  @Query("SELECT l FROM LoanEntity l WHERE l.returnedAt IS NULL AND l.dueDate <= :dueDate")
+  List<LoanEntity> findAllDueToday(@Param("dueDate") LocalDate dueDate);
+
+  /**
+   * Löscht alle Ausleihen mehrerer Medien mit einer einzigen Anweisung.
+   * Muss innerhalb einer Transaktion aufgerufen werden.
+   * 
+   * @param mediaIds IDs der Medien.
+   * @return Anzahl der gelöschten Ausleihen.
+   */
+  @Modifying(flushAutomatically = true, clearAutomatically = true)
+  @Query("DELETE FROM LoanEntity l WHERE l.media.mediaId IN :mediaIds")
+  int deleteByMediaIds(@Param("mediaIds") Collection<Long> mediaIds);
+
+  /**
+   * Sperrt mehrere Ausleihen bis zum Ende der Transaktion
+   * ({@code SELECT ... FOR UPDATE}) und liefert die für eine Rückgabe
+   * benötigten Felder, ohne Person und Medium zu laden. Die Sperren werden in
+   * aufsteigender ID-Reihenfolge gesetzt. Muss innerhalb einer Transaktion
+   * aufgerufen werden.
+   * 
+   * @param loanIds IDs der Ausleihen.
+   * @return Gefundene Ausleihen in aufsteigender ID-Reihenfolge.
+   */
+  @Lock(LockModeType.PESSIMISTIC_WRITE)
+  @Query(
+    """
+    SELECT l.loanId AS loanId, l.media.mediaId AS mediaId,
+      l.borrowedAt AS borrowedAt, l.returnedAt AS returnedAt
+    FROM LoanEntity l
+    WHERE l.loanId IN :loanIds
+    ORDER BY l.loanId
+    """
+  )
+  List<LoanReturnProjection> lockForReturn(@Param("loanIds") Collection<Long> loanIds);
 
+  /**
+   * Markiert mehrere offene Ausleihen mit einer einzigen Anweisung als
+   * zurückgegeben. Bereits zurückgegebene Ausleihen bleiben unverändert.
+   * Da die Anweisung an Hibernate vorbei läuft, werden {@code updatedAt} und
+   * {@code version} hier selbst gesetzt. Muss innerhalb einer Transaktion
+   * aufgerufen werden.
+   * 
+   * @param loanIds IDs der Ausleihen.
+   * @param returnedAt Zeitpunkt der Rückgabe.
+   * @param now Änderungszeitpunkt für die Synchronisierung.
+   * @return Anzahl der geänderten Ausleihen.
+   */
+  @Modifying(flushAutomatically = true, clearAutomatically = true)
+  @Query(
+    """
+    UPDATE LoanEntity l
+    SET l.returnedAt = :returnedAt, l.updatedAt = :now, l.version = l.version + 1
+    WHERE l.loanId IN :loanIds AND l.returnedAt IS NULL
+    """
+  )
+  int markReturned(
+    @Param("loanIds") Collection<Long> loanIds,
+    @Param("returnedAt") LocalDateTime returnedAt,
+    @Param("now") LocalDateTime now
+  );
 }
@@ -0,0 +1,41 @@
+package com.example.backend.repository;
+
+import org.springframework.beans.factory.InitializingBean;
+import org.springframework.context.annotation.DependsOn;
+import org.springframework.dao.DataAccessException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+
+/**
+ * Ergänzt beim Start die Spalte {@code loan.user_id} für Ausleihen, die vor
+ * ihrer Einführung angelegt wurden. Der Wert wird aus dem Benutzer der
+ * ausleihenden Person übernommen. Ohne ihn fehlten diese Ausleihen in der
+ * Ausleihhistorie; schlägt das Nachtragen fehl, bricht der Start daher ab.
+ */
+@Component
+@DependsOn("entityManagerFactory")
+public class LoanUserIdInitializer implements InitializingBean {
+
+  private final JdbcTemplate jdbcTemplate;
+
+  /**
+   * Konstruktor.
+   * @param jdbcTemplate Zugriff auf die Datenbank
+   */
+  public LoanUserIdInitializer(JdbcTemplate jdbcTemplate) {
+    this.jdbcTemplate = jdbcTemplate;
+  }
+
+  @Override
+  public void afterPropertiesSet() {
+    try {
+      jdbcTemplate.update(
+        "UPDATE loan SET user_id = (" +
+        "SELECT p.user_id FROM person p WHERE p.person_id = loan.person_id" +
+        ") WHERE user_id IS NULL"
+      );
+    } catch (DataAccessException e) {
+      throw new IllegalStateException("Could not fill loan.user_id", e);
+    }
+  }
+}
@@ -0,0 +1,22 @@
+package com.example.backend.repository;
+
+import java.util.List;
+
+import com.example.backend.dto.MediaFilterDTO;
+
+/**
+ * Erweiterung des {@link MediaRepository} um die Auflösung eines Filters zu
+ * Medien-IDs für Massenoperationen.
+ */
+public interface MediaBulkRepository {
+
+  /**
+   * Ermittelt die IDs aller Medien eines Benutzers, die zum Filter passen.
+   * Sortierkriterien des Filters werden ignoriert.
+   *
+   * @param userId ID des Benutzers, dessen Medien gesucht werden.
+   * @param filter Filterkriterien.
+   * @return IDs der passenden Medien in aufsteigender Reihenfolge.
+   */
+  List<Long> findIdsByFilter(Long userId, MediaFilterDTO filter);
+}
@@ -0,0 +1,43 @@
+package com.example.backend.repository;
+
+import java.util.List;
+
+import com.example.backend.dto.MediaFilterDTO;
+import com.example.backend.model.MediaEntity;
+
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import jakarta.persistence.criteria.CriteriaBuilder;
+import jakarta.persistence.criteria.CriteriaQuery;
+import jakarta.persistence.criteria.Predicate;
+import jakarta.persistence.criteria.Root;
+
+/**
+ * Implementierung von {@link MediaBulkRepository} mit der Criteria API.
+ * Liest nur die IDs, damit auch große Treffermengen ohne Laden der Entitäten
+ * aufgelöst werden.
+ */
+public class MediaBulkRepositoryImpl implements MediaBulkRepository {
+
+  @PersistenceContext
+  private EntityManager entityManager;
+
+  @Override
+  public List<Long> findIdsByFilter(Long userId, MediaFilterDTO filter) {
+    CriteriaBuilder cb = entityManager.getCriteriaBuilder();
+    CriteriaQuery<Long> query = cb.createQuery(Long.class);
+    Root<MediaEntity> media = query.from(MediaEntity.class);
+    List<Predicate> predicates = MediaFilterPredicates.of(
+      cb,
+      query,
+      media,
+      userId,
+      filter
+    );
+    query
+      .select(media.get("mediaId"))
+      .where(predicates.toArray(Predicate[]::new))
+      .orderBy(cb.asc(media.get("mediaId")));
+    return entityManager.createQuery(query).getResultList();
+  }
+}
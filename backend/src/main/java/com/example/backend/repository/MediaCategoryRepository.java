@@ -1,11 +1,15 @@
 package com.example.backend.repository;
 
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
 
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
 import org.springframework.stereotype.Repository;
 
+import com.example.backend.dto.MediaCategoryProjection;
 import com.example.backend.model.MediaCategory;
 
 /**
@@ -50,4 +54,60 @@ public interface MediaCategoryRepository
     Long mediaId,
     Long categoryId
   );
+
+  /**
+   * Findet die Kategorien mehrerer Medien mit einer einzigen Abfrage.
+   * Liefert je Zuordnung eine Zeile mit Medien-ID, Kategorie-ID und Kategoriename,
+   * sortiert nach Medium und Kategoriename.
+   * @param mediaIds IDs der Medien, deren Kategorien abgerufen werden sollen.
+   * @return Eine Liste von {@link MediaCategoryProjection} für die angegebenen Medien.
+   */
+  @Query(
+    """
+    SELECT mc.media.mediaId AS mediaId,
+           c.categoryId     AS categoryId,
+           c.categoryName   AS categoryName
+    FROM MediaCategory mc
+    JOIN mc.category c
+    WHERE mc.media.mediaId IN :mediaIds
+    ORDER BY mc.media.mediaId, c.categoryName
+    """
+  )
+  List<MediaCategoryProjection> findCategoriesByMediaIds(
+    Collection<Long> mediaIds
+  );
+
+  /**
+   * Ermittelt, welche der angegebenen Medien bereits einer Kategorie zugeordnet sind.
+   * @param categoryId ID der Kategorie.
+   * @param mediaIds IDs der zu prüfenden Medien.
+   * @return IDs der Medien aus {@code mediaIds}, die der Kategorie zugeordnet sind.
+   */
+  @Query(
+    "SELECT mc.media.mediaId FROM MediaCategory mc WHERE mc.category.categoryId = :categoryId AND mc.media.mediaId IN :mediaIds"
+  )
+  List<Long> findMediaIdsWithCategory(Long categoryId, Collection<Long> mediaIds);
+
+  /**
+   * Entfernt die Zuordnung einer Kategorie zu mehreren Medien mit einer einzigen
+   * Anweisung. Muss innerhalb einer Transaktion aufgerufen werden.
+   * @param categoryId ID der Kategorie.
+   * @param mediaIds IDs der Medien.
+   * @return Anzahl der entfernten Zuordnungen.
+   */
+  @Modifying(flushAutomatically = true, clearAutomatically = true)
+  @Query(
+    "DELETE FROM MediaCategory mc WHERE mc.category.categoryId = :categoryId AND mc.media.mediaId IN :mediaIds"
+  )
+  int deleteByCategoryIdAndMediaIds(Long categoryId, Collection<Long> mediaIds);
+
+  /**
+   * Entfernt alle Kategoriezuordnungen mehrerer Medien mit einer einzigen
+   * Anweisung. Muss innerhalb einer Transaktion aufgerufen werden.
+   * @param mediaIds IDs der Medien.
+   * @return Anzahl der entfernten Zuordnungen.
+   */
+  @Modifying(flushAutomatically = true, clearAutomatically = true)
+  @Query("DELETE FROM MediaCategory mc WHERE mc.media.mediaId IN :mediaIds")
+  int deleteByMediaIds(Collection<Long> mediaIds);
 }
@@ -0,0 +1,21 @@
+package com.example.backend.repository;
+
+import com.example.backend.dto.MediaFacetsDTO;
+import com.example.backend.dto.MediaFilterDTO;
+
+/**
+ * Erweiterung des {@link MediaRepository} um Facettenzählungen über eine
+ * gefilterte Treffermenge.
+ */
+public interface MediaFacetRepository {
+
+  /**
+   * Zählt die Medien eines Benutzers je Status, Typ, Favoritenstatus,
+   * Jahrzehnt und Kategorie. Sortierkriterien des Filters werden ignoriert.
+   *
+   * @param userId ID des Benutzers, dessen Medien gezählt werden.
+   * @param filter Filterkriterien.
+   * @return Die Zählungen als {@link MediaFacetsDTO}.
+   */
+  MediaFacetsDTO countFacets(Long userId, MediaFilterDTO filter);
+}
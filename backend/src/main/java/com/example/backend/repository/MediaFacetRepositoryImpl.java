@@ -0,0 +1,156 @@
+package com.example.backend.repository;
+
+import java.util.List;
+
+import com.example.backend.dto.CategoryFacetDTO;
+import com.example.backend.dto.MediaFacetsDTO;
+import com.example.backend.dto.MediaFilterDTO;
+import com.example.backend.model.CategoryEntity;
+import com.example.backend.model.MediaCategory;
+import com.example.backend.model.MediaEntity;
+import com.example.backend.model.MediaState;
+import com.example.backend.model.MediaType;
+
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import jakarta.persistence.Tuple;
+import jakarta.persistence.criteria.CriteriaBuilder;
+import jakarta.persistence.criteria.CriteriaQuery;
+import jakarta.persistence.criteria.Expression;
+import jakarta.persistence.criteria.Join;
+import jakarta.persistence.criteria.Path;
+import jakarta.persistence.criteria.Predicate;
+import jakarta.persistence.criteria.Root;
+
+/**
+ * Implementierung von {@link MediaFacetRepository} mit der Criteria API.
+ * Die Zählungen für Status, Typ, Favoritenstatus und Erscheinungsjahr kommen
+ * aus einer einzigen Aggregation, die nach allen vier Spalten gruppiert. Das
+ * Ergebnis hat höchstens so viele Zeilen wie es Kombinationen dieser Werte
+ * gibt (unabhängig von der Anzahl der Medien) und wird in Java zu den
+ * einzelnen Facetten aufsummiert. Kategorien werden separat gezählt, weil ein
+ * Medium mehreren Kategorien angehören kann und sonst mehrfach zählen würde.
+ */
+public class MediaFacetRepositoryImpl implements MediaFacetRepository {
+
+  @PersistenceContext
+  private EntityManager entityManager;
+
+  @Override
+  public MediaFacetsDTO countFacets(Long userId, MediaFilterDTO filter) {
+    MediaFacetsDTO facets = new MediaFacetsDTO();
+    for (Tuple row : countCombinations(userId, filter)) {
+      addCombination(
+        facets,
+        row.get(0, MediaState.class),
+        row.get(1, MediaType.class),
+        row.get(2, Boolean.class),
+        row.get(3, Integer.class),
+        row.get(4, Long.class)
+      );
+    }
+    if (facets.getTotal() > 0) {
+      facets.setCategories(countCategories(userId, filter));
+    }
+    return facets;
+  }
+
+  /**
+   * Summiert eine Zeile der Aggregation zu den einzelnen Facetten auf.
+   * Medien ohne Favoritenstatus zählen als keine Favoriten, Medien ohne
+   * Erscheinungsjahr in {@code releaseYearUnknown}.
+   * @param facets Bisheriges Ergebnis, wird ergänzt.
+   * @param mediaState Status der Kombination.
+   * @param type Typ der Kombination.
+   * @param isFavorite Favoritenstatus der Kombination, ggf. {@code null}.
+   * @param releaseYear Erscheinungsjahr der Kombination, ggf. {@code null}.
+   * @param count Anzahl der Medien mit dieser Kombination.
+   */
+  static void addCombination(
+    MediaFacetsDTO facets,
+    MediaState mediaState,
+    MediaType type,
+    Boolean isFavorite,
+    Integer releaseYear,
+    long count
+  ) {
+    facets.setTotal(facets.getTotal() + count);
+    facets.getMediaState().merge(mediaState, count, Long::sum);
+    facets.getType().merge(type, count, Long::sum);
+    facets.getIsFavorite().merge(Boolean.TRUE.equals(isFavorite), count, Long::sum);
+    if (releaseYear == null) {
+      facets.setReleaseYearUnknown(facets.getReleaseYearUnknown() + count);
+    } else {
+      facets
+        .getReleaseDecade()
+        .merge(Math.floorDiv(releaseYear, 10) * 10, count, Long::sum);
+    }
+  }
+
+  private List<Tuple> countCombinations(Long userId, MediaFilterDTO filter) {
+    CriteriaBuilder cb = entityManager.getCriteriaBuilder();
+    CriteriaQuery<Tuple> query = cb.createTupleQuery();
+    Root<MediaEntity> media = query.from(MediaEntity.class);
+    List<Predicate> predicates = MediaFilterPredicates.of(
+      cb,
+      query,
+      media,
+      userId,
+      filter
+    );
+
+    List<Expression<?>> groups = List.of(
+      media.get("mediaState"),
+      media.get("type"),
+      media.get("isFavorite"),
+      media.get("releaseYear")
+    );
+    query
+      .multiselect(
+        groups.get(0),
+        groups.get(1),
+        groups.get(2),
+        groups.get(3),
+        cb.count(media)
+      )
+      .where(predicates.toArray(Predicate[]::new))
+      .groupBy(groups);
+    return entityManager.createQuery(query).getResultList();
+  }
+
+  private List<CategoryFacetDTO> countCategories(
+    Long userId,
+    MediaFilterDTO filter
+  ) {
+    CriteriaBuilder cb = entityManager.getCriteriaBuilder();
+    CriteriaQuery<CategoryFacetDTO> query = cb.createQuery(
+      CategoryFacetDTO.class
+    );
+    Root<MediaCategory> mediaCategory = query.from(MediaCategory.class);
+    Join<MediaCategory, MediaEntity> media = mediaCategory.join("media");
+    Join<MediaCategory, CategoryEntity> category = mediaCategory.join("category");
+    List<Predicate> predicates = MediaFilterPredicates.of(
+      cb,
+      query,
+      media,
+      userId,
+      filter
+    );
+
+    Path<Long> categoryId = category.get("categoryId");
+    Path<String> categoryName = category.get("categoryName");
+    query
+      .select(
+        cb.construct(
+          CategoryFacetDTO.class,
+          categoryId,
+          categoryName,
+          cb.count(mediaCategory)
+        )
+      )
+      .where(predicates.toArray(Predicate[]::new))
+      .groupBy(categoryId, categoryName)
+      .orderBy(cb.asc(categoryName), cb.asc(categoryId));
+    return entityManager.createQuery(query).getResultList();
+  }
+}
@@ -0,0 +1,82 @@
+package com.example.backend.repository;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import com.example.backend.dto.MediaFilterDTO;
+import com.example.backend.model.MediaCategory;
+import com.example.backend.model.MediaEntity;
+
+import jakarta.persistence.criteria.AbstractQuery;
+import jakarta.persistence.criteria.CriteriaBuilder;
+import jakarta.persistence.criteria.From;
+import jakarta.persistence.criteria.Predicate;
+import jakarta.persistence.criteria.Root;
+import jakarta.persistence.criteria.Subquery;
+
+/**
+ * Übersetzt einen {@link MediaFilterDTO} in Criteria-Bedingungen.
+ * Wird von allen gefilterten Medienabfragen verwendet, damit Seiten und
+ * Facettenzählungen stets dieselbe Treffermenge beschreiben.
+ */
+final class MediaFilterPredicates {
+
+  private MediaFilterPredicates() {}
+
+  /**
+   * Erstellt die Bedingungen für Besitzer und Filter (ohne Sortierung und Cursor).
+   * @param cb CriteriaBuilder der Abfrage.
+   * @param query Abfrage, in der ggf. Unterabfragen angelegt werden.
+   * @param media Medien-Root oder -Join, auf den sich die Bedingungen beziehen.
+   * @param userId ID des Benutzers, dessen Medien abgefragt werden.
+   * @param filter Filterkriterien.
+   * @return Veränderbare Liste der Bedingungen.
+   */
+  static List<Predicate> of(
+    CriteriaBuilder cb,
+    AbstractQuery<?> query,
+    From<?, MediaEntity> media,
+    Long userId,
+    MediaFilterDTO filter
+  ) {
+    List<Predicate> predicates = new ArrayList<>();
+    predicates.add(cb.equal(media.get("user").get("userId"), userId));
+    if (filter.getMediaState() != null) {
+      predicates.add(cb.equal(media.get("mediaState"), filter.getMediaState()));
+    }
+    if (filter.getType() != null) {
+      predicates.add(cb.equal(media.get("type"), filter.getType()));
+    }
+    if (filter.getIsFavorite() != null) {
+      predicates.add(cb.equal(media.get("isFavorite"), filter.getIsFavorite()));
+    }
+    if (filter.getReleaseYearFrom() != null) {
+      predicates.add(
+        cb.greaterThanOrEqualTo(
+          media.get("releaseYear"),
+          filter.getReleaseYearFrom()
+        )
+      );
+    }
+    if (filter.getReleaseYearTo() != null) {
+      predicates.add(
+        cb.lessThanOrEqualTo(media.get("releaseYear"), filter.getReleaseYearTo())
+      );
+    }
+    if (filter.getCategoryId() != null) {
+      Subquery<Long> assigned = query.subquery(Long.class);
+      Root<MediaCategory> mediaCategory = assigned.from(MediaCategory.class);
+      assigned
+        .select(mediaCategory.get("id"))
+        .where(
+          cb.equal(mediaCategory.get("media"), media),
+          cb.equal(
+            mediaCategory.get("category").get("categoryId"),
+            filter.getCategoryId()
+          )
+        );
+      predicates.add(cb.exists(assigned));
+    }
+    return predicates;
+  }
+}
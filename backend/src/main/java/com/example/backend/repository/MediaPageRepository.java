@@ -0,0 +1,31 @@
+package com.example.backend.repository;
+
+import java.util.List;
+
+import com.example.backend.dto.MediaCursor;
+import com.example.backend.dto.MediaFilterDTO;
+
+/**
+ * Erweiterung des {@link MediaRepository} um die seitenweise, gefilterte Abfrage
+ * von Medien mittels Keyset-Paginierung.
+ */
+public interface MediaPageRepository {
+
+  /**
+   * Ermittelt die Positionen der Medien einer Seite in Sortierreihenfolge.
+   * Es werden nur ID und Sortierwert gelesen; die vollständigen Daten werden
+   * anschließend gezielt für diese IDs geladen.
+   *
+   * @param userId ID des Benutzers, dessen Medien abgefragt werden.
+   * @param filter Filter- und Sortierkriterien.
+   * @param after Position, hinter der die Seite beginnt, oder {@code null} für die erste Seite.
+   * @param limit Maximale Anzahl der gelieferten Einträge.
+   * @return Cursor der gefundenen Medien in Sortierreihenfolge.
+   */
+  List<MediaCursor> findPageKeys(
+    Long userId,
+    MediaFilterDTO filter,
+    MediaCursor after,
+    int limit
+  );
+}
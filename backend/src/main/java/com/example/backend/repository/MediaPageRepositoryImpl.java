@@ -0,0 +1,119 @@
+package com.example.backend.repository;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+
+import org.springframework.data.domain.Sort;
+
+import com.example.backend.dto.MediaCursor;
+import com.example.backend.dto.MediaFilterDTO;
+import com.example.backend.dto.MediaSortField;
+import com.example.backend.model.MediaEntity;
+
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import jakarta.persistence.Tuple;
+import jakarta.persistence.criteria.CriteriaBuilder;
+import jakarta.persistence.criteria.CriteriaQuery;
+import jakarta.persistence.criteria.Path;
+import jakarta.persistence.criteria.Predicate;
+import jakarta.persistence.criteria.Root;
+
+/**
+ * Implementierung von {@link MediaPageRepository} mit der Criteria API.
+ * Die Abfrage nutzt die Indizes {@code (user_id, created_at, media_id)} bzw.
+ * {@code (user_id, title, media_id)} der Medientabelle.
+ */
+public class MediaPageRepositoryImpl implements MediaPageRepository {
+
+  @PersistenceContext
+  private EntityManager entityManager;
+
+  @Override
+  public List<MediaCursor> findPageKeys(
+    Long userId,
+    MediaFilterDTO filter,
+    MediaCursor after,
+    int limit
+  ) {
+    CriteriaBuilder cb = entityManager.getCriteriaBuilder();
+    CriteriaQuery<Tuple> query = cb.createTupleQuery();
+    Root<MediaEntity> media = query.from(MediaEntity.class);
+    Path<Long> mediaId = media.get("mediaId");
+    boolean ascending = filter.getDirection() == Sort.Direction.ASC;
+
+    List<Predicate> predicates = MediaFilterPredicates.of(
+      cb,
+      query,
+      media,
+      userId,
+      filter
+    );
+
+    Path<?> sortValue;
+    if (filter.getSort() == MediaSortField.TITLE) {
+      Path<String> title = media.get("title");
+      if (after != null) {
+        predicates.add(
+          after(cb, title, after.value(), mediaId, after.mediaId(), ascending)
+        );
+      }
+      sortValue = title;
+    } else {
+      Path<LocalDateTime> createdAt = media.get("createdAt");
+      if (after != null) {
+        predicates.add(
+          after(cb, createdAt, after.createdAt(), mediaId, after.mediaId(), ascending)
+        );
+      }
+      sortValue = createdAt;
+    }
+
+    query
+      .multiselect(mediaId, sortValue)
+      .where(predicates.toArray(Predicate[]::new))
+      .orderBy(
+        ascending ? cb.asc(sortValue) : cb.desc(sortValue),
+        ascending ? cb.asc(mediaId) : cb.desc(mediaId)
+      );
+
+    List<MediaCursor> keys = new ArrayList<>();
+    for (Tuple row : entityManager
+      .createQuery(query)
+      .setMaxResults(limit)
+      .getResultList()) {
+      Long id = row.get(0, Long.class);
+      keys.add(
+        filter.getSort() == MediaSortField.TITLE
+          ? MediaCursor.ofTitle(row.get(1, String.class), id)
+          : MediaCursor.ofCreatedAt(row.get(1, LocalDateTime.class), id)
+      );
+    }
+    return keys;
+  }
+
+  /**
+   * Bedingung "liegt in Sortierreihenfolge hinter (value, id)":
+   * {@code col > value OR (col = value AND media_id > id)} bzw. mit {@code <} bei absteigender Sortierung.
+   */
+  private static <T extends Comparable<? super T>> Predicate after(
+    CriteriaBuilder cb,
+    Path<T> column,
+    T value,
+    Path<Long> mediaId,
+    Long lastId,
+    boolean ascending
+  ) {
+    if (ascending) {
+      return cb.or(
+        cb.greaterThan(column, value),
+        cb.and(cb.equal(column, value), cb.greaterThan(mediaId, lastId))
+      );
+    }
+    return cb.or(
+      cb.lessThan(column, value),
+      cb.and(cb.equal(column, value), cb.lessThan(mediaId, lastId))
+    );
+  }
+}
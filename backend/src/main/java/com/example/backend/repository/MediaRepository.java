@@ -1,34 +1,205 @@
 package com.example.backend.repository;
 
+import java.time.LocalDateTime;
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
+import java.util.stream.Stream;
 
+import org.hibernate.jpa.HibernateHints;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
 import org.springframework.stereotype.Repository;
 
-import com.example.backend.dto.MediaWithCategoriesProjection;
+import com.example.backend.dto.MediaExportProjection;
+import com.example.backend.dto.MediaNotesDTO;
+import com.example.backend.dto.MediaProjection;
+import com.example.backend.dto.MediaSearchProjection;
+import com.example.backend.dto.MediaTitleDTO;
 import com.example.backend.model.MediaEntity;
 import com.example.backend.model.MediaState;
 import com.example.backend.model.MediaType;
 
+import jakarta.persistence.LockModeType;
+import jakarta.persistence.QueryHint;
+
 /**
  * Repository zur Verwaltung der {@link MediaEntity}-Daten.
  * Ermöglicht Zugriff auf die {@link MediaEntity}-Datenbanktabelle und stellt
  * verschiedene Methoden zum Abrufen von Medienobjekten anahnd unterschiedlichen
- * Kriterien, inklusive ihrer Verknüpfungen mit Kategorien.
+ * Kriterien.
  */
 @Repository
-public interface MediaRepository extends JpaRepository<MediaEntity, Long> {
+public interface MediaRepository
+  extends
+    JpaRepository<MediaEntity, Long>,
+    MediaPageRepository,
+    MediaFacetRepository,
+    MediaBulkRepository {
+
+  /**
+   * Findet die Medien eines bestimmten Benutzers als Projektion.
+   * Die Kategorien werden nicht mitgeladen, sondern anschließend über
+   * {@link MediaCategoryRepository#findCategoriesByMediaIds} ergänzt.
+   * @param userId ID des Benutzers, dessen Medien abgerufen werden sollen.
+   * @return Eine Liste von {@link MediaProjection} für den angegebenen Benutzer.
+   */
+  @Query(
+    value = """
+    SELECT 
+        m.media_id                     AS mediaId,
+        m.user_id                      AS userId,
+        m.producer                     AS producer,
+        m.title                        AS title,
+        m.media_state                  AS mediaState,
+        m.type                         AS type,
+        m.release_year                 AS releaseYear,
+        LEFT(m.notes, 100)             AS notesPreview,
+        m.isbn                         AS isbn,
+        m.cover_key                    AS coverKey,
+        m.is_favorite                  AS isFavorite,
+        m.created_at                   AS createdAt,
+        m.updated_at                   AS updatedAt,
+        m.row_version                  AS version
+    FROM media m
+    WHERE m.user_id = :userId
+    """,
+    nativeQuery = true
+  )
+  List<MediaProjection> findMediaProjectionsByUserId(Long userId);
+
+  /**
+   * Findet die für die Volltextsuche benötigten Spalten der Medien eines
+   * Benutzers einschließlich der vollständigen Notizen.
+   * @param userId ID des Benutzers, dessen Medien abgerufen werden sollen.
+   * @return Eine Liste von {@link MediaSearchProjection} für den angegebenen Benutzer.
+   */
+  @Query(
+    value = """
+    SELECT 
+        m.media_id                     AS mediaId,
+        m.title                        AS title,
+        m.producer                     AS producer,
+        m.notes                        AS notes,
+        m.isbn                         AS isbn,
+        m.type                         AS type
+    FROM media m
+    WHERE m.user_id = :userId
+    """,
+    nativeQuery = true
+  )
+  List<MediaSearchProjection> findSearchProjectionsByUserId(Long userId);
+
+  /**
+   * Ruft ID und Titel aller Medien eines Benutzers ab, z. B. für den Aufbau
+   * des Index der Autovervollständigung.
+   * @param userId ID des Benutzers.
+   * @return Liste von {@link MediaTitleDTO}.
+   */
+  @Query(
+    "SELECT new com.example.backend.dto.MediaTitleDTO(m.mediaId, m.title) FROM MediaEntity m WHERE m.user.userId = :userId"
+  )
+  List<MediaTitleDTO> findTitlesByUserId(Long userId);
+
+  /**
+   * Liest die Notizen eines Mediums des Benutzers.
+   * @param mediaId ID des Mediums.
+   * @param userId ID des Benutzers, dem das Medium gehören muss.
+   * @return Die Notizen als {@link MediaNotesDTO} oder leer, wenn das Medium nicht existiert oder einem anderen Benutzer gehört.
+   */
+  @Query(
+    "SELECT new com.example.backend.dto.MediaNotesDTO(m.mediaId, m.notes) " +
+    "FROM MediaEntity m " +
+    "WHERE m.mediaId = :mediaId AND m.user.userId = :userId"
+  )
+  Optional<MediaNotesDTO> findNotesByIdAndUserId(Long mediaId, Long userId);
+
+  /**
+   * Findet die Medien eines Benutzers, die seit einem Zeitpunkt angelegt oder
+   * geändert wurden, als Projektion (Delta-Synchronisation).
+   * Nutzt den Index {@code (user_id, updated_at)}.
+   * @param userId ID des Benutzers, dessen Medien abgerufen werden sollen.
+   * @param since Frühester Änderungszeitpunkt (inklusive).
+   * @return Eine Liste von {@link MediaProjection} der geänderten Medien.
+   */
+  @Query(
+    value = """
+    SELECT 
+        m.media_id                     AS mediaId,
+        m.user_id                      AS userId,
+        m.producer                     AS producer,
+        m.title                        AS title,
+        m.media_state                  AS mediaState,
+        m.type                         AS type,
+        m.release_year                 AS releaseYear,
+        LEFT(m.notes, 100)             AS notesPreview,
+        m.isbn                         AS isbn,
+        m.cover_key                    AS coverKey,
+        m.is_favorite                  AS isFavorite,
+        m.created_at                   AS createdAt,
+        m.updated_at                   AS updatedAt,
+        m.row_version                  AS version
+    FROM media m
+    WHERE m.user_id = :userId AND m.updated_at >= :since
+    """,
+    nativeQuery = true
+  )
+  List<MediaProjection> findMediaProjectionsChangedSince(
+    Long userId,
+    LocalDateTime since
+  );
+
+  /**
+   * Findet Medien anhand ihrer IDs als Projektion.
+   * Wird für das Laden einer Seite verwendet, nachdem die IDs über
+   * {@link MediaPageRepository#findPageKeys} ermittelt wurden. Die Reihenfolge
+   * des Ergebnisses ist nicht festgelegt.
+   * @param mediaIds IDs der abzurufenden Medien.
+   * @return Eine Liste von {@link MediaProjection} für die angegebenen Medien.
+   */
+  @Query(
+    value = """
+    SELECT 
+        m.media_id                     AS mediaId,
+        m.user_id                      AS userId,
+        m.producer                     AS producer,
+        m.title                        AS title,
+        m.media_state                  AS mediaState,
+        m.type                         AS type,
+        m.release_year                 AS releaseYear,
+        LEFT(m.notes, 100)             AS notesPreview,
+        m.isbn                         AS isbn,
+        m.cover_key                    AS coverKey,
+        m.is_favorite                  AS isFavorite,
+        m.created_at                   AS createdAt,
+        m.updated_at                   AS updatedAt,
+        m.row_version                  AS version
+    FROM media m
+    WHERE m.media_id IN (:mediaIds)
+    """,
+    nativeQuery = true
+  )
+  List<MediaProjection> findMediaProjectionsByIds(Collection<Long> mediaIds);
 
   /**
-   * Findet Liste von Medien mit ihren zugehörigen Kategorien für einen bestimmten Benutzer.
-   * Verwendet eine benutzerdefinierte SQL-Abfrage, um die Medien zusammen mit einer durch 
-   * Kommas getrennten Liste von Kategorien zurückzugeben.
-   * @param userId ID des Benutzers, dessen Medien und Kategorien abgerufen werden sollen.
-   * @return Eine Liste von {@link MediaWithCategoriesProjection}, die Medien mit den zugehörigen Kategorien 
-   * für den angegebenen Benutzer repräsentieren.
+   * Liefert alle Medien eines Benutzers mit ihren Kategorien als Stream für den Export.
+   * Je Zuordnung zu einer Kategorie wird eine Zeile geliefert; die Zeilen eines
+   * Mediums folgen direkt aufeinander (Sortierung nach Medien-ID). Der Treiber
+   * liest die Zeilen blockweise ({@code fetch_size}), sodass das Ergebnis nie
+   * vollständig im Speicher liegt. Muss innerhalb einer Transaktion aufgerufen
+   * und anschließend geschlossen werden.
+   * @param userId ID des Benutzers, dessen Medien exportiert werden sollen.
+   * @return Ein {@link Stream} von {@link MediaExportProjection}.
    */
+  @QueryHints(
+    {
+      @QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "500"),
+      @QueryHint(name = HibernateHints.HINT_READ_ONLY, value = "true"),
+    }
+  )
   @Query(
     value = """
     SELECT 
@@ -43,21 +214,17 @@ public interface MediaRepository extends JpaRepository<MediaEntity, Long> {
         m.isbn                         AS isbn,
         m.is_favorite                  AS isFavorite,
         m.created_at                   AS createdAt,
-        group_concat(CONCAT(c.category_id, ':', c.category_name) SEPARATOR ',') AS categoryPairs
+        c.category_id                  AS categoryId,
+        c.category_name                AS categoryName
     FROM media m
     LEFT JOIN media_category mc ON m.media_id = mc.media_id
     LEFT JOIN category c        ON mc.category_id = c.category_id
     WHERE m.user_id = :userId
-    GROUP BY 
-        m.media_id, m.user_id, m.producer, m.title, 
-        m.media_state, m.type, m.release_year, m.notes, 
-        m.isbn, m.is_favorite, m.created_at
+    ORDER BY m.media_id
     """,
     nativeQuery = true
   )
-  List<MediaWithCategoriesProjection> findMediaWithCategoriesByUserId(
-    Long userId
-  );
+  Stream<MediaExportProjection> streamMediaForExport(Long userId);
 
   /**
    * Findet alle Medien eines bestimmten Benutzers anhand der Benutzer-ID.
@@ -89,9 +256,167 @@ public interface MediaRepository extends JpaRepository<MediaEntity, Long> {
   List<MediaEntity> findByIsFavorite(Boolean isFavorite);
 
   /**
-   * Findet ein Medium anhand seiner ISBN-Nummer.
-   * @param isbn ISBN des Mediums, nach dem gesucht werden soll.
-   * @return Ein {@link Optional} mit dem gefundenen {@link MediaEntity}-Objekt, falls es existieren sollte.
+   * Findet die IDs der Medien eines Benutzers mit einer bestimmten ISBN.
+   * Die Abfrage wird vollständig über den Index {@code idx_media_user_isbn}
+   * beantwortet. Ein Benutzer kann mehrere Exemplare derselben ISBN besitzen.
+   * @param userId ID des Benutzers.
+   * @param normalizedIsbn ISBN in normalisierter Form (siehe {@link com.example.backend.model.Isbn}).
+   * @return IDs der gefundenen Medien, aufsteigend sortiert.
+   */
+  @Query(
+    "SELECT m.mediaId FROM MediaEntity m WHERE m.user.userId = :userId AND m.normalizedIsbn = :normalizedIsbn ORDER BY m.mediaId"
+  )
+  List<Long> findIdsByUserIdAndNormalizedIsbn(
+    Long userId,
+    String normalizedIsbn
+  );
+
+  /**
+   * Ermittelt, welche der angegebenen Medien dem Benutzer gehören.
+   * @param userId ID des Benutzers.
+   * @param mediaIds IDs der zu prüfenden Medien.
+   * @return IDs der Medien aus {@code mediaIds}, die dem Benutzer gehören.
+   */
+  @Query(
+    "SELECT m.mediaId FROM MediaEntity m WHERE m.user.userId = :userId AND m.mediaId IN :mediaIds"
+  )
+  List<Long> findOwnedIds(Long userId, Collection<Long> mediaIds);
+
+  /**
+   * Setzt den Status mehrerer Medien eines Benutzers mit einer einzigen
+   * Anweisung. Medien, die den Status bereits haben, bleiben unverändert.
+   * Änderungszeitpunkt und Version werden wie beim Speichern einer Entität
+   * fortgeschrieben (siehe {@link com.example.backend.model.SyncTrackingListener}).
+   * Muss innerhalb einer Transaktion aufgerufen werden.
+   * @param userId ID des Benutzers, dem die Medien gehören müssen.
+   * @param mediaIds IDs der Medien.
+   * @param mediaState Neuer Status.
+   * @param now Änderungszeitpunkt.
+   * @return Anzahl der geänderten Medien.
+   */
+  @Modifying(flushAutomatically = true, clearAutomatically = true)
+  @Query(
+    """
+    UPDATE MediaEntity m
+    SET m.mediaState = :mediaState, m.updatedAt = :now, m.version = m.version + 1
+    WHERE m.user.userId = :userId
+      AND m.mediaId IN :mediaIds
+      AND m.mediaState <> :mediaState
+    """
+  )
+  int updateMediaState(
+    Long userId,
+    Collection<Long> mediaIds,
+    MediaState mediaState,
+    LocalDateTime now
+  );
+
+  /**
+   * Setzt den Favoritenstatus mehrerer Medien eines Benutzers mit einer
+   * einzigen Anweisung, analog zu {@link #updateMediaState}.
+   * @param userId ID des Benutzers, dem die Medien gehören müssen.
+   * @param mediaIds IDs der Medien.
+   * @param isFavorite Neuer Favoritenstatus.
+   * @param now Änderungszeitpunkt.
+   * @return Anzahl der geänderten Medien.
+   */
+  @Modifying(flushAutomatically = true, clearAutomatically = true)
+  @Query(
+    """
+    UPDATE MediaEntity m
+    SET m.isFavorite = :isFavorite, m.updatedAt = :now, m.version = m.version + 1
+    WHERE m.user.userId = :userId
+      AND m.mediaId IN :mediaIds
+      AND m.isFavorite <> :isFavorite
+    """
+  )
+  int updateFavorite(
+    Long userId,
+    Collection<Long> mediaIds,
+    Boolean isFavorite,
+    LocalDateTime now
+  );
+
+  /**
+   * Sperrt die Medien eines Benutzers mit einem bestimmten Status aus einer
+   * Auswahl bis zum Ende der Transaktion ({@code SELECT ... FOR UPDATE}).
+   * Gleichzeitige Änderungen dieser Medien warten, bis die Transaktion endet;
+   * danach sehen sie den neuen Status. Die Sperren werden in aufsteigender
+   * ID-Reihenfolge gesetzt, damit sich gleichzeitige Aufrufe nicht gegenseitig
+   * blockieren. Muss innerhalb einer Transaktion aufgerufen werden.
+   * @param userId ID des Benutzers, dem die Medien gehören müssen.
+   * @param mediaIds IDs der Medien.
+   * @param mediaState Status, den die Medien haben müssen.
+   * @return IDs der gesperrten Medien in aufsteigender Reihenfolge.
+   */
+  @Lock(LockModeType.PESSIMISTIC_WRITE)
+  @Query(
+    """
+    SELECT m.mediaId FROM MediaEntity m
+    WHERE m.user.userId = :userId
+      AND m.mediaId IN :mediaIds
+      AND m.mediaState = :mediaState
+    ORDER BY m.mediaId
+    """
+  )
+  List<Long> lockIdsByState(
+    Long userId,
+    Collection<Long> mediaIds,
+    MediaState mediaState
+  );
+
+  /**
+   * Ändert den Status eines Mediums nur, wenn es noch den erwarteten Status hat
+   * (Compare-and-Set). Die Prüfung und die Änderung sind eine einzige Anweisung;
+   * von mehreren gleichzeitigen Aufrufen mit demselben erwarteten Status ändert
+   * daher genau einer die Zeile. Muss innerhalb einer Transaktion aufgerufen werden.
+   * @param mediaId ID des Mediums.
+   * @param expected Status, den das Medium haben muss.
+   * @param mediaState Neuer Status.
+   * @param now Änderungszeitpunkt.
+   * @return {@code 1}, wenn der Status geändert wurde, sonst {@code 0}.
    */
-  Optional<MediaEntity> findByIsbn(String isbn);
+  @Modifying(flushAutomatically = true, clearAutomatically = true)
+  @Query(
+    """
+    UPDATE MediaEntity m
+    SET m.mediaState = :mediaState, m.updatedAt = :now, m.version = m.version + 1
+    WHERE m.mediaId = :mediaId
+      AND m.mediaState = :expected
+    """
+  )
+  int compareAndSetMediaState(
+    Long mediaId,
+    MediaState expected,
+    MediaState mediaState,
+    LocalDateTime now
+  );
+
+  /**
+   * Schreibt Änderungszeitpunkt und Version mehrerer Medien fort, ohne eine
+   * andere Spalte zu ändern (z. B. nach geänderten Kategoriezuordnungen).
+   * Muss innerhalb einer Transaktion aufgerufen werden.
+   * @param mediaIds IDs der Medien.
+   * @param now Änderungszeitpunkt.
+   * @return Anzahl der geänderten Medien.
+   */
+  @Modifying(flushAutomatically = true, clearAutomatically = true)
+  @Query(
+    "UPDATE MediaEntity m SET m.updatedAt = :now, m.version = m.version + 1 WHERE m.mediaId IN :mediaIds"
+  )
+  int markChanged(Collection<Long> mediaIds, LocalDateTime now);
+
+  /**
+   * Löscht mehrere Medien eines Benutzers mit einer einzigen Anweisung.
+   * Kategoriezuordnungen und Ausleihen werden nicht per Cascade entfernt und
+   * müssen vorher gelöscht werden. Muss innerhalb einer Transaktion aufgerufen werden.
+   * @param userId ID des Benutzers, dem die Medien gehören müssen.
+   * @param mediaIds IDs der Medien.
+   * @return Anzahl der gelöschten Medien.
+   */
+  @Modifying(flushAutomatically = true, clearAutomatically = true)
+  @Query(
+    "DELETE FROM MediaEntity m WHERE m.user.userId = :userId AND m.mediaId IN :mediaIds"
+  )
+  int deleteOwned(Long userId, Collection<Long> mediaIds);
 }
@@ -0,0 +1,61 @@
+package com.example.backend.repository;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import org.springframework.beans.factory.InitializingBean;
+import org.springframework.context.annotation.DependsOn;
+import org.springframework.dao.DataAccessException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+
+import com.example.backend.model.Isbn;
+
+/**
+ * Füllt beim Start die Spalte {@code normalized_isbn} für Medien, die vor
+ * ihrer Einführung angelegt wurden. Neue und geänderte Medien setzen den Wert
+ * selbst (siehe {@link com.example.backend.model.MediaEntity}). Medien mit
+ * ungültiger ISBN behalten {@code null} und werden bei jedem Start erneut
+ * geprüft. Ohne den Wert würden die übrigen Medien bei der ISBN-Suche nicht
+ * gefunden; schlägt das Nachtragen fehl, bricht der Start daher ab.
+ */
+@Component
+@DependsOn("entityManagerFactory")
+public class NormalizedIsbnInitializer implements InitializingBean {
+
+  private static final int BATCH_SIZE = 500;
+
+  private final JdbcTemplate jdbcTemplate;
+
+  /**
+   * Konstruktor.
+   * @param jdbcTemplate Zugriff auf die Datenbank
+   */
+  public NormalizedIsbnInitializer(JdbcTemplate jdbcTemplate) {
+    this.jdbcTemplate = jdbcTemplate;
+  }
+
+  @Override
+  public void afterPropertiesSet() {
+    try {
+      List<Object[]> updates = new ArrayList<>();
+      jdbcTemplate.query(
+        "SELECT media_id, isbn FROM media WHERE isbn IS NOT NULL AND normalized_isbn IS NULL",
+        rs -> {
+          String normalized = Isbn.normalize(rs.getString("isbn"));
+          if (normalized != null) {
+            updates.add(new Object[] { normalized, rs.getLong("media_id") });
+          }
+        }
+      );
+      for (int from = 0; from < updates.size(); from += BATCH_SIZE) {
+        jdbcTemplate.batchUpdate(
+          "UPDATE media SET normalized_isbn = ? WHERE media_id = ?",
+          updates.subList(from, Math.min(from + BATCH_SIZE, updates.size()))
+        );
+      }
+    } catch (DataAccessException e) {
+      throw new IllegalStateException("Could not fill media.normalized_isbn", e);
+    }
+  }
+}
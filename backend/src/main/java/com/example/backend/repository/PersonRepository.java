@@ -1,5 +1,6 @@
 package com.example.backend.repository;
 
+import java.time.LocalDateTime;
 import java.util.List;
 
 import org.springframework.data.jpa.repository.JpaRepository;
@@ -7,6 +8,7 @@ import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import com.example.backend.dto.PersonDTO;
 import com.example.backend.model.PersonEntity;
 
 /**
@@ -26,6 +28,44 @@ public interface PersonRepository extends JpaRepository<PersonEntity, Long> {
    */
   List<PersonEntity> findByUserUserId(Long userId);
 
+  /**
+   * Gemeinsamer Teil der Abfragen, die Personen als {@link PersonDTO} liefern.
+   * Der Benutzer der Person wird nicht gelesen.
+   */
+  String PERSON_DTO_SELECT =
+    """
+    SELECT new com.example.backend.dto.PersonDTO(
+      p.personId, p.firstName, p.lastName, p.address, p.email, p.phone, p.createdAt
+    )
+    FROM PersonEntity p
+    """;
+
+  /**
+   * Findet alle Personen eines Benutzers als {@link PersonDTO}.
+   * 
+   * @param userId ID des Benutzers, dessen Personen abgerufen werden sollen.
+   * @return Eine Liste von {@link PersonDTO}-Objekten, sortiert nach ID.
+   */
+  @Query(PERSON_DTO_SELECT + "WHERE p.user.userId = :userId ORDER BY p.personId")
+  List<PersonDTO> findPersonDTOsByUserId(@Param("userId") Long userId);
+
+  /**
+   * Findet die Personen eines Benutzers, die seit einem Zeitpunkt angelegt oder
+   * geändert wurden, als {@link PersonDTO}.
+   * 
+   * @param userId ID des Benutzers, dessen Personen abgerufen werden sollen.
+   * @param since Frühester Änderungszeitpunkt (inklusive).
+   * @return Eine Liste von {@link PersonDTO}-Objekten der geänderten Personen.
+   */
+  @Query(
+    PERSON_DTO_SELECT +
+    "WHERE p.user.userId = :userId AND p.updatedAt >= :since ORDER BY p.personId"
+  )
+  List<PersonDTO> findPersonDTOsChangedSince(
+    @Param("userId") Long userId,
+    @Param("since") LocalDateTime since
+  );
+
   /**
    * Findet Personen, deren Vorname mit einer Zeichnfolge beginnt und deren Nachname
    * mit einer bestimmten Zeichenfolge beginnt, wobei der Nachname optional ist.
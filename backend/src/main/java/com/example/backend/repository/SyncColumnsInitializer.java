@@ -0,0 +1,62 @@
+package com.example.backend.repository;
+
+import org.springframework.beans.factory.InitializingBean;
+import org.springframework.context.annotation.DependsOn;
+import org.springframework.dao.DataAccessException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+
+/**
+ * Füllt beim Start die Spalten {@code updated_at} und {@code row_version} für
+ * Zeilen, die vor ihrer Einführung angelegt wurden. Als Änderungszeitpunkt
+ * dient der Erstellungszeitpunkt (bei Ausleihen der Ausleihzeitpunkt), damit
+ * der erste Abgleich eines Clients diese Zeilen vollständig enthält.
+ * Ohne die Werte fehlten diese Zeilen im Abgleich; schlägt das Nachtragen
+ * fehl, bricht der Start daher ab.
+ * Neue und geänderte Zeilen setzen die Werte selbst
+ * (siehe {@link com.example.backend.model.SyncTrackingListener}).
+ */
+@Component
+@DependsOn("entityManagerFactory")
+public class SyncColumnsInitializer implements InitializingBean {
+
+  private static final String[][] TABLES = {
+    { "media", "created_at" },
+    { "person", "created_at" },
+    { "category", "created_at" },
+    { "loan", "borrowed_at" },
+  };
+
+  private final JdbcTemplate jdbcTemplate;
+
+  /**
+   * Konstruktor.
+   * @param jdbcTemplate Zugriff auf die Datenbank
+   */
+  public SyncColumnsInitializer(JdbcTemplate jdbcTemplate) {
+    this.jdbcTemplate = jdbcTemplate;
+  }
+
+  @Override
+  public void afterPropertiesSet() {
+    for (String[] table : TABLES) {
+      try {
+        jdbcTemplate.update(
+          "UPDATE " +
+          table[0] +
+          " SET updated_at = " +
+          table[1] +
+          " WHERE updated_at IS NULL"
+        );
+        jdbcTemplate.update(
+          "UPDATE " + table[0] + " SET row_version = 0 WHERE row_version IS NULL"
+        );
+      } catch (DataAccessException e) {
+        throw new IllegalStateException(
+          "Could not fill sync columns of " + table[0],
+          e
+        );
+      }
+    }
+  }
+}
@@ -0,0 +1,245 @@
+package com.example.backend.search;
+
+import java.text.Normalizer;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.NavigableMap;
+import java.util.TreeMap;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.regex.Pattern;
+
+import com.example.backend.dto.MediaSearchHitDTO;
+
+/**
+ * Invertierter Volltextindex über die Medien eines Benutzers.
+ * Indexiert Titel, Produzent, Notizen und ISBN. Begriffe werden klein
+ * geschrieben und ohne diakritische Zeichen gespeichert; die Begriffe liegen
+ * sortiert vor, sodass Präfixsuchen nur den passenden Ausschnitt lesen.
+ * Jeder Suchbegriff muss (als Präfix) in einem Medium vorkommen. Die Reihenfolge
+ * ergibt sich aus dem Feld des Treffers (Titel vor Produzent vor Notizen) und
+ * ob der Begriff vollständig oder nur als Präfix passt.
+ * Die Klasse ist threadsicher.
+ */
+public class MediaSearchIndex {
+
+  static final int TITLE_WEIGHT = 8;
+  static final int ISBN_WEIGHT = 8;
+  static final int PRODUCER_WEIGHT = 4;
+  static final int NOTES_WEIGHT = 1;
+
+  private static final Pattern DIACRITICS = Pattern.compile("\\p{M}+");
+  private static final Pattern SEPARATORS = Pattern.compile("[^\\p{L}\\p{N}]+");
+
+  private final ReadWriteLock lock = new ReentrantReadWriteLock();
+
+  /** Begriff -> (Medien-ID -> Gewicht). */
+  private final NavigableMap<String, Map<Long, Integer>> postings = new TreeMap<>();
+
+  /** Medien-ID -> angezeigte Felder des Mediums mit seinen Begriffen. */
+  private final Map<Long, Document> documents = new HashMap<>();
+
+  /**
+   * Fügt ein Medium hinzu oder ersetzt es.
+   * @param media Zu indexierende Daten des Mediums.
+   */
+  public void put(SearchableMedia media) {
+    Map<String, Integer> terms = new HashMap<>();
+    addTerms(terms, media.title(), TITLE_WEIGHT);
+    addTerms(terms, media.producer(), PRODUCER_WEIGHT);
+    addTerms(terms, media.notes(), NOTES_WEIGHT);
+    addTerms(terms, media.isbn(), ISBN_WEIGHT);
+    if (media.isbn() != null) {
+      String compact = media.isbn().replaceAll("[^0-9Xx]", "").toLowerCase(Locale.ROOT);
+      if (!compact.isEmpty()) {
+        terms.merge(compact, ISBN_WEIGHT, Math::max);
+      }
+    }
+
+    lock.writeLock().lock();
+    try {
+      removeInternal(media.mediaId());
+      // Notizen werden nur zerlegt, aber nicht gehalten
+      documents.put(
+        media.mediaId(),
+        new Document(
+          media.mediaId(),
+          media.title(),
+          media.producer(),
+          media.isbn(),
+          media.type(),
+          terms
+        )
+      );
+      for (Map.Entry<String, Integer> term : terms.entrySet()) {
+        postings
+          .computeIfAbsent(term.getKey(), k -> new HashMap<>())
+          .put(media.mediaId(), term.getValue());
+      }
+    } finally {
+      lock.writeLock().unlock();
+    }
+  }
+
+  /**
+   * Entfernt ein Medium aus dem Index.
+   * @param mediaId ID des Mediums.
+   */
+  public void remove(Long mediaId) {
+    lock.writeLock().lock();
+    try {
+      removeInternal(mediaId);
+    } finally {
+      lock.writeLock().unlock();
+    }
+  }
+
+  /**
+   * @return Anzahl der indexierten Medien.
+   */
+  public int size() {
+    lock.readLock().lock();
+    try {
+      return documents.size();
+    } finally {
+      lock.readLock().unlock();
+    }
+  }
+
+  /**
+   * Sucht Medien, die alle Begriffe der Anfrage (als Präfix) enthalten.
+   * @param query Suchanfrage.
+   * @param limit Maximale Anzahl der Treffer.
+   * @return Treffer, absteigend nach Relevanz und bei Gleichstand nach Titel sortiert.
+   */
+  public List<MediaSearchHitDTO> search(String query, int limit) {
+    List<String> tokens = tokenize(query);
+    if (tokens.isEmpty() || limit <= 0) {
+      return new ArrayList<>();
+    }
+
+    lock.readLock().lock();
+    try {
+      Map<Long, Integer> scores = null;
+      for (String token : tokens) {
+        Map<Long, Integer> tokenScores = new HashMap<>();
+        for (Map.Entry<String, Map<Long, Integer>> term : postings
+          .subMap(token, true, token + Character.MAX_VALUE, false)
+          .entrySet()) {
+          // Vollständige Übereinstimmung zählt doppelt
+          int factor = term.getKey().length() == token.length() ? 2 : 1;
+          for (Map.Entry<Long, Integer> posting : term.getValue().entrySet()) {
+            if (scores == null || scores.containsKey(posting.getKey())) {
+              tokenScores.merge(
+                posting.getKey(),
+                posting.getValue() * factor,
+                Math::max
+              );
+            }
+          }
+        }
+        if (scores != null) {
+          for (Map.Entry<Long, Integer> entry : tokenScores.entrySet()) {
+            entry.setValue(entry.getValue() + scores.get(entry.getKey()));
+          }
+        }
+        scores = tokenScores;
+        if (scores.isEmpty()) {
+          return new ArrayList<>();
+        }
+      }
+
+      List<MediaSearchHitDTO> hits = new ArrayList<>(scores.size());
+      for (Map.Entry<Long, Integer> entry : scores.entrySet()) {
+        Document document = documents.get(entry.getKey());
+        hits.add(
+          new MediaSearchHitDTO(
+            document.mediaId(),
+            document.title(),
+            document.producer(),
+            document.isbn(),
+            document.type(),
+            entry.getValue()
+          )
+        );
+      }
+      hits.sort(
+        Comparator
+          .comparingInt(MediaSearchHitDTO::getScore)
+          .reversed()
+          .thenComparing(
+            MediaSearchHitDTO::getTitle,
+            Comparator.nullsLast(String.CASE_INSENSITIVE_ORDER)
+          )
+      );
+      return hits.size() > limit ? new ArrayList<>(hits.subList(0, limit)) : hits;
+    } finally {
+      lock.readLock().unlock();
+    }
+  }
+
+  /**
+   * Zerlegt einen Text in normalisierte Begriffe.
+   * @param text Zu zerlegender Text, darf {@code null} sein.
+   * @return Begriffe in Kleinschreibung ohne diakritische Zeichen.
+   */
+  static List<String> tokenize(String text) {
+    List<String> tokens = new ArrayList<>();
+    if (text == null || text.isBlank()) {
+      return tokens;
+    }
+    String normalized = DIACRITICS
+      .matcher(Normalizer.normalize(text, Normalizer.Form.NFD))
+      .replaceAll("")
+      .toLowerCase(Locale.ROOT);
+    for (String token : SEPARATORS.split(normalized)) {
+      if (!token.isEmpty()) {
+        tokens.add(token);
+      }
+    }
+    return tokens;
+  }
+
+  private static void addTerms(
+    Map<String, Integer> terms,
+    String text,
+    int weight
+  ) {
+    for (String token : tokenize(text)) {
+      terms.merge(token, weight, Math::max);
+    }
+  }
+
+  private void removeInternal(Long mediaId) {
+    Document previous = documents.remove(mediaId);
+    if (previous == null) {
+      return;
+    }
+    for (String term : previous.terms().keySet()) {
+      Map<Long, Integer> posting = postings.get(term);
+      if (posting != null) {
+        posting.remove(mediaId);
+        if (posting.isEmpty()) {
+          postings.remove(term);
+        }
+      }
+    }
+  }
+
+  /**
+   * Indexiertes Medium: die Felder eines Treffers ohne Notizen und die
+   * Begriffe, unter denen es eingetragen ist.
+   */
+  private record Document(
+    Long mediaId,
+    String title,
+    String producer,
+    String isbn,
+    String type,
+    Map<String, Integer> terms
+  ) {}
+}
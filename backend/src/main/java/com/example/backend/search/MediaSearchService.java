@@ -0,0 +1,187 @@
+package com.example.backend.search;
+
+import java.util.List;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import com.example.backend.cache.CacheMetrics;
+import com.example.backend.cache.ExpiringCache;
+import com.example.backend.dto.MediaSearchProjection;
+import com.example.backend.dto.MediaSearchHitDTO;
+import com.example.backend.dto.MediaTitleDTO;
+import com.example.backend.model.MediaEntity;
+import com.example.backend.repository.MediaRepository;
+import com.example.backend.security.AuthenticatedUser;
+
+import io.micrometer.core.instrument.MeterRegistry;
+
+/**
+ * Service für die Volltextsuche und die Autovervollständigung der Titel über
+ * die Medien des angemeldeten Benutzers.
+ * Hält pro Benutzer einen {@link MediaSearchIndex} und einen
+ * {@link MediaTitleIndex} im Speicher. Jeder Index wird beim ersten Zugriff
+ * aus der Datenbank aufgebaut und danach bei jeder Änderung eines Mediums
+ * aktualisiert; der Titelindex lädt dafür nur IDs und Titel. Nicht genutzte
+ * Indizes laufen ab und werden bei Bedarf neu aufgebaut; die Anzahl
+ * gleichzeitig gehaltener Indizes ist begrenzt.
+ * Aufbau, Aktualisierung und Verwerfen eines Index laufen pro Benutzer unter
+ * einer gemeinsamen Sperre. Eine Änderung, die während des Aufbaus
+ * festgeschrieben wird, wartet so, bis der Index eingetragen ist, und geht
+ * nicht verloren; davor festgeschriebene Änderungen liest der Aufbau selbst.
+ */
+@Service
+public class MediaSearchService {
+
+  /** Maximale Anzahl von Treffern pro Suche. */
+  public static final int MAX_RESULTS = 100;
+
+  /** Maximale Anzahl von Vorschlägen der Autovervollständigung. */
+  public static final int MAX_SUGGESTIONS = 50;
+
+  /** Anzahl der Sperren, auf die die Benutzer verteilt werden. */
+  private static final int LOCK_STRIPES = 64;
+
+  private final MediaRepository mediaRepository;
+  private final AuthenticatedUser authenticatedUser;
+  private final ExpiringCache<Long, MediaSearchIndex> indexes;
+  private final ExpiringCache<Long, MediaTitleIndex> titleIndexes;
+  private final Object[] locks = new Object[LOCK_STRIPES];
+
+  /**
+   * Konstruktor.
+   * @param mediaRepository Repository für Medien-Entitäten
+   * @param authenticatedUser Angemeldeter Benutzer der aktuellen Anfrage
+   * @param meterRegistry Registry für die Cache-Metriken
+   * @param maxUsers Maximale Anzahl von Benutzern, deren Index im Speicher gehalten wird
+   * @param ttlMillis Lebensdauer eines Index in Millisekunden
+   */
+  public MediaSearchService(
+    MediaRepository mediaRepository,
+    AuthenticatedUser authenticatedUser,
+    MeterRegistry meterRegistry,
+    @Value("${media.search.max-users:1000}") int maxUsers,
+    @Value("${media.search.ttl-ms:1800000}") long ttlMillis
+  ) {
+    this.mediaRepository = mediaRepository;
+    this.authenticatedUser = authenticatedUser;
+    this.indexes = new ExpiringCache<>(maxUsers, ttlMillis);
+    this.titleIndexes = new ExpiringCache<>(maxUsers, ttlMillis);
+    for (int i = 0; i < LOCK_STRIPES; i++) {
+      locks[i] = new Object();
+    }
+    CacheMetrics.bind(meterRegistry, "media-search", indexes);
+    CacheMetrics.bind(meterRegistry, "media-titles", titleIndexes);
+  }
+
+  /**
+   * Durchsucht die Medien des angemeldeten Benutzers.
+   * @param query Suchanfrage; jeder Begriff muss als Wortanfang vorkommen.
+   * @param limit Maximale Anzahl der Treffer, begrenzt auf {@link #MAX_RESULTS}.
+   * @return Treffer absteigend nach Relevanz.
+   */
+  public List<MediaSearchHitDTO> search(String query, int limit) {
+    return indexFor(authenticatedUser.getUserId())
+      .search(query, Math.min(limit, MAX_RESULTS));
+  }
+
+  /**
+   * Schlägt Titel der Medien des angemeldeten Benutzers für eine begonnene Eingabe vor.
+   * @param prefix Eingegebener Anfang eines Titels oder eines Worts im Titel.
+   * @param limit Maximale Anzahl der Vorschläge, begrenzt auf {@link #MAX_SUGGESTIONS}.
+   * @return Vorschläge, Treffer am Titelanfang zuerst.
+   */
+  public List<MediaTitleDTO> suggestTitles(String prefix, int limit) {
+    return titleIndexFor(authenticatedUser.getUserId())
+      .suggest(prefix, Math.min(limit, MAX_SUGGESTIONS));
+  }
+
+  /**
+   * Übernimmt ein neues oder geändertes Medium in die Indizes seines Benutzers,
+   * sofern diese geladen sind. Muss nach dem Festschreiben aufgerufen werden.
+   * @param userId ID des Besitzers.
+   * @param media Gespeichertes Medium.
+   */
+  public void indexMedia(Long userId, MediaEntity media) {
+    synchronized (lockFor(userId)) {
+      MediaSearchIndex index = indexes.get(userId);
+      if (index != null) {
+        index.put(SearchableMedia.of(media));
+      }
+      MediaTitleIndex titleIndex = titleIndexes.get(userId);
+      if (titleIndex != null) {
+        titleIndex.put(media.getMediaId(), media.getTitle());
+      }
+    }
+  }
+
+  /**
+   * Entfernt ein Medium aus den Indizes seines Benutzers, sofern diese geladen sind.
+   * Muss nach dem Festschreiben aufgerufen werden.
+   * @param userId ID des Besitzers.
+   * @param mediaId ID des gelöschten Mediums.
+   */
+  public void removeMedia(Long userId, Long mediaId) {
+    synchronized (lockFor(userId)) {
+      MediaSearchIndex index = indexes.get(userId);
+      if (index != null) {
+        index.remove(mediaId);
+      }
+      MediaTitleIndex titleIndex = titleIndexes.get(userId);
+      if (titleIndex != null) {
+        titleIndex.remove(mediaId);
+      }
+    }
+  }
+
+  /**
+   * Verwirft die Indizes eines Benutzers, z. B. nach einem Massenimport.
+   * Sie werden beim nächsten Zugriff neu aufgebaut.
+   * @param userId ID des Benutzers.
+   */
+  public void invalidate(Long userId) {
+    synchronized (lockFor(userId)) {
+      indexes.invalidate(userId);
+      titleIndexes.invalidate(userId);
+    }
+  }
+
+  private MediaSearchIndex indexFor(Long userId) {
+    MediaSearchIndex index = indexes.get(userId);
+    if (index != null) {
+      return index;
+    }
+    synchronized (lockFor(userId)) {
+      index = indexes.get(userId);
+      if (index == null) {
+        index = new MediaSearchIndex();
+        for (MediaSearchProjection media : mediaRepository.findSearchProjectionsByUserId(
+          userId
+        )) {
+          index.put(SearchableMedia.of(media));
+        }
+        indexes.put(userId, index);
+      }
+      return index;
+    }
+  }
+
+  private MediaTitleIndex titleIndexFor(Long userId) {
+    MediaTitleIndex index = titleIndexes.get(userId);
+    if (index != null) {
+      return index;
+    }
+    synchronized (lockFor(userId)) {
+      index = titleIndexes.get(userId);
+      if (index == null) {
+        index = MediaTitleIndex.of(mediaRepository.findTitlesByUserId(userId));
+        titleIndexes.put(userId, index);
+      }
+      return index;
+    }
+  }
+
+  private Object lockFor(Long userId) {
+    return locks[Math.floorMod(userId.hashCode(), LOCK_STRIPES)];
+  }
+}
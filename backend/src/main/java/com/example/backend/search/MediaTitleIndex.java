@@ -0,0 +1,353 @@
+package com.example.backend.search;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+import com.example.backend.dto.MediaTitleDTO;
+
+/**
+ * Index für die Autovervollständigung der Titel eines Benutzers.
+ * Titel werden wie im {@link MediaSearchIndex} klein geschrieben, ohne
+ * diakritische Zeichen und mit einfachen Leerzeichen zwischen den Wörtern
+ * gespeichert. Für jeden Wortanfang eines Titels gibt es einen Eintrag
+ * (Titel und Position) in einem sortierten Array; eine Präfixsuche ist daher
+ * eine binäre Suche plus das Lesen der ersten Treffer, unabhängig von der
+ * Anzahl der Titel. Einträge am Titelanfang liegen in einem eigenen Array,
+ * damit sie vor Treffern weiter hinten im Titel geliefert werden können.
+ * Einzelne Änderungen verschieben nur den betroffenen Teil der Arrays;
+ * beim Aufbau wird einmal sortiert.
+ * Die Klasse ist threadsicher.
+ */
+public class MediaTitleIndex {
+
+  private final ReadWriteLock lock = new ReentrantReadWriteLock();
+
+  /** Medien-ID -> indexierter Titel. */
+  private final Map<Long, Title> titles = new HashMap<>();
+
+  /** Einträge für den Anfang jedes Titels. */
+  private final Anchors starts = new Anchors();
+
+  /** Einträge für alle weiteren Wortanfänge. */
+  private final Anchors words = new Anchors();
+
+  /**
+   * Baut einen Index aus vielen Titeln auf einmal auf.
+   * @param media ID und Titel der Medien.
+   * @return Der neue Index.
+   */
+  public static MediaTitleIndex of(Collection<MediaTitleDTO> media) {
+    MediaTitleIndex index = new MediaTitleIndex();
+    List<Anchor> startAnchors = new ArrayList<>(media.size());
+    List<Anchor> wordAnchors = new ArrayList<>();
+    for (MediaTitleDTO dto : media) {
+      Title title = Title.of(dto.getMediaId(), dto.getTitle());
+      if (index.titles.put(title.mediaId(), title) != null) {
+        throw new IllegalArgumentException("Duplicate media ID: " + title.mediaId());
+      }
+      startAnchors.add(new Anchor(title, 0));
+      for (int offset : title.wordOffsets()) {
+        wordAnchors.add(new Anchor(title, offset));
+      }
+    }
+    index.starts.fill(startAnchors);
+    index.words.fill(wordAnchors);
+    return index;
+  }
+
+  /**
+   * Fügt einen Titel hinzu oder ersetzt den Titel eines Mediums.
+   * @param mediaId ID des Mediums.
+   * @param title Titel, darf {@code null} sein.
+   */
+  public void put(Long mediaId, String title) {
+    Title next = Title.of(mediaId, title);
+    lock.writeLock().lock();
+    try {
+      Title previous = titles.get(mediaId);
+      if (previous != null && previous.folded().equals(next.folded())) {
+        // Nur die Anzeige ändert sich (z. B. Groß-/Kleinschreibung)
+        titles.put(mediaId, next);
+        starts.replace(previous, 0, next);
+        for (int offset : previous.wordOffsets()) {
+          words.replace(previous, offset, next);
+        }
+        return;
+      }
+      removeInternal(mediaId);
+      titles.put(mediaId, next);
+      starts.insert(next, 0);
+      for (int offset : next.wordOffsets()) {
+        words.insert(next, offset);
+      }
+    } finally {
+      lock.writeLock().unlock();
+    }
+  }
+
+  /**
+   * Entfernt den Titel eines Mediums.
+   * @param mediaId ID des Mediums.
+   */
+  public void remove(Long mediaId) {
+    lock.writeLock().lock();
+    try {
+      removeInternal(mediaId);
+    } finally {
+      lock.writeLock().unlock();
+    }
+  }
+
+  /**
+   * @return Anzahl der indexierten Titel.
+   */
+  public int size() {
+    lock.readLock().lock();
+    try {
+      return titles.size();
+    } finally {
+      lock.readLock().unlock();
+    }
+  }
+
+  /**
+   * Liefert Titel, die mit dem Präfix beginnen, gefolgt von Titeln, in denen
+   * ein späteres Wort mit dem Präfix beginnt. Innerhalb beider Gruppen wird
+   * alphabetisch (ab der passenden Stelle) sortiert.
+   * Endet das Präfix mit einem Trennzeichen, muss das letzte Wort vollständig passen.
+   * @param prefix Eingegebener Anfang, z. B. {@code "herr d"}.
+   * @param limit Maximale Anzahl der Vorschläge.
+   * @return Vorschläge ohne doppelte Medien.
+   */
+  public List<MediaTitleDTO> suggest(String prefix, int limit) {
+    String folded = fold(prefix);
+    if (folded.isEmpty() || limit <= 0) {
+      return new ArrayList<>();
+    }
+    if (endsWithSeparator(prefix)) {
+      folded += ' ';
+    }
+
+    lock.readLock().lock();
+    try {
+      Map<Long, MediaTitleDTO> result = new LinkedHashMap<>();
+      starts.collect(folded, limit, result);
+      if (result.size() < limit) {
+        words.collect(folded, limit, result);
+      }
+      return new ArrayList<>(result.values());
+    } finally {
+      lock.readLock().unlock();
+    }
+  }
+
+  /**
+   * @param text Zu normalisierender Text, darf {@code null} sein.
+   * @return Wörter in Kleinschreibung ohne diakritische Zeichen, durch je ein Leerzeichen getrennt.
+   */
+  static String fold(String text) {
+    return String.join(" ", MediaSearchIndex.tokenize(text));
+  }
+
+  private static boolean endsWithSeparator(String text) {
+    int last = text.codePointBefore(text.length());
+    return (
+      !Character.isLetterOrDigit(last) &&
+      Character.getType(last) != Character.NON_SPACING_MARK
+    );
+  }
+
+  private void removeInternal(Long mediaId) {
+    Title previous = titles.remove(mediaId);
+    if (previous == null) {
+      return;
+    }
+    starts.delete(previous, 0);
+    for (int offset : previous.wordOffsets()) {
+      words.delete(previous, offset);
+    }
+  }
+
+  /**
+   * Ein indexierter Titel.
+   * @param mediaId ID des Mediums.
+   * @param title Titel zur Anzeige.
+   * @param folded Normalisierter Titel.
+   */
+  private record Title(Long mediaId, String title, String folded) {
+    static Title of(Long mediaId, String title) {
+      return new Title(mediaId, title, fold(title));
+    }
+
+    /** @return Anfänge aller Wörter außer dem ersten. */
+    int[] wordOffsets() {
+      int count = 0;
+      for (int i = 0; i < folded.length(); i++) {
+        if (folded.charAt(i) == ' ') {
+          count++;
+        }
+      }
+      int[] offsets = new int[count];
+      int n = 0;
+      for (int i = 0; i < folded.length(); i++) {
+        if (folded.charAt(i) == ' ') {
+          offsets[n++] = i + 1;
+        }
+      }
+      return offsets;
+    }
+  }
+
+  private record Anchor(Title title, int offset) {}
+
+  /**
+   * Sortiertes Array von Einträgen (Titel, Position), geordnet nach dem Text ab
+   * der Position, dann nach Medien-ID und Position. Titel und Positionen liegen
+   * in parallelen Arrays, damit kein Objekt pro Eintrag nötig ist.
+   */
+  private static final class Anchors {
+
+    private static final Comparator<Anchor> ORDER = (a, b) ->
+      compare(a.title(), a.offset(), b.title(), b.offset());
+
+    private Title[] titles = new Title[16];
+    private int[] offsets = new int[16];
+    private int size;
+
+    void fill(List<Anchor> anchors) {
+      anchors.sort(ORDER);
+      size = anchors.size();
+      titles = new Title[Math.max(16, size)];
+      offsets = new int[titles.length];
+      for (int i = 0; i < size; i++) {
+        titles[i] = anchors.get(i).title();
+        offsets[i] = anchors.get(i).offset();
+      }
+    }
+
+    void insert(Title title, int offset) {
+      int index = find(title, offset);
+      if (index >= 0) {
+        titles[index] = title;
+        return;
+      }
+      index = -index - 1;
+      if (size == titles.length) {
+        titles = Arrays.copyOf(titles, size * 2);
+        offsets = Arrays.copyOf(offsets, size * 2);
+      }
+      System.arraycopy(titles, index, titles, index + 1, size - index);
+      System.arraycopy(offsets, index, offsets, index + 1, size - index);
+      titles[index] = title;
+      offsets[index] = offset;
+      size++;
+    }
+
+    void delete(Title title, int offset) {
+      int index = find(title, offset);
+      if (index < 0) {
+        return;
+      }
+      System.arraycopy(titles, index + 1, titles, index, size - index - 1);
+      System.arraycopy(offsets, index + 1, offsets, index, size - index - 1);
+      titles[--size] = null;
+    }
+
+    void replace(Title previous, int offset, Title next) {
+      int index = find(previous, offset);
+      if (index >= 0) {
+        titles[index] = next;
+      }
+    }
+
+    /**
+     * Übernimmt Einträge, deren Text ab der Position mit dem Präfix beginnt,
+     * bis {@code result} {@code limit} Medien enthält.
+     */
+    void collect(String prefix, int limit, Map<Long, MediaTitleDTO> result) {
+      int low = 0;
+      int high = size;
+      while (low < high) {
+        int mid = (low + high) >>> 1;
+        if (compareToPrefix(mid, prefix) < 0) {
+          low = mid + 1;
+        } else {
+          high = mid;
+        }
+      }
+      for (int i = low; i < size && result.size() < limit; i++) {
+        if (compareToPrefix(i, prefix) != 0) {
+          break;
+        }
+        Title title = titles[i];
+        result.putIfAbsent(
+          title.mediaId(),
+          new MediaTitleDTO(title.mediaId(), title.title())
+        );
+      }
+    }
+
+    /**
+     * @return Negativ, wenn der Eintrag vor allen Texten mit dem Präfix liegt,
+     *         {@code 0}, wenn er mit dem Präfix beginnt, sonst positiv.
+     */
+    private int compareToPrefix(int index, String prefix) {
+      String text = titles[index].folded();
+      int offset = offsets[index];
+      int length = Math.min(text.length() - offset, prefix.length());
+      for (int i = 0; i < length; i++) {
+        int diff = text.charAt(offset + i) - prefix.charAt(i);
+        if (diff != 0) {
+          return diff;
+        }
+      }
+      return text.length() - offset >= prefix.length() ? 0 : -1;
+    }
+
+    private int find(Title title, int offset) {
+      int low = 0;
+      int high = size - 1;
+      while (low <= high) {
+        int mid = (low + high) >>> 1;
+        int cmp = compare(titles[mid], offsets[mid], title, offset);
+        if (cmp < 0) {
+          low = mid + 1;
+        } else if (cmp > 0) {
+          high = mid - 1;
+        } else {
+          return mid;
+        }
+      }
+      return -(low + 1);
+    }
+
+    private static int compare(Title a, int aOffset, Title b, int bOffset) {
+      int cmp = compareSuffix(a.folded(), aOffset, b.folded(), bOffset);
+      if (cmp == 0) {
+        cmp = a.mediaId().compareTo(b.mediaId());
+      }
+      return cmp != 0 ? cmp : Integer.compare(aOffset, bOffset);
+    }
+
+    private static int compareSuffix(String a, int aOffset, String b, int bOffset) {
+      int aLength = a.length() - aOffset;
+      int bLength = b.length() - bOffset;
+      int length = Math.min(aLength, bLength);
+      for (int i = 0; i < length; i++) {
+        int diff = a.charAt(aOffset + i) - b.charAt(bOffset + i);
+        if (diff != 0) {
+          return diff;
+        }
+      }
+      return aLength - bLength;
+    }
+  }
+}
@@ -0,0 +1,53 @@
+package com.example.backend.search;
+
+import com.example.backend.dto.MediaSearchProjection;
+import com.example.backend.model.MediaEntity;
+
+/**
+ * Die für die Volltextsuche relevanten Felder eines Mediums.
+ *
+ * @param mediaId ID des Mediums.
+ * @param title Titel.
+ * @param producer Produzent oder Hersteller.
+ * @param notes Notizen.
+ * @param isbn ISBN.
+ * @param type Medientyp als Name der Konstante.
+ */
+public record SearchableMedia(
+  Long mediaId,
+  String title,
+  String producer,
+  String notes,
+  String isbn,
+  String type
+) {
+  /**
+   * @param media Medium als Entität.
+   * @return Die suchbaren Felder des Mediums.
+   */
+  public static SearchableMedia of(MediaEntity media) {
+    return new SearchableMedia(
+      media.getMediaId(),
+      media.getTitle(),
+      media.getProducer(),
+      media.getNotes(),
+      media.getIsbn(),
+      media.getType() == null ? null : media.getType().name()
+    );
+  }
+
+  /**
+   * @param media Medium als Projektion.
+   * @return Die suchbaren Felder des Mediums.
+   */
+  public static SearchableMedia of(MediaSearchProjection media) {
+    return new SearchableMedia(
+      media.getMediaId(),
+      media.getTitle(),
+      media.getProducer(),
+      media.getNotes(),
+      media.getIsbn(),
+      media.getType()
+    );
+  }
+}
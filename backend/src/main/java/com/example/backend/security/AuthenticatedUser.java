@@ -0,0 +1,33 @@
+package com.example.backend.security;
+
+import java.security.Principal;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+/**
+ * Schlanke Darstellung des aktuell angemeldeten Benutzers (ID und Benutzername).
+ * Wird vom {@link JWTAuthenticationFilter} als Principal gesetzt und pro Anfrage
+ * als Bean bereitgestellt (siehe {@link AuthenticatedUserConfig}), damit Services
+ * Besitzprüfungen und benutzerbezogene Abfragen ohne erneutes Laden des
+ * Benutzers durchführen können.
+ */
+@Getter
+@AllArgsConstructor
+public class AuthenticatedUser implements Principal {
+
+  /** ID des Benutzers. */
+  private final Long userId;
+
+  /** Benutzername des Benutzers. */
+  private final String username;
+
+  /**
+   * @return Benutzername, damit {@code Authentication.getName()} weiterhin den
+   * Benutzernamen liefert.
+   */
+  @Override
+  public String getName() {
+    return username;
+  }
+}
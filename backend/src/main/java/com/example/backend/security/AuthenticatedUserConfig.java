@@ -0,0 +1,57 @@
+package com.example.backend.security;
+
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.security.authentication.AuthenticationCredentialsNotFoundException;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.security.core.userdetails.UsernameNotFoundException;
+import org.springframework.web.context.annotation.RequestScope;
+
+import com.example.backend.repository.UserRepository;
+
+/**
+ * Stellt den {@link AuthenticatedUser} der aktuellen Anfrage als Bean bereit.
+ * Services können ihn injizieren; über den Request-Scope-Proxy wird pro Anfrage
+ * der jeweils angemeldete Benutzer geliefert.
+ */
+@Configuration
+public class AuthenticatedUserConfig {
+
+  /**
+   * Liefert den angemeldeten Benutzer der aktuellen Anfrage.
+   * Wurde die Anfrage per JWT authentifiziert, ist der Principal bereits ein
+   * {@link AuthenticatedUser} und es ist kein Datenbankzugriff nötig. Für andere
+   * Authentifizierungen (z. B. in Tests) wird der Benutzer einmal pro Anfrage
+   * anhand des Benutzernamens geladen.
+   *
+   * @param userRepository Repository für den Rückfall ohne {@link AuthenticatedUser}-Principal.
+   * @return Der angemeldete Benutzer.
+   * @throws AuthenticationCredentialsNotFoundException Wenn keine Authentifizierung vorliegt.
+   * @throws UsernameNotFoundException Wenn der Benutzer nicht existiert.
+   */
+  @Bean
+  @RequestScope
+  public AuthenticatedUser authenticatedUser(UserRepository userRepository) {
+    Authentication authentication = SecurityContextHolder
+      .getContext()
+      .getAuthentication();
+    if (authentication == null) {
+      throw new AuthenticationCredentialsNotFoundException(
+        "No authenticated user"
+      );
+    }
+    if (authentication.getPrincipal() instanceof AuthenticatedUser user) {
+      return user;
+    }
+    String username = authentication.getName();
+    return userRepository
+      .findByUsername(username)
+      .map(user -> new AuthenticatedUser(user.getUserId(), user.getUsername()))
+      .orElseThrow(() ->
+        new UsernameNotFoundException(
+          "User not found with username: " + username
+        )
+      );
+  }
+}
@@ -0,0 +1,35 @@
+package com.example.backend.security;
+
+import java.util.ArrayList;
+
+import org.springframework.security.core.userdetails.User;
+
+/**
+ * {@link User} mit zusätzlicher Benutzer-ID.
+ * Wird vom {@link CustomUserDetailsService} geliefert, damit die ID beim Login
+ * in das JWT übernommen und im {@link JWTAuthenticationFilter} ohne
+ * Datenbankzugriff bestimmt werden kann.
+ */
+public class AuthenticatedUserDetails extends User {
+
+  private final Long userId;
+
+  /**
+   * Konstruktor {@code AuthenticatedUserDetails}.
+   *
+   * @param userId ID des Benutzers.
+   * @param username Benutzername.
+   * @param password Passwort-Hash.
+   */
+  public AuthenticatedUserDetails(Long userId, String username, String password) {
+    super(username, password, new ArrayList<>());
+    this.userId = userId;
+  }
+
+  /**
+   * @return ID des Benutzers.
+   */
+  public Long getUserId() {
+    return userId;
+  }
+}
@@ -0,0 +1,196 @@
+package com.example.backend.security;
+
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Future;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.security.crypto.password.PasswordEncoder;
+
+import com.example.backend.exception.PasswordHashingBusyException;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+
+/**
+ * {@link PasswordEncoder}, der das eigentliche Hashing (z. B. BCrypt) auf einem
+ * eigenen, begrenzten Worker-Pool ausführt.
+ * Damit blockieren Login- und Registrierungsspitzen nicht beliebig viele
+ * Request-Threads mit CPU-Last: Es laufen höchstens {@code threads} Hashes
+ * gleichzeitig, höchstens {@code queueCapacity} Aufträge warten. Ist die
+ * Warteschlange voll oder wird die Wartezeit überschritten, wird sofort eine
+ * {@link PasswordHashingBusyException} geworfen (HTTP 503 mit Retry-After).
+ * Erfasst die Dauer der Hash-Operationen, die Länge der Warteschlange und die
+ * Anzahl abgewiesener Aufträge als Metriken.
+ */
+public class BoundedPasswordEncoder implements PasswordEncoder, DisposableBean {
+
+  private final PasswordEncoder delegate;
+  private final ThreadPoolExecutor executor;
+  private final long timeoutMillis;
+  private final long retryAfterSeconds;
+
+  private final Timer encodeTimer;
+  private final Timer matchesTimer;
+  private final Counter rejected;
+
+  /**
+   * Konstruktor.
+   * @param delegate Encoder, der das eigentliche Hashing durchführt.
+   * @param threads Anzahl der Worker-Threads.
+   * @param queueCapacity Maximale Anzahl wartender Aufträge.
+   * @param timeoutMillis Maximale Wartezeit eines Aufrufers in Millisekunden.
+   * @param retryAfterSeconds Wert für den Retry-After-Header bei Überlastung.
+   * @param meterRegistry Registry für die Metriken.
+   */
+  public BoundedPasswordEncoder(
+    PasswordEncoder delegate,
+    int threads,
+    int queueCapacity,
+    long timeoutMillis,
+    long retryAfterSeconds,
+    MeterRegistry meterRegistry
+  ) {
+    this.delegate = delegate;
+    this.timeoutMillis = timeoutMillis;
+    this.retryAfterSeconds = retryAfterSeconds;
+    this.executor =
+      new ThreadPoolExecutor(
+        threads,
+        threads,
+        0L,
+        TimeUnit.MILLISECONDS,
+        new ArrayBlockingQueue<>(queueCapacity),
+        new HashingThreadFactory(),
+        new ThreadPoolExecutor.AbortPolicy()
+      );
+
+    this.encodeTimer =
+      Timer
+        .builder("password.hash.duration")
+        .tag("operation", "encode")
+        .register(meterRegistry);
+    this.matchesTimer =
+      Timer
+        .builder("password.hash.duration")
+        .tag("operation", "matches")
+        .register(meterRegistry);
+    this.rejected =
+      Counter.builder("password.hash.rejected").register(meterRegistry);
+    Gauge
+      .builder("password.hash.queue.depth", executor, e -> e.getQueue().size())
+      .register(meterRegistry);
+    Gauge
+      .builder("password.hash.active", executor, ThreadPoolExecutor::getActiveCount)
+      .register(meterRegistry);
+  }
+
+  /**
+   * Erzeugt den Hash eines Passworts auf dem Worker-Pool.
+   * @param rawPassword Klartext-Passwort.
+   * @return Hash des Passworts.
+   * @throws PasswordHashingBusyException Wenn der Pool ausgelastet ist.
+   */
+  @Override
+  public String encode(CharSequence rawPassword) {
+    return submit(encodeTimer, () -> delegate.encode(rawPassword));
+  }
+
+  /**
+   * Prüft ein Passwort gegen einen Hash auf dem Worker-Pool.
+   * @param rawPassword Klartext-Passwort.
+   * @param encodedPassword Gespeicherter Hash.
+   * @return {@code true}, wenn das Passwort passt.
+   * @throws PasswordHashingBusyException Wenn der Pool ausgelastet ist.
+   */
+  @Override
+  public boolean matches(CharSequence rawPassword, String encodedPassword) {
+    return submit(
+      matchesTimer,
+      () -> delegate.matches(rawPassword, encodedPassword)
+    );
+  }
+
+  /**
+   * Gibt an, ob ein Hash mit veralteten Parametern (z. B. geringerem Cost-Faktor)
+   * erzeugt wurde und neu berechnet werden sollte. Läuft ohne Hashing direkt
+   * auf dem aufrufenden Thread.
+   * @param encodedPassword Gespeicherter Hash.
+   * @return {@code true}, wenn der Hash erneuert werden sollte.
+   */
+  @Override
+  public boolean upgradeEncoding(String encodedPassword) {
+    return delegate.upgradeEncoding(encodedPassword);
+  }
+
+  /**
+   * @return Anzahl der aktuell wartenden Aufträge.
+   */
+  public int getQueueDepth() {
+    return executor.getQueue().size();
+  }
+
+  /**
+   * Fährt den Worker-Pool beim Herunterfahren des Kontexts herunter.
+   */
+  @Override
+  public void destroy() {
+    executor.shutdownNow();
+  }
+
+  private <T> T submit(Timer timer, Callable<T> task) {
+    Future<T> future;
+    try {
+      future = executor.submit(timer.wrap(task));
+    } catch (RejectedExecutionException ex) {
+      throw busy();
+    }
+    try {
+      return future.get(timeoutMillis, TimeUnit.MILLISECONDS);
+    } catch (TimeoutException ex) {
+      future.cancel(true);
+      throw busy();
+    } catch (InterruptedException ex) {
+      future.cancel(true);
+      Thread.currentThread().interrupt();
+      throw new IllegalStateException("Password hashing interrupted", ex);
+    } catch (ExecutionException ex) {
+      if (ex.getCause() instanceof RuntimeException cause) {
+        throw cause;
+      }
+      throw new IllegalStateException("Password hashing failed", ex.getCause());
+    }
+  }
+
+  private PasswordHashingBusyException busy() {
+    rejected.increment();
+    return new PasswordHashingBusyException(
+      "Too many concurrent login or registration requests, please retry later",
+      retryAfterSeconds
+    );
+  }
+
+  private static final class HashingThreadFactory implements ThreadFactory {
+
+    private final AtomicInteger counter = new AtomicInteger();
+
+    @Override
+    public Thread newThread(Runnable runnable) {
+      Thread thread = new Thread(
+        runnable,
+        "password-hash-" + counter.incrementAndGet()
+      );
+      thread.setDaemon(true);
+      return thread;
+    }
+  }
+}
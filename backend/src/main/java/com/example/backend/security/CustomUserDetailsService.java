@@ -1,51 +1,146 @@
 package com.example.backend.security;
 
-import java.util.ArrayList;
-
-import org.springframework.security.core.userdetails.User;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.security.core.userdetails.UserDetails;
+import org.springframework.security.core.userdetails.UserDetailsPasswordService;
 import org.springframework.security.core.userdetails.UserDetailsService;
 import org.springframework.security.core.userdetails.UsernameNotFoundException;
 import org.springframework.stereotype.Service;
 
+import com.example.backend.cache.CacheMetrics;
+import com.example.backend.cache.ExpiringCache;
 import com.example.backend.model.UserEntity;
 import com.example.backend.repository.UserRepository;
 
+import io.micrometer.core.instrument.MeterRegistry;
+
 /**
  * Implementierung von {@link UserDetailsService} für  Integration von 
  * Benutzer-Daten in das Spring Security Framework.
  * Stellt eine benutzerdefinierte Methode zum Laden von Benutzerinformationen
  * anhand des Benutzernamen zur Verfügung. Zuständig für die Authentifizierung
  * von Benutzern.
+ * Geladene Benutzer werden für kurze Zeit im Speicher gehalten, damit nicht
+ * jede authentifizierte Anfrage eine Datenbankabfrage auslöst. Änderungen am
+ * Benutzer müssen über {@link #evictUser(Long)} bekannt gemacht werden.
+ * Als {@link UserDetailsPasswordService} speichert der Service Passwort-Hashes,
+ * die Spring Security nach einem erfolgreichen Login mit den aktuellen
+ * Hash-Parametern neu berechnet hat.
  */
 @Service
-public class CustomUserDetailsService implements UserDetailsService {
+public class CustomUserDetailsService
+  implements UserDetailsService, UserDetailsPasswordService {
 
   private final UserRepository userRepository;
 
+  private final ExpiringCache<String, CachedPrincipal> principalCache;
+
   /**
    * Konstruktor fürs Initialisieren des {@link CustomUserDetailsService}.
    * @param userRepository Das Repository für die Verwaltung von Benutzerentitäten.
+   * @param meterRegistry Registry für die Cache-Metriken.
+   * @param cacheMaxSize Maximale Anzahl zwischengespeicherter Benutzer.
+   * @param cacheTtlMillis Lebensdauer eines Cache-Eintrags in Millisekunden.
    */
-  public CustomUserDetailsService(UserRepository userRepository) {
+  public CustomUserDetailsService(
+    UserRepository userRepository,
+    MeterRegistry meterRegistry,
+    @Value("${security.principal-cache.max-size:10000}") int cacheMaxSize,
+    @Value("${security.principal-cache.ttl-ms:300000}") long cacheTtlMillis
+  ) {
     this.userRepository = userRepository;
+    this.principalCache = new ExpiringCache<>(cacheMaxSize, cacheTtlMillis);
+    CacheMetrics.bind(meterRegistry, "principals", principalCache);
   }
 
    /**
    * Lädt Benutzerinformationen anhand des Benutzernamen.
    * Wird von Spring Security während des Authentifizierungsprozesses
-   * aufgerufen.
+   * aufgerufen. Liefert den Benutzer aus dem Cache, solange der Eintrag gültig ist.
    * @param username Der Benutzername des Benutzers, der geladen werden soll.
-   * @return {@link UserDetails} für den gefundenen Benutzer.
+   * @return {@link AuthenticatedUserDetails} für den gefundenen Benutzer.
    * @throws UsernameNotFoundException Wenn kein Benutzer mit dem angegebenen
    * Benutzernamen gefunden wird.
    */
   @Override
-  public UserDetails loadUserByUsername(String username)
+  public AuthenticatedUserDetails loadUserByUsername(String username)
     throws UsernameNotFoundException {
-    UserEntity user = userRepository
-      .findByUsername(username)
+    CachedPrincipal cached = principalCache.get(username);
+    if (cached == null) {
+      UserEntity user = userRepository
+        .findByUsername(username)
+        .orElseThrow(() -> new UsernameNotFoundException("User not found"));
+      cached =
+        new CachedPrincipal(
+          user.getUserId(),
+          user.getUsername(),
+          user.getPassword()
+        );
+      principalCache.put(username, cached);
+    }
+    // Immer eine neue Instanz liefern: Spring Security löscht nach dem Login
+    // das Passwort im zurückgegebenen Objekt (eraseCredentials).
+    return new AuthenticatedUserDetails(
+      cached.userId(),
+      cached.username(),
+      cached.password()
+    );
+  }
+
+  /**
+   * Speichert einen neu berechneten Passwort-Hash, z. B. nachdem der Cost-Faktor
+   * von BCrypt erhöht wurde. Wird von Spring Security nach einem erfolgreichen
+   * Login aufgerufen, wenn der gespeicherte Hash veraltet ist.
+   * @param user Der angemeldete Benutzer.
+   * @param newPassword Der neue, bereits codierte Passwort-Hash.
+   * @return Benutzerdaten mit dem neuen Hash.
+   * @throws UsernameNotFoundException Wenn der Benutzer nicht mehr existiert.
+   */
+  @Override
+  public AuthenticatedUserDetails updatePassword(
+    UserDetails user,
+    String newPassword
+  ) {
+    UserEntity entity = userRepository
+      .findByUsername(user.getUsername())
       .orElseThrow(() -> new UsernameNotFoundException("User not found"));
-    return new User(user.getUsername(), user.getPassword(), new ArrayList<>());
+    entity.setPassword(newPassword);
+    userRepository.save(entity);
+    evictUser(entity.getUserId());
+    return new AuthenticatedUserDetails(
+      entity.getUserId(),
+      entity.getUsername(),
+      newPassword
+    );
   }
+
+  /**
+   * Entfernt einen Benutzer aus dem Cache, z. B. nach Änderung oder Löschung.
+   * @param userId ID des Benutzers.
+   */
+  public void evictUser(Long userId) {
+    principalCache.invalidateIf((username, cached) ->
+      cached.userId().equals(userId)
+    );
+  }
+
+  /**
+   * @return Anzahl der Anfragen, die aus dem Cache beantwortet wurden.
+   */
+  public long getCacheHits() {
+    return principalCache.getHits();
+  }
+
+  /**
+   * @return Anzahl der Anfragen, für die die Datenbank abgefragt werden musste.
+   */
+  public long getCacheMisses() {
+    return principalCache.getMisses();
+  }
+
+  private record CachedPrincipal(
+    Long userId,
+    String username,
+    String password
+  ) {}
 }
@@ -4,7 +4,6 @@ import java.io.IOException;
 
 import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
 import org.springframework.security.core.context.SecurityContextHolder;
-import org.springframework.security.core.userdetails.UserDetails;
 import org.springframework.security.web.authentication.WebAuthenticationDetailsSource;
 import org.springframework.util.StringUtils;
 import org.springframework.web.filter.OncePerRequestFilter;
@@ -25,6 +24,8 @@ public class JWTAuthenticationFilter extends OncePerRequestFilter {
 
   private final CustomUserDetailsService customUserDetailsService;
 
+  private final VerifiedTokenCache tokenCache;
+
     /**
    * Konstruktor für die Initialisierung des Filters.
    * 
@@ -32,18 +33,24 @@ public class JWTAuthenticationFilter extends OncePerRequestFilter {
    * und Extraktion von Informationen ausTokens verwendet wird.
    * @param customUserDetailsService benutzerdefinierte Service, der
    * Benutzerinformationen anbahnd des Benutzernamen lädt.
+   * @param tokenCache Cache für bereits geprüfte Tokens.
    */
   public JWTAuthenticationFilter(
     JWTGenerator tokenGenerator,
-    CustomUserDetailsService customUserDetailsService
+    CustomUserDetailsService customUserDetailsService,
+    VerifiedTokenCache tokenCache
   ) {
     this.tokenGenerator = tokenGenerator;
     this.customUserDetailsService = customUserDetailsService;
+    this.tokenCache = tokenCache;
   }
 
   /**
    * Überprüft JWT-Token und authentifiziert den Benutzer, falls der
-   * Token gültig ist.
+   * Token gültig ist. Als Principal wird ein {@link AuthenticatedUser} gesetzt.
+   * Jedes Token wird höchstens einmal geparst; bereits
+   * geprüfte Tokens werden bis zu ihrem Ablauf aus dem {@link VerifiedTokenCache}
+   * bestätigt.
    * 
    * @param request Eingehende HTTP-Anforderung.
    * @param response HTTP-Antwort.
@@ -60,14 +67,25 @@ public class JWTAuthenticationFilter extends OncePerRequestFilter {
   ) throws ServletException, IOException {
     String token = getJWTFromRequest(request);
 
-    if (StringUtils.hasText(token) && tokenGenerator.validateToken(token)) {
-      String username = tokenGenerator.getUserNameFromJWT(token);
+    if (StringUtils.hasText(token)) {
+      VerifiedToken verified = verify(token);
 
-      UserDetails userDetails = customUserDetailsService.loadUserByUsername(
-        username
+      AuthenticatedUserDetails userDetails = customUserDetailsService.loadUserByUsername(
+        verified.getUsername()
+      );
+      // Token eines gelöschten und unter gleichem Namen neu angelegten Benutzers ablehnen
+      if (
+        verified.getUserId() != null &&
+        !verified.getUserId().equals(userDetails.getUserId())
+      ) {
+        throw new IllegalArgumentException("JWT token is expired or invalid");
+      }
+      AuthenticatedUser principal = new AuthenticatedUser(
+        userDetails.getUserId(),
+        userDetails.getUsername()
       );
       UsernamePasswordAuthenticationToken authenticationToken = new UsernamePasswordAuthenticationToken(
-        userDetails,
+        principal,
         null,
         userDetails.getAuthorities()
       );
@@ -79,6 +97,22 @@ public class JWTAuthenticationFilter extends OncePerRequestFilter {
     filterChain.doFilter(request, response);
   }
 
+  /**
+   * Liefert das geprüfte Token aus dem Cache oder prüft es genau einmal.
+   * 
+   * @param token JWT aus dem Authorization-Header.
+   * @return Das geprüfte Token.
+   * @throws IllegalArgumentException Wenn das Token abgelaufen oder ungültig ist.
+   */
+  private VerifiedToken verify(String token) {
+    VerifiedToken verified = tokenCache.get(token);
+    if (verified == null) {
+      verified = tokenGenerator.verifyToken(token);
+      tokenCache.put(token, verified);
+    }
+    return verified;
+  }
+
   /**
    * Extrahiert JWT aus dem "Authorization"-Header der HTTP-Anforderung.
    * 
@@ -1,24 +1,66 @@
 package com.example.backend.security;
 
+import java.security.Key;
 import java.util.Date;
 
 import org.springframework.security.core.Authentication;
 import org.springframework.stereotype.Component;
 
 import io.jsonwebtoken.Claims;
+import io.jsonwebtoken.JwsHeader;
+import io.jsonwebtoken.JwtBuilder;
+import io.jsonwebtoken.JwtParser;
 import io.jsonwebtoken.Jwts;
 import io.jsonwebtoken.SignatureAlgorithm;
+import io.jsonwebtoken.SigningKeyResolverAdapter;
 
 /**
  * Methoden, um ein Token zu generieren, den Benutzernamen aus 
  * einem Token zu extrahieren und das Token auf seine Gültigkeit zu
  * prüfen.
+ * Die Schlüssel stammen aus dem {@link JwtKeyRing}; die Schlüssel-ID steht im
+ * {@code kid}-Header, damit Tokens auf allen Instanzen und über eine
+ * Schlüsselrotation hinweg geprüft werden können.
  */
 @Component
 public class JWTGenerator {
 
+  /** Name des Claims, der die Benutzer-ID enthält. */
+  public static final String USER_ID_CLAIM = "userId";
+
+  private final JwtKeyRing keyRing;
+
+  /**
+   * Einmalig erzeugter, thread-sicherer Parser. Vermeidet, dass pro Anfrage
+   * ein neuer {@link JwtParser} aufgebaut werden muss. Der Prüfschlüssel wird
+   * pro Token anhand des {@code kid}-Headers aus dem Schlüsselbund gewählt.
+   */
+  private final JwtParser jwtParser;
+
+  /**
+   * Konstruktor.
+   * @param keyRing Schlüsselbund für Signatur und Prüfung.
+   */
+  public JWTGenerator(JwtKeyRing keyRing) {
+    this.keyRing = keyRing;
+    this.jwtParser =
+      Jwts
+        .parserBuilder()
+        .setSigningKeyResolver(
+          new SigningKeyResolverAdapter() {
+            @Override
+            public Key resolveSigningKey(JwsHeader header, Claims claims) {
+              return keyRing.getVerificationKey(header.getKeyId());
+            }
+          }
+        )
+        .build();
+  }
+
   /**
    * Generiert ein neues JWT-Token für den angegebenen Benutzer.
+   * Ist der Principal ein {@link AuthenticatedUserDetails}, wird zusätzlich
+   * die Benutzer-ID als Claim {@value #USER_ID_CLAIM} eingebettet.
    * @param authentication Authentication-Objekt, das Informationen über den
    *  authentifizierten Benutzer enthält.
    * @return JWT-Token als String.
@@ -31,15 +73,35 @@ public class JWTGenerator {
     );
 
     // JWT erstellen
-    String token = Jwts
+    JwtBuilder builder = Jwts
       .builder()
+      .setHeaderParam(JwsHeader.KEY_ID, keyRing.getActiveKid())
       .setSubject(username)
       .setIssuedAt(currentDate)
-      .setExpiration(expiryDate)
-      .signWith(SecurityConstants.JWT_SECRET_KEY, SignatureAlgorithm.HS256)
+      .setExpiration(expiryDate);
+    if (authentication.getPrincipal() instanceof AuthenticatedUserDetails user) {
+      builder.claim(USER_ID_CLAIM, user.getUserId());
+    }
+
+    return builder
+      .signWith(keyRing.getActiveKey(), SignatureAlgorithm.HS256)
       .compact();
+  }
 
-    return token;
+  /**
+   * Prüft Signatur und Ablaufdatum eines Tokens in einem einzigen Durchlauf und
+   * liefert die für die Authentifizierung benötigten Angaben.
+   * @param token JWT-Token, das geprüft werden soll.
+   * @return Das geprüfte Token mit Benutzername, Benutzer-ID und Ablaufzeitpunkt.
+   * @throws IllegalArgumentException Wenn das Token abgelaufen oder ungültig ist.
+   */
+  public VerifiedToken verifyToken(String token) {
+    Claims claims = parseClaims(token);
+    return new VerifiedToken(
+      claims.getSubject(),
+      claims.get(USER_ID_CLAIM, Long.class),
+      claims.getExpiration().getTime()
+    );
   }
 
   /**
@@ -48,13 +110,7 @@ public class JWTGenerator {
    * @return Benutzername des JWT-Tokens.
    */
   public String getUserNameFromJWT(String token) {
-    Claims claims = Jwts
-      .parserBuilder()
-      .setSigningKey(SecurityConstants.JWT_SECRET_KEY)
-      .build()
-      .parseClaimsJws(token)
-      .getBody();
-    return claims.getSubject();
+    return parseClaims(token).getSubject();
   }
 
    /**
@@ -66,13 +122,19 @@ public class JWTGenerator {
    * @throws IllegalArgumentException Wenn das Token abgelaufen oder ungültig ist.
    */
   public boolean validateToken(String token) {
+    parseClaims(token);
+    return true;
+  }
+
+  /**
+   * Parst das Token und prüft dabei die Signatur.
+   * @param token JWT-Token.
+   * @return Claims des Tokens.
+   * @throws IllegalArgumentException Wenn das Token abgelaufen oder ungültig ist.
+   */
+  private Claims parseClaims(String token) {
     try {
-      Jwts
-        .parserBuilder()
-        .setSigningKey(SecurityConstants.JWT_SECRET_KEY)
-        .build()
-        .parseClaimsJws(token);
-      return true;
+      return jwtParser.parseClaimsJws(token).getBody();
     } catch (Exception e) {
       throw new IllegalArgumentException("JWT token is expired or invalid");
     }
@@ -0,0 +1,261 @@
+package com.example.backend.security;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.security.GeneralSecurityException;
+import java.security.Key;
+import java.security.KeyStore;
+import java.util.Base64;
+import java.util.Collections;
+import java.util.Enumeration;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Properties;
+import java.util.Set;
+
+import javax.crypto.SecretKey;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import io.jsonwebtoken.SignatureAlgorithm;
+import io.jsonwebtoken.security.Keys;
+import io.jsonwebtoken.security.WeakKeyException;
+
+/**
+ * Schlüsselbund für die Signatur von JWTs.
+ * Jeder Schlüssel hat eine ID ({@code kid}), die im Header des Tokens steht.
+ * Neue Tokens werden mit dem aktiven Schlüssel signiert; zur Prüfung dürfen
+ * alle Schlüssel des Bundes verwendet werden. Dadurch können mehrere Instanzen
+ * dieselben Tokens akzeptieren und Schlüssel rotiert werden, ohne laufende
+ * Sitzungen zu beenden: neuen Schlüssel hinzufügen und aktivieren, den alten
+ * erst nach Ablauf seiner Tokens entfernen.
+ *
+ * Quellen (in dieser Reihenfolge):
+ * <ul>
+ *   <li>{@code security.jwt.keystore.path}: Keystore (z. B. PKCS12) mit
+ *   HMAC-Secret-Keys, Alias = Schlüssel-ID.</li>
+ *   <li>{@code security.jwt.keys-file}: Properties-Datei mit Einträgen
+ *   {@code key.<kid>=<Base64-Secret>} und optional {@code active=<kid>}.</li>
+ *   <li>Ohne Konfiguration wird ein zufälliger Schlüssel pro JVM erzeugt
+ *   (nur für Entwicklung und Tests, Tokens überleben keinen Neustart).</li>
+ * </ul>
+ * Konfigurierte Quellen werden regelmäßig neu geladen, sobald sich die Datei ändert.
+ */
+@Component
+public class JwtKeyRing {
+
+  /** Schlüssel-ID des zufällig erzeugten Schlüssels ohne Konfiguration. */
+  public static final String EPHEMERAL_KID = "ephemeral";
+
+  private static final String KEY_PREFIX = "key.";
+
+  private final Path keystorePath;
+  private final char[] keystorePassword;
+  private final String keystoreType;
+  private final Path keysFile;
+  private final String configuredActiveKid;
+  private final VerifiedTokenCache verifiedTokenCache;
+
+  private volatile Snapshot snapshot;
+  private volatile long loadedModified = -1L;
+
+  /**
+   * Konstruktor, der den Schlüsselbund initial lädt.
+   * @param keystorePath Pfad zum Keystore oder leer.
+   * @param keystorePassword Passwort des Keystores und seiner Einträge.
+   * @param keystoreType Typ des Keystores, z. B. {@code PKCS12}.
+   * @param keysFile Pfad zur Schlüsseldatei oder leer.
+   * @param activeKid ID des Signaturschlüssels; leer bedeutet Angabe aus der Datei
+   * bzw. die lexikografisch größte ID.
+   * @param verifiedTokenCache Cache geprüfter Tokens; wird geleert, wenn Schlüssel entfallen.
+   */
+  public JwtKeyRing(
+    @Value("${security.jwt.keystore.path:}") String keystorePath,
+    @Value("${security.jwt.keystore.password:}") String keystorePassword,
+    @Value("${security.jwt.keystore.type:PKCS12}") String keystoreType,
+    @Value("${security.jwt.keys-file:}") String keysFile,
+    @Value("${security.jwt.active-kid:}") String activeKid,
+    VerifiedTokenCache verifiedTokenCache
+  ) {
+    this.keystorePath = keystorePath.isBlank() ? null : Path.of(keystorePath);
+    this.keystorePassword = keystorePassword.toCharArray();
+    this.keystoreType = keystoreType;
+    this.keysFile = keysFile.isBlank() ? null : Path.of(keysFile);
+    this.configuredActiveKid = activeKid.isBlank() ? null : activeKid;
+    this.verifiedTokenCache = verifiedTokenCache;
+    if (source() == null) {
+      this.snapshot =
+        new Snapshot(
+          EPHEMERAL_KID,
+          Map.of(EPHEMERAL_KID, Keys.secretKeyFor(SignatureAlgorithm.HS256))
+        );
+    } else {
+      reload();
+    }
+  }
+
+  /**
+   * @return ID des Schlüssels, mit dem neue Tokens signiert werden.
+   */
+  public String getActiveKid() {
+    return snapshot.activeKid();
+  }
+
+  /**
+   * @return Schlüssel, mit dem neue Tokens signiert werden.
+   */
+  public Key getActiveKey() {
+    Snapshot current = snapshot;
+    return current.keys().get(current.activeKid());
+  }
+
+  /**
+   * Liefert den Prüfschlüssel zu einer Schlüssel-ID.
+   * @param kid Schlüssel-ID aus dem Token-Header; {@code null} für Tokens ohne ID.
+   * @return Der Schlüssel; für Tokens ohne ID der aktive Schlüssel.
+   * @throws IllegalArgumentException Wenn die ID unbekannt ist.
+   */
+  public Key getVerificationKey(String kid) {
+    if (kid == null) {
+      return getActiveKey();
+    }
+    Key key = snapshot.keys().get(kid);
+    if (key == null) {
+      throw new IllegalArgumentException("Unknown JWT key id: " + kid);
+    }
+    return key;
+  }
+
+  /**
+   * @return IDs aller Schlüssel, die zur Prüfung akzeptiert werden.
+   */
+  public Set<String> getKeyIds() {
+    return snapshot.keys().keySet();
+  }
+
+  /**
+   * Lädt den Schlüsselbund neu, sofern sich die konfigurierte Datei seit dem
+   * letzten Laden geändert hat. Schlägt das Laden fehl, bleibt der bisherige
+   * Schlüsselbund aktiv.
+   */
+  @Scheduled(fixedDelayString = "${security.jwt.keys-reload-ms:60000}")
+  public void reloadIfChanged() {
+    Path source = source();
+    if (source == null) {
+      return;
+    }
+    try {
+      if (Files.getLastModifiedTime(source).toMillis() != loadedModified) {
+        reload();
+      }
+    } catch (IOException | IllegalStateException e) {
+      // Bisherige Schlüssel weiterverwenden
+    }
+  }
+
+  /**
+   * Lädt den Schlüsselbund aus der konfigurierten Quelle.
+   * Entfallen dabei Schlüssel, wird der Cache geprüfter Tokens geleert, damit
+   * damit signierte Tokens nicht weiter akzeptiert werden.
+   * @throws IllegalStateException Wenn die Quelle nicht gelesen werden kann oder
+   * keinen gültigen aktiven Schlüssel enthält.
+   */
+  public synchronized void reload() {
+    Path source = source();
+    try {
+      long modified = Files.getLastModifiedTime(source).toMillis();
+      Snapshot loaded = keystorePath != null ? loadKeystore() : loadKeysFile();
+      Snapshot previous = snapshot;
+      snapshot = loaded;
+      loadedModified = modified;
+      if (
+        previous != null &&
+        !loaded.keys().keySet().containsAll(previous.keys().keySet())
+      ) {
+        verifiedTokenCache.clear();
+      }
+    } catch (IOException | GeneralSecurityException e) {
+      throw new IllegalStateException(
+        "Could not load JWT keys from " + source,
+        e
+      );
+    }
+  }
+
+  private Path source() {
+    return keystorePath != null ? keystorePath : keysFile;
+  }
+
+  private Snapshot loadKeystore()
+    throws IOException, GeneralSecurityException {
+    KeyStore keyStore = KeyStore.getInstance(keystoreType);
+    try (InputStream in = Files.newInputStream(keystorePath)) {
+      keyStore.load(in, keystorePassword);
+    }
+    Map<String, SecretKey> keys = new LinkedHashMap<>();
+    Enumeration<String> aliases = keyStore.aliases();
+    while (aliases.hasMoreElements()) {
+      String alias = aliases.nextElement();
+      Key key = keyStore.getKey(alias, keystorePassword);
+      if (key instanceof SecretKey secret) {
+        keys.put(alias, hmacKey(alias, secret.getEncoded()));
+      }
+    }
+    return snapshot(keys, configuredActiveKid);
+  }
+
+  private Snapshot loadKeysFile() throws IOException {
+    Properties properties = new Properties();
+    try (InputStream in = Files.newInputStream(keysFile)) {
+      properties.load(in);
+    }
+    Map<String, SecretKey> keys = new LinkedHashMap<>();
+    for (String name : properties.stringPropertyNames()) {
+      if (name.startsWith(KEY_PREFIX)) {
+        String kid = name.substring(KEY_PREFIX.length());
+        byte[] secret;
+        try {
+          secret = Base64.getDecoder().decode(properties.getProperty(name).trim());
+        } catch (IllegalArgumentException e) {
+          throw new IllegalStateException("JWT key is not valid Base64: " + kid, e);
+        }
+        keys.put(kid, hmacKey(kid, secret));
+      }
+    }
+    String activeKid = configuredActiveKid != null
+      ? configuredActiveKid
+      : properties.getProperty("active");
+    return snapshot(keys, activeKid);
+  }
+
+  /**
+   * Erstellt einen HMAC-Schlüssel; zu kurze Schlüssel werden wie andere
+   * ungültige Quellen mit {@link IllegalStateException} abgewiesen.
+   */
+  private static SecretKey hmacKey(String kid, byte[] secret) {
+    try {
+      return Keys.hmacShaKeyFor(secret);
+    } catch (WeakKeyException e) {
+      throw new IllegalStateException("JWT key is too short: " + kid, e);
+    }
+  }
+
+  private static Snapshot snapshot(Map<String, SecretKey> keys, String activeKid) {
+    if (keys.isEmpty()) {
+      throw new IllegalStateException("No JWT signing keys configured");
+    }
+    String active = activeKid != null
+      ? activeKid.trim()
+      : Collections.max(keys.keySet());
+    if (!keys.containsKey(active)) {
+      throw new IllegalStateException("Active JWT key id not found: " + active);
+    }
+    return new Snapshot(active, Map.copyOf(keys));
+  }
+
+  private record Snapshot(String activeKid, Map<String, ? extends Key> keys) {}
+}
@@ -2,6 +2,7 @@ package com.example.backend.security;
 
 import java.util.Arrays;
 
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
 import org.springframework.http.HttpMethod;
@@ -11,13 +12,14 @@ import org.springframework.security.config.annotation.web.builders.HttpSecurity;
 import org.springframework.security.config.annotation.web.configuration.EnableWebSecurity;
 import org.springframework.security.config.http.SessionCreationPolicy;
 import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
-import org.springframework.security.crypto.password.PasswordEncoder;
 import org.springframework.security.web.SecurityFilterChain;
 import org.springframework.security.web.authentication.UsernamePasswordAuthenticationFilter;
 import org.springframework.web.cors.CorsConfiguration;
 import org.springframework.web.cors.CorsConfigurationSource;
 import org.springframework.web.cors.UrlBasedCorsConfigurationSource;
 
+import io.micrometer.core.instrument.MeterRegistry;
+
 /**
  * Enthält die Sicherheitskonfiguration für die Webanwendung.
  * Konfiguriert Authentifizierung, die Autorisierung und CORS-Einstellungen.
@@ -34,21 +36,25 @@ public class SecurityConfig {
 
   private final JWTGenerator jwtGenerator;
 
+  private final VerifiedTokenCache verifiedTokenCache;
 
   /**
    * Konstruktor, der die erforderlichen Abhängigkeiten injiziert.
    * @param userDetailsService Service, der für das Laden von Benutzerdaten zuständig ist.
    * @param authEntryPoint Einstiegspunkt für Authentifizierungsfehler.
    * @param jwtGenerator Generator für JWT-Token.
+   * @param verifiedTokenCache Cache für bereits geprüfte JWT-Token.
    */
   public SecurityConfig(
     CustomUserDetailsService userDetailsService,
     JWTAuthEntryPoint authEntryPoint,
-    JWTGenerator jwtGenerator
+    JWTGenerator jwtGenerator,
+    VerifiedTokenCache verifiedTokenCache
   ) {
     this.userDetailsService = userDetailsService;
     this.authEntryPoint = authEntryPoint;
     this.jwtGenerator = jwtGenerator;
+    this.verifiedTokenCache = verifiedTokenCache;
   }
 
     /**
@@ -81,6 +87,8 @@ public class SecurityConfig {
           .permitAll() // Öffentliche Zugriffe auf Swagger UI und OpenAPI-Dokumentation
           .requestMatchers(HttpMethod.GET, "/api/users/returnUsers")
           .permitAll() // Öffentliche Endpunkte (Login, Registrierung, etc.)
+          .requestMatchers(HttpMethod.GET, "/api/covers/**")
+          .permitAll() // Titelbilder (<img> sendet kein JWT; der Schlüssel ist der SHA-256-Hash des Inhalts)
           .requestMatchers("/api/**")
           .authenticated() // Authentifizierung für andere /api/** Endpunkte erforderlich
           .anyRequest()
@@ -109,11 +117,35 @@ public class SecurityConfig {
 
   /**
    * Konfiguriert PasswordEncoder, der für die Passwortsicherung verwendet wird.
+   * BCrypt läuft auf einem eigenen, begrenzten Worker-Pool, damit Login-Spitzen
+   * nicht alle Request-Threads belegen. Wird die Stärke erhöht, werden
+   * bestehende Hashes beim nächsten erfolgreichen Login neu berechnet
+   * (siehe {@link CustomUserDetailsService#updatePassword}).
+   * @param meterRegistry Registry für die Hashing-Metriken.
+   * @param strength Cost-Faktor für BCrypt.
+   * @param threads Anzahl der Worker-Threads.
+   * @param queueCapacity Maximale Anzahl wartender Hash-Aufträge.
+   * @param timeoutMillis Maximale Wartezeit eines Aufrufers in Millisekunden.
+   * @param retryAfterSeconds Wert für den Retry-After-Header bei Überlastung.
    * @return Der PasswordEncoder.
    */
   @Bean
-  public PasswordEncoder passwordEncoder() {
-    return new BCryptPasswordEncoder(12); // 12 is a higher strength, adjust as needed
+  public BoundedPasswordEncoder passwordEncoder(
+    MeterRegistry meterRegistry,
+    @Value("${security.password.bcrypt-strength:12}") int strength,
+    @Value("${security.password.hash-threads:2}") int threads,
+    @Value("${security.password.hash-queue-capacity:32}") int queueCapacity,
+    @Value("${security.password.hash-timeout-ms:5000}") long timeoutMillis,
+    @Value("${security.password.retry-after-seconds:2}") long retryAfterSeconds
+  ) {
+    return new BoundedPasswordEncoder(
+      new BCryptPasswordEncoder(strength),
+      threads,
+      queueCapacity,
+      timeoutMillis,
+      retryAfterSeconds,
+      meterRegistry
+    );
   }
 
 
@@ -123,7 +155,11 @@ public class SecurityConfig {
    */
   @Bean
   public JWTAuthenticationFilter jwtAuthenticationFilter() {
-    return new JWTAuthenticationFilter(jwtGenerator, userDetailsService);
+    return new JWTAuthenticationFilter(
+      jwtGenerator,
+      userDetailsService,
+      verifiedTokenCache
+    );
   }
 
   /**
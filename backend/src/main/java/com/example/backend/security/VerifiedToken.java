@@ -0,0 +1,26 @@
+package com.example.backend.security;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+/**
+ * Ergebnis einer erfolgreichen JWT-Prüfung.
+ * Enthält nur die Angaben, die der {@link JWTAuthenticationFilter} pro Anfrage
+ * benötigt, damit ein bereits geprüftes Token nicht erneut dekodiert werden muss.
+ */
+@Getter
+@AllArgsConstructor
+public class VerifiedToken {
+
+  /** Benutzername aus dem {@code sub}-Claim. */
+  private final String username;
+
+  /**
+   * Benutzer-ID aus dem {@code userId}-Claim.
+   * {@code null} bei Tokens, die vor Einführung des Claims ausgestellt wurden.
+   */
+  private final Long userId;
+
+  /** Ablaufzeitpunkt des Tokens in Millisekunden seit der Epoche. */
+  private final long expiresAtMillis;
+}
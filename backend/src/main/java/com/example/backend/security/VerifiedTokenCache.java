@@ -0,0 +1,88 @@
+package com.example.backend.security;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.Base64;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import com.example.backend.cache.ExpiringCache;
+
+/**
+ * Cache für bereits geprüfte JWTs.
+ * Schlüssel ist der SHA-256-Hash des Tokens, damit keine vollständigen Tokens im
+ * Speicher gehalten werden. Einträge laufen spätestens mit dem Token selbst ab,
+ * sodass abgelaufene Tokens nie aus dem Cache bestätigt werden.
+ */
+@Component
+public class VerifiedTokenCache {
+
+  private final ExpiringCache<String, VerifiedToken> cache;
+
+  /**
+   * Konstruktor fürs Initialisieren des Caches.
+   *
+   * @param maxSize Maximale Anzahl gespeicherter Tokens.
+   * @param ttlMillis Maximale Verweildauer eines Eintrags in Millisekunden.
+   */
+  public VerifiedTokenCache(
+    @Value("${security.jwt.token-cache.max-size:10000}") int maxSize,
+    @Value("${security.jwt.token-cache.ttl-ms:600000}") long ttlMillis
+  ) {
+    this.cache = new ExpiringCache<>(maxSize, ttlMillis);
+  }
+
+  /**
+   * Sucht ein bereits geprüftes Token.
+   *
+   * @param token JWT aus dem Authorization-Header.
+   * @return Das geprüfte Token oder {@code null}, wenn es nicht (mehr) im Cache liegt.
+   */
+  public VerifiedToken get(String token) {
+    return cache.get(digest(token));
+  }
+
+  /**
+   * Legt ein erfolgreich geprüftes Token ab.
+   *
+   * @param token JWT aus dem Authorization-Header.
+   * @param verified Ergebnis der Prüfung.
+   */
+  public void put(String token, VerifiedToken verified) {
+    cache.put(digest(token), verified, verified.getExpiresAtMillis());
+  }
+
+  /**
+   * Entfernt alle Einträge, z. B. nachdem Schlüssel zurückgezogen wurden.
+   */
+  public void clear() {
+    cache.clear();
+  }
+
+  /**
+   * @return Anzahl der Cache-Treffer.
+   */
+  public long getHits() {
+    return cache.getHits();
+  }
+
+  /**
+   * @return Anzahl der Cache-Fehlschläge.
+   */
+  public long getMisses() {
+    return cache.getMisses();
+  }
+
+  private static String digest(String token) {
+    try {
+      byte[] hash = MessageDigest
+        .getInstance("SHA-256")
+        .digest(token.getBytes(StandardCharsets.US_ASCII));
+      return Base64.getUrlEncoder().withoutPadding().encodeToString(hash);
+    } catch (NoSuchAlgorithmException e) {
+      throw new IllegalStateException("SHA-256 not available", e);
+    }
+  }
+}
@@ -3,14 +3,18 @@ package com.example.backend.service;
 
 import java.util.List;
 
-import org.springframework.security.core.Authentication;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
 
+import com.example.backend.cache.UserDataVersions;
 import com.example.backend.dto.CategoryDTO;
 import com.example.backend.model.CategoryEntity;
-import com.example.backend.model.UserEntity;
+import com.example.backend.model.SyncEntityType;
 import com.example.backend.repository.CategoryRepository;
 import com.example.backend.repository.UserRepository;
+import com.example.backend.security.AuthenticatedUser;
+import com.example.backend.sync.SyncService;
 
 
 /**
@@ -22,44 +26,51 @@ public class CategoryService {
 
   private final CategoryRepository categoryRepository;
   private final UserRepository userRepository;
+  private final AuthenticatedUser authenticatedUser;
+  private final UserDataVersions userDataVersions;
+  private final SyncService syncService;
+  private final TransactionTemplate transactionTemplate;
 
   /**
    * Konstruktor {@link CategoryService}, der die Repositories für Kategorien und Benutzer initialisiert.
    * @param categoryRepository Repository zum Verwalten von Kategorien.
    * @param userRepository Repository zum Verwalten von Benutzern.
+   * @param authenticatedUser Angemeldeter Benutzer der aktuellen Anfrage.
+   * @param userDataVersions Versionszähler, der bei jeder Änderung erhöht wird.
+   * @param syncService Löschprotokoll für die Delta-Synchronisation.
+   * @param transactionManager Transaktionsmanager für das Löschen samt Protokolleintrag.
    */
   public CategoryService(
     CategoryRepository categoryRepository,
-    UserRepository userRepository
+    UserRepository userRepository,
+    AuthenticatedUser authenticatedUser,
+    UserDataVersions userDataVersions,
+    SyncService syncService,
+    PlatformTransactionManager transactionManager
   ) {
     this.categoryRepository = categoryRepository;
     this.userRepository = userRepository;
+    this.authenticatedUser = authenticatedUser;
+    this.userDataVersions = userDataVersions;
+    this.syncService = syncService;
+    this.transactionTemplate = new TransactionTemplate(transactionManager);
   }
 
    /**
    * Erzeugt neue Kategorie für den aktuell authentifizierten Benutzer.
    * 
    * @param categoryDTO DTO, welches Dails zu erstellenden Kategorie enthält.
-   * @param authentication Authentifizierung des Benutzers, der die Kategorie erstellt.
    * @return Erstellte {@link CategoryEntity}.
-   * @throws IllegalArgumentException Wenn der Benutzer nicht gefunden wird.
    */
-  public CategoryEntity createCategory(
-    CategoryDTO categoryDTO,
-    Authentication authentication
-  ) {
-    String username = authentication.getName();
-
-    UserEntity user = userRepository
-      .findByUsername(username)
-      .orElseThrow(() ->
-        new IllegalArgumentException("User not found: " + username)
-      );
+  public CategoryEntity createCategory(CategoryDTO categoryDTO) {
+    Long userId = authenticatedUser.getUserId();
 
     CategoryEntity category = new CategoryEntity();
     category.setCategoryName(categoryDTO.getCategoryName());
-    category.setUser(user);
-    return categoryRepository.save(category);
+    category.setUser(userRepository.getReferenceById(userId));
+    CategoryEntity saved = categoryRepository.save(category);
+    userDataVersions.bump(userId);
+    return saved;
   }
 
 
@@ -78,7 +89,9 @@ public class CategoryService {
       .findById(categoryId)
       .orElseThrow(() -> new RuntimeException("Category not found"));
     category.setCategoryName(categoryDetails.getCategoryName());
-    return categoryRepository.save(category);
+    CategoryEntity saved = categoryRepository.save(category);
+    userDataVersions.bump(authenticatedUser.getUserId());
+    return saved;
   }
 
   /**
@@ -86,7 +99,13 @@ public class CategoryService {
    * @param categoryId ID der zu löschenden Kategorie.
    */
   public void deleteCategory(Long categoryId) {
-    categoryRepository.deleteById(categoryId);
+    Long userId = authenticatedUser.getUserId();
+    // Vor dem Löschen protokollieren: Scheitert der Eintrag, bleibt die Kategorie bestehen
+    transactionTemplate.executeWithoutResult(status -> {
+      syncService.recordDeletions(userId, SyncEntityType.CATEGORY, List.of(categoryId));
+      categoryRepository.deleteById(categoryId);
+    });
+    userDataVersions.bump(userId);
   }
 
   /**
@@ -97,4 +116,14 @@ public class CategoryService {
   public List<CategoryDTO> getCategoryDTOsByUsername(String username) {
     return categoryRepository.findCategoryDTOsByUsername(username);
   }
+
+  /**
+   * Ruft Liste von {@link CategoryDTO}s für den angemeldeten Benutzer ab.
+   * @return Liste von {@link CategoryDTO}s.
+   */
+  public List<CategoryDTO> getCategoryDTOsOfCurrentUser() {
+    return categoryRepository.findCategoryDTOsByUserId(
+      authenticatedUser.getUserId()
+    );
+  }
 }
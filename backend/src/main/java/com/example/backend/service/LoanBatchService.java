@@ -0,0 +1,255 @@
+package com.example.backend.service;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import com.example.backend.cache.UserDataVersions;
+import com.example.backend.dto.LoanBatchCheckoutDTO;
+import com.example.backend.dto.LoanBatchItemDTO;
+import com.example.backend.dto.LoanBatchItemStatus;
+import com.example.backend.dto.LoanBatchResultDTO;
+import com.example.backend.dto.LoanBatchReturnDTO;
+import com.example.backend.dto.LoanReturnProjection;
+import com.example.backend.exception.LoanException;
+import com.example.backend.exception.PersonNotFoundException;
+import com.example.backend.model.LoanEntity;
+import com.example.backend.model.MediaState;
+import com.example.backend.repository.LoanRepository;
+import com.example.backend.repository.MediaRepository;
+import com.example.backend.repository.PersonRepository;
+import com.example.backend.security.AuthenticatedUser;
+
+/**
+ * Service für Sammelausleihen und -rückgaben, z. B. bei Veranstaltungen.
+ * Jede Operation läuft in einer Transaktion: Die betroffenen Zeilen werden in
+ * ID-Reihenfolge gesperrt, der Medienstatus wird mit einer einzigen
+ * UPDATE-Anweisung gesetzt und neue Ausleihen werden per JDBC-Batch
+ * eingefügt. Elemente, die nicht verarbeitet werden können, brechen die
+ * Operation nicht ab, sondern werden im Ergebnis mit ihrem Status gemeldet.
+ */
+@Service
+public class LoanBatchService {
+
+  /** Maximale Anzahl von Medien bzw. Ausleihen pro Anfrage. */
+  static final int MAX_BATCH_SIZE = 500;
+
+  private final LoanRepository loanRepository;
+  private final MediaRepository mediaRepository;
+  private final PersonRepository personRepository;
+  private final AuthenticatedUser authenticatedUser;
+  private final UserDataVersions userDataVersions;
+  private final TransactionTemplate transactionTemplate;
+
+  /**
+   * Konstruktor.
+   * @param loanRepository Repository für Ausleihen
+   * @param mediaRepository Repository für Medien-Entitäten
+   * @param personRepository Repository für Personen
+   * @param authenticatedUser Angemeldeter Benutzer der aktuellen Anfrage
+   * @param userDataVersions Versionszähler, der bei jeder Änderung erhöht wird
+   * @param transactionManager Transaktionsmanager für die Transaktion je Operation
+   */
+  public LoanBatchService(
+    LoanRepository loanRepository,
+    MediaRepository mediaRepository,
+    PersonRepository personRepository,
+    AuthenticatedUser authenticatedUser,
+    UserDataVersions userDataVersions,
+    PlatformTransactionManager transactionManager
+  ) {
+    this.loanRepository = loanRepository;
+    this.mediaRepository = mediaRepository;
+    this.personRepository = personRepository;
+    this.authenticatedUser = authenticatedUser;
+    this.userDataVersions = userDataVersions;
+    this.transactionTemplate = new TransactionTemplate(transactionManager);
+  }
+
+  /**
+   * Leiht mehrere Medien des angemeldeten Benutzers an eine Person aus.
+   * Verfügbare Medien werden gesperrt, auf {@code BORROWED} gesetzt und je
+   * eine Ausleihe angelegt. Medien, die nicht verfügbar sind oder nicht dem
+   * Benutzer gehören, werden übersprungen.
+   * @param request Person, Medien, Fälligkeitsdatum und Ausleihzeitpunkt.
+   * @return Ergebnis je Medium in der Reihenfolge der Anfrage.
+   * @throws LoanException Wenn keine Person oder keine bzw. zu viele Medien angegeben sind.
+   * @throws PersonNotFoundException Wenn die Person nicht existiert oder nicht dem Benutzer gehört.
+   */
+  public LoanBatchResultDTO checkout(LoanBatchCheckoutDTO request) {
+    if (request.getPersonId() == null) {
+      throw new LoanException("personId is required");
+    }
+    List<Long> mediaIds = distinctIds(request.getMediaIds(), "mediaIds");
+    Long userId = authenticatedUser.getUserId();
+    Long personId = request.getPersonId();
+
+    LoanBatchResultDTO result = transactionTemplate.execute(status -> {
+      boolean ownsPerson = personRepository
+        .findById(personId)
+        .map(person -> userId.equals(person.getUser().getUserId()))
+        .orElse(false);
+      if (!ownsPerson) {
+        throw new PersonNotFoundException("Person not found with ID: " + personId);
+      }
+
+      Set<Long> owned = new HashSet<>(mediaRepository.findOwnedIds(userId, mediaIds));
+      List<Long> available = owned.isEmpty()
+        ? List.of()
+        : mediaRepository.lockIdsByState(userId, owned, MediaState.AVAILABLE);
+
+      Map<Long, Long> loanIdsByMedia = new HashMap<>();
+      if (!available.isEmpty()) {
+        LocalDateTime now = LocalDateTime.now();
+        mediaRepository.updateMediaState(userId, available, MediaState.BORROWED, now);
+
+        LocalDateTime borrowedAt = request.getBorrowedAt() == null
+          ? now
+          : request.getBorrowedAt();
+        LocalDate dueDate = request.getDueDate() == null
+          ? LocalDate.now().plusMonths(1)
+          : request.getDueDate();
+        List<LoanEntity> loans = new ArrayList<>(available.size());
+        for (Long mediaId : available) {
+          LoanEntity loan = new LoanEntity();
+          loan.setPerson(personRepository.getReferenceById(personId));
+          loan.setUserId(userId);
+          loan.setMedia(mediaRepository.getReferenceById(mediaId));
+          loan.setBorrowedAt(borrowedAt);
+          loan.setDueDate(dueDate);
+          loans.add(loan);
+        }
+        for (LoanEntity loan : loanRepository.saveAll(loans)) {
+          loanIdsByMedia.put(loan.getMedia().getMediaId(), loan.getLoanId());
+        }
+      }
+
+      List<LoanBatchItemDTO> items = new ArrayList<>(mediaIds.size());
+      for (Long mediaId : mediaIds) {
+        Long loanId = loanIdsByMedia.get(mediaId);
+        LoanBatchItemStatus itemStatus;
+        if (loanId != null) {
+          itemStatus = LoanBatchItemStatus.CREATED;
+        } else if (owned.contains(mediaId)) {
+          itemStatus = LoanBatchItemStatus.UNAVAILABLE;
+        } else {
+          itemStatus = LoanBatchItemStatus.NOT_FOUND;
+        }
+        items.add(new LoanBatchItemDTO(mediaId, loanId, itemStatus));
+      }
+      return new LoanBatchResultDTO(loanIdsByMedia.size(), items);
+    });
+    bumpIfChanged(userId, result);
+    return result;
+  }
+
+  /**
+   * Markiert mehrere Ausleihen von Medien des angemeldeten Benutzers als
+   * zurückgegeben und setzt die Medien wieder auf {@code AVAILABLE}.
+   * Ausleihen, die bereits zurückgegeben sind, deren Ausleihzeitpunkt nach
+   * dem Rückgabezeitpunkt liegt oder die nicht dem Benutzer gehören, werden
+   * übersprungen.
+   * @param request Ausleihen und Rückgabezeitpunkt.
+   * @return Ergebnis je Ausleihe in der Reihenfolge der Anfrage.
+   * @throws LoanException Wenn keine bzw. zu viele Ausleihen angegeben sind.
+   */
+  public LoanBatchResultDTO returnLoans(LoanBatchReturnDTO request) {
+    List<Long> loanIds = distinctIds(request.getLoanIds(), "loanIds");
+    Long userId = authenticatedUser.getUserId();
+
+    LoanBatchResultDTO result = transactionTemplate.execute(status -> {
+      LocalDateTime now = LocalDateTime.now();
+      LocalDateTime returnedAt = request.getReturnedAt() == null
+        ? now
+        : request.getReturnedAt();
+
+      List<LoanReturnProjection> loans = loanRepository.lockForReturn(loanIds);
+      Set<Long> ownedMedia = loans.isEmpty()
+        ? Set.of()
+        : new HashSet<>(
+          mediaRepository.findOwnedIds(
+            userId,
+            loans.stream().map(LoanReturnProjection::getMediaId).toList()
+          )
+        );
+
+      Map<Long, LoanBatchItemDTO> itemsByLoan = new HashMap<>();
+      List<Long> returnable = new ArrayList<>();
+      List<Long> released = new ArrayList<>();
+      for (LoanReturnProjection loan : loans) {
+        if (!ownedMedia.contains(loan.getMediaId())) {
+          continue;
+        }
+        LoanBatchItemStatus itemStatus;
+        if (loan.getReturnedAt() != null) {
+          itemStatus = LoanBatchItemStatus.ALREADY_RETURNED;
+        } else if (returnedAt.isBefore(loan.getBorrowedAt())) {
+          itemStatus = LoanBatchItemStatus.RETURNED_BEFORE_BORROWED;
+        } else {
+          itemStatus = LoanBatchItemStatus.RETURNED;
+          returnable.add(loan.getLoanId());
+          released.add(loan.getMediaId());
+        }
+        itemsByLoan.put(
+          loan.getLoanId(),
+          new LoanBatchItemDTO(loan.getMediaId(), loan.getLoanId(), itemStatus)
+        );
+      }
+
+      if (!returnable.isEmpty()) {
+        loanRepository.markReturned(returnable, returnedAt, now);
+        mediaRepository.updateMediaState(userId, released, MediaState.AVAILABLE, now);
+      }
+
+      List<LoanBatchItemDTO> items = new ArrayList<>(loanIds.size());
+      for (Long loanId : loanIds) {
+        items.add(
+          itemsByLoan.getOrDefault(
+            loanId,
+            new LoanBatchItemDTO(null, loanId, LoanBatchItemStatus.NOT_FOUND)
+          )
+        );
+      }
+      return new LoanBatchResultDTO(returnable.size(), items);
+    });
+    bumpIfChanged(userId, result);
+    return result;
+  }
+
+  /**
+   * @return Die angegebenen IDs ohne Duplikate in der Reihenfolge der Anfrage.
+   * @throws LoanException Wenn keine oder mehr als {@link #MAX_BATCH_SIZE} IDs angegeben sind.
+   */
+  private static List<Long> distinctIds(List<Long> ids, String field) {
+    if (ids == null || ids.isEmpty()) {
+      throw new LoanException(field + " must not be empty");
+    }
+    Set<Long> distinct = new LinkedHashSet<>(ids);
+    distinct.remove(null);
+    if (distinct.isEmpty()) {
+      throw new LoanException(field + " must not be empty");
+    }
+    if (distinct.size() > MAX_BATCH_SIZE) {
+      throw new LoanException(
+        field + " must not contain more than " + MAX_BATCH_SIZE + " entries"
+      );
+    }
+    return new ArrayList<>(distinct);
+  }
+
+  private void bumpIfChanged(Long userId, LoanBatchResultDTO result) {
+    if (result != null && result.getSucceeded() > 0) {
+      userDataVersions.bump(userId);
+    }
+  }
+}
@@ -2,28 +2,30 @@ package com.example.backend.service;
 
 import java.time.LocalDate;
 import java.time.LocalDateTime;
-import java.util.Collections;
+import java.util.ArrayList;
 import java.util.List;
-import java.util.Optional;
 
 import org.springframework.beans.factory.annotation.Autowired;
-import org.springframework.security.core.Authentication;
-import org.springframework.security.core.context.SecurityContextHolder;
-import org.springframework.security.core.userdetails.UsernameNotFoundException;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
 
+import com.example.backend.cache.UserDataVersions;
+import com.example.backend.dto.LoanCursor;
+import com.example.backend.dto.LoanDTO;
+import com.example.backend.dto.LoanHistoryFilterDTO;
+import com.example.backend.dto.LoanPageDTO;
+import com.example.backend.dto.LoanReturnProjection;
+import com.example.backend.exception.LoanException;
 import com.example.backend.exception.MediaNotFoundException;
 import com.example.backend.exception.PersonNotFoundException;
-import com.example.backend.exception.UserNotFoundException;
 import com.example.backend.model.LoanEntity;
 import com.example.backend.model.MediaEntity;
 import com.example.backend.model.MediaState;
 import com.example.backend.model.PersonEntity;
-import com.example.backend.model.UserEntity;
 import com.example.backend.repository.LoanRepository;
 import com.example.backend.repository.MediaRepository;
-import com.example.backend.repository.PersonRepository;
-import com.example.backend.repository.UserRepository;
+import com.example.backend.security.AuthenticatedUser;
 
 
 /**
@@ -33,6 +35,9 @@ import com.example.backend.repository.UserRepository;
 @Service
 public class LoanService {
 
+  /** Maximale Anzahl von Ausleihen pro Seite der Historie. */
+  public static final int MAX_PAGE_SIZE = 200;
+
   @Autowired
   private final UserService userService;
 
@@ -40,8 +45,9 @@ public class LoanService {
   private final MediaRepository mediaRepository;
   private final PersonService personService;
   private final LoanRepository loanRepository;
-  private final UserRepository userRepository;
-  private final PersonRepository personRepository;
+  private final AuthenticatedUser authenticatedUser;
+  private final UserDataVersions userDataVersions;
+  private final TransactionTemplate transactionTemplate;
 
    /**
    * Konstruktor  {@link LoanService}.
@@ -50,8 +56,9 @@ public class LoanService {
    * @param mediaService Service für Medien.
    * @param mediaRepository Repository für Medien.
    * @param personService Service für Personen.
-   * @param personRepository Repository für Personen.
-   * @param userRepository Repository für Benutzer.
+   * @param authenticatedUser Angemeldeter Benutzer der aktuellen Anfrage.
+   * @param userDataVersions Versionszähler, der bei jeder Änderung erhöht wird.
+   * @param transactionManager Transaktionsmanager für das Ausleihen.
    */
   public LoanService(
     LoanRepository loanRepository,
@@ -59,36 +66,26 @@ public class LoanService {
     MediaService mediaService,
     MediaRepository mediaRepository,
     PersonService personService,
-    PersonRepository personRepository,
-    UserRepository userRepository
+    AuthenticatedUser authenticatedUser,
+    UserDataVersions userDataVersions,
+    PlatformTransactionManager transactionManager
   ) {
     this.mediaService = mediaService;
     this.mediaRepository = mediaRepository;
     this.personService = personService;
     this.userService = userService;
     this.loanRepository = loanRepository;
-    this.personRepository = personRepository;
-    this.userRepository = userRepository;
+    this.authenticatedUser = authenticatedUser;
+    this.userDataVersions = userDataVersions;
+    this.transactionTemplate = new TransactionTemplate(transactionManager);
   }
 
    /**
    * Gibt alle Ausleihen für den aktuellen Benutzer zurück.
    * @return Liste der Ausleihen für den aktuellen Benutzer.
    */
-  public List<LoanEntity> getLoansByUser() {
-    String username = SecurityContextHolder
-      .getContext()
-      .getAuthentication()
-      .getName();
-    Optional<UserEntity> user = userRepository.findByUsername(username);
-
-    List<PersonEntity> persons = personRepository.findByUserUserId(
-      user.get().getUserId()
-    );
-    if (persons.isEmpty()) {
-      return Collections.emptyList();
-    }
-    return loanRepository.findByPersons(persons);
+  public List<LoanDTO> getLoansByUser() {
+    return loanRepository.findLoanDTOsByUserId(authenticatedUser.getUserId());
   }
 
 
@@ -97,21 +94,9 @@ public class LoanService {
    * für den aktuellen Benutzer zurück.
    * @return Liste der aktiven Ausleihen für den aktuellen Benutzer.
    */
-  public List<LoanEntity> getActiveLoansByUser() {
-    String username = SecurityContextHolder
-      .getContext()
-      .getAuthentication()
-      .getName();
-    Optional<UserEntity> user = userRepository.findByUsername(username);
-
-    if (user.isEmpty()) {
-      throw new UsernameNotFoundException(
-        "User not found with username: " + username
-      );
-    }
-
-    return loanRepository.findByPerson_User_UserIdAndReturnedAtIsNull(
-      user.get().getUserId()
+  public List<LoanDTO> getActiveLoansByUser() {
+    return loanRepository.findActiveLoanDTOsByUserId(
+      authenticatedUser.getUserId()
     );
   }
   
@@ -120,126 +105,186 @@ public class LoanService {
    * @param currentDate Aktuelles Datum.
    * @return Liste der überfälligen Ausleihen für den aktuellen Benutzer.
    */
-  public List<LoanEntity> getOverdueLoansByUser(LocalDate currentDate) {
-    String username = SecurityContextHolder
-      .getContext()
-      .getAuthentication()
-      .getName();
-    Optional<UserEntity> user = userRepository.findByUsername(username);
-
-    if (user.isEmpty()) {
-      throw new UsernameNotFoundException(
-        "User not found with username: " + username
-      );
+  public List<LoanDTO> getOverdueLoansByUser(LocalDate currentDate) {
+    return loanRepository.findOverdueLoanDTOsByUserId(
+      authenticatedUser.getUserId(),
+      currentDate
+    );
+  }
+
+  /**
+   * Ruft eine Seite der Ausleihhistorie des aktuellen Benutzers ab, die
+   * neuesten Ausleihen zuerst. Die Seite wird per Keyset-Paginierung auf
+   * Ausleihdatum und ID mit einer einzigen Abfrage bestimmt, sodass auch
+   * bei langer Historie keine übersprungenen Zeilen gezählt werden.
+   *
+   * @param filter Filterkriterien.
+   * @param cursor Cursor der vorherigen Seite oder {@code null} für die erste Seite.
+   * @param limit Gewünschte Seitengröße, begrenzt auf {@link #MAX_PAGE_SIZE}.
+   * @param today Stichtag für den Status {@code OVERDUE}.
+   * @return Die Seite mit dem Cursor für die nächste Seite.
+   * @throws LoanException Wenn der Cursor oder der Datumsbereich ungültig ist.
+   */
+  public LoanPageDTO getLoanHistory(
+    LoanHistoryFilterDTO filter,
+    String cursor,
+    int limit,
+    LocalDate today
+  ) {
+    if (
+      filter.getBorrowedFrom() != null &&
+      filter.getBorrowedTo() != null &&
+      filter.getBorrowedFrom().isAfter(filter.getBorrowedTo())
+    ) {
+      throw new LoanException("borrowedFrom must not be after borrowedTo");
     }
+    int pageSize = Math.max(1, Math.min(limit, MAX_PAGE_SIZE));
+    LoanCursor after = cursor == null || cursor.isBlank()
+      ? null
+      : LoanCursor.decode(cursor);
 
-    return loanRepository.findByPerson_User_UserIdAndDueDateBeforeAndReturnedAtIsNull(
-      user.get().getUserId(),
-      currentDate
+    // Ein Eintrag mehr als nötig zeigt an, ob es eine weitere Seite gibt
+    List<LoanDTO> loans = loanRepository.findHistoryPage(
+      authenticatedUser.getUserId(),
+      filter,
+      today,
+      after,
+      pageSize + 1
+    );
+    boolean hasMore = loans.size() > pageSize;
+    List<LoanDTO> items = new ArrayList<>(
+      hasMore ? loans.subList(0, pageSize) : loans
     );
+    String nextCursor = null;
+    if (hasMore) {
+      LoanDTO last = items.get(items.size() - 1);
+      nextCursor = new LoanCursor(last.getBorrowedAt(), last.getLoanId()).encode();
+    }
+    return new LoanPageDTO(items, nextCursor, hasMore);
   }
 
     /**
    * Erstellt neue Ausleihe für ein Medium und eine Person.
+   * Das Medium wird in derselben Transaktion, in der die Ausleihe angelegt
+   * wird, mit einer bedingten Anweisung von {@code AVAILABLE} auf
+   * {@code BORROWED} gesetzt. Bei gleichzeitigen Ausleihen desselben Mediums
+   * gelingt das nur einer; alle anderen werden abgelehnt, ohne eine Ausleihe
+   * anzulegen.
    *
    * @param mediaId ID des Mediums.
    * @param personId ID der Person, die das Medium ausleiht.
-   * @param authentication Authentifizierungsobjekt des aktuellen Benutzers.
    * @param dueDate Fälligkeitsdatum der Ausleihe.
    * @param borrowedAt  Datum und die Uhrzeit, an dem das Medium ausgeliehen wurde.
    * @return Erstellte {@link LoanEntity}-Objekt.
+   * @throws MediaNotFoundException Wenn das Medium nicht existiert oder nicht dem Benutzer gehört.
+   * @throws PersonNotFoundException Wenn die Person nicht existiert oder nicht dem Benutzer gehört.
+   * @throws RuntimeException Wenn das Medium nicht verfügbar ist.
    */
   public LoanEntity createLoan(
     Long mediaId,
     Long personId,
-    Authentication authentication,
     LocalDate dueDate,
     LocalDateTime borrowedAt
   ) {
-    String username = authentication.getName();
-
-    Optional<UserEntity> userOptional = userService.getUserByUsername(username);
-    if (userOptional.isEmpty()) {
-      throw new UserNotFoundException("User not found");
-    }
-    @SuppressWarnings("unused")
-    UserEntity user = userOptional.get();
+    Long userId = authenticatedUser.getUserId();
+    LoanEntity savedLoan = transactionTemplate.execute(status -> {
+      // Medien und Personen anderer Benutzer werden wie fehlende behandelt
+      MediaEntity media = mediaService
+        .getMediaById(mediaId)
+        .filter(m -> userId.equals(m.getUser().getUserId()))
+        .orElseThrow(() ->
+          new MediaNotFoundException("Media not found with ID: " + mediaId)
+        );
+      // Schnelle Ablehnung ohne Schreibzugriff; entscheidend ist die bedingte Anweisung
+      if (media.getMediaState() != MediaState.AVAILABLE) {
+        throw new RuntimeException("Media is not available for loan");
+      }
 
-    Optional<MediaEntity> mediaOptional = mediaService.getMediaById(mediaId);
-    if (mediaOptional.isEmpty()) {
-      throw new MediaNotFoundException("Media not found with ID: " + mediaId);
-    }
-    MediaEntity media = mediaOptional.get();
-    if (
-      media.getMediaState() == MediaState.BORROWED ||
-      media.getMediaState() == MediaState.UNAVAILABLE
-    ) {
-      throw new RuntimeException("Media is not available for loan");
-    }
+      PersonEntity person = personService
+        .getPersonById(personId)
+        .filter(p -> userId.equals(p.getUser().getUserId()))
+        .orElseThrow(() ->
+          new PersonNotFoundException("Person not found with ID: " + personId)
+        );
 
-    Optional<PersonEntity> personOptional = personService.getPersonById(
-      personId
-    );
-    if (personOptional.isEmpty()) {
-      throw new PersonNotFoundException(
-        "Person not found with ID: " + personId
+      LocalDateTime now = LocalDateTime.now();
+      int claimed = mediaRepository.compareAndSetMediaState(
+        mediaId,
+        MediaState.AVAILABLE,
+        MediaState.BORROWED,
+        now
       );
-    }
-    PersonEntity person = personOptional.get();
-    LoanEntity loan = new LoanEntity();
-    loan.setPerson(person);
-    loan.setMedia(media);
-    loan.setBorrowedAt(borrowedAt == null ? LocalDateTime.now() : borrowedAt);
-    loan.setDueDate(dueDate == null ? LocalDate.now().plusMonths(1) : dueDate);
-
-    media.setMediaState(MediaState.BORROWED);
-    mediaRepository.save(media);
-    LoanEntity savedLoan = loanRepository.save(loan);
-    MediaEntity savedMedia = media;
-    savedMedia.setMediaCategories(Collections.emptySet());
-    savedLoan.setMedia(savedMedia);
+      if (claimed == 0) {
+        throw new RuntimeException("Media is not available for loan");
+      }
+      // Die Entität ist nach der Anweisung losgelöst; nur für die Antwort angleichen
+      media.setMediaState(MediaState.BORROWED);
+
+      LoanEntity loan = new LoanEntity();
+      loan.setPerson(person);
+      loan.setUserId(userId);
+      loan.setMedia(media);
+      loan.setBorrowedAt(borrowedAt == null ? now : borrowedAt);
+      loan.setDueDate(dueDate == null ? LocalDate.now().plusMonths(1) : dueDate);
+      return loanRepository.save(loan);
+    });
+    userDataVersions.bump(userId);
     return savedLoan;
   }
 
     /**
    * Markiert Ausleihe als "zurückgegeben" und aktualisiert Medienstatus.
+   * Wie bei der Sammelrückgabe wird die Ausleihe in einer Transaktion
+   * gesperrt und mit bedingten Anweisungen zurückgegeben; das Medium wird nur
+   * freigegeben, solange es noch {@code BORROWED} ist. Eine gleichzeitige
+   * Rückgabe oder eine inzwischen erneute Ausleihe wird so nicht überschrieben.
    * @param loanId ID der Ausleihe, die als zurückgegeben markiert werden soll.
    * @param returnedAt Datum und Uhrzeit der Rückgabe des Mediums.
+   * @throws RuntimeException Wenn die Ausleihe nicht existiert, nicht zu einem Medium des Benutzers gehört oder bereits zurückgegeben ist.
    */
   public void markAsReturned(Long loanId, LocalDateTime returnedAt) {
     if (loanId == null) {
       throw new IllegalArgumentException("Loan ID cannot be null");
     }
-    LoanEntity loan = loanRepository
-      .findById(loanId)
-      .orElseThrow(() ->
-        new RuntimeException("Loan not found with ID: " + loanId)
-      );
-    if (loan.getReturnedAt() != null) {
-      throw new RuntimeException("Loan already returned with ID: " + loanId);
-    }
-    if (returnedAt == null) {
-      returnedAt = LocalDateTime.now();
-    }
-    LocalDateTime borrowedAt = loan.getBorrowedAt();
-    if (borrowedAt == null) {
-      throw new RuntimeException(
-        "Borrowed date is not set for loan with ID: " + loanId
-      );
-    }
+    Long userId = authenticatedUser.getUserId();
+    transactionTemplate.executeWithoutResult(status -> {
+      LoanReturnProjection loan = loanRepository
+        .lockForReturn(List.of(loanId))
+        .stream()
+        .filter(l ->
+          !mediaRepository.findOwnedIds(userId, List.of(l.getMediaId())).isEmpty()
+        )
+        .findFirst()
+        .orElseThrow(() ->
+          new RuntimeException("Loan not found with ID: " + loanId)
+        );
+      if (loan.getReturnedAt() != null) {
+        throw new RuntimeException("Loan already returned with ID: " + loanId);
+      }
+      LocalDateTime now = LocalDateTime.now();
+      LocalDateTime effectiveReturnedAt = returnedAt == null ? now : returnedAt;
+      LocalDateTime borrowedAt = loan.getBorrowedAt();
+      if (borrowedAt == null) {
+        throw new RuntimeException(
+          "Borrowed date is not set for loan with ID: " + loanId
+        );
+      }
 
-    if (returnedAt.isBefore(borrowedAt)) {
-      throw new IllegalArgumentException(
-        "Returned date cannot be before borrowed date for loan with ID: " +
-        loanId
-      );
-    }
+      if (effectiveReturnedAt.isBefore(borrowedAt)) {
+        throw new IllegalArgumentException(
+          "Returned date cannot be before borrowed date for loan with ID: " +
+          loanId
+        );
+      }
 
-    loan.setReturnedAt(returnedAt);
-    loanRepository.save(loan);
-
-    MediaEntity media = loan.getMedia();
-    media.setMediaState(MediaState.AVAILABLE);
-    mediaRepository.save(media);
+      loanRepository.markReturned(List.of(loanId), effectiveReturnedAt, now);
+      mediaRepository.compareAndSetMediaState(
+        loan.getMediaId(),
+        MediaState.BORROWED,
+        MediaState.AVAILABLE,
+        now
+      );
+    });
+    userDataVersions.bump(userId);
   }
 }
@@ -0,0 +1,302 @@
+package com.example.backend.service;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.function.ToIntFunction;
+
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import com.example.backend.cache.UserDataVersions;
+import com.example.backend.dto.MediaBulkRequestDTO;
+import com.example.backend.dto.MediaBulkResultDTO;
+import com.example.backend.exception.MediaException;
+import com.example.backend.model.CategoryEntity;
+import com.example.backend.model.MediaCategory;
+import com.example.backend.repository.CategoryRepository;
+import com.example.backend.repository.LoanRepository;
+import com.example.backend.repository.MediaCategoryRepository;
+import com.example.backend.repository.MediaRepository;
+import com.example.backend.search.MediaSearchService;
+import com.example.backend.security.AuthenticatedUser;
+import com.example.backend.sync.SyncService;
+
+/**
+ * Service für Massenoperationen auf den Medien des angemeldeten Benutzers:
+ * Status und Favoritenstatus setzen, Löschen sowie Kategorien zuordnen und
+ * entfernen.
+ * Statt jedes Medium einzeln zu laden und zu speichern, wird je Block von
+ * höchstens {@link #CHUNK_SIZE} IDs eine einzige UPDATE- bzw. DELETE-Anweisung
+ * ausgeführt, die den Besitzer selbst prüft. Ein Filter wird vorher mit einer
+ * Abfrage zu IDs aufgelöst. Jede Operation läuft in einer Transaktion und
+ * wird ganz oder gar nicht ausgeführt.
+ */
+@Service
+public class MediaBulkService {
+
+  /** Maximale Anzahl von IDs pro Anweisung. */
+  static final int CHUNK_SIZE = 500;
+
+  private final MediaRepository mediaRepository;
+  private final MediaCategoryRepository mediaCategoryRepository;
+  private final LoanRepository loanRepository;
+  private final CategoryRepository categoryRepository;
+  private final AuthenticatedUser authenticatedUser;
+  private final MediaSearchService mediaSearchService;
+  private final MediaIsbnLookupService mediaIsbnLookupService;
+  private final UserDataVersions userDataVersions;
+  private final SyncService syncService;
+  private final TransactionTemplate transactionTemplate;
+
+  /**
+   * Konstruktor.
+   * @param mediaRepository Repository für Medien-Entitäten
+   * @param mediaCategoryRepository Repository für Medien-Kategorie-Verknüpfungen
+   * @param loanRepository Repository für Ausleihen
+   * @param categoryRepository Repository für Kategorie-Entitäten
+   * @param authenticatedUser Angemeldeter Benutzer der aktuellen Anfrage
+   * @param mediaSearchService Volltextindex, der bei Löschungen aktualisiert wird
+   * @param mediaIsbnLookupService ISBN-Suche, deren Cache bei Änderungen verworfen wird
+   * @param userDataVersions Versionszähler, der bei jeder Änderung erhöht wird
+   * @param syncService Löschprotokoll für die Delta-Synchronisation
+   * @param transactionManager Transaktionsmanager für die Transaktion je Operation
+   */
+  public MediaBulkService(
+    MediaRepository mediaRepository,
+    MediaCategoryRepository mediaCategoryRepository,
+    LoanRepository loanRepository,
+    CategoryRepository categoryRepository,
+    AuthenticatedUser authenticatedUser,
+    MediaSearchService mediaSearchService,
+    MediaIsbnLookupService mediaIsbnLookupService,
+    UserDataVersions userDataVersions,
+    SyncService syncService,
+    PlatformTransactionManager transactionManager
+  ) {
+    this.mediaRepository = mediaRepository;
+    this.mediaCategoryRepository = mediaCategoryRepository;
+    this.loanRepository = loanRepository;
+    this.categoryRepository = categoryRepository;
+    this.authenticatedUser = authenticatedUser;
+    this.mediaSearchService = mediaSearchService;
+    this.mediaIsbnLookupService = mediaIsbnLookupService;
+    this.userDataVersions = userDataVersions;
+    this.syncService = syncService;
+    this.transactionTemplate = new TransactionTemplate(transactionManager);
+  }
+
+  /**
+   * Setzt den Status der ausgewählten Medien.
+   * @param request Auswahl der Medien und neuer Status.
+   * @return Anzahl der Medien, deren Status sich geändert hat.
+   * @throws MediaException Wenn die Auswahl ungültig ist oder kein Status angegeben wurde.
+   */
+  public MediaBulkResultDTO updateState(MediaBulkRequestDTO request) {
+    if (request.getMediaState() == null) {
+      throw new MediaException("mediaState is required");
+    }
+    Long userId = authenticatedUser.getUserId();
+    return inTransaction(userId, request, ids -> {
+      LocalDateTime now = LocalDateTime.now();
+      return sumChunks(ids, chunk ->
+        mediaRepository.updateMediaState(userId, chunk, request.getMediaState(), now)
+      );
+    });
+  }
+
+  /**
+   * Setzt den Favoritenstatus der ausgewählten Medien.
+   * @param request Auswahl der Medien und neuer Favoritenstatus.
+   * @return Anzahl der Medien, deren Favoritenstatus sich geändert hat.
+   * @throws MediaException Wenn die Auswahl ungültig ist oder kein Favoritenstatus angegeben wurde.
+   */
+  public MediaBulkResultDTO updateFavorite(MediaBulkRequestDTO request) {
+    if (request.getIsFavorite() == null) {
+      throw new MediaException("isFavorite is required");
+    }
+    Long userId = authenticatedUser.getUserId();
+    return inTransaction(userId, request, ids -> {
+      LocalDateTime now = LocalDateTime.now();
+      return sumChunks(ids, chunk ->
+        mediaRepository.updateFavorite(userId, chunk, request.getIsFavorite(), now)
+      );
+    });
+  }
+
+  /**
+   * Löscht die ausgewählten Medien samt Kategoriezuordnungen und Ausleihen.
+   * Medien und Ausleihen werden vorher in das Löschprotokoll eingetragen.
+   * @param request Auswahl der Medien.
+   * @return Anzahl der gelöschten Medien und Ausleihen.
+   * @throws MediaException Wenn die Auswahl ungültig ist.
+   */
+  public MediaBulkResultDTO deleteMedia(MediaBulkRequestDTO request) {
+    Long userId = authenticatedUser.getUserId();
+    List<Long> deletedIds = new ArrayList<>();
+    int[] loansDeleted = new int[1];
+    MediaBulkResultDTO result = inTransaction(userId, request, ids ->
+      sumChunks(ids, chunk -> {
+        List<Long> owned = mediaRepository.findOwnedIds(userId, chunk);
+        if (owned.isEmpty()) {
+          return 0;
+        }
+        syncService.recordMediaDeletions(owned);
+        mediaCategoryRepository.deleteByMediaIds(owned);
+        loansDeleted[0] += loanRepository.deleteByMediaIds(owned);
+        deletedIds.addAll(owned);
+        return mediaRepository.deleteOwned(userId, owned);
+      })
+    );
+    for (Long mediaId : deletedIds) {
+      mediaSearchService.removeMedia(userId, mediaId);
+    }
+    result.setLoansDeleted(loansDeleted[0]);
+    return result;
+  }
+
+  /**
+   * Ordnet den ausgewählten Medien eine Kategorie zu. Bereits bestehende
+   * Zuordnungen bleiben unverändert; die neuen werden gebündelt eingefügt.
+   * @param categoryId ID der Kategorie.
+   * @param request Auswahl der Medien.
+   * @return Anzahl der neu zugeordneten Medien.
+   * @throws MediaException Wenn die Auswahl ungültig ist.
+   * @throws RuntimeException Wenn die Kategorie nicht existiert oder nicht dem Benutzer gehört.
+   */
+  public MediaBulkResultDTO assignCategory(
+    Long categoryId,
+    MediaBulkRequestDTO request
+  ) {
+    Long userId = authenticatedUser.getUserId();
+    CategoryEntity category = findOwnedCategory(userId, categoryId);
+    return inTransaction(userId, request, ids -> {
+      LocalDateTime now = LocalDateTime.now();
+      return sumChunks(ids, chunk -> {
+        Set<Long> missing = new LinkedHashSet<>(
+          mediaRepository.findOwnedIds(userId, chunk)
+        );
+        if (missing.isEmpty()) {
+          return 0;
+        }
+        missing.removeAll(
+          mediaCategoryRepository.findMediaIdsWithCategory(categoryId, missing)
+        );
+        if (missing.isEmpty()) {
+          return 0;
+        }
+        List<MediaCategory> links = new ArrayList<>(missing.size());
+        for (Long mediaId : missing) {
+          MediaCategory link = new MediaCategory();
+          link.setMedia(mediaRepository.getReferenceById(mediaId));
+          link.setCategory(category);
+          links.add(link);
+        }
+        mediaCategoryRepository.saveAll(links);
+        mediaRepository.markChanged(missing, now);
+        return missing.size();
+      });
+    });
+  }
+
+  /**
+   * Entfernt eine Kategorie von den ausgewählten Medien.
+   * @param categoryId ID der Kategorie.
+   * @param request Auswahl der Medien.
+   * @return Anzahl der Medien, von denen die Kategorie entfernt wurde.
+   * @throws MediaException Wenn die Auswahl ungültig ist.
+   * @throws RuntimeException Wenn die Kategorie nicht existiert oder nicht dem Benutzer gehört.
+   */
+  public MediaBulkResultDTO removeCategory(
+    Long categoryId,
+    MediaBulkRequestDTO request
+  ) {
+    Long userId = authenticatedUser.getUserId();
+    findOwnedCategory(userId, categoryId);
+    return inTransaction(userId, request, ids -> {
+      LocalDateTime now = LocalDateTime.now();
+      return sumChunks(ids, chunk -> {
+        List<Long> owned = mediaRepository.findOwnedIds(userId, chunk);
+        if (owned.isEmpty()) {
+          return 0;
+        }
+        List<Long> linked = mediaCategoryRepository.findMediaIdsWithCategory(
+          categoryId,
+          owned
+        );
+        if (linked.isEmpty()) {
+          return 0;
+        }
+        mediaCategoryRepository.deleteByCategoryIdAndMediaIds(categoryId, linked);
+        mediaRepository.markChanged(linked, now);
+        return linked.size();
+      });
+    });
+  }
+
+  /**
+   * Löst die Auswahl auf und führt die Operation in einer Transaktion aus.
+   * Caches und Versionszähler werden erst nach dem Commit und nur bei
+   * tatsächlichen Änderungen aktualisiert.
+   */
+  private MediaBulkResultDTO inTransaction(
+    Long userId,
+    MediaBulkRequestDTO request,
+    ToIntFunction<List<Long>> operation
+  ) {
+    Integer affected = transactionTemplate.execute(status -> {
+      List<Long> ids = resolveIds(userId, request);
+      return ids.isEmpty() ? 0 : operation.applyAsInt(ids);
+    });
+    int count = affected == null ? 0 : affected;
+    if (count > 0) {
+      mediaIsbnLookupService.invalidateUser(userId);
+      userDataVersions.bump(userId);
+    }
+    return new MediaBulkResultDTO(count);
+  }
+
+  /**
+   * @return Die angegebenen IDs ohne Duplikate oder die IDs der zum Filter passenden Medien.
+   * @throws MediaException Wenn nicht genau eines von IDs und Filter angegeben ist.
+   */
+  private List<Long> resolveIds(Long userId, MediaBulkRequestDTO request) {
+    boolean hasIds = request.getMediaIds() != null;
+    boolean hasFilter = request.getFilter() != null;
+    if (hasIds == hasFilter) {
+      throw new MediaException("Either mediaIds or filter must be given");
+    }
+    if (hasFilter) {
+      return mediaRepository.findIdsByFilter(userId, request.getFilter());
+    }
+    Set<Long> ids = new LinkedHashSet<>(request.getMediaIds());
+    ids.remove(null);
+    return new ArrayList<>(ids);
+  }
+
+  private CategoryEntity findOwnedCategory(Long userId, Long categoryId) {
+    return categoryRepository
+      .findById(categoryId)
+      .filter(category -> category.getUser().getUserId().equals(userId))
+      .orElseThrow(() ->
+        new RuntimeException("Category not found or not owned by user.")
+      );
+  }
+
+  private static int sumChunks(
+    List<Long> ids,
+    ToIntFunction<List<Long>> statement
+  ) {
+    int total = 0;
+    for (int from = 0; from < ids.size(); from += CHUNK_SIZE) {
+      total +=
+        statement.applyAsInt(
+          ids.subList(from, Math.min(from + CHUNK_SIZE, ids.size()))
+        );
+    }
+    return total;
+  }
+}
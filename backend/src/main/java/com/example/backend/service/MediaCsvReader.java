@@ -0,0 +1,87 @@
+package com.example.backend.service;
+
+import java.io.IOException;
+import java.io.Reader;
+import java.util.ArrayList;
+import java.util.List;
+
+import com.example.backend.exception.MediaException;
+
+/**
+ * Liest CSV-Daten nach RFC 4180 zeilenweise.
+ * Unterstützt Felder in Anführungszeichen mit Kommas, Zeilenumbrüchen und
+ * verdoppelten Anführungszeichen sowie CRLF- und LF-Zeilenenden.
+ */
+class MediaCsvReader {
+
+  private final Reader reader;
+  private int lookahead = -2;
+
+  /**
+   * @param reader Quelle der CSV-Daten; sollte gepuffert sein.
+   */
+  MediaCsvReader(Reader reader) {
+    this.reader = reader;
+  }
+
+  /**
+   * Liest den nächsten Datensatz.
+   * @return Felder des Datensatzes oder {@code null} am Ende der Daten.
+   * @throws IOException Wenn das Lesen fehlschlägt.
+   * @throws MediaException Wenn ein Feld in Anführungszeichen nicht geschlossen wird.
+   */
+  List<String> next() throws IOException {
+    int c = read();
+    if (c == -1) {
+      return null;
+    }
+    List<String> fields = new ArrayList<>();
+    StringBuilder field = new StringBuilder();
+    boolean quoted = false;
+    while (true) {
+      if (quoted) {
+        if (c == -1) {
+          throw new MediaException("Malformed CSV: unterminated quoted field");
+        }
+        if (c == '"') {
+          int following = read();
+          if (following == '"') {
+            field.append('"');
+          } else {
+            quoted = false;
+            c = following;
+            continue;
+          }
+        } else {
+          field.append((char) c);
+        }
+      } else if (c == '"' && field.length() == 0) {
+        quoted = true;
+      } else if (c == ',') {
+        fields.add(field.toString());
+        field.setLength(0);
+      } else if (c == '\r' || c == '\n' || c == -1) {
+        if (c == '\r') {
+          int following = read();
+          if (following != '\n') {
+            lookahead = following;
+          }
+        }
+        fields.add(field.toString());
+        return fields;
+      } else {
+        field.append((char) c);
+      }
+      c = read();
+    }
+  }
+
+  private int read() throws IOException {
+    if (lookahead != -2) {
+      int c = lookahead;
+      lookahead = -2;
+      return c;
+    }
+    return reader.read();
+  }
+}
@@ -0,0 +1,223 @@
+package com.example.backend.service;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.io.UncheckedIOException;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.util.Iterator;
+import java.util.StringJoiner;
+import java.util.stream.Stream;
+
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
+
+import com.example.backend.dto.CategoryDTO;
+import com.example.backend.dto.MediaExportFormat;
+import com.example.backend.dto.MediaExportProjection;
+import com.example.backend.dto.MediaWithCategoriesDTO;
+import com.example.backend.repository.MediaRepository;
+import com.example.backend.security.AuthenticatedUser;
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SequenceWriter;
+import com.fasterxml.jackson.databind.SerializationFeature;
+
+/**
+ * Service für den Export aller Medien des angemeldeten Benutzers.
+ * Die Medien werden direkt aus einem Datenbank-Stream in die HTTP-Antwort
+ * geschrieben. Es liegt immer nur ein Medium im Speicher, unabhängig von der
+ * Größe der Sammlung, und die ersten Bytes werden gesendet, bevor die Abfrage
+ * vollständig gelesen ist.
+ */
+@Service
+public class MediaExportService {
+
+  /** Anzahl der Medien, nach denen die Ausgabe an den Client weitergegeben wird. */
+  static final int FLUSH_INTERVAL = 500;
+
+  private static final String CSV_HEADER =
+    "mediaId,title,producer,type,mediaState,releaseYear,isbn,isFavorite,createdAt,notes,categoryIds,categories";
+
+  private final MediaRepository mediaRepository;
+  private final AuthenticatedUser authenticatedUser;
+  private final ObjectMapper objectMapper;
+  private final TransactionTemplate transactionTemplate;
+
+  /**
+   * Konstruktor.
+   * @param mediaRepository Repository für Medien-Entitäten
+   * @param authenticatedUser Angemeldeter Benutzer der aktuellen Anfrage
+   * @param objectMapper Jackson-Konfiguration der Anwendung
+   * @param transactionManager Transaktionsmanager für die lesende Transaktion des Streams
+   */
+  public MediaExportService(
+    MediaRepository mediaRepository,
+    AuthenticatedUser authenticatedUser,
+    ObjectMapper objectMapper,
+    PlatformTransactionManager transactionManager
+  ) {
+    this.mediaRepository = mediaRepository;
+    this.authenticatedUser = authenticatedUser;
+    this.objectMapper = objectMapper;
+    this.transactionTemplate = new TransactionTemplate(transactionManager);
+    this.transactionTemplate.setReadOnly(true);
+  }
+
+  /**
+   * Erstellt den Export der Medien des angemeldeten Benutzers.
+   * Der Benutzer wird sofort ermittelt; die Abfrage läuft erst, wenn der
+   * zurückgegebene Body geschrieben wird (außerhalb des Request-Threads).
+   *
+   * @param format Ausgabeformat.
+   * @return Body, der die Medien in die Antwort schreibt.
+   */
+  public StreamingResponseBody exportMedia(MediaExportFormat format) {
+    Long userId = authenticatedUser.getUserId();
+    return out ->
+      transactionTemplate.executeWithoutResult(status -> {
+        try (Stream<MediaExportProjection> rows = mediaRepository.streamMediaForExport(userId)) {
+          write(rows.iterator(), format, out);
+        } catch (IOException e) {
+          throw new UncheckedIOException(e);
+        }
+      });
+  }
+
+  /**
+   * Schreibt die Zeilen im angegebenen Format.
+   * Aufeinanderfolgende Zeilen desselben Mediums werden zu einem DTO zusammengefasst.
+   *
+   * @param rows Zeilen sortiert nach Medien-ID.
+   * @param format Ausgabeformat.
+   * @param out Ziel der Ausgabe.
+   * @throws IOException Wenn das Schreiben fehlschlägt, z. B. weil der Client die Verbindung abgebrochen hat.
+   */
+  void write(
+    Iterator<MediaExportProjection> rows,
+    MediaExportFormat format,
+    OutputStream out
+  ) throws IOException {
+    MediaSink sink = format == MediaExportFormat.CSV
+      ? new CsvSink(out)
+      : new JsonLinesSink(out, objectMapper);
+
+    MediaWithCategoriesDTO current = null;
+    int written = 0;
+    while (rows.hasNext()) {
+      MediaExportProjection row = rows.next();
+      if (current == null || !current.getMediaId().equals(row.getMediaId())) {
+        if (current != null) {
+          sink.write(current);
+          if (++written % FLUSH_INTERVAL == 0) {
+            sink.flush();
+          }
+        }
+        current = MediaWithCategoriesDTO.fromProjection(row);
+        current.setNotes(row.getNotes());
+      }
+      if (row.getCategoryId() != null) {
+        current
+          .getCategories()
+          .add(new CategoryDTO(row.getCategoryId(), row.getCategoryName()));
+      }
+    }
+    if (current != null) {
+      sink.write(current);
+    }
+    sink.flush();
+  }
+
+  private interface MediaSink {
+    void write(MediaWithCategoriesDTO media) throws IOException;
+
+    /** Gibt die gepufferte Ausgabe an den Client weiter. */
+    void flush() throws IOException;
+  }
+
+  /** Schreibt ein JSON-Objekt pro Zeile. */
+  private static final class JsonLinesSink implements MediaSink {
+
+    private final SequenceWriter writer;
+
+    JsonLinesSink(OutputStream out, ObjectMapper objectMapper)
+      throws IOException {
+      this.writer =
+        objectMapper
+          .writer()
+          .without(JsonGenerator.Feature.AUTO_CLOSE_TARGET)
+          .without(SerializationFeature.FLUSH_AFTER_WRITE_VALUE)
+          .withRootValueSeparator("\n")
+          .writeValues(out);
+    }
+
+    @Override
+    public void write(MediaWithCategoriesDTO media) throws IOException {
+      writer.write(media);
+    }
+
+    @Override
+    public void flush() throws IOException {
+      writer.flush();
+    }
+  }
+
+  /** Schreibt CSV nach RFC 4180; mehrere Kategorien werden durch {@code ;} getrennt. */
+  private static final class CsvSink implements MediaSink {
+
+    private final Writer writer;
+
+    CsvSink(OutputStream out) throws IOException {
+      this.writer = new OutputStreamWriter(out, StandardCharsets.UTF_8);
+      writer.write(CSV_HEADER);
+      writer.write("\r\n");
+    }
+
+    @Override
+    public void write(MediaWithCategoriesDTO media) throws IOException {
+      StringJoiner categoryIds = new StringJoiner(";");
+      StringJoiner categoryNames = new StringJoiner(";");
+      for (CategoryDTO category : media.getCategories()) {
+        categoryIds.add(String.valueOf(category.getCategoryId()));
+        categoryNames.add(category.getCategoryName());
+      }
+      StringJoiner line = new StringJoiner(",", "", "\r\n");
+      line.add(String.valueOf(media.getMediaId()));
+      line.add(escape(media.getTitle()));
+      line.add(escape(media.getProducer()));
+      line.add(escape(media.getType()));
+      line.add(escape(media.getMediaState()));
+      line.add(media.getReleaseYear() == null ? "" : media.getReleaseYear().toString());
+      line.add(escape(media.getIsbn()));
+      line.add(String.valueOf(Boolean.TRUE.equals(media.getIsFavorite())));
+      line.add(media.getCreatedAt() == null ? "" : media.getCreatedAt().toString());
+      line.add(escape(media.getNotes()));
+      line.add(categoryIds.toString());
+      line.add(escape(categoryNames.toString()));
+      writer.write(line.toString());
+    }
+
+    @Override
+    public void flush() throws IOException {
+      writer.flush();
+    }
+
+    private static String escape(String value) {
+      if (value == null) {
+        return "";
+      }
+      if (
+        value.indexOf(',') < 0 &&
+        value.indexOf('"') < 0 &&
+        value.indexOf('\n') < 0 &&
+        value.indexOf('\r') < 0
+      ) {
+        return value;
+      }
+      return '"' + value.replace("\"", "\"\"") + '"';
+    }
+  }
+}
@@ -0,0 +1,333 @@
+package com.example.backend.service;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeParseException;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+
+import org.springframework.dao.DataAccessException;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import com.example.backend.cache.UserDataVersions;
+import com.example.backend.dto.CategoryDTO;
+import com.example.backend.dto.MediaCreationDTO;
+import com.example.backend.dto.MediaImportErrorDTO;
+import com.example.backend.dto.MediaImportResultDTO;
+import com.example.backend.exception.MediaException;
+import com.example.backend.model.MediaCategory;
+import com.example.backend.model.MediaEntity;
+import com.example.backend.model.MediaState;
+import com.example.backend.model.MediaType;
+import com.example.backend.model.UserEntity;
+import com.example.backend.repository.CategoryRepository;
+import com.example.backend.repository.MediaRepository;
+import com.example.backend.search.MediaSearchService;
+import com.example.backend.security.AuthenticatedUser;
+
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceException;
+
+/**
+ * Service für den Massenimport von Medien aus JSON oder CSV.
+ * Die Kategorien des Benutzers werden einmal pro Import geladen und geprüft.
+ * Gültige Einträge werden blockweise in je einer Transaktion gespeichert;
+ * Medien und Kategoriezuordnungen werden dabei per JDBC-Batch eingefügt.
+ * Ungültige Einträge werden übersprungen und mit ihrer Nummer gemeldet.
+ */
+@Service
+public class MediaImportService {
+
+  /** Anzahl der Medien pro Transaktion. */
+  static final int CHUNK_SIZE = 500;
+
+  private final MediaRepository mediaRepository;
+  private final CategoryRepository categoryRepository;
+  private final UserService userService;
+  private final AuthenticatedUser authenticatedUser;
+  private final EntityManager entityManager;
+  private final TransactionTemplate transactionTemplate;
+  private final MediaSearchService mediaSearchService;
+  private final MediaIsbnLookupService mediaIsbnLookupService;
+  private final UserDataVersions userDataVersions;
+
+  /**
+   * Konstruktor.
+   * @param mediaRepository Repository für Medien-Entitäten
+   * @param categoryRepository Repository für Kategorie-Entitäten
+   * @param userService Service für Benutzer-bezogene Operationen
+   * @param authenticatedUser Angemeldeter Benutzer der aktuellen Anfrage
+   * @param entityManager EntityManager zum Leeren des Persistenzkontexts nach jedem Block
+   * @param transactionManager Transaktionsmanager für die Transaktion pro Block
+   * @param mediaSearchService Volltextindex, der nach dem Import verworfen wird
+   * @param mediaIsbnLookupService ISBN-Suche, deren Cache nach dem Import verworfen wird
+   * @param userDataVersions Versionszähler, der nach dem Import erhöht wird
+   */
+  public MediaImportService(
+    MediaRepository mediaRepository,
+    CategoryRepository categoryRepository,
+    UserService userService,
+    AuthenticatedUser authenticatedUser,
+    EntityManager entityManager,
+    PlatformTransactionManager transactionManager,
+    MediaSearchService mediaSearchService,
+    MediaIsbnLookupService mediaIsbnLookupService,
+    UserDataVersions userDataVersions
+  ) {
+    this.mediaRepository = mediaRepository;
+    this.categoryRepository = categoryRepository;
+    this.userService = userService;
+    this.authenticatedUser = authenticatedUser;
+    this.entityManager = entityManager;
+    this.transactionTemplate = new TransactionTemplate(transactionManager);
+    this.mediaSearchService = mediaSearchService;
+    this.mediaIsbnLookupService = mediaIsbnLookupService;
+    this.userDataVersions = userDataVersions;
+  }
+
+  /**
+   * Importiert eine Liste von Medien für den angemeldeten Benutzer.
+   * @param media Zu importierende Medien.
+   * @return Anzahl der gespeicherten Medien und Fehler je Eintrag.
+   */
+  public MediaImportResultDTO importMedia(List<MediaCreationDTO> media) {
+    List<ImportRow> rows = new ArrayList<>(media.size());
+    for (int i = 0; i < media.size(); i++) {
+      rows.add(new ImportRow(i + 1, media.get(i), null));
+    }
+    return importRows(rows);
+  }
+
+  /**
+   * Importiert Medien aus CSV-Daten für den angemeldeten Benutzer.
+   * Die erste Zeile enthält die Spaltennamen (wie beim CSV-Export); unbekannte
+   * Spalten werden ignoriert. Kategorien werden in der Spalte {@code categoryIds}
+   * als durch {@code ;} getrennte IDs angegeben.
+   * @param csv CSV-Daten in UTF-8.
+   * @return Anzahl der gespeicherten Medien und Fehler je Zeile.
+   * @throws IOException Wenn die Daten nicht gelesen werden können.
+   * @throws MediaException Wenn die CSV-Daten fehlerhaft sind; es wird nichts importiert.
+   */
+  public MediaImportResultDTO importCsv(InputStream csv) throws IOException {
+    MediaCsvReader reader = new MediaCsvReader(
+      new BufferedReader(new InputStreamReader(csv, StandardCharsets.UTF_8))
+    );
+    List<String> header = reader.next();
+    if (header == null) {
+      return new MediaImportResultDTO();
+    }
+    Map<String, Integer> columns = new HashMap<>();
+    for (int i = 0; i < header.size(); i++) {
+      columns.put(header.get(i).trim().toLowerCase(Locale.ROOT), i);
+    }
+
+    List<ImportRow> rows = new ArrayList<>();
+    List<String> fields;
+    int rowNumber = 0;
+    while ((fields = reader.next()) != null) {
+      rowNumber++;
+      if (fields.size() == 1 && fields.get(0).isBlank()) {
+        continue;
+      }
+      try {
+        rows.add(new ImportRow(rowNumber, fromCsv(columns, fields), null));
+      } catch (IllegalArgumentException | DateTimeParseException e) {
+        rows.add(new ImportRow(rowNumber, null, e.getMessage()));
+      }
+    }
+    return importRows(rows);
+  }
+
+  private MediaImportResultDTO importRows(List<ImportRow> rows) {
+    Long userId = authenticatedUser.getUserId();
+    Set<Long> ownedCategoryIds = new HashSet<>();
+    for (CategoryDTO category : categoryRepository.findCategoryDTOsByUserId(
+      userId
+    )) {
+      ownedCategoryIds.add(category.getCategoryId());
+    }
+
+    MediaImportResultDTO result = new MediaImportResultDTO();
+    List<ImportRow> chunk = new ArrayList<>(CHUNK_SIZE);
+    for (ImportRow row : rows) {
+      String error = row.error() != null
+        ? row.error()
+        : validate(row.media(), ownedCategoryIds);
+      if (error != null) {
+        result.getErrors().add(new MediaImportErrorDTO(row.row(), error));
+        continue;
+      }
+      chunk.add(row);
+      if (chunk.size() == CHUNK_SIZE) {
+        saveChunk(userId, chunk, result);
+        chunk.clear();
+      }
+    }
+    if (!chunk.isEmpty()) {
+      saveChunk(userId, chunk, result);
+    }
+    if (result.getImported() > 0) {
+      mediaSearchService.invalidate(userId);
+      mediaIsbnLookupService.invalidateUser(userId);
+      userDataVersions.bump(userId);
+    }
+    return result;
+  }
+
+  private void saveChunk(
+    Long userId,
+    List<ImportRow> chunk,
+    MediaImportResultDTO result
+  ) {
+    try {
+      transactionTemplate.executeWithoutResult(status -> {
+        UserEntity user = userService.getUserReference(userId);
+        List<MediaEntity> entities = new ArrayList<>(chunk.size());
+        for (ImportRow row : chunk) {
+          entities.add(toEntity(row.media(), user));
+        }
+        mediaRepository.saveAll(entities);
+        entityManager.flush();
+        entityManager.clear();
+      });
+      result.setImported(result.getImported() + chunk.size());
+    } catch (DataAccessException | PersistenceException e) {
+      for (ImportRow row : chunk) {
+        result
+          .getErrors()
+          .add(
+            new MediaImportErrorDTO(
+              row.row(),
+              "Batch could not be saved: " + e.getMessage()
+            )
+          );
+      }
+    }
+  }
+
+  private MediaEntity toEntity(MediaCreationDTO media, UserEntity user) {
+    MediaEntity entity = new MediaEntity();
+    entity.setUser(user);
+    entity.setProducer(media.getProducer());
+    entity.setTitle(media.getTitle());
+    entity.setMediaState(MediaState.valueOf(media.getMediaState()));
+    entity.setType(MediaType.valueOf(media.getType()));
+    entity.setReleaseYear(media.getReleaseYear());
+    entity.setNotes(media.getNotes());
+    entity.setIsbn(media.getIsbn());
+    entity.setIsFavorite(Boolean.TRUE.equals(media.getIsFavorite()));
+    entity.setCreatedAt(
+      media.getCreatedAt() != null ? media.getCreatedAt() : LocalDateTime.now()
+    );
+    if (media.getCategories() != null) {
+      for (Long categoryId : new HashSet<>(media.getCategories())) {
+        MediaCategory mediaCategory = new MediaCategory();
+        mediaCategory.setMedia(entity);
+        mediaCategory.setCategory(categoryRepository.getReferenceById(categoryId));
+        entity.getMediaCategories().add(mediaCategory);
+      }
+    }
+    return entity;
+  }
+
+  private static String validate(
+    MediaCreationDTO media,
+    Set<Long> ownedCategoryIds
+  ) {
+    if (media == null) {
+      return "Entry is empty";
+    }
+    if (media.getTitle() == null || media.getTitle().isBlank()) {
+      return "Title is required";
+    }
+    if (!isEnumValue(MediaState.class, media.getMediaState())) {
+      return "Invalid media state: " + media.getMediaState();
+    }
+    if (!isEnumValue(MediaType.class, media.getType())) {
+      return "Invalid media type: " + media.getType();
+    }
+    if (media.getCategories() != null) {
+      for (Long categoryId : media.getCategories()) {
+        if (!ownedCategoryIds.contains(categoryId)) {
+          return "Category not found or not owned by user: " + categoryId;
+        }
+      }
+    }
+    return null;
+  }
+
+  private static <E extends Enum<E>> boolean isEnumValue(
+    Class<E> type,
+    String value
+  ) {
+    if (value == null) {
+      return false;
+    }
+    try {
+      Enum.valueOf(type, value);
+      return true;
+    } catch (IllegalArgumentException e) {
+      return false;
+    }
+  }
+
+  private static MediaCreationDTO fromCsv(
+    Map<String, Integer> columns,
+    List<String> fields
+  ) {
+    MediaCreationDTO media = new MediaCreationDTO();
+    media.setTitle(field(columns, fields, "title"));
+    media.setProducer(field(columns, fields, "producer"));
+    media.setType(field(columns, fields, "type"));
+    media.setMediaState(field(columns, fields, "mediastate"));
+    media.setIsbn(field(columns, fields, "isbn"));
+    media.setNotes(field(columns, fields, "notes"));
+
+    String releaseYear = field(columns, fields, "releaseyear");
+    if (releaseYear != null) {
+      media.setReleaseYear(Integer.valueOf(releaseYear));
+    }
+    media.setIsFavorite(
+      Boolean.parseBoolean(field(columns, fields, "isfavorite"))
+    );
+    String createdAt = field(columns, fields, "createdat");
+    if (createdAt != null) {
+      media.setCreatedAt(LocalDateTime.parse(createdAt));
+    }
+    String categoryIds = field(columns, fields, "categoryids");
+    if (categoryIds != null) {
+      for (String categoryId : categoryIds.split(";")) {
+        if (!categoryId.isBlank()) {
+          media.getCategories().add(Long.valueOf(categoryId.trim()));
+        }
+      }
+    }
+    return media;
+  }
+
+  private static String field(
+    Map<String, Integer> columns,
+    List<String> fields,
+    String name
+  ) {
+    Integer index = columns.get(name);
+    if (index == null || index >= fields.size()) {
+      return null;
+    }
+    String value = fields.get(index);
+    return value.isEmpty() ? null : value;
+  }
+
+  private record ImportRow(int row, MediaCreationDTO media, String error) {}
+}
@@ -0,0 +1,138 @@
+package com.example.backend.service;
+
+import java.util.List;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import com.example.backend.cache.CacheMetrics;
+import com.example.backend.cache.ExpiringCache;
+import com.example.backend.dto.MediaWithCategoriesDTO;
+import com.example.backend.exception.MediaException;
+import com.example.backend.model.Isbn;
+import com.example.backend.repository.MediaRepository;
+import com.example.backend.security.AuthenticatedUser;
+
+import io.micrometer.core.instrument.MeterRegistry;
+
+/**
+ * Service für die Suche von Medien anhand ihrer ISBN, z. B. beim Scannen eines
+ * Barcodes an der Ausleihtheke.
+ * Die gescannte ISBN wird normalisiert und über den Index
+ * {@code (user_id, normalized_isbn)} aufgelöst. Die Zuordnung von ISBN zu
+ * Medien-IDs wird pro Benutzer zwischengespeichert; die Medien selbst werden
+ * immer über den Primärschlüssel frisch geladen, damit z. B. der Ausleihstatus
+ * stets aktuell ist.
+ * Laden und Verwerfen einer Zuordnung laufen pro Benutzer unter einer
+ * gemeinsamen Sperre. Wird eine Änderung festgeschrieben, während die
+ * Zuordnung noch aus dem alten Stand geladen wird, verwirft sie den Eintrag
+ * erst danach; ein veralteter Eintrag bleibt so nicht im Cache.
+ */
+@Service
+public class MediaIsbnLookupService {
+
+  /** Anzahl der Sperren, auf die die Benutzer verteilt werden. */
+  private static final int LOCK_STRIPES = 64;
+
+  private final MediaRepository mediaRepository;
+  private final MediaWithCategoriesLoader mediaWithCategoriesLoader;
+  private final AuthenticatedUser authenticatedUser;
+  private final ExpiringCache<IsbnKey, List<Long>> mediaIdsByIsbn;
+  private final Object[] locks = new Object[LOCK_STRIPES];
+
+  /**
+   * Konstruktor.
+   * @param mediaRepository Repository für Medien-Entitäten
+   * @param mediaWithCategoriesLoader Lädt Medien zusammen mit ihren Kategorien
+   * @param authenticatedUser Angemeldeter Benutzer der aktuellen Anfrage
+   * @param meterRegistry Registry für die Cache-Metriken
+   * @param maxSize Maximale Anzahl zwischengespeicherter ISBNs
+   * @param ttlMillis Lebensdauer eines Eintrags in Millisekunden
+   */
+  public MediaIsbnLookupService(
+    MediaRepository mediaRepository,
+    MediaWithCategoriesLoader mediaWithCategoriesLoader,
+    AuthenticatedUser authenticatedUser,
+    MeterRegistry meterRegistry,
+    @Value("${media.isbn-cache.max-size:10000}") int maxSize,
+    @Value("${media.isbn-cache.ttl-ms:600000}") long ttlMillis
+  ) {
+    this.mediaRepository = mediaRepository;
+    this.mediaWithCategoriesLoader = mediaWithCategoriesLoader;
+    this.authenticatedUser = authenticatedUser;
+    this.mediaIdsByIsbn = new ExpiringCache<>(maxSize, ttlMillis);
+    for (int i = 0; i < LOCK_STRIPES; i++) {
+      locks[i] = new Object();
+    }
+    CacheMetrics.bind(meterRegistry, "media-isbn", mediaIdsByIsbn);
+  }
+
+  /**
+   * Findet die Medien des angemeldeten Benutzers mit der angegebenen ISBN.
+   * @param isbn ISBN-10 oder ISBN-13 in beliebiger Schreibweise.
+   * @return Die gefundenen Medien mit Kategorien; leer, wenn keines passt.
+   * @throws MediaException Wenn der Wert keine gültige ISBN ist.
+   */
+  public List<MediaWithCategoriesDTO> findByIsbn(String isbn) {
+    String normalized = Isbn.normalize(isbn);
+    if (normalized == null) {
+      throw new MediaException("Invalid ISBN: " + isbn);
+    }
+    Long userId = authenticatedUser.getUserId();
+    return mediaWithCategoriesLoader.loadByIds(
+      mediaIdsFor(new IsbnKey(userId, normalized))
+    );
+  }
+
+  /**
+   * Verwirft die zwischengespeicherte Zuordnung einer ISBN, z. B. nachdem ein
+   * Medium mit dieser ISBN angelegt oder geändert wurde.
+   * @param userId ID des Besitzers.
+   * @param isbn ISBN in beliebiger Schreibweise; ungültige Werte werden ignoriert.
+   */
+  public void invalidate(Long userId, String isbn) {
+    String normalized = Isbn.normalize(isbn);
+    if (normalized != null) {
+      synchronized (lockFor(userId)) {
+        mediaIdsByIsbn.invalidate(new IsbnKey(userId, normalized));
+      }
+    }
+  }
+
+  /**
+   * Verwirft alle zwischengespeicherten Zuordnungen eines Benutzers, z. B. nach einem Import.
+   * @param userId ID des Benutzers.
+   */
+  public void invalidateUser(Long userId) {
+    synchronized (lockFor(userId)) {
+      mediaIdsByIsbn.invalidateIf((key, mediaIds) -> key.userId().equals(userId));
+    }
+  }
+
+  private List<Long> mediaIdsFor(IsbnKey key) {
+    List<Long> mediaIds = mediaIdsByIsbn.get(key);
+    if (mediaIds != null) {
+      return mediaIds;
+    }
+    synchronized (lockFor(key.userId())) {
+      mediaIds = mediaIdsByIsbn.get(key);
+      if (mediaIds == null) {
+        mediaIds =
+          List.copyOf(
+            mediaRepository.findIdsByUserIdAndNormalizedIsbn(
+              key.userId(),
+              key.normalizedIsbn()
+            )
+          );
+        mediaIdsByIsbn.put(key, mediaIds);
+      }
+      return mediaIds;
+    }
+  }
+
+  private Object lockFor(Long userId) {
+    return locks[Math.floorMod(userId.hashCode(), LOCK_STRIPES)];
+  }
+
+  private record IsbnKey(Long userId, String normalizedIsbn) {}
+}
@@ -2,17 +2,30 @@ package com.example.backend.service;
 
 import java.time.LocalDateTime;
 import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
+import java.util.Set;
 
 import org.springframework.beans.factory.annotation.Autowired;
-import org.springframework.security.core.Authentication;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
 
+import com.example.backend.cache.UserDataVersions;
 import com.example.backend.dto.CategoryDTO;
 import com.example.backend.dto.MediaCreationDTO;
+import com.example.backend.dto.MediaCursor;
+import com.example.backend.dto.MediaFacetsDTO;
+import com.example.backend.dto.MediaFilterDTO;
+import com.example.backend.dto.MediaNotesDTO;
+import com.example.backend.dto.MediaPageDTO;
 import com.example.backend.dto.MediaWithCategoriesDTO;
-import com.example.backend.dto.MediaWithCategoriesProjection;
+import com.example.backend.exception.MediaNotFoundException;
 import com.example.backend.model.CategoryEntity;
 import com.example.backend.model.MediaCategory;
 import com.example.backend.model.MediaEntity;
@@ -22,10 +35,16 @@ import com.example.backend.model.UserEntity;
 import com.example.backend.repository.CategoryRepository;
 import com.example.backend.repository.MediaCategoryRepository;
 import com.example.backend.repository.MediaRepository;
+import com.example.backend.search.MediaSearchService;
+import com.example.backend.security.AuthenticatedUser;
+import com.example.backend.sync.SyncService;
 
 @Service
 public class MediaService {
 
+  /** Maximale Anzahl von Medien pro Seite. */
+  public static final int MAX_PAGE_SIZE = 200;
+
   private final MediaRepository mediaRepository;
   private final CategoryRepository categoryRepository;
   private final MediaCategoryRepository mediaCategoryRepository;
@@ -33,50 +52,110 @@ public class MediaService {
   @Autowired
   private final UserService userService;
 
+  private final AuthenticatedUser authenticatedUser;
+  private final MediaWithCategoriesLoader mediaWithCategoriesLoader;
+  private final MediaSearchService mediaSearchService;
+  private final MediaIsbnLookupService mediaIsbnLookupService;
+  private final UserDataVersions userDataVersions;
+  private final SyncService syncService;
+  private final TransactionTemplate transactionTemplate;
+
   /**
    * Konstruktor, um Abhängigkeiten des MediaService zu initialisieren.
    * @param mediaRepository Repository für Medien-Entitäten
    * @param userService Service für Benutzer-bezogene Operationen
    * @param categoryRepository Repository für Kategorie-Entitäten
    * @param mediaCategoryRepository Repository für Medien-Kategorie-Verknüpfungen
+   * @param authenticatedUser Angemeldeter Benutzer der aktuellen Anfrage
+   * @param mediaWithCategoriesLoader Lädt Medien zusammen mit ihren Kategorien
+   * @param mediaSearchService Volltextindex, der bei Änderungen aktualisiert wird
+   * @param mediaIsbnLookupService ISBN-Suche, deren Cache bei Änderungen verworfen wird
+   * @param userDataVersions Versionszähler, der bei jeder Änderung erhöht wird
+   * @param syncService Löschprotokoll für die Delta-Synchronisation
+   * @param transactionManager Transaktionsmanager für das Löschen samt Protokolleintrag
    */
   public MediaService(
     MediaRepository mediaRepository,
     UserService userService,
     CategoryRepository categoryRepository,
-    MediaCategoryRepository mediaCategoryRepository
+    MediaCategoryRepository mediaCategoryRepository,
+    AuthenticatedUser authenticatedUser,
+    MediaWithCategoriesLoader mediaWithCategoriesLoader,
+    MediaSearchService mediaSearchService,
+    MediaIsbnLookupService mediaIsbnLookupService,
+    UserDataVersions userDataVersions,
+    SyncService syncService,
+    PlatformTransactionManager transactionManager
   ) {
     this.userService = userService;
     this.mediaRepository = mediaRepository;
     this.categoryRepository = categoryRepository;
     this.mediaCategoryRepository = mediaCategoryRepository;
+    this.authenticatedUser = authenticatedUser;
+    this.mediaWithCategoriesLoader = mediaWithCategoriesLoader;
+    this.mediaSearchService = mediaSearchService;
+    this.mediaIsbnLookupService = mediaIsbnLookupService;
+    this.userDataVersions = userDataVersions;
+    this.syncService = syncService;
+    this.transactionTemplate = new TransactionTemplate(transactionManager);
   }
 
   /**
-   * Ruft Medien eines Benutzers anhand des Benutzernamens ab mit der zugehörigen Kategorien.
-   * @param username Benutzername des Benutzers, dessen Medien abgerufen werden sollen.
+   * Ruft Medien des angemeldeten Benutzers mit der zugehörigen Kategorien ab.
    * @return Liste von MediaWithCategoriesDTO, die Medien mit den zugehörigen Kategorien darstellen.
    */
-  public List<MediaWithCategoriesDTO> getAllMediaByUsernameWithCategories(
-    String username
-  ) {
-    UserEntity user = userService
-      .getUserByUsername(username)
-      .orElseThrow(() -> new RuntimeException("User not found"));
-
-    Long userId = user.getUserId();
+  public List<MediaWithCategoriesDTO> getAllMediaWithCategories() {
+    return mediaWithCategoriesLoader.loadByUserId(authenticatedUser.getUserId());
+  }
 
-    // Using 'categoryPairs' projection to aggregate categories
-    List<MediaWithCategoriesProjection> rawResults = mediaRepository.findMediaWithCategoriesByUserId(
-      userId
+  /**
+   * Ruft eine Seite der Medien des angemeldeten Benutzers mit den zugehörigen Kategorien ab.
+   * Die Seite wird per Keyset-Paginierung bestimmt: Zuerst werden nur die IDs der
+   * passenden Medien in Sortierreihenfolge ermittelt, danach werden die Daten
+   * und Kategorien gezielt für diese IDs geladen.
+   *
+   * @param filter Filter- und Sortierkriterien.
+   * @param cursor Cursor der vorherigen Seite oder {@code null} für die erste Seite.
+   * @param limit Gewünschte Seitengröße, begrenzt auf {@link #MAX_PAGE_SIZE}.
+   * @return Die Seite mit dem Cursor für die nächste Seite.
+   * @throws com.example.backend.exception.MediaException Wenn der Cursor ungültig ist.
+   */
+  public MediaPageDTO getMediaPage(
+    MediaFilterDTO filter,
+    String cursor,
+    int limit
+  ) {
+    Long userId = authenticatedUser.getUserId();
+    int pageSize = Math.max(1, Math.min(limit, MAX_PAGE_SIZE));
+    MediaCursor after = cursor == null || cursor.isBlank()
+      ? null
+      : MediaCursor.decode(cursor, filter.getSort());
+
+    // Ein Eintrag mehr als nötig zeigt an, ob es eine weitere Seite gibt
+    List<MediaCursor> keys = mediaRepository.findPageKeys(
+      userId,
+      filter,
+      after,
+      pageSize + 1
     );
+    boolean hasMore = keys.size() > pageSize;
+    if (hasMore) {
+      keys = keys.subList(0, pageSize);
+    }
+    if (keys.isEmpty()) {
+      return new MediaPageDTO(new ArrayList<>(), null, false);
+    }
 
-    List<MediaWithCategoriesDTO> dtos = new ArrayList<>();
-    for (MediaWithCategoriesProjection row : rawResults) {
-      dtos.add(MediaWithCategoriesDTO.fromProjection(row));
+    List<Long> mediaIds = new ArrayList<>(keys.size());
+    for (MediaCursor key : keys) {
+      mediaIds.add(key.mediaId());
     }
+    List<MediaWithCategoriesDTO> items = mediaWithCategoriesLoader.loadByIds(
+      mediaIds
+    );
 
-    return dtos;
+    String nextCursor = hasMore ? keys.get(keys.size() - 1).encode() : null;
+    return new MediaPageDTO(items, nextCursor, hasMore);
   }
 
   /**
@@ -125,29 +204,20 @@ public class MediaService {
    * Setzt Medium als Favorit für den aktuellen Benutzer.
    * @param mediaId ID des Mediums, das als Favorit markiert werden soll.
    * @param modifyMedia Medium, das die zu ändernde Favoriten-Eigenschaft enthält.
-   * @param authentication  Authentifizierungsinformationen des aktuellen Benutzers.
    * @return DTO des aktualisierten Mediums mit den zugehörigen Kategorien.
    */
   public MediaWithCategoriesDTO addToFavorite(
     Long mediaId,
-    MediaEntity modifyMedia,
-    Authentication authentication
+    MediaEntity modifyMedia
   ) {
-    String username = authentication.getName();
-    Optional<UserEntity> userOptional = userService.getUserByUsername(username);
-
-    if (userOptional.isEmpty()) {
-      throw new RuntimeException("User not found");
-    }
-
-    UserEntity user = userOptional.get();
+    Long userId = authenticatedUser.getUserId();
 
     MediaEntity currentMedia = mediaRepository
       .findById(mediaId)
       .orElseThrow(() -> new RuntimeException("Media not found"));
 
     // Überprüfen, ob das Medium dem aktuellen Benutzer gehört (optional)
-    if (!currentMedia.getUser().getUserId().equals(user.getUserId())) {
+    if (!currentMedia.getUser().getUserId().equals(userId)) {
       throw new RuntimeException(
         "You don't have permission to modify this media."
       );
@@ -157,18 +227,20 @@ public class MediaService {
     currentMedia.setIsFavorite(modifyMedia.getIsFavorite());
 
     currentMedia = mediaRepository.save(currentMedia);
+    userDataVersions.bump(userId);
 
     // Bauen des MediaWithCategoriesDTO aus dem 'currentMedia'
     MediaWithCategoriesDTO dto = new MediaWithCategoriesDTO();
     dto.setMediaId(currentMedia.getMediaId());
-    dto.setUserId(user.getUserId());
+    dto.setUserId(userId);
     dto.setProducer(currentMedia.getProducer());
     dto.setTitle(currentMedia.getTitle());
     dto.setMediaState(currentMedia.getMediaState().name());
     dto.setType(currentMedia.getType().name());
     dto.setReleaseYear(currentMedia.getReleaseYear());
-    dto.setNotes(currentMedia.getNotes());
+    dto.setNotesPreview(MediaWithCategoriesDTO.previewOf(currentMedia.getNotes()));
     dto.setIsbn(currentMedia.getIsbn());
+    dto.setCoverKey(currentMedia.getCoverKey());
     dto.setIsFavorite(currentMedia.getIsFavorite());
     dto.setCreatedAt(currentMedia.getCreatedAt());
 
@@ -190,6 +262,30 @@ public class MediaService {
     return dto;
   }
 
+  /**
+   * Liest die vollständigen Notizen eines Mediums des angemeldeten Benutzers.
+   * @param mediaId ID des Mediums.
+   * @return Die Notizen als {@link MediaNotesDTO}.
+   * @throws MediaNotFoundException Wenn das Medium nicht existiert oder einem anderen Benutzer gehört.
+   */
+  public MediaNotesDTO getMediaNotes(Long mediaId) {
+    return mediaRepository
+      .findNotesByIdAndUserId(mediaId, authenticatedUser.getUserId())
+      .orElseThrow(() ->
+        new MediaNotFoundException("Media not found with ID: " + mediaId)
+      );
+  }
+
+  /**
+   * Zählt die Medien des angemeldeten Benutzers, die dem Filter entsprechen,
+   * je Status, Typ, Favoritenstatus, Jahrzehnt und Kategorie.
+   * @param filter Filterkriterien; die Sortierung wird ignoriert.
+   * @return Die Facettenzählungen.
+   */
+  public MediaFacetsDTO getMediaFacets(MediaFilterDTO filter) {
+    return mediaRepository.countFacets(authenticatedUser.getUserId(), filter);
+  }
+
     /**
    * Ruft Medien eines bestimmten Medienstatus ab.
    * @param mediaState Medienstatus, nach dem gefiltert werden soll.
@@ -216,31 +312,16 @@ public class MediaService {
     return mediaRepository.findByIsFavorite(true);
   }
 
-   /**
-   * @param isbn  ISBN des Mediums
-   * @return Optional mit der Medienentität, wenn gefunden, sonst leer.
-   */
-  public Optional<MediaEntity> getMediaByIsbn(String isbn) {
-    return mediaRepository.findByIsbn(isbn);
-  }
-
    /**
    * Erstellt neues Medium für den aktuellen Benutzer.
    * @param media Medientypen und Informationen zur Erstellung eines neuen Mediums.
-   * @param authentication Authentifizierungsinformationen des Benutzers.
    * @return Erstelltes Medium als DTO.
    */
-  public MediaWithCategoriesDTO createMedia(
-    MediaCreationDTO media,
-    Authentication authentication
-  ) {
-    String username = authentication.getName();
-    UserEntity user = userService
-      .getUserByUsername(username)
-      .orElseThrow(() -> new RuntimeException("User not found"));
+  public MediaWithCategoriesDTO createMedia(MediaCreationDTO media) {
+    Long userId = authenticatedUser.getUserId();
 
     MediaEntity mediaEntity = new MediaEntity();
-    mediaEntity.setUser(user);
+    mediaEntity.setUser(userService.getUserReference(userId));
     mediaEntity.setProducer(media.getProducer());
     mediaEntity.setTitle(media.getTitle());
     mediaEntity.setMediaState(MediaState.valueOf(media.getMediaState()));
@@ -256,12 +337,12 @@ public class MediaService {
       media
     );
 
-    // Für jede Kategoriewahl in der Anfrage, finden wir die Kategorie
-    for (Long categoryId : media.getCategories()) {
-      CategoryEntity categoryEntity = categoryRepository
-        .findById(categoryId)
-        .orElseThrow(() -> new RuntimeException("Category not found"));
-
+    // Alle angefragten Kategorien mit einer Abfrage laden und prüfen
+    Map<Long, CategoryEntity> categories = findOwnedCategories(
+      userId,
+      new LinkedHashSet<>(media.getCategories())
+    );
+    for (CategoryEntity categoryEntity : categories.values()) {
       MediaCategory mediaCategory = new MediaCategory();
       mediaCategory.setMedia(mediaEntity);
       mediaCategory.setCategory(categoryEntity);
@@ -275,9 +356,12 @@ public class MediaService {
     }
 
     mediaRepository.save(mediaEntity);
+    mediaSearchService.indexMedia(userId, mediaEntity);
+    mediaIsbnLookupService.invalidate(userId, mediaEntity.getIsbn());
+    userDataVersions.bump(userId);
 
     mediaWithCategoriesDTO.setMediaId(mediaEntity.getMediaId());
-    mediaWithCategoriesDTO.setUserId(user.getUserId());
+    mediaWithCategoriesDTO.setUserId(userId);
 
     return mediaWithCategoriesDTO;
   }
@@ -286,32 +370,25 @@ public class MediaService {
    * Aktualisiert bestehendes Medium mit den neuen Daten.
    *
    * @param mediaId ID des zu aktualisierenden Mediums.
-   * @param currentMedia DTO mit neuen Medieninformationen.
-   * @param authentication Authentifizierungsinformationen des aktuellen Benutzers.
+   * @param currentMedia DTO mit neuen Medieninformationen; {@code null} als Notizen lässt sie unverändert.
    * @return Aktualisierte Medium als Entity.
    * @throws RuntimeException Wenn der Benutzer das Medium nicht besitzt oder das Medium /die Kategorie nicht gefunden wurde.
    */
-  public MediaEntity updateMedia(
-    Long mediaId,
-    MediaCreationDTO currentMedia,
-    Authentication authentication
-  ) {
-    String username = authentication.getName();
-    UserEntity user = userService
-      .getUserByUsername(username)
-      .orElseThrow(() -> new RuntimeException("User not found"));
+  public MediaEntity updateMedia(Long mediaId, MediaCreationDTO currentMedia) {
+    Long userId = authenticatedUser.getUserId();
 
     MediaEntity mediaToUpdate = mediaRepository
       .findById(mediaId)
       .orElseThrow(() -> new RuntimeException("Media not found"));
 
     // Sicherstellen, dass das Medium dem aktuellen Benutzer gehört (optional)
-    if (!mediaToUpdate.getUser().getUserId().equals(user.getUserId())) {
+    if (!mediaToUpdate.getUser().getUserId().equals(userId)) {
       throw new RuntimeException(
         "You don't have permission to update this media."
       );
     }
 
+    String previousIsbn = mediaToUpdate.getIsbn();
     mediaToUpdate.setProducer(currentMedia.getProducer());
     mediaToUpdate.setTitle(currentMedia.getTitle());
     mediaToUpdate.setMediaState(
@@ -319,32 +396,49 @@ public class MediaService {
     );
     mediaToUpdate.setType(MediaType.valueOf(currentMedia.getType()));
     mediaToUpdate.setReleaseYear(currentMedia.getReleaseYear());
-    mediaToUpdate.setNotes(currentMedia.getNotes());
+    // Listen enthalten keine Notizen: fehlen sie in der Anfrage, bleiben sie unverändert
+    if (currentMedia.getNotes() != null) {
+      mediaToUpdate.setNotes(currentMedia.getNotes());
+    }
     mediaToUpdate.setIsbn(currentMedia.getIsbn());
     mediaToUpdate.setIsFavorite(currentMedia.getIsFavorite());
 
-    // Bestehende Kategorien entfernen und aus der Anfrage neu zuordnen
-    mediaToUpdate.getMediaCategories().clear();
-
-    if (currentMedia.getCategories() != null) {
-      for (Long categoryId : currentMedia.getCategories()) {
-        CategoryEntity categoryEntity = categoryRepository
-          .findById(categoryId)
-          .filter(cat -> cat.getUser().getUserId().equals(user.getUserId()))
-          .orElseThrow(() ->
-            new RuntimeException("Category not found or not owned by user.")
-          );
-
-        MediaCategory mc = new MediaCategory();
-        mc.setMedia(mediaToUpdate);
-        mc.setCategory(categoryEntity);
-        mc.setCreatedAt(LocalDateTime.now());
-
-        mediaToUpdate.getMediaCategories().add(mc);
-      }
+    // Nur geänderte Zuordnungen schreiben: entfernte Kategorien werden
+    // gelöscht (orphanRemoval), neue eingefügt, unveränderte bleiben bestehen
+    Set<Long> requested = currentMedia.getCategories() == null
+      ? Set.of()
+      : new LinkedHashSet<>(currentMedia.getCategories());
+    Set<Long> assigned = new HashSet<>();
+    boolean linksRemoved = mediaToUpdate
+      .getMediaCategories()
+      .removeIf(mc -> {
+        Long categoryId = mc.getCategory().getCategoryId();
+        assigned.add(categoryId);
+        return !requested.contains(categoryId);
+      });
+
+    Set<Long> added = new LinkedHashSet<>(requested);
+    added.removeAll(assigned);
+    for (CategoryEntity categoryEntity : findOwnedCategories(userId, added)
+      .values()) {
+      MediaCategory mc = new MediaCategory();
+      mc.setMedia(mediaToUpdate);
+      mc.setCategory(categoryEntity);
+      mc.setCreatedAt(LocalDateTime.now());
+
+      mediaToUpdate.getMediaCategories().add(mc);
+    }
+    if (linksRemoved || !added.isEmpty()) {
+      // Zuordnungen ändern keine Spalte des Mediums selbst
+      mediaToUpdate.markChanged();
     }
 
-    return mediaRepository.save(mediaToUpdate);
+    MediaEntity updated = mediaRepository.save(mediaToUpdate);
+    mediaSearchService.indexMedia(userId, updated);
+    mediaIsbnLookupService.invalidate(userId, previousIsbn);
+    mediaIsbnLookupService.invalidate(userId, updated.getIsbn());
+    userDataVersions.bump(userId);
+    return updated;
   }
 
     /**
@@ -352,17 +446,12 @@ public class MediaService {
    *
    * @param mediaId ID des Mediums.
    * @param categoryId ID der hinzuzufügenden Kategorie.
-   * @param authentication Authentifizierungsinformationen des aktuellen Benutzers.
    * @return Aktualisierte Medium mit hinzugefügten Kategorie.
    * @throws RuntimeException Wenn das Medium oder die Kategorie nicht gefunden wird, 
    * oder der Benutzer nicht berechtigt ist, Sachen zu ändern.
    */
-  public MediaEntity assignCategoryToMedia(
-    Long mediaId,
-    Long categoryId,
-    Authentication authentication
-  ) {
-    String userName = authentication.getName();
+  public MediaEntity assignCategoryToMedia(Long mediaId, Long categoryId) {
+    Long userId = authenticatedUser.getUserId();
 
     MediaEntity media = mediaRepository
       .findById(mediaId)
@@ -371,13 +460,13 @@ public class MediaService {
       );
 
      // Sicherstellen, dass der Benutzer das Medium besitzt
-    if (!media.getUser().getUsername().equals(userName)) {
+    if (!media.getUser().getUserId().equals(userId)) {
       throw new RuntimeException("You don't own this media.");
     }
 
     CategoryEntity category = categoryRepository
       .findById(categoryId)
-      .filter(cat -> cat.getUser().getUsername().equals(userName))
+      .filter(cat -> cat.getUser().getUserId().equals(userId))
       .orElseThrow(() ->
         new IllegalArgumentException("Category not found or not owned by user.")
       );
@@ -397,6 +486,9 @@ public class MediaService {
     mediaCategory.setCreatedAt(LocalDateTime.now());
 
     mediaCategoryRepository.save(mediaCategory);
+    media.markChanged();
+    mediaRepository.save(media);
+    userDataVersions.bump(userId);
 
     // Rückgabe des aktualisierten Mediums
     return mediaRepository
@@ -409,15 +501,10 @@ public class MediaService {
    *
    * @param mediaId ID des Mediums.
    * @param categoryId ID der zu entfernenden Kategorie.
-   * @param authentication Authentifizierungsinformationen des aktuellen Benutzers.
    * @throws IllegalArgumentException Wenn das Medium oder die Kategorie nicht gefunden werden oder der Benutzer nicht berechtigt ist.
    */
-  public void removeCategoryFromMedia(
-    Long mediaId,
-    Long categoryId,
-    Authentication authentication
-  ) {
-    String username = authentication.getName();
+  public void removeCategoryFromMedia(Long mediaId, Long categoryId) {
+    Long userId = authenticatedUser.getUserId();
 
     MediaEntity media = mediaRepository
       .findById(mediaId)
@@ -425,13 +512,13 @@ public class MediaService {
         new IllegalArgumentException("Media not found with ID: " + mediaId)
       );
 
-    if (!media.getUser().getUsername().equals(username)) {
+    if (!media.getUser().getUserId().equals(userId)) {
       throw new RuntimeException("You don't own this media.");
     }
 
     CategoryEntity category = categoryRepository
       .findById(categoryId)
-      .filter(cat -> cat.getUser().getUsername().equals(username))
+      .filter(cat -> cat.getUser().getUserId().equals(userId))
       .orElseThrow(() ->
         new IllegalArgumentException(
           "Category not found or not owned by the user."
@@ -447,14 +534,66 @@ public class MediaService {
       );
 
     mediaCategoryRepository.delete(mediaCategory);
+    media.markChanged();
+    mediaRepository.save(media);
+    userDataVersions.bump(userId);
+  }
+
+  /**
+   * Lädt die angegebenen Kategorien des Benutzers mit einer Abfrage.
+   * @param userId ID des Benutzers, dem die Kategorien gehören müssen.
+   * @param categoryIds IDs der Kategorien ohne Duplikate.
+   * @return Die Kategorien in der Reihenfolge von {@code categoryIds}.
+   * @throws RuntimeException Wenn eine Kategorie nicht existiert oder nicht dem Benutzer gehört.
+   */
+  private Map<Long, CategoryEntity> findOwnedCategories(
+    Long userId,
+    Set<Long> categoryIds
+  ) {
+    Map<Long, CategoryEntity> categories = new LinkedHashMap<>();
+    if (categoryIds.isEmpty()) {
+      return categories;
+    }
+    Map<Long, CategoryEntity> found = new HashMap<>();
+    for (CategoryEntity category : categoryRepository.findByUserUserIdAndCategoryIdIn(
+      userId,
+      categoryIds
+    )) {
+      found.put(category.getCategoryId(), category);
+    }
+    for (Long categoryId : categoryIds) {
+      CategoryEntity category = found.get(categoryId);
+      if (category == null) {
+        throw new RuntimeException("Category not found or not owned by user.");
+      }
+      categories.put(categoryId, category);
+    }
+    return categories;
   }
 
   /**
-   * Löscht Medium anhand seiner ID.
+   * Löscht ein Medium des angemeldeten Benutzers samt Kategoriezuordnungen
+   * und Ausleihen. Medium und Ausleihen werden in derselben Transaktion vor
+   * dem Löschen in das Löschprotokoll eingetragen.
    * @param mediaId ID des zu löschenden Mediums.
-   * @throws RuntimeException Wenn das Medium nicht gefunden wird.
+   * @throws MediaNotFoundException Wenn das Medium nicht existiert oder nicht dem Benutzer gehört.
    */
   public void deleteMedia(Long mediaId) {
-    mediaRepository.deleteById(mediaId);
+    Long userId = authenticatedUser.getUserId();
+    String isbn = transactionTemplate.execute(status -> {
+      MediaEntity media = mediaRepository
+        .findById(mediaId)
+        .filter(m -> m.getUser().getUserId().equals(userId))
+        .orElseThrow(() ->
+          new MediaNotFoundException("Media not found with ID: " + mediaId)
+        );
+      syncService.recordMediaDeletions(List.of(mediaId));
+      // Ausleihen und Kategoriezuordnungen werden per Cascade mitgelöscht
+      mediaRepository.delete(media);
+      return media.getIsbn();
+    });
+    mediaSearchService.removeMedia(userId, mediaId);
+    mediaIsbnLookupService.invalidate(userId, isbn);
+    userDataVersions.bump(userId);
   }
 }
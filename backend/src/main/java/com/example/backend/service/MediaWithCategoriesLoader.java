@@ -0,0 +1,149 @@
+package com.example.backend.service;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import org.springframework.stereotype.Component;
+
+import com.example.backend.dto.CategoryDTO;
+import com.example.backend.dto.MediaCategoryProjection;
+import com.example.backend.dto.MediaProjection;
+import com.example.backend.dto.MediaWithCategoriesDTO;
+import com.example.backend.repository.MediaCategoryRepository;
+import com.example.backend.repository.MediaRepository;
+
+/**
+ * Lädt Medien zusammen mit ihren Kategorien in zwei Phasen.
+ * Zuerst werden die Medien geladen, danach die Kategorien aller gefundenen
+ * Medien mit einer IN-Abfrage (bei sehr vielen Medien in Blöcken von
+ * {@link #BATCH_SIZE} IDs). Die DTOs werden anschließend in einem Durchlauf
+ * zusammengesetzt. Im Gegensatz zu einer Aggregation per {@code group_concat}
+ * gibt es keine Längenbegrenzung und keine Probleme mit Sonderzeichen in
+ * Kategorienamen.
+ */
+@Component
+public class MediaWithCategoriesLoader {
+
+  /** Maximale Anzahl von IDs pro IN-Abfrage. */
+  static final int BATCH_SIZE = 1000;
+
+  private final MediaRepository mediaRepository;
+  private final MediaCategoryRepository mediaCategoryRepository;
+
+  /**
+   * Konstruktor.
+   * @param mediaRepository Repository für Medien-Entitäten
+   * @param mediaCategoryRepository Repository für Medien-Kategorie-Verknüpfungen
+   */
+  public MediaWithCategoriesLoader(
+    MediaRepository mediaRepository,
+    MediaCategoryRepository mediaCategoryRepository
+  ) {
+    this.mediaRepository = mediaRepository;
+    this.mediaCategoryRepository = mediaCategoryRepository;
+  }
+
+  /**
+   * Lädt alle Medien eines Benutzers mit ihren Kategorien.
+   * @param userId ID des Benutzers.
+   * @return Liste von {@link MediaWithCategoriesDTO}.
+   */
+  public List<MediaWithCategoriesDTO> loadByUserId(Long userId) {
+    return withCategories(mediaRepository.findMediaProjectionsByUserId(userId));
+  }
+
+  /**
+   * Lädt die seit einem Zeitpunkt angelegten oder geänderten Medien eines
+   * Benutzers mit ihren Kategorien.
+   * @param userId ID des Benutzers.
+   * @param since Frühester Änderungszeitpunkt (inklusive).
+   * @return Liste von {@link MediaWithCategoriesDTO}.
+   */
+  public List<MediaWithCategoriesDTO> loadChangedSince(
+    Long userId,
+    LocalDateTime since
+  ) {
+    return withCategories(
+      mediaRepository.findMediaProjectionsChangedSince(userId, since)
+    );
+  }
+
+  /**
+   * Lädt Medien anhand ihrer IDs mit ihren Kategorien.
+   * Das Ergebnis hat die Reihenfolge der übergebenen IDs; nicht gefundene IDs werden übersprungen.
+   * @param mediaIds IDs der Medien in der gewünschten Reihenfolge.
+   * @return Liste von {@link MediaWithCategoriesDTO}.
+   */
+  public List<MediaWithCategoriesDTO> loadByIds(List<Long> mediaIds) {
+    if (mediaIds.isEmpty()) {
+      return new ArrayList<>();
+    }
+    Map<Long, MediaWithCategoriesDTO> byId = new HashMap<>();
+    for (MediaWithCategoriesDTO dto : withCategories(
+      mediaRepository.findMediaProjectionsByIds(mediaIds)
+    )) {
+      byId.put(dto.getMediaId(), dto);
+    }
+    List<MediaWithCategoriesDTO> ordered = new ArrayList<>(mediaIds.size());
+    for (Long mediaId : mediaIds) {
+      MediaWithCategoriesDTO dto = byId.get(mediaId);
+      if (dto != null) {
+        ordered.add(dto);
+      }
+    }
+    return ordered;
+  }
+
+  private List<MediaWithCategoriesDTO> withCategories(
+    List<MediaProjection> media
+  ) {
+    if (media.isEmpty()) {
+      return new ArrayList<>();
+    }
+    List<Long> mediaIds = new ArrayList<>(media.size());
+    for (MediaProjection row : media) {
+      mediaIds.add(row.getMediaId());
+    }
+    List<MediaCategoryProjection> categories = new ArrayList<>();
+    for (int from = 0; from < mediaIds.size(); from += BATCH_SIZE) {
+      Collection<Long> batch = mediaIds.subList(
+        from,
+        Math.min(from + BATCH_SIZE, mediaIds.size())
+      );
+      categories.addAll(mediaCategoryRepository.findCategoriesByMediaIds(batch));
+    }
+    return assemble(media, categories);
+  }
+
+  /**
+   * Setzt Medien und Kategoriezeilen in einem Durchlauf zu DTOs zusammen.
+   * @param media Medien in der gewünschten Reihenfolge.
+   * @param categories Kategoriezeilen dieser Medien; Zeilen unbekannter Medien werden ignoriert.
+   * @return Liste von {@link MediaWithCategoriesDTO} in der Reihenfolge von {@code media}.
+   */
+  static List<MediaWithCategoriesDTO> assemble(
+    List<MediaProjection> media,
+    List<MediaCategoryProjection> categories
+  ) {
+    List<MediaWithCategoriesDTO> dtos = new ArrayList<>(media.size());
+    Map<Long, MediaWithCategoriesDTO> byId = new HashMap<>(media.size() * 2);
+    for (MediaProjection row : media) {
+      MediaWithCategoriesDTO dto = MediaWithCategoriesDTO.fromProjection(row);
+      dtos.add(dto);
+      byId.put(dto.getMediaId(), dto);
+    }
+    for (MediaCategoryProjection row : categories) {
+      MediaWithCategoriesDTO dto = byId.get(row.getMediaId());
+      if (dto != null) {
+        dto
+          .getCategories()
+          .add(new CategoryDTO(row.getCategoryId(), row.getCategoryName()));
+      }
+    }
+    return dtos;
+  }
+}
@@ -1,19 +1,24 @@
 package com.example.backend.service;
 
+import java.util.ArrayList;
 import java.util.List;
 import java.util.Optional;
 
 import org.springframework.beans.factory.annotation.Autowired;
-import org.springframework.security.core.Authentication;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
 
+import com.example.backend.cache.UserDataVersions;
 import com.example.backend.model.LoanEntity;
 import com.example.backend.model.MediaEntity;
 import com.example.backend.model.MediaState;
 import com.example.backend.model.PersonEntity;
-import com.example.backend.model.UserEntity;
+import com.example.backend.model.SyncEntityType;
 import com.example.backend.repository.MediaRepository;
 import com.example.backend.repository.PersonRepository;
+import com.example.backend.security.AuthenticatedUser;
+import com.example.backend.sync.SyncService;
 
 /**
  * Service zur Verwaltung von Personen. Enthält Methoden zum Erstellen, 
@@ -28,6 +33,10 @@ public class PersonService {
    * Konstruktor
    * @param personRepository Repository für Verwaltung von Personen.
    * @param userService Service zur Verwaltung von Benutzern.
+   * @param authenticatedUser Angemeldeter Benutzer der aktuellen Anfrage.
+   * @param userDataVersions Versionszähler, der bei jeder Änderung erhöht wird.
+   * @param syncService Löschprotokoll für die Delta-Synchronisation.
+   * @param transactionManager Transaktionsmanager für das Löschen samt Protokolleintrag.
    */
   @Autowired
   private final UserService userService;
@@ -35,12 +44,25 @@ public class PersonService {
   @Autowired
   private MediaRepository mediaRepository;
 
+  private final AuthenticatedUser authenticatedUser;
+  private final UserDataVersions userDataVersions;
+  private final SyncService syncService;
+  private final TransactionTemplate transactionTemplate;
+
   public PersonService(
     PersonRepository personRepository,
-    UserService userService
+    UserService userService,
+    AuthenticatedUser authenticatedUser,
+    UserDataVersions userDataVersions,
+    SyncService syncService,
+    PlatformTransactionManager transactionManager
   ) {
     this.userService = userService;
     this.personRepository = personRepository;
+    this.authenticatedUser = authenticatedUser;
+    this.userDataVersions = userDataVersions;
+    this.syncService = syncService;
+    this.transactionTemplate = new TransactionTemplate(transactionManager);
   }
 
    /**
@@ -62,39 +84,24 @@ public class PersonService {
   }
 
     /**
-   * Holt alle Personen, die einem Benutzer mit dem angegebenen Benutzernamen zugeordnet sind.
-   * @param username Benutzername des Benutzers
+   * Holt alle Personen, die dem angemeldeten Benutzer zugeordnet sind.
    * @return Liste der Personen, die diesem Benutzer zugeordnet sind.
-   * @throws RuntimeException Wenn der Benutzer nicht gefunden wird.
    */
-  public List<PersonEntity> getPersonsByUsername(String username) {
-    Optional<UserEntity> userOptional = userService.getUserByUsername(username);
-    if (userOptional.isEmpty()) {
-      throw new RuntimeException("User not found");
-    }
-    UserEntity user = userOptional.get();
-    return personRepository.findByUserUserId(user.getUserId());
+  public List<PersonEntity> getPersonsOfCurrentUser() {
+    return personRepository.findByUserUserId(authenticatedUser.getUserId());
   }
 
     /**
    * Erstellt neue Person und weist sie dem aktuell authentifizierten Benutzer zu.
    * @param person Zu erstellende Person.
-   * @param authentication Authentifizierungsinformationen des Benutzers.
    * @return Erstellte Person
-   * @throws RuntimeException Wenn der Benutzer nicht gefunden wird.
    */
-  public PersonEntity createPerson(
-    PersonEntity person,
-    Authentication authentication
-  ) {
-    String username = authentication.getName();
-    Optional<UserEntity> userOptional = userService.getUserByUsername(username);
-    if (userOptional.isEmpty()) {
-      throw new RuntimeException("User not found");
-    }
-    UserEntity user = userOptional.get();
-    person.setUser(user);
-    return personRepository.save(person);
+  public PersonEntity createPerson(PersonEntity person) {
+    Long userId = authenticatedUser.getUserId();
+    person.setUser(userService.getUserReference(userId));
+    PersonEntity saved = personRepository.save(person);
+    userDataVersions.bump(userId);
+    return saved;
   }
   
 
@@ -102,36 +109,30 @@ public class PersonService {
    * Aktualisiert Daten einer bestehenden Person.
    * @param personId ID der zu aktualisierenden Person.
    * @param currentPerson Neuen Daten der Person.
-   * @param authentication Authentifizierungsinformationen des Benutzers.
    * @return Aktualisierte Person.
-   * @throws RuntimeException Wenn der Benutzer oder die Person nicht gefunden wird.
+   * @throws RuntimeException Wenn die Person nicht gefunden wird oder nicht dem Benutzer gehört.
    */
-  public PersonEntity updatePerson(
-    Long personId,
-    PersonEntity currentPerson,
-    Authentication authentication
-  ) {
-    String username = authentication.getName();
-    Optional<UserEntity> userOptional = userService.getUserByUsername(username);
-
-    if (userOptional.isEmpty()) {
-      throw new RuntimeException("User not found");
-    }
-
-    UserEntity user = userOptional.get();
-    currentPerson.setUser(user);
-
+  public PersonEntity updatePerson(Long personId, PersonEntity currentPerson) {
     PersonEntity updatedPerson = personRepository
       .findById(personId)
       .orElseThrow(() -> new RuntimeException("Person not found"));
 
+    if (
+      !updatedPerson.getUser().getUserId().equals(authenticatedUser.getUserId())
+    ) {
+      throw new RuntimeException(
+        "You don't have permission to modify this person."
+      );
+    }
+
     updatedPerson.setFirstName(currentPerson.getFirstName());
     updatedPerson.setLastName(currentPerson.getLastName());
     updatedPerson.setAddress(currentPerson.getAddress());
     updatedPerson.setEmail(currentPerson.getEmail());
     updatedPerson.setPhone(currentPerson.getPhone());
-    updatedPerson.setUser(currentPerson.getUser());
-    return personRepository.save(updatedPerson);
+    PersonEntity saved = personRepository.save(updatedPerson);
+    userDataVersions.bump(authenticatedUser.getUserId());
+    return saved;
   }
 
   /**
@@ -141,22 +142,32 @@ public class PersonService {
    */
   public void deletePerson(Long id) {
     try {
-      Optional<PersonEntity> person = personRepository.findById(id);
-
-      if (person.isEmpty()) {
-        throw new IllegalArgumentException(
-          "Person with ID " + id + " does not exist."
-        );
-      }
-      for (LoanEntity loan : person.get().getLoans()) {
-        MediaEntity media = loan.getMedia();
-        media.setMediaState(MediaState.AVAILABLE);
-        mediaRepository.save(media);
-        System.out.printf(
-          "media id" + media.getMediaId() + "medianem" + media.getTitle() + "\n"
-        );
-      }
-      personRepository.deleteById(id);
+      Long userId = authenticatedUser.getUserId();
+      transactionTemplate.executeWithoutResult(status -> {
+        Optional<PersonEntity> person = personRepository.findById(id);
+
+        if (person.isEmpty()) {
+          throw new IllegalArgumentException(
+            "Person with ID " + id + " does not exist."
+          );
+        }
+        List<Long> loanIds = new ArrayList<>();
+        for (LoanEntity loan : person.get().getLoans()) {
+          loanIds.add(loan.getLoanId());
+          MediaEntity media = loan.getMedia();
+          media.setMediaState(MediaState.AVAILABLE);
+          mediaRepository.save(media);
+          System.out.printf(
+            "media id" + media.getMediaId() + "medianem" + media.getTitle() + "\n"
+          );
+        }
+        // Vor dem Löschen protokollieren: Scheitert der Eintrag, bleibt die Person bestehen
+        syncService.recordDeletions(userId, SyncEntityType.PERSON, List.of(id));
+        syncService.recordDeletions(userId, SyncEntityType.LOAN, loanIds);
+        // Ausleihen werden per Cascade mitgelöscht
+        personRepository.deleteById(id);
+      });
+      userDataVersions.bump(userId);
     } catch (Exception e) {
       throw new RuntimeException(
         "An error occurred while deleting person with ID " + id,
@@ -8,6 +8,7 @@ import org.springframework.stereotype.Service;
 
 import com.example.backend.model.UserEntity;
 import com.example.backend.repository.UserRepository;
+import com.example.backend.security.CustomUserDetailsService;
 
 /**
  * Service zur Verwaltung von Benutzern. Enthält Methoden zum Abrufen, Aktualisieren 
@@ -17,13 +18,19 @@ import com.example.backend.repository.UserRepository;
 public class UserService {
 
   private final UserRepository userRepository;
+  private final CustomUserDetailsService userDetailsService;
 
    /**
    * Konstruktor
    * @param userRepository Repository zur Verwaltung der Benutzer.
+   * @param userDetailsService Service, dessen Benutzer-Cache bei Änderungen geleert wird.
    */
-  public UserService(UserRepository userRepository) {
+  public UserService(
+    UserRepository userRepository,
+    CustomUserDetailsService userDetailsService
+  ) {
     this.userRepository = userRepository;
+    this.userDetailsService = userDetailsService;
   }
 
   /**
@@ -49,6 +56,25 @@ public class UserService {
     return userRepository.findByUsername(username);
   }
 
+  /**
+   * Sucht nach Benutzer anhand der ID.
+   * @param userId ID des gesuchten Benutzers.
+   * @return Option, die den Benutzer enthält, wenn er gefunden wurde, sonst leer.
+   */
+  public Optional<UserEntity> getUserById(Long userId) {
+    return userRepository.findById(userId);
+  }
+
+  /**
+   * Liefert eine Referenz auf den Benutzer, ohne ihn aus der Datenbank zu laden.
+   * Geeignet, um Fremdschlüssel beim Speichern neuer Entitäten zu setzen.
+   * @param userId ID des Benutzers.
+   * @return Referenz (Proxy) auf den Benutzer.
+   */
+  public UserEntity getUserReference(Long userId) {
+    return userRepository.getReferenceById(userId);
+  }
+
    /**
    * Aktualisiert Daten eines bestehenden Benutzers.
    * @param userId ID des zu aktualisierenden Benutzers.
@@ -63,7 +89,9 @@ public class UserService {
     user.setUsername(userDetails.getUsername());
     user.setPassword(userDetails.getPassword());
     user.setEmail(userDetails.getEmail());
-    return userRepository.save(user);
+    UserEntity savedUser = userRepository.save(user);
+    userDetailsService.evictUser(userId);
+    return savedUser;
   }
   
   /**
@@ -72,5 +100,6 @@ public class UserService {
    */
   public void deleteUser(Long userId) {
     userRepository.deleteById(userId);
+    userDetailsService.evictUser(userId);
   }
 }
@@ -0,0 +1,189 @@
+package com.example.backend.sync;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeParseException;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import com.example.backend.dto.SyncChangesDTO;
+import com.example.backend.dto.SyncTombstoneDTO;
+import com.example.backend.model.DeletionLogEntity;
+import com.example.backend.model.SyncEntityType;
+import com.example.backend.repository.CategoryRepository;
+import com.example.backend.repository.DeletionLogRepository;
+import com.example.backend.repository.LoanRepository;
+import com.example.backend.repository.PersonRepository;
+import com.example.backend.security.AuthenticatedUser;
+import com.example.backend.service.MediaWithCategoriesLoader;
+
+/**
+ * Service für die Delta-Synchronisation der Daten des angemeldeten Benutzers.
+ * Liefert alle Medien, Ausleihen, Personen und Kategorien, die seit einem
+ * Synchronisationstoken angelegt oder geändert wurden, sowie die seitdem
+ * gelöschten Entitäten aus dem Löschprotokoll.
+ * Das Token ist der Zeitpunkt, zu dem die vorherige Antwort erstellt wurde.
+ * Weil Änderungen ihren Zeitstempel vor dem Commit erhalten, wird ab dem
+ * Token abzüglich eines Überlappungsfensters gesucht; verspätet sichtbare
+ * Änderungen gehen so nicht verloren, dafür können Einträge doppelt
+ * ausgeliefert werden. Tokens, die älter als die Aufbewahrungsfrist des
+ * Löschprotokolls sind, führen zu einer vollständigen Antwort.
+ */
+@Service
+public class SyncService {
+
+  private final MediaWithCategoriesLoader mediaLoader;
+  private final LoanRepository loanRepository;
+  private final PersonRepository personRepository;
+  private final CategoryRepository categoryRepository;
+  private final DeletionLogRepository deletionLogRepository;
+  private final AuthenticatedUser authenticatedUser;
+  private final Duration overlap;
+  private final Duration retention;
+
+  /**
+   * Konstruktor.
+   * @param mediaLoader Lädt Medien mit ihren Kategorien
+   * @param loanRepository Repository für Ausleihen
+   * @param personRepository Repository für Personen
+   * @param categoryRepository Repository für Kategorien
+   * @param deletionLogRepository Repository für das Löschprotokoll
+   * @param authenticatedUser Angemeldeter Benutzer der aktuellen Anfrage
+   * @param overlapMillis Überlappungsfenster in Millisekunden
+   * @param retentionDays Aufbewahrungsfrist des Löschprotokolls in Tagen
+   */
+  public SyncService(
+    MediaWithCategoriesLoader mediaLoader,
+    LoanRepository loanRepository,
+    PersonRepository personRepository,
+    CategoryRepository categoryRepository,
+    DeletionLogRepository deletionLogRepository,
+    AuthenticatedUser authenticatedUser,
+    @Value("${sync.overlap-ms:5000}") long overlapMillis,
+    @Value("${sync.tombstone-retention-days:30}") long retentionDays
+  ) {
+    this.mediaLoader = mediaLoader;
+    this.loanRepository = loanRepository;
+    this.personRepository = personRepository;
+    this.categoryRepository = categoryRepository;
+    this.deletionLogRepository = deletionLogRepository;
+    this.authenticatedUser = authenticatedUser;
+    this.overlap = Duration.ofMillis(overlapMillis);
+    this.retention = Duration.ofDays(retentionDays);
+  }
+
+  /**
+   * Ermittelt die Änderungen des angemeldeten Benutzers seit einem Token.
+   * @param syncToken Token der vorherigen Antwort; {@code null} für den ersten Abgleich.
+   * @return Die Änderungen und das Token für den nächsten Abgleich.
+   * @throws IllegalArgumentException Wenn das Token ungültig ist.
+   */
+  public SyncChangesDTO getChanges(String syncToken) {
+    LocalDateTime now = LocalDateTime.now();
+    Long userId = authenticatedUser.getUserId();
+    LocalDateTime since = parseToken(syncToken);
+
+    LocalDateTime from = since == null ? null : since.minus(overlap);
+
+    SyncChangesDTO changes = new SyncChangesDTO();
+    changes.setSyncToken(now.toString());
+    // Ohne Token, nach Ablauf der Frist oder bei zurückgestellter Uhr ist
+    // ein Delta nicht verlässlich: vollständigen Stand liefern
+    if (
+      since == null ||
+      from.isBefore(now.minus(retention)) ||
+      since.isAfter(now)
+    ) {
+      changes.setFull(true);
+      changes.setMedia(mediaLoader.loadByUserId(userId));
+      changes.setLoans(loanRepository.findLoanDTOsByUserId(userId));
+      changes.setPersons(personRepository.findPersonDTOsByUserId(userId));
+      changes.setCategories(categoryRepository.findCategoryDTOsByUserId(userId));
+      return changes;
+    }
+
+    changes.setMedia(mediaLoader.loadChangedSince(userId, from));
+    changes.setLoans(
+      loanRepository.findLoanDTOsChangedSince(userId, from)
+    );
+    changes.setPersons(
+      personRepository.findPersonDTOsChangedSince(userId, from)
+    );
+    changes.setCategories(
+      categoryRepository.findCategoryDTOsChangedSince(userId, from)
+    );
+    List<SyncTombstoneDTO> deleted = new ArrayList<>();
+    for (DeletionLogEntity entry : deletionLogRepository.findByUserIdAndDeletedAtGreaterThanEqual(
+      userId,
+      from
+    )) {
+      deleted.add(new SyncTombstoneDTO(entry.getEntityType(), entry.getEntityId()));
+    }
+    changes.setDeleted(deleted);
+    return changes;
+  }
+
+  /**
+   * Trägt gelöschte Entitäten eines Benutzers in das Löschprotokoll ein.
+   * Muss nach dem Löschen aufgerufen werden.
+   * @param userId ID des Benutzers, dem die Entitäten gehörten.
+   * @param type Art der Entitäten.
+   * @param ids IDs der gelöschten Entitäten.
+   */
+  public void recordDeletions(
+    Long userId,
+    SyncEntityType type,
+    Collection<Long> ids
+  ) {
+    if (ids.isEmpty()) {
+      return;
+    }
+    LocalDateTime now = LocalDateTime.now();
+    List<DeletionLogEntity> entries = new ArrayList<>(ids.size());
+    for (Long id : ids) {
+      entries.add(new DeletionLogEntity(userId, type, id, now));
+    }
+    deletionLogRepository.saveAll(entries);
+  }
+
+  /**
+   * Trägt mehrere Medien samt ihrer Ausleihen mit je einer Anweisung in das
+   * Löschprotokoll ein. Die Einträge gehören dem jeweiligen Besitzer.
+   * Muss vor dem Löschen innerhalb derselben Transaktion aufgerufen werden,
+   * weil die Einträge aus den noch vorhandenen Zeilen erzeugt werden.
+   * @param mediaIds IDs der zu löschenden Medien.
+   */
+  public void recordMediaDeletions(Collection<Long> mediaIds) {
+    if (mediaIds.isEmpty()) {
+      return;
+    }
+    LocalDateTime now = LocalDateTime.now();
+    deletionLogRepository.insertLoanDeletionsForMedia(mediaIds, now);
+    deletionLogRepository.insertMediaDeletions(mediaIds, now);
+  }
+
+  /**
+   * Entfernt Einträge des Löschprotokolls nach Ablauf der Aufbewahrungsfrist.
+   * Clients mit älterem Token erhalten danach den vollständigen Stand.
+   */
+  @Scheduled(cron = "${sync.tombstone-purge-cron:0 30 3 * * ?}")
+  public void purgeDeletionLog() {
+    deletionLogRepository.deleteOlderThan(LocalDateTime.now().minus(retention));
+  }
+
+  private static LocalDateTime parseToken(String syncToken) {
+    if (syncToken == null || syncToken.isBlank()) {
+      return null;
+    }
+    try {
+      return LocalDateTime.parse(syncToken);
+    } catch (DateTimeParseException e) {
+      throw new IllegalArgumentException("Invalid sync token: " + syncToken, e);
+    }
+  }
+}
@@ -0,0 +1,84 @@
+package com.example.backend.cache;
+
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+class ExpiringCacheTest {
+
+  private AtomicLong now;
+  private ExpiringCache<String, String> cache;
+
+  @BeforeEach
+  void setUp() {
+    now = new AtomicLong(1_000L);
+    cache = new ExpiringCache<>(3, 500L, now::get);
+  }
+
+  /**
+   * Testet, dass ein gespeicherter Wert bis zu seinem Ablauf geliefert wird
+   * und Treffer sowie Fehlschläge gezählt werden.
+   */
+  @Test
+  void testGet_ReturnsValueUntilExpiry() {
+    cache.put("a", "A", 1_200L);
+
+    assertEquals("A", cache.get("a"));
+    now.set(1_200L);
+    assertNull(cache.get("a"));
+    assertEquals(1, cache.getHits());
+    assertEquals(1, cache.getMisses());
+  }
+
+  /**
+   * Testet, dass der Ablaufzeitpunkt auf die Standard-Lebensdauer begrenzt wird.
+   */
+  @Test
+  void testPut_CapsExpiryAtDefaultTtl() {
+    cache.put("a", "A", 10_000L);
+
+    now.set(1_499L);
+    assertEquals("A", cache.get("a"));
+    now.set(1_500L);
+    assertNull(cache.get("a"));
+  }
+
+  /**
+   * Testet, dass die maximale Größe nie überschritten wird und
+   * abgelaufene Einträge zuerst verdrängt werden.
+   */
+  @Test
+  void testPut_EvictsWhenFull() {
+    cache.put("expired", "X", 1_001L);
+    cache.put("b", "B");
+    cache.put("c", "C");
+    now.set(1_100L);
+    cache.put("d", "D");
+
+    assertEquals(3, cache.size());
+    assertEquals("B", cache.get("b"));
+    assertEquals("D", cache.get("d"));
+
+    cache.put("e", "E");
+    assertTrue(cache.size() <= 3);
+    assertEquals(1, cache.getEvictions());
+  }
+
+  /**
+   * Testet das gezielte Entfernen von Einträgen anhand eines Prädikats.
+   */
+  @Test
+  void testInvalidateIf_RemovesMatchingEntries() {
+    cache.put("a", "keep");
+    cache.put("b", "drop");
+
+    cache.invalidateIf((key, value) -> value.equals("drop"));
+
+    assertEquals("keep", cache.get("a"));
+    assertNull(cache.get("b"));
+  }
+}
@@ -0,0 +1,50 @@
+package com.example.backend.cache;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import org.junit.jupiter.api.Test;
+
+class UserDataVersionsTest {
+
+  private final UserDataVersions versions = new UserDataVersions();
+
+  /**
+   * Testet, dass sich das ETag erst nach einer Änderung des Benutzers ändert.
+   */
+  @Test
+  void testEtag_ChangesOnlyAfterBump() {
+    String before = versions.etag(1L);
+
+    assertEquals(before, versions.etag(1L));
+
+    versions.bump(1L);
+
+    assertNotEquals(before, versions.etag(1L));
+  }
+
+  /**
+   * Testet, dass Änderungen eines Benutzers die ETags anderer Benutzer nicht beeinflussen.
+   */
+  @Test
+  void testBump_IsScopedToUser() {
+    String other = versions.etag(2L);
+
+    versions.bump(1L);
+
+    assertEquals(other, versions.etag(2L));
+    assertEquals(0L, versions.current(2L));
+    assertTrue(versions.current(1L) > 0);
+  }
+
+  /**
+   * Testet, dass zusätzliche Bestandteile an das ETag angehängt werden.
+   */
+  @Test
+  void testEtag_AppendsVariant() {
+    String etag = versions.etag(1L, "2024-05-01");
+
+    assertTrue(etag.startsWith("\"") && etag.endsWith("-0-2024-05-01\""));
+    assertNotEquals(etag, versions.etag(1L, "2024-05-02"));
+  }
+}
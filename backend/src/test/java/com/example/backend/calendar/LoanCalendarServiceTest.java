@@ -0,0 +1,173 @@
+package com.example.backend.calendar;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import static org.mockito.ArgumentMatchers.any;
+import org.mockito.Mock;
+import static org.mockito.Mockito.lenient;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.verifyNoInteractions;
+import static org.mockito.Mockito.when;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import com.example.backend.cache.UserDataVersions;
+import com.example.backend.dto.LoanDTO;
+import com.example.backend.exception.LoanException;
+import com.example.backend.repository.LoanRepository;
+import com.example.backend.security.AuthenticatedUser;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+
+@ExtendWith(MockitoExtension.class)
+class LoanCalendarServiceTest {
+
+  private static final LocalDate MAY_1 = LocalDate.of(2024, 5, 1);
+  private static final LocalDate MAY_31 = LocalDate.of(2024, 5, 31);
+
+  @Mock
+  private LoanRepository loanRepository;
+
+  @Mock
+  private AuthenticatedUser authenticatedUser;
+
+  private UserDataVersions userDataVersions;
+
+  private LoanCalendarService loanCalendarService;
+
+  @BeforeEach
+  void setUp() {
+    lenient().when(authenticatedUser.getUserId()).thenReturn(1L);
+    userDataVersions = new UserDataVersions();
+    loanCalendarService =
+      new LoanCalendarService(
+        loanRepository,
+        authenticatedUser,
+        userDataVersions,
+        new SimpleMeterRegistry(),
+        10,
+        60_000L
+      );
+  }
+
+  /**
+   * Testet, dass die offenen Ausleihen einmal geladen werden und das Blättern
+   * zwischen Monaten ohne weitere Abfrage aus dem Baum beantwortet wird.
+   */
+  @Test
+  void testGetCalendar_BuildsTreeOnceForNavigation() {
+    when(loanRepository.findActiveLoanDTOsByUserId(1L))
+      .thenReturn(
+        List.of(
+          loan(1L, MAY_1.atTime(9, 0), MAY_1.plusDays(10), null),
+          loan(2L, MAY_31.atTime(9, 0), MAY_31.plusDays(14), null)
+        )
+      );
+
+    assertEquals(List.of(1L, 2L), ids(loanCalendarService.getCalendar(MAY_1, MAY_31, false)));
+    assertEquals(
+      List.of(2L),
+      ids(loanCalendarService.getCalendar(MAY_31.plusDays(1), MAY_31.plusDays(30), false))
+    );
+    assertEquals(
+      List.of(),
+      ids(loanCalendarService.getCalendar(MAY_1.minusDays(30), MAY_1.minusDays(1), false))
+    );
+
+    verify(loanRepository, times(1)).findActiveLoanDTOsByUserId(1L);
+    verify(loanRepository, never()).findReturnedLoanDTOsOverlapping(any(), any(), any());
+  }
+
+  /**
+   * Testet, dass der Baum nach einer Änderung der Benutzerdaten neu aufgebaut wird.
+   */
+  @Test
+  void testGetCalendar_RebuildsTreeAfterChange() {
+    when(loanRepository.findActiveLoanDTOsByUserId(1L))
+      .thenReturn(List.of(loan(1L, MAY_1.atTime(9, 0), MAY_1.plusDays(10), null)))
+      .thenReturn(List.of());
+
+    assertEquals(1, loanCalendarService.getCalendar(MAY_1, MAY_31, false).size());
+    userDataVersions.bump(2L);
+    assertEquals(1, loanCalendarService.getCalendar(MAY_1, MAY_31, false).size());
+    userDataVersions.bump(1L);
+    assertEquals(0, loanCalendarService.getCalendar(MAY_1, MAY_31, false).size());
+
+    verify(loanRepository, times(2)).findActiveLoanDTOsByUserId(1L);
+  }
+
+  /**
+   * Testet, dass zurückgegebene Ausleihen über die Datenbank ergänzt und alle
+   * Ausleihen nach Ausleihzeitpunkt sortiert werden.
+   */
+  @Test
+  void testGetCalendar_IncludeReturned_MergesSorted() {
+    when(loanRepository.findActiveLoanDTOsByUserId(1L))
+      .thenReturn(List.of(loan(1L, MAY_1.atTime(12, 0), MAY_1.plusDays(10), null)));
+    when(
+      loanRepository.findReturnedLoanDTOsOverlapping(
+        1L,
+        MAY_1.atStartOfDay(),
+        MAY_31.plusDays(1).atStartOfDay()
+      )
+    )
+      .thenReturn(
+        List.of(
+          loan(5L, MAY_1.atTime(8, 0), MAY_1.plusDays(3), MAY_1.atTime(18, 0)),
+          loan(6L, MAY_1.plusDays(2).atTime(8, 0), MAY_31, MAY_1.plusDays(4).atTime(8, 0))
+        )
+      );
+
+    assertEquals(
+      List.of(5L, 1L, 6L),
+      ids(loanCalendarService.getCalendar(MAY_1, MAY_31, true))
+    );
+  }
+
+  /**
+   * Testet, dass fehlende, umgekehrte und zu lange Fenster ohne
+   * Datenbankzugriff abgelehnt werden.
+   */
+  @Test
+  void testGetCalendar_InvalidWindow_Throws() {
+    assertThrows(LoanException.class, () -> loanCalendarService.getCalendar(null, MAY_31, false));
+    assertThrows(LoanException.class, () -> loanCalendarService.getCalendar(MAY_31, MAY_1, false));
+    assertThrows(
+      LoanException.class,
+      () ->
+        loanCalendarService.getCalendar(
+          MAY_1,
+          MAY_1.plusDays(LoanCalendarService.MAX_WINDOW_DAYS),
+          false
+        )
+    );
+
+    verifyNoInteractions(loanRepository);
+  }
+
+  private static LoanDTO loan(
+    Long loanId,
+    LocalDateTime borrowedAt,
+    LocalDate dueDate,
+    LocalDateTime returnedAt
+  ) {
+    LoanDTO loan = new LoanDTO();
+    loan.setLoanId(loanId);
+    loan.setBorrowedAt(borrowedAt);
+    loan.setDueDate(dueDate);
+    loan.setReturnedAt(returnedAt);
+    return loan;
+  }
+
+  private static List<Long> ids(List<LoanDTO> loans) {
+    return loans.stream().map(LoanDTO::getLoanId).toList();
+  }
+}
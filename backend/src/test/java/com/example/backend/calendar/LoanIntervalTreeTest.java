@@ -0,0 +1,108 @@
+package com.example.backend.calendar;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import org.junit.jupiter.api.Test;
+
+import com.example.backend.dto.LoanDTO;
+
+class LoanIntervalTreeTest {
+
+  private static final LocalDate MAY_1 = LocalDate.of(2024, 5, 1);
+
+  /**
+   * Testet, dass offene Ausleihen bis zur Fälligkeit und zurückgegebene bis
+   * zur Rückgabe reichen und dass die Grenztage des Fensters mitzählen.
+   */
+  @Test
+  void testOverlapping_UsesDueDateOrReturnDateInclusive() {
+    LoanIntervalTree tree = LoanIntervalTree.of(
+      List.of(
+        loan(1L, MAY_1, MAY_1.plusDays(10), null),
+        loan(2L, MAY_1.plusDays(5), MAY_1.plusDays(30), MAY_1.plusDays(7)),
+        loan(3L, MAY_1.plusDays(20), MAY_1.plusDays(25), null),
+        loan(4L, MAY_1.minusDays(40), MAY_1.minusDays(1), null)
+      )
+    );
+
+    assertEquals(List.of(1L, 2L), ids(tree.overlapping(MAY_1.plusDays(7), MAY_1.plusDays(10))));
+    assertEquals(List.of(1L), ids(tree.overlapping(MAY_1.plusDays(8), MAY_1.plusDays(19))));
+    assertEquals(List.of(3L), ids(tree.overlapping(MAY_1.plusDays(25), MAY_1.plusDays(40))));
+    assertEquals(List.of(4L, 1L), ids(tree.overlapping(MAY_1.minusDays(1), MAY_1)));
+    assertTrue(tree.overlapping(MAY_1.plusDays(26), MAY_1.plusDays(60)).isEmpty());
+  }
+
+  /**
+   * Testet, dass ein leerer Baum und Ausleihen ohne Ausleihzeitpunkt keine
+   * Treffer liefern.
+   */
+  @Test
+  void testOverlapping_EmptyAndIncompleteLoans() {
+    assertTrue(LoanIntervalTree.of(List.of()).overlapping(MAY_1, MAY_1).isEmpty());
+
+    LoanDTO withoutDates = new LoanDTO();
+    withoutDates.setLoanId(9L);
+    LoanIntervalTree tree = LoanIntervalTree.of(List.of(withoutDates));
+
+    assertEquals(0, tree.size());
+  }
+
+  /**
+   * Testet den Baum gegen eine lineare Suche über zufällige Ausleihen und Fenster.
+   */
+  @Test
+  void testOverlapping_MatchesLinearScan() {
+    Random random = new Random(42);
+    List<LoanDTO> loans = new ArrayList<>();
+    for (long id = 1; id <= 500; id++) {
+      LocalDate borrowed = MAY_1.plusDays(random.nextInt(365));
+      LocalDate due = borrowed.plusDays(random.nextInt(60));
+      LocalDate returned = random.nextBoolean()
+        ? null
+        : borrowed.plusDays(random.nextInt(90));
+      loans.add(loan(id, borrowed, due, returned));
+    }
+    LoanIntervalTree tree = LoanIntervalTree.of(loans);
+
+    for (int i = 0; i < 200; i++) {
+      LocalDate from = MAY_1.plusDays(random.nextInt(400) - 20);
+      LocalDate to = from.plusDays(random.nextInt(45));
+      List<Long> expected = loans
+        .stream()
+        .filter(loan ->
+          LoanIntervalTree.start(loan) <= to.toEpochDay() &&
+          LoanIntervalTree.end(loan) >= from.toEpochDay()
+        )
+        .map(LoanDTO::getLoanId)
+        .sorted()
+        .toList();
+
+      List<Long> actual = new ArrayList<>(ids(tree.overlapping(from, to)));
+      actual.sort(null);
+      assertEquals(expected, actual, () -> "Window " + from + " - " + to);
+    }
+  }
+
+  private static LoanDTO loan(
+    Long loanId,
+    LocalDate borrowed,
+    LocalDate due,
+    LocalDate returned
+  ) {
+    LoanDTO loan = new LoanDTO();
+    loan.setLoanId(loanId);
+    loan.setBorrowedAt(borrowed.atTime(10, 0));
+    loan.setDueDate(due);
+    loan.setReturnedAt(returned == null ? null : returned.atTime(16, 0));
+    return loan;
+  }
+
+  private static List<Long> ids(List<LoanDTO> loans) {
+    return loans.stream().map(LoanDTO::getLoanId).toList();
+  }
+}
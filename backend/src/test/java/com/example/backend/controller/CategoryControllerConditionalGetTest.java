@@ -0,0 +1,112 @@
+package com.example.backend.controller;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.http.HttpHeaders;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.web.servlet.MockMvc;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.header;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+import com.example.backend.cache.UserDataVersions;
+import com.example.backend.dto.CategoryDTO;
+import com.example.backend.security.AuthenticatedUser;
+import com.example.backend.service.CategoryService;
+
+/**
+ * Prüft bedingte GET-Anfragen auf die Kategorieliste bei eingeschalteter
+ * Unterstützung: Die Liste liefert ein ETag, ein passendes
+ * {@code If-None-Match} wird ohne Laden der Daten mit 304 beantwortet.
+ */
+@SpringBootTest(properties = "http.conditional-get.enabled=true")
+@ActiveProfiles("test")
+@AutoConfigureMockMvc
+class CategoryControllerConditionalGetTest {
+
+  private static final Long USER_ID = 4711L;
+
+  @Autowired
+  private MockMvc mockMvc;
+
+  @Autowired
+  private UserDataVersions userDataVersions;
+
+  @MockBean
+  private CategoryService categoryService;
+
+  @BeforeEach
+  void setUp() {
+    when(categoryService.getCategoryDTOsOfCurrentUser())
+      .thenReturn(List.of(new CategoryDTO(1L, "Cat1")));
+    SecurityContextHolder
+      .getContext()
+      .setAuthentication(
+        new UsernamePasswordAuthenticationToken(
+          new AuthenticatedUser(USER_ID, "etag_user"),
+          null,
+          List.of()
+        )
+      );
+  }
+
+  @AfterEach
+  void tearDown() {
+    SecurityContextHolder.clearContext();
+  }
+
+  /**
+   * Testet, dass die Liste ein ETag setzt und eine Wiederholung mit diesem
+   * ETag mit 304 beantwortet wird, ohne den Service erneut aufzurufen.
+   */
+  @Test
+  void testGetCategories_MatchingEtag_ReturnsNotModified() throws Exception {
+    String etag = mockMvc
+      .perform(get("/api/categories/user/dto"))
+      .andExpect(status().isOk())
+      .andExpect(header().string(HttpHeaders.CACHE_CONTROL, ConditionalGet.CACHE_CONTROL))
+      .andReturn()
+      .getResponse()
+      .getHeader(HttpHeaders.ETAG);
+    assertNotNull(etag);
+
+    mockMvc
+      .perform(get("/api/categories/user/dto").header(HttpHeaders.IF_NONE_MATCH, etag))
+      .andExpect(status().isNotModified());
+
+    verify(categoryService, times(1)).getCategoryDTOsOfCurrentUser();
+  }
+
+  /**
+   * Testet, dass nach einer Änderung der Benutzerdaten das alte ETag nicht
+   * mehr passt und die Liste wieder geliefert wird.
+   */
+  @Test
+  void testGetCategories_AfterChange_ReturnsList() throws Exception {
+    String etag = userDataVersions.etag(USER_ID);
+    userDataVersions.bump(USER_ID);
+
+    String current = mockMvc
+      .perform(get("/api/categories/user/dto").header(HttpHeaders.IF_NONE_MATCH, etag))
+      .andExpect(status().isOk())
+      .andReturn()
+      .getResponse()
+      .getHeader(HttpHeaders.ETAG);
+
+    assertEquals(userDataVersions.etag(USER_ID), current);
+  }
+}
@@ -0,0 +1,68 @@
+package com.example.backend.controller;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.HttpHeaders;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.web.context.request.ServletWebRequest;
+
+import com.example.backend.cache.UserDataVersions;
+import com.example.backend.security.AuthenticatedUser;
+
+class ConditionalGetTest {
+
+  private final UserDataVersions versions = new UserDataVersions();
+  private final AuthenticatedUser user = new AuthenticatedUser(1L, "user");
+
+  /**
+   * Testet, dass ohne Freischaltung weder ETag noch Cache-Control gesetzt
+   * werden und auch ein passendes {@code If-None-Match} nicht zu 304 führt.
+   */
+  @Test
+  void testIsNotModified_Disabled_NeverAnswersNotModified() {
+    ConditionalGet conditionalGet = new ConditionalGet(versions, user, false);
+    MockHttpServletResponse response = new MockHttpServletResponse();
+
+    boolean notModified = conditionalGet.isNotModified(
+      request(versions.etag(1L), response)
+    );
+
+    assertFalse(notModified);
+    assertNull(response.getHeader(HttpHeaders.ETAG));
+    assertNull(response.getHeader(HttpHeaders.CACHE_CONTROL));
+  }
+
+  /**
+   * Testet, dass bei Freischaltung ein passendes {@code If-None-Match} mit
+   * 304 beantwortet wird und nach einer Änderung nicht mehr.
+   */
+  @Test
+  void testIsNotModified_Enabled_ComparesWithCurrentVersion() {
+    ConditionalGet conditionalGet = new ConditionalGet(versions, user, true);
+    String etag = versions.etag(1L);
+    MockHttpServletResponse response = new MockHttpServletResponse();
+
+    assertTrue(conditionalGet.isNotModified(request(etag, response)));
+    assertEquals(304, response.getStatus());
+    assertEquals(ConditionalGet.CACHE_CONTROL, response.getHeader(HttpHeaders.CACHE_CONTROL));
+
+    versions.bump(1L);
+    MockHttpServletResponse changed = new MockHttpServletResponse();
+
+    assertFalse(conditionalGet.isNotModified(request(etag, changed)));
+    assertEquals(versions.etag(1L), changed.getHeader(HttpHeaders.ETAG));
+  }
+
+  private static ServletWebRequest request(
+    String ifNoneMatch,
+    MockHttpServletResponse response
+  ) {
+    MockHttpServletRequest request = new MockHttpServletRequest("GET", "/api/categories/user/dto");
+    request.addHeader(HttpHeaders.IF_NONE_MATCH, ifNoneMatch);
+    return new ServletWebRequest(request, response);
+  }
+}
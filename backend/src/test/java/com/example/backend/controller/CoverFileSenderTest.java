@@ -0,0 +1,154 @@
+package com.example.backend.controller;
+
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.http.HttpHeaders;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+
+import com.example.backend.cover.CoverFile;
+import com.example.backend.cover.CoverImageFormat;
+
+class CoverFileSenderTest {
+
+  private static final String ETAG = "\"abc\"";
+
+  @TempDir
+  Path dir;
+
+  private final CoverFileSender sender = new CoverFileSender();
+
+  private CoverFile file;
+
+  @BeforeEach
+  void setUp() throws Exception {
+    Path path = Files.writeString(dir.resolve("cover.png"), "0123456789");
+    file = new CoverFile(path, CoverImageFormat.PNG, ETAG, true);
+  }
+
+  /**
+   * Testet die vollständige Antwort mit ETag und langlebigen Cache-Headern.
+   */
+  @Test
+  void testSend_FullFile() throws Exception {
+    MockHttpServletResponse response = send(get());
+
+    assertEquals(200, response.getStatus());
+    assertEquals("0123456789", response.getContentAsString());
+    assertEquals("image/png", response.getContentType());
+    assertEquals(ETAG, response.getHeader(HttpHeaders.ETAG));
+    assertEquals(
+      CoverFileSender.CACHE_IMMUTABLE,
+      response.getHeader(HttpHeaders.CACHE_CONTROL)
+    );
+  }
+
+  /**
+   * Testet, dass ein passendes {@code If-None-Match} mit 304 ohne Inhalt beantwortet wird.
+   */
+  @Test
+  void testSend_NotModified() throws Exception {
+    MockHttpServletRequest request = get();
+    request.addHeader(HttpHeaders.IF_NONE_MATCH, ETAG);
+
+    MockHttpServletResponse response = send(request);
+
+    assertEquals(304, response.getStatus());
+    assertEquals(0, response.getContentAsByteArray().length);
+  }
+
+  /**
+   * Testet Byte-Bereiche sowie die Antwort auf nicht erfüllbare Bereiche.
+   */
+  @Test
+  void testSend_Range() throws Exception {
+    MockHttpServletRequest request = get();
+    request.addHeader(HttpHeaders.RANGE, "bytes=2-4");
+    MockHttpServletResponse response = send(request);
+
+    assertEquals(206, response.getStatus());
+    assertEquals("234", response.getContentAsString());
+    assertEquals("bytes 2-4/10", response.getHeader(HttpHeaders.CONTENT_RANGE));
+
+    request = get();
+    request.addHeader(HttpHeaders.RANGE, "bytes=-3");
+    assertEquals("789", send(request).getContentAsString());
+
+    request = get();
+    request.addHeader(HttpHeaders.RANGE, "bytes=20-");
+    response = send(request);
+    assertEquals(416, response.getStatus());
+    assertEquals("bytes */10", response.getHeader(HttpHeaders.CONTENT_RANGE));
+  }
+
+  /**
+   * Testet, dass ein veraltetes {@code If-Range} die ganze Datei liefert.
+   */
+  @Test
+  void testSend_StaleIfRange_ReturnsFullFile() throws Exception {
+    MockHttpServletRequest request = get();
+    request.addHeader(HttpHeaders.RANGE, "bytes=2-4");
+    request.addHeader(HttpHeaders.IF_RANGE, "\"old\"");
+
+    MockHttpServletResponse response = send(request);
+
+    assertEquals(200, response.getStatus());
+    assertEquals("0123456789", response.getContentAsString());
+  }
+
+  /**
+   * Testet, dass bei Sendfile-Unterstützung die Datei an den Connector
+   * übergeben und nicht selbst geschrieben wird.
+   */
+  @Test
+  void testSend_UsesSendfileWhenSupported() throws Exception {
+    MockHttpServletRequest request = get();
+    request.setAttribute(CoverFileSender.SENDFILE_SUPPORT, Boolean.TRUE);
+    request.addHeader(HttpHeaders.RANGE, "bytes=5-");
+
+    MockHttpServletResponse response = send(request);
+
+    assertEquals(0, response.getContentAsByteArray().length);
+    assertEquals(5L, response.getContentLengthLong());
+    assertEquals(
+      file.path().toRealPath().toString(),
+      request.getAttribute(CoverFileSender.SENDFILE_FILENAME)
+    );
+    assertEquals(5L, request.getAttribute(CoverFileSender.SENDFILE_START));
+    assertEquals(10L, request.getAttribute(CoverFileSender.SENDFILE_END));
+  }
+
+  /**
+   * Testet, dass vorläufige Inhalte nicht dauerhaft gecacht werden.
+   */
+  @Test
+  void testSend_NotImmutable_Revalidates() throws Exception {
+    file = new CoverFile(file.path(), file.format(), ETAG, false);
+
+    MockHttpServletResponse response = send(get());
+
+    assertEquals(
+      CoverFileSender.CACHE_REVALIDATE,
+      response.getHeader(HttpHeaders.CACHE_CONTROL)
+    );
+    assertNull(response.getHeader(HttpHeaders.CONTENT_RANGE));
+  }
+
+  private static MockHttpServletRequest get() {
+    return new MockHttpServletRequest("GET", "/api/covers/abc.png");
+  }
+
+  private MockHttpServletResponse send(MockHttpServletRequest request)
+    throws Exception {
+    MockHttpServletResponse response = new MockHttpServletResponse();
+    sender.send(request, response, file);
+    return response;
+  }
+}
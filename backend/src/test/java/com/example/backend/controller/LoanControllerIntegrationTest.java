@@ -142,8 +142,9 @@ public class LoanControllerIntegrationTest {
    * @throws Exception Wenn ein Fehler bei der HTTP-Anfrage auftritt.
    */
   @Test
-  @WithMockUser(username = "testuser", roles = { "USER" })
   void testCreateLoan_MediaNotFound() throws Exception {
+    authenticateAs(createUser());
+
     mockMvc
       .perform(
         post("/api/loans/{mediaId}/{personId}", 9999L, 1L)
@@ -159,11 +160,19 @@ public class LoanControllerIntegrationTest {
    * @throws Exception Wenn ein Fehler bei der HTTP-Anfrage auftritt.
    */
   @Test
-  @WithMockUser(username = "testuser", roles = { "USER" })
   void testCreateLoan_PersonNotFound() throws Exception {
+    UserEntity testUser = createUser();
+    MediaEntity testMedia = new MediaEntity();
+    testMedia.setTitle("Test Media");
+    testMedia.setMediaState(MediaState.AVAILABLE);
+    testMedia.setType(com.example.backend.model.MediaType.BOOK);
+    testMedia.setUser(testUser);
+    testMedia = mediaRepository.save(testMedia);
+    authenticateAs(testUser);
+
     mockMvc
       .perform(
-        post("/api/loans/{mediaId}/{personId}", 1L, 9999L)
+        post("/api/loans/{mediaId}/{personId}", testMedia.getMediaId(), 9999L)
           .contentType(MediaType.APPLICATION_JSON)
       )
       .andExpect(status().isNotFound());
@@ -299,7 +308,6 @@ public class LoanControllerIntegrationTest {
  * Testet das Markieren einer Ausleihe als "zurückgegeben".
  */
   @Test
-  @WithMockUser(username = "testuser", roles = { "USER" })
   void testMarkAsReturned() throws Exception {
     String returnedAt = LocalDateTime
       .now()
@@ -337,6 +345,7 @@ public class LoanControllerIntegrationTest {
     testLoan.setDueDate(LocalDate.now().plusDays(10));
     testLoan.setReturnedAt(null);
     testLoan = loanRepository.save(testLoan);
+    authenticateAs(testUser);
 
     mockMvc
       .perform(
@@ -483,4 +492,25 @@ public class LoanControllerIntegrationTest {
   void testGetLoansByUser_Unauthorized() throws Exception {
     mockMvc.perform(get("/api/loans/all")).andExpect(status().isUnauthorized());
   }
+
+  private UserEntity createUser() {
+    String uniqueUsername = "testuser" + System.nanoTime();
+    UserEntity testUser = new UserEntity();
+    testUser.setUsername(uniqueUsername);
+    testUser.setPassword("password");
+    testUser.setEmail(uniqueUsername + "@example.com");
+    return userRepository.save(testUser);
+  }
+
+  private void authenticateAs(UserEntity user) {
+    SecurityContextHolder
+      .getContext()
+      .setAuthentication(
+        new UsernamePasswordAuthenticationToken(
+          user.getUsername(),
+          null,
+          List.of(new SimpleGrantedAuthority("ROLE_USER"))
+        )
+      );
+  }
 }
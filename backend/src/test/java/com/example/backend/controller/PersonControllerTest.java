@@ -7,6 +7,7 @@ import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.never;
 import static org.mockito.Mockito.times;
 import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
@@ -15,7 +16,6 @@ import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMock
 import org.springframework.boot.test.context.SpringBootTest;
 import org.springframework.boot.test.mock.mockito.MockBean;
 import org.springframework.http.MediaType;
-import org.springframework.security.core.Authentication;
 import org.springframework.security.test.context.support.WithMockUser;
 import org.springframework.test.web.servlet.MockMvc;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.delete;
@@ -80,7 +80,7 @@ public class PersonControllerTest {
 
     when(userService.getUserByUsername("testUser"))
       .thenReturn(Optional.of(user));
-    when(personService.createPerson(any(PersonEntity.class), any()))
+    when(personService.createPerson(any(PersonEntity.class)))
       .thenReturn(person);
 
       // Sendet eine POST-Anfrage zur Erstellung einer neuen Person und prüft den Statuscode.
@@ -254,13 +254,7 @@ public class PersonControllerTest {
       null
     );
     when(personRepository.findById(1L)).thenReturn(Optional.of(person));
-    when(
-      personService.updatePerson(
-        eq(1L),
-        any(PersonEntity.class),
-        any(Authentication.class)
-      )
-    )
+    when(personService.updatePerson(eq(1L), any(PersonEntity.class)))
       .thenReturn(updatedPerson);
 
        // Sendet eine PUT-Anfrage zur Aktualisierung der Person und prüft die Rückgabewerte.
@@ -278,8 +272,8 @@ public class PersonControllerTest {
       .andExpect(jsonPath("$.phone").value("987654321"));
 
       // Überprüft, ob die entsprechenden Service-Methoden aufgerufen wurden
-    verify(userService, times(1)).getUserByUsername("testUser");
+    verify(userService, never()).getUserByUsername("testUser");
     verify(personService, times(1))
-      .updatePerson(eq(1L), any(PersonEntity.class), any(Authentication.class));
+      .updatePerson(eq(1L), any(PersonEntity.class));
   }
 }
@@ -0,0 +1,174 @@
+package com.example.backend.cover;
+
+import java.io.ByteArrayInputStream;
+import java.io.InputStream;
+import java.nio.file.Path;
+import java.util.Optional;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyLong;
+import org.mockito.Mock;
+import static org.mockito.Mockito.lenient;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.verifyNoInteractions;
+import static org.mockito.Mockito.when;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import com.example.backend.cache.UserDataVersions;
+import com.example.backend.dto.MediaCoverDTO;
+import com.example.backend.exception.MediaNotFoundException;
+import com.example.backend.model.MediaEntity;
+import com.example.backend.model.UserEntity;
+import com.example.backend.repository.MediaRepository;
+import com.example.backend.security.AuthenticatedUser;
+
+@ExtendWith(MockitoExtension.class)
+class CoverImageServiceTest {
+
+  private static final String KEY = "a".repeat(64) + ".png";
+
+  @Mock
+  private MediaRepository mediaRepository;
+
+  @Mock
+  private CoverImageStore store;
+
+  @Mock
+  private CoverThumbnailGenerator thumbnailGenerator;
+
+  @Mock
+  private AuthenticatedUser authenticatedUser;
+
+  @Mock
+  private UserDataVersions userDataVersions;
+
+  private CoverImageService coverImageService;
+
+  @BeforeEach
+  void setUp() {
+    lenient().when(authenticatedUser.getUserId()).thenReturn(1L);
+    lenient().when(thumbnailGenerator.getWidth()).thenReturn(240);
+    coverImageService =
+      new CoverImageService(
+        mediaRepository,
+        store,
+        thumbnailGenerator,
+        authenticatedUser,
+        userDataVersions,
+        1024L
+      );
+  }
+
+  /**
+   * Testet, dass ein hochgeladenes Bild am Medium gespeichert und die Vorschau angestoßen wird.
+   */
+  @Test
+  void testUploadCover_Success() throws Exception {
+    MediaEntity media = media(1L);
+    InputStream content = new ByteArrayInputStream(new byte[] { 1 });
+    when(mediaRepository.findById(10L)).thenReturn(Optional.of(media));
+    when(store.store(content, 1024L)).thenReturn(KEY);
+
+    MediaCoverDTO result = coverImageService.uploadCover(10L, content);
+
+    assertEquals(KEY, result.getCoverKey());
+    assertEquals(KEY, media.getCoverKey());
+    verify(mediaRepository).save(media);
+    verify(userDataVersions).bump(1L);
+    verify(thumbnailGenerator).request(KEY);
+  }
+
+  /**
+   * Testet, dass für fremde Medien nichts gespeichert wird.
+   */
+  @Test
+  void testUploadCover_ForeignMedia_Throws() throws Exception {
+    when(mediaRepository.findById(10L)).thenReturn(Optional.of(media(2L)));
+
+    assertThrows(
+      MediaNotFoundException.class,
+      () -> coverImageService.uploadCover(10L, InputStream.nullInputStream())
+    );
+    verify(store, never()).store(any(), anyLong());
+    verify(mediaRepository, never()).save(any());
+  }
+
+  /**
+   * Testet das Entfernen des Titelbilds.
+   */
+  @Test
+  void testDeleteCover_Success() {
+    MediaEntity media = media(1L);
+    media.setCoverKey(KEY);
+    when(mediaRepository.findById(10L)).thenReturn(Optional.of(media));
+
+    coverImageService.deleteCover(10L);
+
+    assertNull(media.getCoverKey());
+    verify(mediaRepository).save(media);
+    verify(userDataVersions).bump(1L);
+  }
+
+  /**
+   * Testet, dass eine vorhandene Vorschau unveränderlich ausgeliefert wird.
+   */
+  @Test
+  void testGetThumbnail_Existing_IsImmutable() {
+    when(store.findThumbnail(KEY, 240)).thenReturn(Optional.of(Path.of("t.jpg")));
+
+    CoverFile file = coverImageService.getThumbnail(KEY);
+
+    assertTrue(file.immutable());
+    assertEquals(CoverImageFormat.JPEG, file.format());
+    assertEquals("\"" + "a".repeat(64) + "-240\"", file.etag());
+    verify(thumbnailGenerator, never()).request(any());
+    verifyNoInteractions(mediaRepository);
+  }
+
+  /**
+   * Testet, dass ohne Vorschau das Original geliefert und die Vorschau angestoßen wird.
+   */
+  @Test
+  void testGetThumbnail_Missing_FallsBackToOriginal() {
+    when(store.findThumbnail(KEY, 240)).thenReturn(Optional.empty());
+    when(store.findOriginal(KEY)).thenReturn(Optional.of(Path.of("o.png")));
+
+    CoverFile file = coverImageService.getThumbnail(KEY);
+
+    assertFalse(file.immutable());
+    assertEquals(CoverImageFormat.PNG, file.format());
+    assertEquals(Path.of("o.png"), file.path());
+    verify(thumbnailGenerator).request(KEY);
+  }
+
+  /**
+   * Testet, dass unbekannte Bilder mit einer Ausnahme abgewiesen werden.
+   */
+  @Test
+  void testGetOriginal_NotFound_Throws() {
+    when(store.findOriginal(KEY)).thenReturn(Optional.empty());
+
+    assertThrows(
+      MediaNotFoundException.class,
+      () -> coverImageService.getOriginal(KEY)
+    );
+  }
+
+  private static MediaEntity media(Long userId) {
+    UserEntity user = new UserEntity();
+    user.setUserId(userId);
+    MediaEntity media = new MediaEntity();
+    media.setMediaId(10L);
+    media.setUser(user);
+    return media;
+  }
+}
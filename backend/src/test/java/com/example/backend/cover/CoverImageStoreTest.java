@@ -0,0 +1,86 @@
+package com.example.backend.cover;
+
+import java.io.ByteArrayInputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.stream.Stream;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import com.example.backend.exception.MediaException;
+
+class CoverImageStoreTest {
+
+  private static final byte[] PNG = {
+    (byte) 0x89, 'P', 'N', 'G', 0x0D, 0x0A, 0x1A, 0x0A, 1, 2, 3,
+  };
+
+  @TempDir
+  Path root;
+
+  private CoverImageStore store;
+
+  @BeforeEach
+  void setUp() {
+    store = new CoverImageStore(root.toString());
+  }
+
+  /**
+   * Testet, dass ein Bild unter dem Hash seines Inhalts gespeichert und
+   * gleicher Inhalt nur einmal abgelegt wird.
+   */
+  @Test
+  void testStore_IsContentAddressedAndDeduplicates() throws Exception {
+    String key = store.store(new ByteArrayInputStream(PNG), 1024);
+    String again = store.store(new ByteArrayInputStream(PNG), 1024);
+
+    assertEquals(key, again);
+    assertTrue(CoverImageStore.isValidKey(key));
+    assertTrue(key.endsWith(".png"));
+    assertArrayEquals(PNG, Files.readAllBytes(store.findOriginal(key).get()));
+    try (Stream<Path> files = Files.walk(root.resolve("originals"))) {
+      assertEquals(1, files.filter(Files::isRegularFile).count());
+    }
+    try (Stream<Path> files = Files.list(root.resolve("tmp"))) {
+      assertEquals(0, files.count());
+    }
+  }
+
+  /**
+   * Testet, dass zu große Bilder und unbekannte Formate abgewiesen werden,
+   * ohne Dateien zu hinterlassen.
+   */
+  @Test
+  void testStore_RejectsTooLargeAndUnknownFormats() throws Exception {
+    assertThrows(
+      MediaException.class,
+      () -> store.store(new ByteArrayInputStream(PNG), 4)
+    );
+    assertThrows(
+      MediaException.class,
+      () -> store.store(new ByteArrayInputStream("<svg/>".getBytes()), 1024)
+    );
+    assertFalse(Files.exists(root.resolve("originals")));
+    try (Stream<Path> files = Files.list(root.resolve("tmp"))) {
+      assertEquals(0, files.count());
+    }
+  }
+
+  /**
+   * Testet, dass ungültige Schlüssel (z. B. Pfadangaben) nicht aufgelöst werden.
+   */
+  @Test
+  void testFindOriginal_InvalidKey_ReturnsEmpty() {
+    assertTrue(store.findOriginal("../../etc/passwd").isEmpty());
+    assertTrue(store.findOriginal("a".repeat(64) + ".svg").isEmpty());
+    assertTrue(store.findOriginal("a".repeat(64) + ".png").isEmpty());
+    assertTrue(store.findThumbnail(null, 240).isEmpty());
+  }
+}
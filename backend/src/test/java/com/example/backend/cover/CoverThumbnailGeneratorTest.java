@@ -0,0 +1,96 @@
+package com.example.backend.cover;
+
+import java.awt.image.BufferedImage;
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.nio.file.Path;
+
+import javax.imageio.ImageIO;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+
+class CoverThumbnailGeneratorTest {
+
+  @TempDir
+  Path root;
+
+  private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+
+  private CoverImageStore store;
+  private CoverThumbnailGenerator generator;
+
+  @BeforeEach
+  void setUp() {
+    store = new CoverImageStore(root.toString());
+    generator = new CoverThumbnailGenerator(store, 100, 1_000_000L, 1, 4, meterRegistry);
+  }
+
+  @AfterEach
+  void tearDown() {
+    generator.destroy();
+  }
+
+  /**
+   * Testet, dass die Vorschau auf die konfigurierte Breite verkleinert und das
+   * Seitenverhältnis beibehalten wird.
+   */
+  @Test
+  void testGenerate_ScalesToWidth() throws Exception {
+    String key = storeImage(800, 400, BufferedImage.TYPE_INT_ARGB, "png");
+
+    assertTrue(generator.generate(key));
+
+    BufferedImage thumbnail = ImageIO.read(
+      store.findThumbnail(key, 100).get().toFile()
+    );
+    assertEquals(100, thumbnail.getWidth());
+    assertEquals(50, thumbnail.getHeight());
+  }
+
+  /**
+   * Testet, dass kleine Bilder nicht vergrößert und zu große Bilder übersprungen werden.
+   */
+  @Test
+  void testGenerate_DoesNotUpscaleAndSkipsHugeImages() throws Exception {
+    String small = storeImage(60, 90, BufferedImage.TYPE_INT_RGB, "jpg");
+    String huge = storeImage(2000, 1000, BufferedImage.TYPE_INT_RGB, "png");
+
+    assertTrue(generator.generate(small));
+    assertEquals(
+      60,
+      ImageIO.read(store.findThumbnail(small, 100).get().toFile()).getWidth()
+    );
+    assertFalse(generator.generate(huge));
+    assertEquals(1.0, meterRegistry.get("cover.thumbnail.failed").counter().count());
+  }
+
+  /**
+   * Testet, dass ein angestoßener Auftrag im Hintergrund die Vorschau erzeugt.
+   */
+  @Test
+  void testRequest_GeneratesAsynchronously() throws Exception {
+    String key = storeImage(300, 300, BufferedImage.TYPE_INT_RGB, "png");
+
+    generator.request(key);
+
+    for (int i = 0; i < 100 && store.findThumbnail(key, 100).isEmpty(); i++) {
+      Thread.sleep(20);
+    }
+    assertTrue(store.findThumbnail(key, 100).isPresent());
+  }
+
+  private String storeImage(int width, int height, int type, String format)
+    throws Exception {
+    ByteArrayOutputStream out = new ByteArrayOutputStream();
+    ImageIO.write(new BufferedImage(width, height, type), format, out);
+    return store.store(new ByteArrayInputStream(out.toByteArray()), 10_000_000L);
+  }
+}
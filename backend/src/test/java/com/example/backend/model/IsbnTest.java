@@ -0,0 +1,45 @@
+package com.example.backend.model;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import org.junit.jupiter.api.Test;
+
+class IsbnTest {
+
+  /**
+   * Testet, dass unterschiedliche Schreibweisen derselben ISBN-13 gleich normalisiert werden.
+   */
+  @Test
+  void testNormalize_Isbn13Notations() {
+    assertEquals("9783608938289", Isbn.normalize("9783608938289"));
+    assertEquals("9783608938289", Isbn.normalize("978-3-608-93828-9"));
+    assertEquals("9783608938289", Isbn.normalize(" ISBN 978 3 608 93828 9 "));
+    assertEquals("9783608938289", Isbn.normalize("ISBN-13: 978-3-608-93828-9"));
+  }
+
+  /**
+   * Testet die Umrechnung einer ISBN-10 in die ISBN-13, auch mit Prüfziffer X.
+   */
+  @Test
+  void testNormalize_Isbn10ToIsbn13() {
+    assertEquals("9783608938289", Isbn.normalize("3-608-93828-1"));
+    assertEquals("9780306406157", Isbn.normalize("0-306-40615-2"));
+    assertEquals("9780804429573", Isbn.normalize("080442957x"));
+    assertEquals("9780804429573", Isbn.normalize("ISBN-10: 0-8044-2957-X"));
+  }
+
+  /**
+   * Testet, dass ungültige Werte abgewiesen werden.
+   */
+  @Test
+  void testNormalize_InvalidValues() {
+    assertNull(Isbn.normalize(null));
+    assertNull(Isbn.normalize(""));
+    assertNull(Isbn.normalize("978-3-608-93828-0"));
+    assertNull(Isbn.normalize("3-608-93828-2"));
+    assertNull(Isbn.normalize("X-608-93828-1"));
+    assertNull(Isbn.normalize("4006381333931"));
+    assertNull(Isbn.normalize("978360893828"));
+    assertNull(Isbn.normalize("978-3-608-9382a-9"));
+  }
+}
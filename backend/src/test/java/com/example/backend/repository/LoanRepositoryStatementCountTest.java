@@ -0,0 +1,204 @@
+package com.example.backend.repository;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.function.Supplier;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+
+import com.example.backend.dto.LoanDTO;
+import com.example.backend.dto.LoanHistoryFilterDTO;
+import com.example.backend.model.LoanEntity;
+import com.example.backend.model.MediaEntity;
+import com.example.backend.model.MediaState;
+import com.example.backend.model.MediaType;
+import com.example.backend.model.PersonEntity;
+import com.example.backend.model.UserEntity;
+
+import jakarta.persistence.EntityManager;
+import jakarta.transaction.Transactional;
+
+/**
+ * Prüft, dass die Abfragen des {@link LoanRepository} unabhängig von der
+ * Anzahl der Zeilen eine feste Anzahl von SQL-Anweisungen ausführen.
+ * Person, Medium und Benutzer werden nach dem Aufruf gelesen; wird eine
+ * Beziehung nicht mitgeladen, fallen zusätzliche Anweisungen pro Zeile an.
+ */
+@SpringBootTest(
+  properties = "spring.jpa.properties.hibernate.session_factory.statement_inspector=com.example.backend.repository.SqlStatementCounter"
+)
+@ActiveProfiles("test")
+@Transactional
+class LoanRepositoryStatementCountTest {
+
+  private static final int USERS = 2;
+  private static final int LOANS_PER_USER = 20;
+
+  @Autowired
+  private LoanRepository loanRepository;
+
+  @Autowired
+  private EntityManager entityManager;
+
+  private UserEntity firstUser;
+
+  private LoanEntity firstLoan;
+
+  @BeforeEach
+  void setUp() {
+    String suffix = String.valueOf(System.nanoTime());
+    for (int u = 0; u < USERS; u++) {
+      UserEntity user = new UserEntity();
+      user.setUsername("count" + u + "_" + suffix);
+      user.setPassword("password");
+      user.setEmail("count" + u + "_" + suffix + "@example.com");
+      entityManager.persist(user);
+      if (u == 0) {
+        firstUser = user;
+      }
+
+      for (int i = 0; i < LOANS_PER_USER; i++) {
+        PersonEntity person = new PersonEntity();
+        person.setFirstName("First" + i);
+        person.setLastName("Last" + i);
+        person.setAddress("Street " + i);
+        person.setEmail("person" + i + "_" + suffix + "@example.com");
+        person.setUser(user);
+        entityManager.persist(person);
+
+        MediaEntity media = new MediaEntity();
+        media.setTitle("Title " + i);
+        media.setType(MediaType.BOOK);
+        media.setMediaState(MediaState.BORROWED);
+        media.setUser(user);
+        entityManager.persist(media);
+
+        LoanEntity loan = new LoanEntity();
+        loan.setPerson(person);
+        loan.setUserId(user.getUserId());
+        loan.setMedia(media);
+        loan.setBorrowedAt(LocalDateTime.now().minusDays(14));
+        loan.setDueDate(LocalDate.now().minusDays(i % 2));
+        entityManager.persist(loan);
+        if (firstLoan == null) {
+          firstLoan = loan;
+        }
+      }
+    }
+    entityManager.flush();
+    entityManager.clear();
+  }
+
+  /**
+   * Testet, dass fällige Ausleihen samt Person, Medium und Benutzern mit
+   * einer einzigen Anweisung geladen werden.
+   */
+  @Test
+  void testFindAllDueToday_SingleStatement() {
+    List<LoanEntity> loans = assertStatements(1, () -> {
+      List<LoanEntity> result = loanRepository.findAllDueToday(LocalDate.now());
+      result.forEach(LoanRepositoryStatementCountTest::touch);
+      return result;
+    });
+
+    assertTrue(loans.size() >= USERS * LOANS_PER_USER);
+  }
+
+  /**
+   * Testet, dass alle Ausleihen samt Person, Medium und Benutzern mit einer
+   * einzigen Anweisung geladen werden.
+   */
+  @Test
+  void testFindAll_SingleStatement() {
+    List<LoanEntity> loans = assertStatements(1, () -> {
+      List<LoanEntity> result = loanRepository.findAll();
+      result.forEach(LoanRepositoryStatementCountTest::touch);
+      return result;
+    });
+
+    assertTrue(loans.size() >= USERS * LOANS_PER_USER);
+  }
+
+  /**
+   * Testet, dass eine einzelne Ausleihe samt Beziehungen mit einer einzigen
+   * Anweisung geladen wird.
+   */
+  @Test
+  void testFindById_SingleStatement() {
+    assertStatements(1, () -> {
+      LoanEntity loan = loanRepository.findById(firstLoan.getLoanId()).orElseThrow();
+      touch(loan);
+      return loan;
+    });
+  }
+
+  /**
+   * Testet, dass die DTO-Abfragen für Ausleihen jeweils genau eine Anweisung
+   * ausführen.
+   */
+  @Test
+  void testLoanDTOQueries_SingleStatement() {
+    Long userId = firstUser.getUserId();
+
+    List<LoanDTO> all = assertStatements(1, () ->
+      loanRepository.findLoanDTOsByUserId(userId)
+    );
+    List<LoanDTO> active = assertStatements(1, () ->
+      loanRepository.findActiveLoanDTOsByUserId(userId)
+    );
+    List<LoanDTO> overdue = assertStatements(1, () ->
+      loanRepository.findOverdueLoanDTOsByUserId(userId, LocalDate.now())
+    );
+    List<LoanDTO> changed = assertStatements(1, () ->
+      loanRepository.findLoanDTOsChangedSince(
+        userId,
+        LocalDateTime.now().minusDays(1)
+      )
+    );
+
+    assertEquals(LOANS_PER_USER, all.size());
+    assertEquals(LOANS_PER_USER, active.size());
+    assertEquals(LOANS_PER_USER / 2, overdue.size());
+    List<LoanDTO> history = assertStatements(1, () ->
+      loanRepository.findHistoryPage(
+        userId,
+        new LoanHistoryFilterDTO(),
+        LocalDate.now(),
+        null,
+        LOANS_PER_USER
+      )
+    );
+
+    assertEquals(LOANS_PER_USER, changed.size());
+    assertEquals(LOANS_PER_USER, history.size());
+  }
+
+  private static <T> T assertStatements(int expected, Supplier<T> action) {
+    Object[] result = new Object[1];
+    List<String> statements = SqlStatementCounter.record(() ->
+      result[0] = action.get()
+    );
+    assertEquals(
+      expected,
+      statements.size(),
+      () -> "Unexpected SQL statements: " + statements
+    );
+    @SuppressWarnings("unchecked")
+    T value = (T) result[0];
+    return value;
+  }
+
+  /** Liest alle Beziehungen, die beim Serialisieren verwendet werden. */
+  private static void touch(LoanEntity loan) {
+    loan.getPerson().getUser().getUsername();
+    loan.getMedia().getUser().getUsername();
+    loan.getMedia().getTitle();
+  }
+}
@@ -0,0 +1,48 @@
+package com.example.backend.repository;
+
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import org.junit.jupiter.api.Test;
+
+import com.example.backend.dto.MediaFacetsDTO;
+import com.example.backend.model.MediaState;
+import com.example.backend.model.MediaType;
+
+class MediaFacetRepositoryImplTest {
+
+  /**
+   * Testet, dass Kombinationen ohne Favoritenstatus als keine Favoriten und
+   * ohne Erscheinungsjahr als unbekanntes Jahr gezählt werden.
+   */
+  @Test
+  void testAddCombination_NullFavoriteAndYear() {
+    MediaFacetsDTO facets = new MediaFacetsDTO();
+
+    MediaFacetRepositoryImpl.addCombination(facets, MediaState.AVAILABLE, MediaType.BOOK, null, null, 3);
+    MediaFacetRepositoryImpl.addCombination(facets, MediaState.AVAILABLE, MediaType.BOOK, false, 2005, 2);
+    MediaFacetRepositoryImpl.addCombination(facets, MediaState.BORROWED, MediaType.CD, true, 2009, 1);
+
+    assertEquals(6, facets.getTotal());
+    assertEquals(Map.of(false, 5L, true, 1L), facets.getIsFavorite());
+    assertEquals(3, facets.getReleaseYearUnknown());
+    assertEquals(Map.of(2000, 3L), facets.getReleaseDecade());
+    assertEquals(5L, facets.getMediaState().get(MediaState.AVAILABLE));
+    assertEquals(1L, facets.getType().get(MediaType.CD));
+  }
+
+  /**
+   * Testet die Zuordnung zu Jahrzehnten an den Grenzen und für Jahre vor Christus.
+   */
+  @Test
+  void testAddCombination_DecadeBoundaries() {
+    MediaFacetsDTO facets = new MediaFacetsDTO();
+
+    MediaFacetRepositoryImpl.addCombination(facets, MediaState.AVAILABLE, MediaType.BOOK, false, 1990, 1);
+    MediaFacetRepositoryImpl.addCombination(facets, MediaState.AVAILABLE, MediaType.BOOK, false, 1999, 1);
+    MediaFacetRepositoryImpl.addCombination(facets, MediaState.AVAILABLE, MediaType.BOOK, false, 2000, 1);
+    MediaFacetRepositoryImpl.addCombination(facets, MediaState.AVAILABLE, MediaType.BOOK, false, -5, 1);
+
+    assertEquals(Map.of(-10, 1L, 1990, 2L, 2000, 1L), facets.getReleaseDecade());
+  }
+}
@@ -0,0 +1,198 @@
+package com.example.backend.repository;
+
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+
+import com.example.backend.dto.CategoryFacetDTO;
+import com.example.backend.dto.MediaFacetsDTO;
+import com.example.backend.dto.MediaFilterDTO;
+import com.example.backend.model.CategoryEntity;
+import com.example.backend.model.MediaCategory;
+import com.example.backend.model.MediaEntity;
+import com.example.backend.model.MediaState;
+import com.example.backend.model.MediaType;
+import com.example.backend.model.UserEntity;
+
+import jakarta.persistence.EntityManager;
+import jakarta.transaction.Transactional;
+
+/**
+ * Prüft die Facettenzählung gegen die Datenbank: Jahrzehnte, Medien ohne
+ * Erscheinungsjahr sowie Kategorien, jeweils auch unter einem Filter. Medien
+ * anderer Benutzer dürfen nicht mitgezählt werden.
+ */
+@SpringBootTest
+@ActiveProfiles("test")
+@Transactional
+class MediaFacetRepositoryTest {
+
+  @Autowired
+  private MediaRepository mediaRepository;
+
+  @Autowired
+  private EntityManager entityManager;
+
+  private UserEntity user;
+  private CategoryEntity alpha;
+  private CategoryEntity beta;
+
+  @BeforeEach
+  void setUp() {
+    user = user("facets");
+    alpha = category(user, "Alpha");
+    beta = category(user, "Beta");
+
+    media(user, MediaType.BOOK, MediaState.AVAILABLE, true, 1985, alpha, beta);
+    media(user, MediaType.FILM, MediaState.BORROWED, false, 1989, alpha, beta);
+    media(user, MediaType.BOOK, MediaState.AVAILABLE, false, 1999, alpha);
+    media(user, MediaType.BOOK, MediaState.AVAILABLE, false, null, alpha);
+    media(user, MediaType.FILM, MediaState.AVAILABLE, false, 2001, alpha);
+
+    UserEntity other = user("facets_other");
+    media(other, MediaType.BOOK, MediaState.AVAILABLE, true, 1985, category(other, "Alpha"));
+
+    entityManager.flush();
+    entityManager.clear();
+  }
+
+  /**
+   * Testet die Zählungen ohne Filter: Jahrzehnte, unbekanntes Jahr,
+   * Status, Typen, Favoriten und Kategorien.
+   */
+  @Test
+  void testCountFacets_WithoutFilter() {
+    MediaFacetsDTO facets = mediaRepository.countFacets(
+      user.getUserId(),
+      new MediaFilterDTO()
+    );
+
+    assertEquals(5, facets.getTotal());
+    assertEquals(Map.of(1980, 2L, 1990, 1L, 2000, 1L), facets.getReleaseDecade());
+    assertEquals(1, facets.getReleaseYearUnknown());
+    assertEquals(4L, facets.getMediaState().get(MediaState.AVAILABLE));
+    assertEquals(1L, facets.getMediaState().get(MediaState.BORROWED));
+    assertEquals(0L, facets.getMediaState().get(MediaState.UNAVAILABLE));
+    assertEquals(3L, facets.getType().get(MediaType.BOOK));
+    assertEquals(2L, facets.getType().get(MediaType.FILM));
+    assertEquals(0L, facets.getType().get(MediaType.CD));
+    assertEquals(Map.of(false, 4L, true, 1L), facets.getIsFavorite());
+    assertEquals(
+      List.of(facet(alpha, 5), facet(beta, 2)),
+      facets.getCategories()
+    );
+  }
+
+  /**
+   * Testet, dass unter einem Typfilter alle Facetten einschließlich der
+   * Kategorien nur die Treffermenge zählen.
+   */
+  @Test
+  void testCountFacets_WithTypeFilter() {
+    MediaFilterDTO filter = new MediaFilterDTO();
+    filter.setType(MediaType.BOOK);
+
+    MediaFacetsDTO facets = mediaRepository.countFacets(user.getUserId(), filter);
+
+    assertEquals(3, facets.getTotal());
+    assertEquals(Map.of(1980, 1L, 1990, 1L), facets.getReleaseDecade());
+    assertEquals(1, facets.getReleaseYearUnknown());
+    assertEquals(0L, facets.getType().get(MediaType.FILM));
+    assertEquals(
+      List.of(facet(alpha, 3), facet(beta, 1)),
+      facets.getCategories()
+    );
+  }
+
+  /**
+   * Testet, dass unter einem Kategoriefilter die übrigen Kategorien der
+   * Treffer weiterhin gezählt werden.
+   */
+  @Test
+  void testCountFacets_WithCategoryFilter() {
+    MediaFilterDTO filter = new MediaFilterDTO();
+    filter.setCategoryId(beta.getCategoryId());
+
+    MediaFacetsDTO facets = mediaRepository.countFacets(user.getUserId(), filter);
+
+    assertEquals(2, facets.getTotal());
+    assertEquals(Map.of(1980, 2L), facets.getReleaseDecade());
+    assertEquals(0, facets.getReleaseYearUnknown());
+    assertEquals(
+      List.of(facet(alpha, 2), facet(beta, 2)),
+      facets.getCategories()
+    );
+  }
+
+  /**
+   * Testet, dass ohne Treffer keine Kategorien abgefragt und alle Zählungen 0 sind.
+   */
+  @Test
+  void testCountFacets_NoMatches() {
+    MediaFilterDTO filter = new MediaFilterDTO();
+    filter.setReleaseYearFrom(2050);
+
+    MediaFacetsDTO facets = mediaRepository.countFacets(user.getUserId(), filter);
+
+    assertEquals(0, facets.getTotal());
+    assertEquals(0, facets.getReleaseYearUnknown());
+    assertEquals(Map.of(), facets.getReleaseDecade());
+    assertEquals(List.of(), facets.getCategories());
+  }
+
+  private UserEntity user(String prefix) {
+    String suffix = String.valueOf(System.nanoTime());
+    UserEntity entity = new UserEntity();
+    entity.setUsername(prefix + "_" + suffix);
+    entity.setPassword("password");
+    entity.setEmail(prefix + "_" + suffix + "@example.com");
+    entityManager.persist(entity);
+    return entity;
+  }
+
+  private CategoryEntity category(UserEntity owner, String name) {
+    CategoryEntity category = new CategoryEntity();
+    category.setCategoryName(name);
+    category.setUser(owner);
+    entityManager.persist(category);
+    return category;
+  }
+
+  private void media(
+    UserEntity owner,
+    MediaType type,
+    MediaState state,
+    boolean favorite,
+    Integer releaseYear,
+    CategoryEntity... categories
+  ) {
+    MediaEntity media = new MediaEntity();
+    media.setTitle("Facet " + type + " " + releaseYear);
+    media.setType(type);
+    media.setMediaState(state);
+    media.setIsFavorite(favorite);
+    media.setReleaseYear(releaseYear);
+    media.setUser(owner);
+    entityManager.persist(media);
+    for (CategoryEntity category : categories) {
+      MediaCategory mediaCategory = new MediaCategory();
+      mediaCategory.setMedia(media);
+      mediaCategory.setCategory(category);
+      entityManager.persist(mediaCategory);
+    }
+  }
+
+  private static CategoryFacetDTO facet(CategoryEntity category, long count) {
+    return new CategoryFacetDTO(
+      category.getCategoryId(),
+      category.getCategoryName(),
+      count
+    );
+  }
+}
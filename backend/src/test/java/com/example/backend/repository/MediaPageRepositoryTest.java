@@ -0,0 +1,202 @@
+package com.example.backend.repository;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.data.domain.Sort;
+import org.springframework.test.context.ActiveProfiles;
+
+import com.example.backend.dto.MediaCursor;
+import com.example.backend.dto.MediaFilterDTO;
+import com.example.backend.dto.MediaSortField;
+import com.example.backend.model.MediaEntity;
+import com.example.backend.model.MediaState;
+import com.example.backend.model.MediaType;
+import com.example.backend.model.UserEntity;
+
+import jakarta.persistence.EntityManager;
+import jakarta.transaction.Transactional;
+
+/**
+ * Prüft die Keyset-Paginierung gegen die Datenbank. Die Medien teilen sich
+ * Erstellungszeitpunkte und Titel, sodass die Reihenfolge innerhalb gleicher
+ * Werte allein von der Medien-ID abhängt. Beim Blättern über alle Seiten
+ * darf kein Medium fehlen oder doppelt erscheinen.
+ */
+@SpringBootTest
+@ActiveProfiles("test")
+@Transactional
+class MediaPageRepositoryTest {
+
+  private static final LocalDateTime EARLY = LocalDateTime.of(2024, 3, 1, 10, 0);
+  private static final LocalDateTime LATE = LocalDateTime.of(2024, 3, 2, 10, 0);
+
+  @Autowired
+  private MediaRepository mediaRepository;
+
+  @Autowired
+  private EntityManager entityManager;
+
+  private UserEntity user;
+
+  // In Anlagereihenfolge, d. h. mit aufsteigender ID
+  private Long earlyBookA;
+  private Long earlyFilm;
+  private Long earlyBookB;
+  private Long lateBookA;
+  private Long lateFilm;
+  private Long lateBookB;
+
+  @BeforeEach
+  void setUp() {
+    user = user("paging");
+    earlyBookA = media(user, "Same", MediaType.BOOK, EARLY);
+    earlyFilm = media(user, "Same", MediaType.FILM, EARLY);
+    earlyBookB = media(user, "Other", MediaType.BOOK, EARLY);
+    lateBookA = media(user, "Same", MediaType.BOOK, LATE);
+    lateFilm = media(user, "Other", MediaType.FILM, LATE);
+    lateBookB = media(user, "Same", MediaType.BOOK, LATE);
+
+    UserEntity other = user("paging_other");
+    media(other, "Same", MediaType.BOOK, EARLY);
+    media(other, "Same", MediaType.BOOK, LATE);
+
+    entityManager.flush();
+    entityManager.clear();
+  }
+
+  /**
+   * Testet das Blättern nach Erstellungsdatum absteigend (Standard) mit
+   * gleichen Zeitpunkten über Seitengrenzen hinweg.
+   */
+  @Test
+  void testFindPageKeys_CreatedAtDescending_PagesAcrossEqualValues() {
+    MediaFilterDTO filter = new MediaFilterDTO();
+
+    assertEquals(
+      List.of(lateBookB, lateFilm, lateBookA, earlyBookB, earlyFilm, earlyBookA),
+      walk(filter, 2)
+    );
+  }
+
+  /**
+   * Testet das Blättern nach Erstellungsdatum aufsteigend.
+   */
+  @Test
+  void testFindPageKeys_CreatedAtAscending() {
+    MediaFilterDTO filter = new MediaFilterDTO();
+    filter.setDirection(Sort.Direction.ASC);
+
+    assertEquals(
+      List.of(earlyBookA, earlyFilm, earlyBookB, lateBookA, lateFilm, lateBookB),
+      walk(filter, 4)
+    );
+  }
+
+  /**
+   * Testet das Blättern nach Titel in beiden Richtungen, wobei vier Medien
+   * denselben Titel haben.
+   */
+  @Test
+  void testFindPageKeys_TitleBothDirections_PagesAcrossEqualValues() {
+    MediaFilterDTO ascending = new MediaFilterDTO();
+    ascending.setSort(MediaSortField.TITLE);
+    ascending.setDirection(Sort.Direction.ASC);
+    MediaFilterDTO descending = new MediaFilterDTO();
+    descending.setSort(MediaSortField.TITLE);
+    descending.setDirection(Sort.Direction.DESC);
+
+    assertEquals(
+      List.of(earlyBookB, lateFilm, earlyBookA, earlyFilm, lateBookA, lateBookB),
+      walk(ascending, 3)
+    );
+    assertEquals(
+      List.of(lateBookB, lateBookA, earlyFilm, earlyBookA, lateFilm, earlyBookB),
+      walk(descending, 1)
+    );
+  }
+
+  /**
+   * Testet, dass Cursor und Filter zusammenwirken: Es werden nur passende
+   * Medien geliefert, auch wenn der Cursor hinter einem Medium liegt, das
+   * den Filter nicht erfüllt.
+   */
+  @Test
+  void testFindPageKeys_CursorWithFilter() {
+    MediaFilterDTO filter = new MediaFilterDTO();
+    filter.setType(MediaType.BOOK);
+    filter.setSort(MediaSortField.TITLE);
+    filter.setDirection(Sort.Direction.ASC);
+
+    assertEquals(
+      List.of(earlyBookB, earlyBookA, lateBookA, lateBookB),
+      walk(filter, 1)
+    );
+
+    List<MediaCursor> afterFilm = mediaRepository.findPageKeys(
+      user.getUserId(),
+      filter,
+      MediaCursor.ofTitle("Same", earlyFilm),
+      10
+    );
+    assertEquals(
+      List.of(lateBookA, lateBookB),
+      afterFilm.stream().map(MediaCursor::mediaId).toList()
+    );
+  }
+
+  /**
+   * Blättert mit der angegebenen Seitengröße durch alle Seiten. Der Cursor
+   * wird wie beim Endpunkt kodiert und wieder dekodiert.
+   */
+  private List<Long> walk(MediaFilterDTO filter, int pageSize) {
+    List<Long> ids = new ArrayList<>();
+    MediaCursor after = null;
+    while (true) {
+      List<MediaCursor> page = mediaRepository.findPageKeys(
+        user.getUserId(),
+        filter,
+        after,
+        pageSize
+      );
+      page.forEach(key -> ids.add(key.mediaId()));
+      if (page.size() < pageSize) {
+        return ids;
+      }
+      after = MediaCursor.decode(page.get(page.size() - 1).encode(), filter.getSort());
+    }
+  }
+
+  private UserEntity user(String prefix) {
+    String suffix = String.valueOf(System.nanoTime());
+    UserEntity entity = new UserEntity();
+    entity.setUsername(prefix + "_" + suffix);
+    entity.setPassword("password");
+    entity.setEmail(prefix + "_" + suffix + "@example.com");
+    entityManager.persist(entity);
+    return entity;
+  }
+
+  private Long media(
+    UserEntity owner,
+    String title,
+    MediaType type,
+    LocalDateTime createdAt
+  ) {
+    MediaEntity media = new MediaEntity();
+    media.setTitle(title);
+    media.setType(type);
+    media.setMediaState(MediaState.AVAILABLE);
+    media.setIsFavorite(false);
+    media.setCreatedAt(createdAt);
+    media.setUser(owner);
+    entityManager.persist(media);
+    return media.getMediaId();
+  }
+}
@@ -0,0 +1,36 @@
+package com.example.backend.repository;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+
+import org.hibernate.resource.jdbc.spi.StatementInspector;
+
+/**
+ * Zählt die SQL-Anweisungen, die Hibernate vorbereitet. Wird in Tests über
+ * {@code spring.jpa.properties.hibernate.session_factory.statement_inspector}
+ * eingebunden, um N+1-Abfragen bei Repository-Aufrufen zu erkennen.
+ */
+public class SqlStatementCounter implements StatementInspector {
+
+  private static final List<String> STATEMENTS = new CopyOnWriteArrayList<>();
+
+  @Override
+  public String inspect(String sql) {
+    STATEMENTS.add(sql);
+    return sql;
+  }
+
+  /**
+   * Führt eine Aktion aus und liefert die dabei vorbereiteten Anweisungen.
+   * @param action Auszuführende Aktion, z. B. ein Repository-Aufruf.
+   * @return SQL der Anweisungen in Ausführungsreihenfolge.
+   */
+  public static List<String> record(Runnable action) {
+    STATEMENTS.clear();
+    action.run();
+    List<String> statements = new ArrayList<>(STATEMENTS);
+    STATEMENTS.clear();
+    return statements;
+  }
+}
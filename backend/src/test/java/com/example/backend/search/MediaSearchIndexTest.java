@@ -0,0 +1,96 @@
+package com.example.backend.search;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import com.example.backend.dto.MediaSearchHitDTO;
+
+class MediaSearchIndexTest {
+
+  private MediaSearchIndex index;
+
+  @BeforeEach
+  void setUp() {
+    index = new MediaSearchIndex();
+    index.put(media(1L, "Der Herr der Ringe", "Tolkien", null, "978-3-608-93828-9"));
+    index.put(media(2L, "Ringkampf für Anfänger", "Müller", "Geschenk vom Herrn Meier", null));
+    index.put(media(3L, "Émile", "Rousseau", null, null));
+  }
+
+  /**
+   * Testet, dass alle Begriffe als Wortanfang vorkommen müssen.
+   */
+  @Test
+  void testSearch_AllTokensMustMatchAsPrefix() {
+    assertEquals(List.of(1L, 2L), ids(index.search("herr ring", 10)));
+    assertEquals(List.of(1L), ids(index.search("herr tolk", 10)));
+    assertEquals(List.of(1L, 2L), ids(index.search("ring", 10)));
+    assertTrue(index.search("herr xyz", 10).isEmpty());
+  }
+
+  /**
+   * Testet die Reihenfolge: Titeltreffer vor Notiztreffern, vollständige Wörter vor Präfixen.
+   */
+  @Test
+  void testSearch_RanksByFieldAndExactness() {
+    // "herr" steht in 1 im Titel, in 2 nur als Präfix in den Notizen
+    assertEquals(List.of(1L, 2L), ids(index.search("herr", 10)));
+    // "ringkampf" passt vollständig, "ringe" nur als Präfix "ring"
+    List<MediaSearchHitDTO> hits = index.search("ring", 10);
+    assertEquals(hits.get(0).getScore(), hits.get(1).getScore());
+    assertEquals(List.of(2L), ids(index.search("ringkampf", 10)));
+  }
+
+  /**
+   * Testet die Normalisierung von Groß-/Kleinschreibung und diakritischen Zeichen sowie die ISBN-Suche.
+   */
+  @Test
+  void testSearch_NormalizesTextAndIsbn() {
+    assertEquals(List.of(3L), ids(index.search("EMILE", 10)));
+    assertEquals(List.of(2L), ids(index.search("muller anf", 10)));
+    assertEquals(List.of(1L), ids(index.search("9783608", 10)));
+    assertEquals(List.of(1L), ids(index.search("978-3-608", 10)));
+  }
+
+  /**
+   * Testet, dass Änderungen und Löschungen sofort wirksam sind.
+   */
+  @Test
+  void testPutAndRemove_UpdateIndex() {
+    index.put(media(1L, "Der Hobbit", "Tolkien", null, null));
+    assertTrue(index.search("ringe", 10).isEmpty());
+    assertEquals(List.of(1L), ids(index.search("hobbit", 10)));
+
+    index.remove(1L);
+    assertTrue(index.search("tolkien", 10).isEmpty());
+    assertEquals(2, index.size());
+  }
+
+  /**
+   * Testet die Begrenzung der Trefferzahl und leere Anfragen.
+   */
+  @Test
+  void testSearch_LimitAndBlankQuery() {
+    assertEquals(1, index.search("r", 1).size());
+    assertTrue(index.search("  ", 10).isEmpty());
+    assertTrue(index.search(null, 10).isEmpty());
+  }
+
+  private static List<Long> ids(List<MediaSearchHitDTO> hits) {
+    return hits.stream().map(MediaSearchHitDTO::getMediaId).toList();
+  }
+
+  private static SearchableMedia media(
+    Long id,
+    String title,
+    String producer,
+    String notes,
+    String isbn
+  ) {
+    return new SearchableMedia(id, title, producer, notes, isbn, "BOOK");
+  }
+}
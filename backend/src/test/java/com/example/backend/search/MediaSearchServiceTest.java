@@ -0,0 +1,187 @@
+package com.example.backend.search;
+
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import static org.mockito.Mockito.lenient;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.verifyNoInteractions;
+import static org.mockito.Mockito.when;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.data.projection.SpelAwareProxyProjectionFactory;
+
+import com.example.backend.dto.MediaSearchProjection;
+import com.example.backend.dto.MediaTitleDTO;
+import com.example.backend.model.MediaEntity;
+import com.example.backend.model.MediaType;
+import com.example.backend.repository.MediaRepository;
+import com.example.backend.security.AuthenticatedUser;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+
+@ExtendWith(MockitoExtension.class)
+class MediaSearchServiceTest {
+
+  @Mock
+  private MediaRepository mediaRepository;
+
+  @Mock
+  private AuthenticatedUser authenticatedUser;
+
+  private MediaSearchService mediaSearchService;
+
+  @BeforeEach
+  void setUp() {
+    lenient().when(authenticatedUser.getUserId()).thenReturn(1L);
+    mediaSearchService =
+      new MediaSearchService(
+        mediaRepository,
+        authenticatedUser,
+        new SimpleMeterRegistry(),
+        10,
+        60_000L
+      );
+  }
+
+  /**
+   * Testet, dass der Index beim ersten Zugriff einmal aus der Datenbank aufgebaut wird.
+   */
+  @Test
+  void testSearch_BuildsIndexLazilyOnce() {
+    when(mediaRepository.findSearchProjectionsByUserId(1L))
+      .thenReturn(List.of(projection(5L, "Dune")));
+
+    assertEquals(5L, mediaSearchService.search("du", 10).get(0).getMediaId());
+    assertEquals(1, mediaSearchService.search("dune", 10).size());
+
+    verify(mediaRepository, times(1)).findSearchProjectionsByUserId(1L);
+  }
+
+  /**
+   * Testet, dass Änderungen in einen geladenen Index übernommen werden.
+   */
+  @Test
+  void testIndexAndRemove_UpdateLoadedIndex() {
+    when(mediaRepository.findSearchProjectionsByUserId(1L))
+      .thenReturn(List.of(projection(5L, "Dune")));
+    mediaSearchService.search("dune", 10);
+
+    MediaEntity media = new MediaEntity();
+    media.setMediaId(6L);
+    media.setTitle("Dune Messiah");
+    media.setType(MediaType.BOOK);
+    mediaSearchService.indexMedia(1L, media);
+    assertEquals(2, mediaSearchService.search("dune", 10).size());
+
+    mediaSearchService.removeMedia(1L, 5L);
+    assertEquals(6L, mediaSearchService.search("dune", 10).get(0).getMediaId());
+    verify(mediaRepository, times(1)).findSearchProjectionsByUserId(1L);
+  }
+
+  /**
+   * Testet, dass eine Änderung, die während des Aufbaus festgeschrieben wird,
+   * auf den fertigen Index wartet und danach übernommen wird, obwohl der
+   * geladene Stand sie noch nicht enthält.
+   */
+  @Test
+  void testIndexMedia_DuringBuild_IsNotLost() throws Exception {
+    MediaEntity media = new MediaEntity();
+    media.setMediaId(6L);
+    media.setTitle("Dune Messiah");
+    Thread writer = new Thread(() -> mediaSearchService.indexMedia(1L, media));
+    when(mediaRepository.findSearchProjectionsByUserId(1L))
+      .thenAnswer(invocation -> {
+        writer.start();
+        while (writer.getState() != Thread.State.BLOCKED) {
+          Thread.onSpinWait();
+        }
+        return List.of(projection(5L, "Dune"));
+      });
+
+    mediaSearchService.search("dune", 10);
+    writer.join(5_000L);
+
+    assertEquals(6L, mediaSearchService.search("messiah", 10).get(0).getMediaId());
+    verify(mediaRepository, times(1)).findSearchProjectionsByUserId(1L);
+  }
+
+  /**
+   * Testet, dass ohne geladenen Index keine Datenbankabfrage ausgelöst wird und
+   * ein verworfener Index neu aufgebaut wird.
+   */
+  @Test
+  void testIndexMedia_WithoutLoadedIndex_DoesNothing() {
+    mediaSearchService.indexMedia(1L, new MediaEntity());
+    mediaSearchService.removeMedia(1L, 5L);
+    verifyNoInteractions(mediaRepository);
+
+    when(mediaRepository.findSearchProjectionsByUserId(1L)).thenReturn(List.of());
+    assertTrue(mediaSearchService.search("dune", 10).isEmpty());
+    mediaSearchService.invalidate(1L);
+    mediaSearchService.search("dune", 10);
+    verify(mediaRepository, times(2)).findSearchProjectionsByUserId(1L);
+  }
+
+  /**
+   * Testet, dass der Titelindex nur aus IDs und Titeln aufgebaut und bei
+   * Änderungen fortgeschrieben wird.
+   */
+  @Test
+  void testSuggestTitles_BuildsTitleIndexAndFollowsChanges() {
+    when(mediaRepository.findTitlesByUserId(1L))
+      .thenReturn(List.of(new MediaTitleDTO(5L, "Dune")));
+    assertEquals(5L, mediaSearchService.suggestTitles("du", 10).get(0).getMediaId());
+
+    MediaEntity media = new MediaEntity();
+    media.setMediaId(6L);
+    media.setTitle("Dune Messiah");
+    mediaSearchService.indexMedia(1L, media);
+    mediaSearchService.removeMedia(1L, 5L);
+    assertEquals(6L, mediaSearchService.suggestTitles("dune", 10).get(0).getMediaId());
+
+    verify(mediaRepository, times(1)).findTitlesByUserId(1L);
+    verify(mediaRepository, never()).findSearchProjectionsByUserId(1L);
+  }
+
+  /**
+   * Testet, dass ein Titel, der während des Aufbaus des Titelindex
+   * festgeschrieben wird, danach vorgeschlagen wird.
+   */
+  @Test
+  void testIndexMedia_DuringTitleIndexBuild_IsNotLost() throws Exception {
+    MediaEntity media = new MediaEntity();
+    media.setMediaId(6L);
+    media.setTitle("Dune Messiah");
+    Thread writer = new Thread(() -> mediaSearchService.indexMedia(1L, media));
+    when(mediaRepository.findTitlesByUserId(1L))
+      .thenAnswer(invocation -> {
+        writer.start();
+        while (writer.getState() != Thread.State.BLOCKED) {
+          Thread.onSpinWait();
+        }
+        return List.of(new MediaTitleDTO(5L, "Dune"));
+      });
+
+    mediaSearchService.suggestTitles("du", 10);
+    writer.join(5_000L);
+
+    assertEquals(6L, mediaSearchService.suggestTitles("messiah", 10).get(0).getMediaId());
+    verify(mediaRepository, times(1)).findTitlesByUserId(1L);
+  }
+
+  private static MediaSearchProjection projection(Long mediaId, String title) {
+    return new SpelAwareProxyProjectionFactory()
+      .createProjection(
+        MediaSearchProjection.class,
+        Map.of("mediaId", mediaId, "title", title, "type", "BOOK")
+      );
+  }
+}
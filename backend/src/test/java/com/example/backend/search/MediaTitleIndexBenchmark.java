@@ -0,0 +1,98 @@
+package com.example.backend.search;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import org.junit.jupiter.api.condition.EnabledIfSystemProperty;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.ValueSource;
+
+import com.example.backend.dto.MediaTitleDTO;
+
+/**
+ * Misst Aufbau und Antwortzeiten des {@link MediaTitleIndex} mit zufällig
+ * zusammengesetzten Titeln und gibt Median und 99. Perzentil der
+ * Vorschlagsabfragen aus. Ziel ist ein P99 unter 2 ms bei 100.000 Titeln.
+ *
+ * Läuft nur auf Anforderung:
+ * {@code mvn test -Dtest=MediaTitleIndexBenchmark -Dbenchmark=true}
+ */
+@EnabledIfSystemProperty(named = "benchmark", matches = "true")
+class MediaTitleIndexBenchmark {
+
+  private static final String[] WORDS = {
+    "der", "die", "das", "herr", "ringe", "krieg", "frieden", "geschichte",
+    "reise", "nacht", "stadt", "könig", "schatten", "über", "wind", "zeit",
+    "meer", "feuer", "buch", "lied", "garten", "spiel", "weg", "straße",
+  };
+  private static final int QUERIES = 20_000;
+  private static final int LIMIT = 10;
+
+  /**
+   * Baut den Index für die angegebene Anzahl an Titeln auf und misst
+   * Präfixabfragen mit ein bis sechs Zeichen.
+   */
+  @ParameterizedTest
+  @ValueSource(ints = { 10_000, 100_000 })
+  void measureSuggest(int titleCount) {
+    Random random = new Random(42);
+    List<MediaTitleDTO> titles = new ArrayList<>(titleCount);
+    for (long id = 1; id <= titleCount; id++) {
+      titles.add(new MediaTitleDTO(id, randomTitle(random)));
+    }
+
+    long start = System.nanoTime();
+    MediaTitleIndex index = MediaTitleIndex.of(titles);
+    double buildMillis = (System.nanoTime() - start) / 1_000_000.0;
+
+    List<String> prefixes = new ArrayList<>(QUERIES);
+    for (int i = 0; i < QUERIES; i++) {
+      String title = titles.get(random.nextInt(titleCount)).getTitle();
+      prefixes.add(title.substring(0, Math.min(title.length(), 1 + random.nextInt(6))));
+    }
+    // Aufwärmen
+    for (String prefix : prefixes) {
+      index.suggest(prefix, LIMIT);
+    }
+    long[] nanos = new long[QUERIES];
+    for (int i = 0; i < QUERIES; i++) {
+      long t = System.nanoTime();
+      index.suggest(prefixes.get(i), LIMIT);
+      nanos[i] = System.nanoTime() - t;
+    }
+    Arrays.sort(nanos);
+
+    start = System.nanoTime();
+    for (long id = 1; id <= 1_000; id++) {
+      index.put(id, randomTitle(random));
+    }
+    double putMicros = (System.nanoTime() - start) / 1_000.0 / 1_000;
+
+    double p99Millis = nanos[QUERIES * 99 / 100] / 1_000_000.0;
+    System.out.printf(
+      "titles=%d build=%.1f ms suggest p50=%.3f ms p99=%.3f ms put=%.1f µs/op%n",
+      titleCount,
+      buildMillis,
+      nanos[QUERIES / 2] / 1_000_000.0,
+      p99Millis,
+      putMicros
+    );
+    assertTrue(p99Millis < 2.0);
+  }
+
+  private static String randomTitle(Random random) {
+    int words = 1 + random.nextInt(5);
+    StringBuilder title = new StringBuilder();
+    for (int i = 0; i < words; i++) {
+      if (i > 0) {
+        title.append(' ');
+      }
+      String word = WORDS[random.nextInt(WORDS.length)];
+      title.append(Character.toUpperCase(word.charAt(0))).append(word.substring(1));
+    }
+    return title.append(' ').append(random.nextInt(1000)).toString();
+  }
+}
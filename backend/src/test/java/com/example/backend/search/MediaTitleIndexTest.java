@@ -0,0 +1,105 @@
+package com.example.backend.search;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import com.example.backend.dto.MediaTitleDTO;
+
+class MediaTitleIndexTest {
+
+  private MediaTitleIndex index;
+
+  @BeforeEach
+  void setUp() {
+    index =
+      MediaTitleIndex.of(
+        List.of(
+          new MediaTitleDTO(1L, "Der Herr der Ringe"),
+          new MediaTitleDTO(2L, "Herrin der Wölfe"),
+          new MediaTitleDTO(3L, "Émile"),
+          new MediaTitleDTO(4L, "Das Parfum")
+        )
+      );
+  }
+
+  /**
+   * Testet, dass Titelanfänge vor Treffern weiter hinten im Titel stehen.
+   */
+  @Test
+  void testSuggest_TitleStartsBeforeInnerWords() {
+    assertEquals(List.of(2L, 1L), ids(index.suggest("herr", 10)));
+    assertEquals(List.of(4L, 1L, 2L), ids(index.suggest("d", 10)));
+    assertEquals(List.of(1L), ids(index.suggest("der herr d", 10)));
+    assertEquals(List.of(1L, 2L), ids(index.suggest("der", 10)));
+  }
+
+  /**
+   * Testet die Normalisierung von Groß-/Kleinschreibung, diakritischen Zeichen und Trennzeichen.
+   */
+  @Test
+  void testSuggest_FoldsCaseAndDiacritics() {
+    assertEquals(List.of(3L), ids(index.suggest("EMI", 10)));
+    assertEquals(List.of(2L), ids(index.suggest("wolf", 10)));
+    assertEquals(List.of(1L), ids(index.suggest("der  herr,", 10)));
+    // Ein abschließendes Trennzeichen verlangt ein vollständiges Wort
+    assertEquals(List.of(1L), ids(index.suggest("herr ", 10)));
+    assertEquals("Émile", index.suggest("emile", 10).get(0).getTitle());
+  }
+
+  /**
+   * Testet, dass Änderungen und Löschungen sofort wirksam sind.
+   */
+  @Test
+  void testPutAndRemove_UpdateIndex() {
+    index.put(2L, "Die Wölfe");
+    assertEquals(List.of(1L), ids(index.suggest("herr", 10)));
+    assertEquals(List.of(2L), ids(index.suggest("die", 10)));
+
+    index.put(2L, "die wölfe");
+    assertEquals("die wölfe", index.suggest("wolfe", 10).get(0).getTitle());
+
+    index.put(5L, "Herr Lehmann");
+    index.remove(1L);
+    assertEquals(List.of(5L), ids(index.suggest("herr", 10)));
+    assertEquals(4, index.size());
+  }
+
+  /**
+   * Testet, dass inkrementell eingefügte Titel dieselbe Reihenfolge ergeben wie ein Neuaufbau.
+   */
+  @Test
+  void testPut_MatchesBulkBuild() {
+    List<MediaTitleDTO> titles = new ArrayList<>();
+    MediaTitleIndex incremental = new MediaTitleIndex();
+    for (long id = 1; id <= 300; id++) {
+      MediaTitleDTO title = new MediaTitleDTO(id, "Band " + (id * 7919 % 300) + " der Reihe");
+      titles.add(title);
+      incremental.put(title.getMediaId(), title.getTitle());
+    }
+    MediaTitleIndex bulk = MediaTitleIndex.of(titles);
+
+    for (String prefix : List.of("band 1", "band 29", "reihe", "der r", "x")) {
+      assertEquals(ids(bulk.suggest(prefix, 20)), ids(incremental.suggest(prefix, 20)));
+    }
+    assertEquals(20, incremental.suggest("reihe", 20).size());
+  }
+
+  /**
+   * Testet die Begrenzung der Vorschläge und leere Eingaben.
+   */
+  @Test
+  void testSuggest_LimitAndBlankPrefix() {
+    assertEquals(1, index.suggest("d", 1).size());
+    assertTrue(index.suggest(" ", 10).isEmpty());
+    assertTrue(index.suggest(null, 10).isEmpty());
+  }
+
+  private static List<Long> ids(List<MediaTitleDTO> suggestions) {
+    return suggestions.stream().map(MediaTitleDTO::getMediaId).toList();
+  }
+}
@@ -0,0 +1,110 @@
+package com.example.backend.security;
+
+import java.util.Optional;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.Mock;
+import static org.mockito.Mockito.verifyNoInteractions;
+import static org.mockito.Mockito.when;
+import org.mockito.MockitoAnnotations;
+import org.springframework.security.authentication.AuthenticationCredentialsNotFoundException;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.security.core.userdetails.UsernameNotFoundException;
+
+import com.example.backend.model.UserEntity;
+import com.example.backend.repository.UserRepository;
+
+class AuthenticatedUserConfigTest {
+
+  @Mock
+  private UserRepository userRepository;
+
+  private final AuthenticatedUserConfig config = new AuthenticatedUserConfig();
+
+  @BeforeEach
+  void setUp() {
+    MockitoAnnotations.openMocks(this);
+  }
+
+  @AfterEach
+  void tearDown() {
+    SecurityContextHolder.clearContext();
+  }
+
+  /**
+   * Testet, dass ein per JWT gesetzter Principal ohne Datenbankzugriff übernommen wird.
+   */
+  @Test
+  void testAuthenticatedUser_fromJwtPrincipal_shouldNotQueryDatabase() {
+    AuthenticatedUser principal = new AuthenticatedUser(7L, "testUser");
+    SecurityContextHolder
+      .getContext()
+      .setAuthentication(
+        new UsernamePasswordAuthenticationToken(principal, null, null)
+      );
+
+    AuthenticatedUser result = config.authenticatedUser(userRepository);
+
+    assertSame(principal, result);
+    verifyNoInteractions(userRepository);
+  }
+
+  /**
+   * Testet den Rückfall auf einen Lookup anhand des Benutzernamens, wenn der
+   * Principal kein {@link AuthenticatedUser} ist.
+   */
+  @Test
+  void testAuthenticatedUser_fromOtherPrincipal_shouldLoadUserOnce() {
+    UserEntity user = new UserEntity();
+    user.setUserId(3L);
+    user.setUsername("testUser");
+    when(userRepository.findByUsername("testUser"))
+      .thenReturn(Optional.of(user));
+    SecurityContextHolder
+      .getContext()
+      .setAuthentication(
+        new UsernamePasswordAuthenticationToken("testUser", null, null)
+      );
+
+    AuthenticatedUser result = config.authenticatedUser(userRepository);
+
+    assertEquals(3L, result.getUserId());
+    assertEquals("testUser", result.getUsername());
+  }
+
+  /**
+   * Testet, dass eine UsernameNotFoundException geworfen wird, wenn der Benutzer nicht existiert.
+   */
+  @Test
+  void testAuthenticatedUser_whenUserNotFound_shouldThrowUsernameNotFoundException() {
+    when(userRepository.findByUsername("ghost")).thenReturn(Optional.empty());
+    SecurityContextHolder
+      .getContext()
+      .setAuthentication(
+        new UsernamePasswordAuthenticationToken("ghost", null, null)
+      );
+
+    UsernameNotFoundException exception = assertThrows(
+      UsernameNotFoundException.class,
+      () -> config.authenticatedUser(userRepository)
+    );
+    assertEquals("User not found with username: ghost", exception.getMessage());
+  }
+
+  /**
+   * Testet, dass ohne Authentifizierung eine Exception geworfen wird.
+   */
+  @Test
+  void testAuthenticatedUser_withoutAuthentication_shouldThrow() {
+    assertThrows(
+      AuthenticationCredentialsNotFoundException.class,
+      () -> config.authenticatedUser(userRepository)
+    );
+  }
+}
@@ -0,0 +1,191 @@
+package com.example.backend.security;
+
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
+import org.springframework.security.crypto.password.PasswordEncoder;
+
+import com.example.backend.exception.PasswordHashingBusyException;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+
+class BoundedPasswordEncoderTest {
+
+  private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+
+  private BoundedPasswordEncoder encoder;
+
+  @AfterEach
+  void tearDown() {
+    if (encoder != null) {
+      encoder.destroy();
+    }
+  }
+
+  /**
+   * Testet, dass Hashen und Prüfen über den Worker-Pool funktionieren und gemessen werden.
+   */
+  @Test
+  void testEncodeAndMatches() {
+    encoder =
+      new BoundedPasswordEncoder(
+        new BCryptPasswordEncoder(4),
+        1,
+        4,
+        5_000L,
+        2L,
+        meterRegistry
+      );
+
+    String hash = encoder.encode("secret");
+
+    assertTrue(encoder.matches("secret", hash));
+    assertFalse(encoder.matches("wrong", hash));
+    assertEquals(
+      1,
+      meterRegistry
+        .get("password.hash.duration")
+        .tag("operation", "encode")
+        .timer()
+        .count()
+    );
+    assertEquals(
+      2,
+      meterRegistry
+        .get("password.hash.duration")
+        .tag("operation", "matches")
+        .timer()
+        .count()
+    );
+  }
+
+  /**
+   * Testet, dass Hashes mit geringerem Cost-Faktor zum Neuberechnen markiert werden.
+   */
+  @Test
+  void testUpgradeEncoding_whenStrengthIncreased() {
+    String oldHash = new BCryptPasswordEncoder(4).encode("secret");
+    encoder =
+      new BoundedPasswordEncoder(
+        new BCryptPasswordEncoder(5),
+        1,
+        4,
+        5_000L,
+        2L,
+        meterRegistry
+      );
+
+    assertTrue(encoder.upgradeEncoding(oldHash));
+    assertFalse(encoder.upgradeEncoding(encoder.encode("secret")));
+  }
+
+  /**
+   * Testet, dass bei voller Warteschlange sofort eine PasswordHashingBusyException geworfen wird.
+   */
+  @Test
+  void testEncode_whenSaturated_shouldRejectImmediately() throws Exception {
+    CountDownLatch started = new CountDownLatch(1);
+    CountDownLatch release = new CountDownLatch(1);
+    PasswordEncoder blocking = new BlockingEncoder(started, release);
+    encoder = new BoundedPasswordEncoder(blocking, 1, 1, 5_000L, 3L, meterRegistry);
+
+    ExecutorService callers = Executors.newFixedThreadPool(2);
+    try {
+      // Belegt den einzigen Worker ...
+      callers.submit(() -> encoder.encode("a"));
+      assertTrue(started.await(5, TimeUnit.SECONDS));
+      // ... und den einzigen Platz in der Warteschlange.
+      callers.submit(() -> encoder.encode("b"));
+      waitForQueueDepth(1);
+
+      PasswordHashingBusyException exception = assertThrows(
+        PasswordHashingBusyException.class,
+        () -> encoder.encode("c")
+      );
+      assertEquals(3L, exception.getRetryAfterSeconds());
+      assertEquals(
+        1.0,
+        meterRegistry.get("password.hash.rejected").counter().count()
+      );
+      assertEquals(
+        1.0,
+        meterRegistry.get("password.hash.queue.depth").gauge().value()
+      );
+    } finally {
+      release.countDown();
+      callers.shutdown();
+      callers.awaitTermination(5, TimeUnit.SECONDS);
+    }
+  }
+
+  /**
+   * Testet, dass ein Aufrufer nach Ablauf der Wartezeit abgewiesen wird.
+   */
+  @Test
+  void testEncode_whenTimeoutExceeded_shouldThrowBusy() {
+    CountDownLatch release = new CountDownLatch(1);
+    encoder =
+      new BoundedPasswordEncoder(
+        new BlockingEncoder(new CountDownLatch(1), release),
+        1,
+        1,
+        50L,
+        1L,
+        meterRegistry
+      );
+    try {
+      assertThrows(
+        PasswordHashingBusyException.class,
+        () -> encoder.encode("slow")
+      );
+    } finally {
+      release.countDown();
+    }
+  }
+
+  private void waitForQueueDepth(int depth) throws InterruptedException {
+    long deadline = System.currentTimeMillis() + 5_000L;
+    while (
+      encoder.getQueueDepth() < depth && System.currentTimeMillis() < deadline
+    ) {
+      Thread.sleep(5);
+    }
+    assertEquals(depth, encoder.getQueueDepth());
+  }
+
+  private static final class BlockingEncoder implements PasswordEncoder {
+
+    private final CountDownLatch started;
+    private final CountDownLatch release;
+
+    BlockingEncoder(CountDownLatch started, CountDownLatch release) {
+      this.started = started;
+      this.release = release;
+    }
+
+    @Override
+    public String encode(CharSequence rawPassword) {
+      started.countDown();
+      try {
+        release.await(5, TimeUnit.SECONDS);
+      } catch (InterruptedException ex) {
+        Thread.currentThread().interrupt();
+      }
+      return "hash:" + rawPassword;
+    }
+
+    @Override
+    public boolean matches(CharSequence rawPassword, String encodedPassword) {
+      return encode(rawPassword).equals(encodedPassword);
+    }
+  }
+}
@@ -0,0 +1,134 @@
+package com.example.backend.security;
+
+import java.util.Optional;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.Mock;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+import org.mockito.MockitoAnnotations;
+import org.springframework.security.core.userdetails.User;
+import org.springframework.security.core.userdetails.UserDetails;
+import org.springframework.security.core.userdetails.UsernameNotFoundException;
+
+import com.example.backend.model.UserEntity;
+import com.example.backend.repository.UserRepository;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+
+class CustomUserDetailsServiceTest {
+
+  @Mock
+  private UserRepository userRepository;
+
+  private CustomUserDetailsService userDetailsService;
+
+  private UserEntity user;
+
+  @BeforeEach
+  void setUp() {
+    MockitoAnnotations.openMocks(this);
+    userDetailsService =
+      new CustomUserDetailsService(
+        userRepository,
+        new SimpleMeterRegistry(),
+        100,
+        60_000L
+      );
+
+    user = new UserEntity();
+    user.setUserId(1L);
+    user.setUsername("testUser");
+    user.setPassword("hash");
+  }
+
+  /**
+   * Testet, dass ein Benutzer nur beim ersten Aufruf aus der Datenbank geladen wird.
+   */
+  @Test
+  void testLoadUserByUsername_UsesCache() {
+    when(userRepository.findByUsername("testUser"))
+      .thenReturn(Optional.of(user));
+
+    userDetailsService.loadUserByUsername("testUser");
+    UserDetails second = userDetailsService.loadUserByUsername("testUser");
+
+    assertEquals("hash", second.getPassword());
+    verify(userRepository, times(1)).findByUsername("testUser");
+    assertEquals(1, userDetailsService.getCacheHits());
+    assertEquals(1, userDetailsService.getCacheMisses());
+  }
+
+  /**
+   * Testet, dass das Löschen des Passworts nach dem Login den Cache nicht verändert.
+   */
+  @Test
+  void testLoadUserByUsername_ReturnsFreshInstance() {
+    when(userRepository.findByUsername("testUser"))
+      .thenReturn(Optional.of(user));
+
+    UserDetails first = userDetailsService.loadUserByUsername("testUser");
+    ((User) first).eraseCredentials();
+
+    assertEquals(
+      "hash",
+      userDetailsService.loadUserByUsername("testUser").getPassword()
+    );
+  }
+
+  /**
+   * Testet, dass nach dem Entfernen eines Benutzers erneut die Datenbank abgefragt wird.
+   */
+  @Test
+  void testEvictUser_ReloadsFromRepository() {
+    when(userRepository.findByUsername("testUser"))
+      .thenReturn(Optional.of(user));
+
+    userDetailsService.loadUserByUsername("testUser");
+    userDetailsService.evictUser(1L);
+    userDetailsService.loadUserByUsername("testUser");
+
+    verify(userRepository, times(2)).findByUsername("testUser");
+  }
+
+  /**
+   * Testet, dass unbekannte Benutzer nicht zwischengespeichert werden.
+   */
+  @Test
+  void testLoadUserByUsername_UnknownUser() {
+    when(userRepository.findByUsername("ghost")).thenReturn(Optional.empty());
+
+    assertThrows(
+      UsernameNotFoundException.class,
+      () -> userDetailsService.loadUserByUsername("ghost")
+    );
+    assertThrows(
+      UsernameNotFoundException.class,
+      () -> userDetailsService.loadUserByUsername("ghost")
+    );
+    verify(userRepository, times(2)).findByUsername("ghost");
+  }
+
+  /**
+   * Testet, dass ein neu berechneter Hash gespeichert und der Cache geleert wird.
+   */
+  @Test
+  void testUpdatePassword_SavesHashAndEvictsCache() {
+    when(userRepository.findByUsername("testUser"))
+      .thenReturn(Optional.of(user));
+
+    UserDetails loaded = userDetailsService.loadUserByUsername("testUser");
+    UserDetails updated = userDetailsService.updatePassword(loaded, "newHash");
+
+    assertEquals("newHash", updated.getPassword());
+    assertEquals("newHash", user.getPassword());
+    verify(userRepository).save(user);
+
+    userDetailsService.loadUserByUsername("testUser");
+    verify(userRepository, times(3)).findByUsername("testUser");
+  }
+}
@@ -0,0 +1,64 @@
+package com.example.backend.security;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import org.junit.jupiter.api.Test;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+
+class JWTGeneratorTest {
+
+  private final JWTGenerator jwtGenerator = new JWTGenerator(
+    new JwtKeyRing("", "", "PKCS12", "", "", new VerifiedTokenCache(10, 60_000L))
+  );
+
+  /**
+   * Testet, dass die Benutzer-ID als Claim eingebettet und beim Prüfen wieder ausgelesen wird.
+   */
+  @Test
+  void testGenerateToken_shouldEmbedUserId() {
+    AuthenticatedUserDetails details = new AuthenticatedUserDetails(
+      42L,
+      "testUser",
+      "hash"
+    );
+    String token = jwtGenerator.generateToken(
+      new UsernamePasswordAuthenticationToken(details, null, null)
+    );
+
+    VerifiedToken verified = jwtGenerator.verifyToken(token);
+
+    assertEquals("testUser", verified.getUsername());
+    assertEquals(42L, verified.getUserId());
+  }
+
+  /**
+   * Testet, dass Tokens ohne Benutzer-ID weiterhin gültig sind.
+   */
+  @Test
+  void testVerifyToken_withoutUserId_shouldReturnNullUserId() {
+    String token = jwtGenerator.generateToken(
+      new UsernamePasswordAuthenticationToken("testUser", null, null)
+    );
+
+    VerifiedToken verified = jwtGenerator.verifyToken(token);
+
+    assertEquals("testUser", verified.getUsername());
+    assertNull(verified.getUserId());
+  }
+
+  /**
+   * Testet, dass ein manipuliertes Token abgewiesen wird.
+   */
+  @Test
+  void testVerifyToken_withTamperedToken_shouldThrow() {
+    String token = jwtGenerator.generateToken(
+      new UsernamePasswordAuthenticationToken("testUser", null, null)
+    );
+
+    assertThrows(
+      IllegalArgumentException.class,
+      () -> jwtGenerator.verifyToken(token + "x")
+    );
+  }
+}
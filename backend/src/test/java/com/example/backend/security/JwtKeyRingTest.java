@@ -0,0 +1,201 @@
+package com.example.backend.security;
+
+import java.io.OutputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.attribute.FileTime;
+import java.security.KeyStore;
+import java.util.Base64;
+
+import javax.crypto.spec.SecretKeySpec;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+
+import io.jsonwebtoken.SignatureAlgorithm;
+import io.jsonwebtoken.security.Keys;
+
+class JwtKeyRingTest {
+
+  @TempDir
+  Path tempDir;
+
+  private final VerifiedTokenCache tokenCache = new VerifiedTokenCache(
+    10,
+    60_000L
+  );
+
+  /**
+   * Testet, dass zwei Instanzen mit derselben Schlüsseldatei die Tokens der jeweils anderen akzeptieren.
+   */
+  @Test
+  void testSharedKeysFile_tokensAreValidAcrossInstances() throws Exception {
+    Path file = writeKeysFile("active=k1\nkey.k1=" + newSecret() + "\n");
+
+    JWTGenerator first = new JWTGenerator(keysFileRing(file));
+    JWTGenerator second = new JWTGenerator(keysFileRing(file));
+
+    String token = first.generateToken(auth("testUser"));
+
+    assertEquals("testUser", second.verifyToken(token).getUsername());
+    String header = new String(
+      Base64.getUrlDecoder().decode(token.substring(0, token.indexOf('.')))
+    );
+    assertTrue(header.contains("\"kid\":\"k1\""));
+  }
+
+  /**
+   * Testet, dass nach einer Rotation alte Tokens gültig bleiben und neue mit dem neuen Schlüssel signiert werden.
+   */
+  @Test
+  void testRotation_keepsOldTokensValid() throws Exception {
+    String oldSecret = newSecret();
+    Path file = writeKeysFile("active=k1\nkey.k1=" + oldSecret + "\n");
+    JwtKeyRing keyRing = keysFileRing(file);
+    JWTGenerator generator = new JWTGenerator(keyRing);
+    String oldToken = generator.generateToken(auth("testUser"));
+
+    writeKeysFile(
+      "active=k2\nkey.k1=" + oldSecret + "\nkey.k2=" + newSecret() + "\n"
+    );
+    keyRing.reload();
+    String newToken = generator.generateToken(auth("testUser"));
+
+    assertEquals("k2", keyRing.getActiveKid());
+    assertEquals("testUser", generator.verifyToken(oldToken).getUsername());
+    assertEquals("testUser", generator.verifyToken(newToken).getUsername());
+  }
+
+  /**
+   * Testet, dass Tokens eines entfernten Schlüssels abgewiesen werden und der Token-Cache geleert wird.
+   */
+  @Test
+  void testRemovedKey_rejectsTokensAndClearsCache() throws Exception {
+    Path file = writeKeysFile("active=k1\nkey.k1=" + newSecret() + "\n");
+    JwtKeyRing keyRing = keysFileRing(file);
+    JWTGenerator generator = new JWTGenerator(keyRing);
+    String token = generator.generateToken(auth("testUser"));
+    tokenCache.put(token, generator.verifyToken(token));
+
+    writeKeysFile("active=k2\nkey.k2=" + newSecret() + "\n");
+    keyRing.reload();
+
+    assertThrows(
+      IllegalArgumentException.class,
+      () -> generator.verifyToken(token)
+    );
+    assertNull(tokenCache.get(token));
+  }
+
+  /**
+   * Testet das Laden der Schlüssel aus einem PKCS12-Keystore.
+   */
+  @Test
+  void testKeystore_loadsSecretKeys() throws Exception {
+    char[] password = "changeit".toCharArray();
+    KeyStore keyStore = KeyStore.getInstance("PKCS12");
+    keyStore.load(null, password);
+    for (String alias : new String[] { "2024-01", "2024-02" }) {
+      keyStore.setEntry(
+        alias,
+        new KeyStore.SecretKeyEntry(
+          new SecretKeySpec(Base64.getDecoder().decode(newSecret()), "HmacSHA256")
+        ),
+        new KeyStore.PasswordProtection(password)
+      );
+    }
+    Path file = tempDir.resolve("jwt-keys.p12");
+    try (OutputStream out = Files.newOutputStream(file)) {
+      keyStore.store(out, password);
+    }
+
+    JwtKeyRing keyRing = new JwtKeyRing(
+      file.toString(),
+      "changeit",
+      "PKCS12",
+      "",
+      "",
+      tokenCache
+    );
+    JWTGenerator generator = new JWTGenerator(keyRing);
+
+    // Ohne active-kid wird die größte ID verwendet
+    assertEquals("2024-02", keyRing.getActiveKid());
+    assertEquals(2, keyRing.getKeyIds().size());
+    assertEquals(
+      "testUser",
+      generator.verifyToken(generator.generateToken(auth("testUser"))).getUsername()
+    );
+  }
+
+  /**
+   * Testet, dass eine unbekannte aktive Schlüssel-ID beim Start abgewiesen wird.
+   */
+  @Test
+  void testUnknownActiveKid_shouldFail() throws Exception {
+    Path file = writeKeysFile("active=missing\nkey.k1=" + newSecret() + "\n");
+
+    assertThrows(IllegalStateException.class, () -> keysFileRing(file));
+  }
+
+  /**
+   * Testet, dass ungültiges Base64 und zu kurze Schlüssel beim Start mit
+   * {@link IllegalStateException} abgewiesen werden.
+   */
+  @Test
+  void testInvalidKeys_shouldFail() throws Exception {
+    Path invalidBase64 = writeKeysFile("active=k1\nkey.k1=not base64!\n");
+    assertThrows(IllegalStateException.class, () -> keysFileRing(invalidBase64));
+
+    String shortSecret = Base64.getEncoder().encodeToString(new byte[16]);
+    Path tooShort = writeKeysFile("active=k1\nkey.k1=" + shortSecret + "\n");
+    assertThrows(IllegalStateException.class, () -> keysFileRing(tooShort));
+  }
+
+  /**
+   * Testet, dass eine geänderte Schlüsseldatei mit ungültigem Schlüssel beim
+   * periodischen Neuladen ignoriert wird und die bisherigen Schlüssel aktiv bleiben.
+   */
+  @Test
+  void testReloadIfChanged_invalidKey_keepsPreviousKeys() throws Exception {
+    Path file = writeKeysFile("active=k1\nkey.k1=" + newSecret() + "\n");
+    JwtKeyRing keyRing = keysFileRing(file);
+    JWTGenerator generator = new JWTGenerator(keyRing);
+    String token = generator.generateToken(auth("testUser"));
+
+    writeKeysFile("active=k2\nkey.k2=" + Base64.getEncoder().encodeToString(new byte[16]) + "\n");
+    Files.setLastModifiedTime(
+      file,
+      FileTime.fromMillis(Files.getLastModifiedTime(file).toMillis() + 1_000L)
+    );
+    keyRing.reloadIfChanged();
+
+    assertEquals("k1", keyRing.getActiveKid());
+    assertEquals("testUser", generator.verifyToken(token).getUsername());
+  }
+
+  private JwtKeyRing keysFileRing(Path file) {
+    return new JwtKeyRing("", "", "PKCS12", file.toString(), "", tokenCache);
+  }
+
+  private Path writeKeysFile(String content) throws Exception {
+    Path file = tempDir.resolve("jwt-keys.properties");
+    Files.writeString(file, content);
+    return file;
+  }
+
+  private static String newSecret() {
+    return Base64
+      .getEncoder()
+      .encodeToString(Keys.secretKeyFor(SignatureAlgorithm.HS256).getEncoded());
+  }
+
+  private static UsernamePasswordAuthenticationToken auth(String username) {
+    return new UsernamePasswordAuthenticationToken(username, null, null);
+  }
+}
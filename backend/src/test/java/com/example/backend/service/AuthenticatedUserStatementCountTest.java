@@ -0,0 +1,167 @@
+package com.example.backend.service;
+
+import java.util.List;
+import java.util.regex.Pattern;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.test.context.ActiveProfiles;
+
+import com.example.backend.dto.CategoryDTO;
+import com.example.backend.dto.MediaFilterDTO;
+import com.example.backend.model.MediaEntity;
+import com.example.backend.model.MediaState;
+import com.example.backend.model.MediaType;
+import com.example.backend.model.PersonEntity;
+import com.example.backend.model.UserEntity;
+import com.example.backend.repository.SqlStatementCounter;
+import com.example.backend.security.AuthenticatedUser;
+
+import jakarta.persistence.EntityManager;
+import jakarta.transaction.Transactional;
+
+/**
+ * Prüft, dass die Service-Methoden hinter den Endpunkten den angemeldeten
+ * Benutzer nicht mehr aus der Datenbank laden. Der Benutzer kommt aus dem
+ * {@link AuthenticatedUser} des Tokens; Besitzer werden nur als Referenz
+ * gesetzt. Jede Methode führt daher genau die Anweisungen für ihre eigenen
+ * Daten aus und keine eigene Abfrage der Benutzertabelle.
+ */
+@SpringBootTest(
+  properties = "spring.jpa.properties.hibernate.session_factory.statement_inspector=com.example.backend.repository.SqlStatementCounter"
+)
+@ActiveProfiles("test")
+@Transactional
+class AuthenticatedUserStatementCountTest {
+
+  private static final Pattern USER_TABLE = Pattern.compile(
+    "(?i)\\bfrom\\s+[`\"]?user[`\"]?\\s"
+  );
+
+  @Autowired
+  private PersonService personService;
+
+  @Autowired
+  private CategoryService categoryService;
+
+  @Autowired
+  private MediaService mediaService;
+
+  @Autowired
+  private EntityManager entityManager;
+
+  private MediaEntity media;
+
+  @BeforeEach
+  void setUp() {
+    String suffix = String.valueOf(System.nanoTime());
+    UserEntity user = new UserEntity();
+    user.setUsername("lookup_" + suffix);
+    user.setPassword("password");
+    user.setEmail("lookup_" + suffix + "@example.com");
+    entityManager.persist(user);
+
+    media = new MediaEntity();
+    media.setTitle("Title");
+    media.setType(MediaType.BOOK);
+    media.setMediaState(MediaState.AVAILABLE);
+    media.setIsFavorite(false);
+    media.setUser(user);
+    entityManager.persist(media);
+    entityManager.flush();
+    entityManager.clear();
+
+    SecurityContextHolder
+      .getContext()
+      .setAuthentication(
+        new UsernamePasswordAuthenticationToken(
+          new AuthenticatedUser(user.getUserId(), user.getUsername()),
+          null,
+          List.of()
+        )
+      );
+  }
+
+  @AfterEach
+  void tearDown() {
+    SecurityContextHolder.clearContext();
+  }
+
+  /**
+   * Testet, dass das Anlegen einer Person nur die Person einfügt.
+   */
+  @Test
+  void testCreatePerson_InsertsOnly() {
+    PersonEntity person = new PersonEntity();
+    person.setFirstName("Ada");
+    person.setLastName("Lovelace");
+    person.setAddress("Street 1");
+    person.setEmail("ada@example.com");
+
+    assertStatements(1, () -> personService.createPerson(person));
+  }
+
+  /**
+   * Testet, dass das Anlegen einer Kategorie nur die Kategorie einfügt.
+   */
+  @Test
+  void testCreateCategory_InsertsOnly() {
+    CategoryDTO category = new CategoryDTO();
+    category.setCategoryName("Neu");
+
+    assertStatements(1, () -> categoryService.createCategory(category));
+  }
+
+  /**
+   * Testet, dass das Markieren als Favorit den Benutzer nicht separat lädt:
+   * Medium (Besitzer per Join), Notizen und Kategorien für das DTO sowie
+   * das Update des Mediums.
+   */
+  @Test
+  void testAddToFavorite_WithoutUserLookup() {
+    MediaEntity favorite = new MediaEntity();
+    favorite.setIsFavorite(true);
+
+    assertStatements(
+      4,
+      () -> mediaService.addToFavorite(media.getMediaId(), favorite)
+    );
+  }
+
+  /**
+   * Testet, dass die Listen des Benutzers je eine Abfrage ausführen.
+   */
+  @Test
+  void testListsOfCurrentUser_SingleStatementEach() {
+    assertStatements(1, () -> personService.getPersonsOfCurrentUser());
+    assertStatements(1, () -> categoryService.getCategoryDTOsOfCurrentUser());
+  }
+
+  /**
+   * Testet, dass die Facettenzählung nur ihre beiden Aggregationen ausführt.
+   */
+  @Test
+  void testGetMediaFacets_AggregationsOnly() {
+    assertStatements(2, () -> mediaService.getMediaFacets(new MediaFilterDTO()));
+  }
+
+  private void assertStatements(int expected, Runnable action) {
+    List<String> statements = SqlStatementCounter.record(() -> {
+      action.run();
+      entityManager.flush();
+    });
+
+    assertTrue(
+      statements.stream().noneMatch(sql -> USER_TABLE.matcher(sql).find()),
+      () -> "User lookup in: " + statements
+    );
+    assertEquals(expected, statements.size(), () -> "Unexpected SQL statements: " + statements);
+  }
+}
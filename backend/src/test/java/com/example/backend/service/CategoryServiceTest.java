@@ -5,24 +5,32 @@ import java.util.Optional;
 
 import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertSame;
 import static org.junit.jupiter.api.Assertions.assertThrows;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import static org.mockito.ArgumentMatchers.any;
+import org.mockito.InOrder;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import static org.mockito.Mockito.doNothing;
+import static org.mockito.Mockito.inOrder;
+import static org.mockito.Mockito.never;
 import static org.mockito.Mockito.times;
 import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 import org.mockito.MockitoAnnotations;
-import org.springframework.security.core.Authentication;
+import org.springframework.transaction.PlatformTransactionManager;
 
+import com.example.backend.cache.UserDataVersions;
 import com.example.backend.dto.CategoryDTO;
 import com.example.backend.model.CategoryEntity;
+import com.example.backend.model.SyncEntityType;
 import com.example.backend.model.UserEntity;
 import com.example.backend.repository.CategoryRepository;
 import com.example.backend.repository.UserRepository;
+import com.example.backend.security.AuthenticatedUser;
+import com.example.backend.sync.SyncService;
 
 class CategoryServiceTest {
 
@@ -33,7 +41,16 @@ class CategoryServiceTest {
   private UserRepository userRepository;
 
   @Mock
-  private Authentication authentication;
+  private AuthenticatedUser authenticatedUser;
+
+  @Mock
+  private UserDataVersions userDataVersions;
+
+  @Mock
+  private SyncService syncService;
+
+  @Mock
+  private PlatformTransactionManager transactionManager;
 
   @InjectMocks
   private CategoryService categoryService;
@@ -41,6 +58,7 @@ class CategoryServiceTest {
   @BeforeEach
   void setUp() {
     MockitoAnnotations.openMocks(this);
+    when(authenticatedUser.getUserId()).thenReturn(1L);
   }
 /**
  * Testet das erfolgreiche Erstellen einer Kategorie.
@@ -52,11 +70,10 @@ class CategoryServiceTest {
     categoryDTO.setCategoryName("TestCategory");
 
     UserEntity userEntity = new UserEntity();
+    userEntity.setUserId(1L);
     userEntity.setUsername("testUser");
 
-    when(authentication.getName()).thenReturn("testUser");
-    when(userRepository.findByUsername("testUser"))
-      .thenReturn(Optional.of(userEntity));
+    when(userRepository.getReferenceById(1L)).thenReturn(userEntity);
 
     CategoryEntity savedEntity = new CategoryEntity();
     savedEntity.setCategoryId(1L);
@@ -66,34 +83,37 @@ class CategoryServiceTest {
     when(categoryRepository.save(any(CategoryEntity.class)))
       .thenReturn(savedEntity);
 
-    CategoryEntity result = categoryService.createCategory(
-      categoryDTO,
-      authentication
-    );
+    CategoryEntity result = categoryService.createCategory(categoryDTO);
 
     assertNotNull(result);
     assertEquals("TestCategory", result.getCategoryName());
     verify(categoryRepository, times(1)).save(any(CategoryEntity.class));
+    verify(userRepository, times(1)).getReferenceById(1L);
+    verify(userRepository, never()).findById(any());
+    verify(userRepository, never()).findByUsername(any());
+    verify(userDataVersions).bump(1L);
   }
 
 
 /**
- * Testet das Erstellen einer Kategorie, wenn der Benutzer nicht gefunden wird.
- * Zu erwarten: IllegalArgumentException geworfen, wenn der Benutzer nicht existiert.
+ * Testet, dass beim Erstellen einer Kategorie der Benutzer nicht geladen,
+ * sondern nur als Referenz für den Fremdschlüssel gesetzt wird.
  */
   @Test
-  void testCreateCategory_UserNotFound_ShouldThrowException() {
+  void testCreateCategory_UsesUserReferenceWithoutLookup() {
     CategoryDTO categoryDTO = new CategoryDTO();
     categoryDTO.setCategoryName("TestCategory");
+    UserEntity reference = new UserEntity();
+    reference.setUserId(1L);
 
-    when(authentication.getName()).thenReturn("nonExistingUser");
-    when(userRepository.findByUsername("nonExistingUser"))
-      .thenReturn(Optional.empty());
+    when(userRepository.getReferenceById(1L)).thenReturn(reference);
+    when(categoryRepository.save(any(CategoryEntity.class)))
+      .thenAnswer(invocation -> invocation.getArgument(0));
 
-    assertThrows(
-      IllegalArgumentException.class,
-      () -> categoryService.createCategory(categoryDTO, authentication)
-    );
+    CategoryEntity result = categoryService.createCategory(categoryDTO);
+
+    assertSame(reference, result.getUser());
+    verify(userRepository, never()).findById(any());
   }
 
   /**
@@ -146,7 +166,7 @@ class CategoryServiceTest {
 
 /**
  * Testet das erfolgreiche Löschen einer Kategorie.
- * Zu erwarten: Kategorie ohne Fehler gelöscht.
+ * Zu erwarten: Kategorie in derselben Transaktion erst protokolliert, dann gelöscht.
  */
   @Test
   void testDeleteCategory_Success() {
@@ -156,7 +176,12 @@ class CategoryServiceTest {
 
     categoryService.deleteCategory(categoryId);
 
-    verify(categoryRepository, times(1)).deleteById(categoryId);
+    InOrder order = inOrder(syncService, categoryRepository, transactionManager);
+    order.verify(syncService)
+      .recordDeletions(1L, SyncEntityType.CATEGORY, List.of(categoryId));
+    order.verify(categoryRepository, times(1)).deleteById(categoryId);
+    order.verify(transactionManager).commit(null);
+    verify(userDataVersions).bump(1L);
   }
 
   /**
@@ -179,4 +204,21 @@ class CategoryServiceTest {
     assertEquals("Cat1", result.get(0).getCategoryName());
     assertEquals("Cat2", result.get(1).getCategoryName());
   }
+
+  /**
+ * Testet das Abrufen der Kategorie-DTOs des angemeldeten Benutzers.
+ * Zu erwarten: Abfrage erfolgt direkt über die Benutzer-ID ohne Benutzer-Lookup.
+ */
+  @Test
+  void testGetCategoryDTOsOfCurrentUser_Success() {
+    when(categoryRepository.findCategoryDTOsByUserId(1L))
+      .thenReturn(List.of(new CategoryDTO(1L, "Cat1")));
+
+    List<CategoryDTO> result = categoryService.getCategoryDTOsOfCurrentUser();
+
+    assertEquals(1, result.size());
+    assertEquals("Cat1", result.get(0).getCategoryName());
+    verify(categoryRepository, times(1)).findCategoryDTOsByUserId(1L);
+    verify(userRepository, never()).findByUsername(any());
+  }
 }
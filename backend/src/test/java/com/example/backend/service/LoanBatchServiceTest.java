@@ -0,0 +1,309 @@
+package com.example.backend.service;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Optional;
+import java.util.Set;
+import java.util.stream.LongStream;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.ArgumentMatchers.eq;
+import org.mockito.Mock;
+import static org.mockito.Mockito.lenient;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.verifyNoInteractions;
+import static org.mockito.Mockito.when;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.transaction.PlatformTransactionManager;
+
+import com.example.backend.cache.UserDataVersions;
+import com.example.backend.dto.LoanBatchCheckoutDTO;
+import com.example.backend.dto.LoanBatchItemDTO;
+import com.example.backend.dto.LoanBatchItemStatus;
+import com.example.backend.dto.LoanBatchResultDTO;
+import com.example.backend.dto.LoanBatchReturnDTO;
+import com.example.backend.dto.LoanReturnProjection;
+import com.example.backend.exception.LoanException;
+import com.example.backend.exception.PersonNotFoundException;
+import com.example.backend.model.LoanEntity;
+import com.example.backend.model.MediaEntity;
+import com.example.backend.model.MediaState;
+import com.example.backend.model.PersonEntity;
+import com.example.backend.model.UserEntity;
+import com.example.backend.repository.LoanRepository;
+import com.example.backend.repository.MediaRepository;
+import com.example.backend.repository.PersonRepository;
+import com.example.backend.security.AuthenticatedUser;
+
+@ExtendWith(MockitoExtension.class)
+class LoanBatchServiceTest {
+
+  private static final LocalDateTime BORROWED_AT = LocalDateTime.of(2026, 10, 1, 10, 0);
+
+  @Mock
+  private LoanRepository loanRepository;
+
+  @Mock
+  private MediaRepository mediaRepository;
+
+  @Mock
+  private PersonRepository personRepository;
+
+  @Mock
+  private AuthenticatedUser authenticatedUser;
+
+  @Mock
+  private UserDataVersions userDataVersions;
+
+  @Mock
+  private PlatformTransactionManager transactionManager;
+
+  private LoanBatchService loanBatchService;
+
+  @BeforeEach
+  void setUp() {
+    lenient().when(authenticatedUser.getUserId()).thenReturn(1L);
+    loanBatchService =
+      new LoanBatchService(
+        loanRepository,
+        mediaRepository,
+        personRepository,
+        authenticatedUser,
+        userDataVersions,
+        transactionManager
+      );
+  }
+
+  /**
+   * Testet, dass verfügbare Medien gesperrt, mit einer Anweisung auf
+   * {@code BORROWED} gesetzt und gemeinsam gespeichert werden. Das Ergebnis
+   * enthält jedes Medium einmal in der Reihenfolge der Anfrage.
+   */
+  @Test
+  void testCheckout_CreatesLoansAndReportsPerItem() {
+    when(personRepository.findById(7L)).thenReturn(Optional.of(person(1L)));
+    when(mediaRepository.findOwnedIds(1L, List.of(3L, 2L, 4L, 9L)))
+      .thenReturn(List.of(2L, 3L, 4L));
+    when(
+      mediaRepository.lockIdsByState(1L, Set.of(2L, 3L, 4L), MediaState.AVAILABLE)
+    )
+      .thenReturn(List.of(2L, 3L));
+    when(mediaRepository.getReferenceById(any()))
+      .thenAnswer(invocation -> media(invocation.getArgument(0)));
+    when(loanRepository.saveAll(anyList()))
+      .thenAnswer(invocation -> {
+        List<LoanEntity> loans = invocation.getArgument(0);
+        loans.forEach(loan -> {
+          assertEquals(1L, loan.getUserId());
+          loan.setLoanId(loan.getMedia().getMediaId() + 100);
+        });
+        return loans;
+      });
+
+    LoanBatchResultDTO result = loanBatchService.checkout(
+      checkout(7L, 3L, 2L, 3L, 4L, 9L)
+    );
+
+    assertEquals(2, result.getSucceeded());
+    assertEquals(
+      List.of(
+        new LoanBatchItemDTO(3L, 103L, LoanBatchItemStatus.CREATED),
+        new LoanBatchItemDTO(2L, 102L, LoanBatchItemStatus.CREATED),
+        new LoanBatchItemDTO(4L, null, LoanBatchItemStatus.UNAVAILABLE),
+        new LoanBatchItemDTO(9L, null, LoanBatchItemStatus.NOT_FOUND)
+      ),
+      result.getItems()
+    );
+    verify(mediaRepository)
+      .updateMediaState(eq(1L), eq(List.of(2L, 3L)), eq(MediaState.BORROWED), any());
+    verify(transactionManager).commit(null);
+    verify(userDataVersions).bump(1L);
+  }
+
+  /**
+   * Testet, dass ohne verfügbare Medien weder Status geändert noch Ausleihen
+   * gespeichert werden und die Datenversion unverändert bleibt.
+   */
+  @Test
+  void testCheckout_NoneAvailable_WritesNothing() {
+    when(personRepository.findById(7L)).thenReturn(Optional.of(person(1L)));
+    when(mediaRepository.findOwnedIds(1L, List.of(4L))).thenReturn(List.of(4L));
+    when(mediaRepository.lockIdsByState(1L, Set.of(4L), MediaState.AVAILABLE))
+      .thenReturn(List.of());
+
+    LoanBatchResultDTO result = loanBatchService.checkout(checkout(7L, 4L));
+
+    assertEquals(0, result.getSucceeded());
+    assertEquals(LoanBatchItemStatus.UNAVAILABLE, result.getItems().get(0).getStatus());
+    verify(mediaRepository, never()).updateMediaState(any(), any(), any(), any());
+    verify(loanRepository, never()).saveAll(anyList());
+    verifyNoInteractions(userDataVersions);
+  }
+
+  /**
+   * Testet, dass eine Person eines anderen Benutzers wie eine fehlende Person
+   * behandelt und die Transaktion zurückgerollt wird.
+   */
+  @Test
+  void testCheckout_ForeignPerson_ThrowsAndRollsBack() {
+    when(personRepository.findById(7L)).thenReturn(Optional.of(person(2L)));
+
+    assertThrows(
+      PersonNotFoundException.class,
+      () -> loanBatchService.checkout(checkout(7L, 3L))
+    );
+
+    verify(transactionManager).rollback(null);
+    verify(mediaRepository, never()).findOwnedIds(any(), any());
+    verifyNoInteractions(userDataVersions);
+  }
+
+  /**
+   * Testet, dass leere oder zu große Anfragen ohne Datenbankzugriff abgelehnt
+   * werden.
+   */
+  @Test
+  void testCheckout_InvalidRequest_Throws() {
+    assertThrows(LoanException.class, () -> loanBatchService.checkout(checkout(null, 3L)));
+    assertThrows(LoanException.class, () -> loanBatchService.checkout(checkout(7L)));
+    Long[] tooMany = LongStream
+      .rangeClosed(1, LoanBatchService.MAX_BATCH_SIZE + 1)
+      .boxed()
+      .toArray(Long[]::new);
+    assertThrows(LoanException.class, () -> loanBatchService.checkout(checkout(7L, tooMany)));
+
+    verifyNoInteractions(transactionManager, personRepository, mediaRepository);
+  }
+
+  /**
+   * Testet, dass offene Ausleihen mit einer Anweisung zurückgegeben und ihre
+   * Medien mit einer Anweisung freigegeben werden. Bereits zurückgegebene,
+   * zu früh zurückgegebene, fremde und fehlende Ausleihen werden gemeldet.
+   */
+  @Test
+  void testReturnLoans_ReturnsOpenLoansAndReportsPerItem() {
+    LocalDateTime returnedAt = BORROWED_AT.plusDays(3);
+    when(loanRepository.lockForReturn(List.of(11L, 12L, 13L, 14L, 15L, 16L)))
+      .thenReturn(
+        List.of(
+          loan(11L, 1L, BORROWED_AT, null),
+          loan(12L, 2L, BORROWED_AT, BORROWED_AT.plusDays(1)),
+          loan(13L, 3L, returnedAt.plusDays(1), null),
+          loan(14L, 4L, BORROWED_AT, null),
+          loan(15L, 5L, BORROWED_AT, null)
+        )
+      );
+    when(mediaRepository.findOwnedIds(1L, List.of(1L, 2L, 3L, 4L, 5L)))
+      .thenReturn(List.of(1L, 2L, 3L, 5L));
+
+    LoanBatchResultDTO result = loanBatchService.returnLoans(
+      returnRequest(returnedAt, 11L, 12L, 13L, 14L, 15L, 16L, 11L)
+    );
+
+    assertEquals(2, result.getSucceeded());
+    assertEquals(
+      List.of(
+        new LoanBatchItemDTO(1L, 11L, LoanBatchItemStatus.RETURNED),
+        new LoanBatchItemDTO(2L, 12L, LoanBatchItemStatus.ALREADY_RETURNED),
+        new LoanBatchItemDTO(3L, 13L, LoanBatchItemStatus.RETURNED_BEFORE_BORROWED),
+        new LoanBatchItemDTO(null, 14L, LoanBatchItemStatus.NOT_FOUND),
+        new LoanBatchItemDTO(5L, 15L, LoanBatchItemStatus.RETURNED),
+        new LoanBatchItemDTO(null, 16L, LoanBatchItemStatus.NOT_FOUND)
+      ),
+      result.getItems()
+    );
+    verify(loanRepository).markReturned(eq(List.of(11L, 15L)), eq(returnedAt), any());
+    verify(mediaRepository)
+      .updateMediaState(eq(1L), eq(List.of(1L, 5L)), eq(MediaState.AVAILABLE), any());
+    verify(transactionManager).commit(null);
+    verify(userDataVersions).bump(1L);
+  }
+
+  /**
+   * Testet, dass ohne gefundene Ausleihen nichts geändert wird.
+   */
+  @Test
+  void testReturnLoans_NoneFound_WritesNothing() {
+    when(loanRepository.lockForReturn(List.of(11L))).thenReturn(List.of());
+
+    LoanBatchResultDTO result = loanBatchService.returnLoans(
+      returnRequest(null, 11L)
+    );
+
+    assertEquals(0, result.getSucceeded());
+    assertEquals(LoanBatchItemStatus.NOT_FOUND, result.getItems().get(0).getStatus());
+    verify(mediaRepository, never()).findOwnedIds(any(), any());
+    verify(loanRepository, never()).markReturned(any(), any(), any());
+    verifyNoInteractions(userDataVersions);
+  }
+
+  private static LoanBatchCheckoutDTO checkout(Long personId, Long... mediaIds) {
+    LoanBatchCheckoutDTO request = new LoanBatchCheckoutDTO();
+    request.setPersonId(personId);
+    request.setMediaIds(new ArrayList<>(Arrays.asList(mediaIds)));
+    request.setBorrowedAt(BORROWED_AT);
+    return request;
+  }
+
+  private static LoanBatchReturnDTO returnRequest(
+    LocalDateTime returnedAt,
+    Long... loanIds
+  ) {
+    LoanBatchReturnDTO request = new LoanBatchReturnDTO();
+    request.setLoanIds(new ArrayList<>(Arrays.asList(loanIds)));
+    request.setReturnedAt(returnedAt);
+    return request;
+  }
+
+  private static PersonEntity person(Long userId) {
+    UserEntity user = new UserEntity();
+    user.setUserId(userId);
+    PersonEntity person = new PersonEntity();
+    person.setUser(user);
+    return person;
+  }
+
+  private static MediaEntity media(Long mediaId) {
+    MediaEntity media = new MediaEntity();
+    media.setMediaId(mediaId);
+    return media;
+  }
+
+  private static LoanReturnProjection loan(
+    Long loanId,
+    Long mediaId,
+    LocalDateTime borrowedAt,
+    LocalDateTime returnedAt
+  ) {
+    return new LoanReturnProjection() {
+      @Override
+      public Long getLoanId() {
+        return loanId;
+      }
+
+      @Override
+      public Long getMediaId() {
+        return mediaId;
+      }
+
+      @Override
+      public LocalDateTime getBorrowedAt() {
+        return borrowedAt;
+      }
+
+      @Override
+      public LocalDateTime getReturnedAt() {
+        return returnedAt;
+      }
+    };
+  }
+}
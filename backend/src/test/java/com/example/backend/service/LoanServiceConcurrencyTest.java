@@ -0,0 +1,201 @@
+package com.example.backend.service;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.stream.Collectors;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+import org.springframework.web.context.request.RequestContextHolder;
+import org.springframework.web.context.request.ServletRequestAttributes;
+
+import com.example.backend.model.MediaEntity;
+import com.example.backend.model.MediaState;
+import com.example.backend.model.MediaType;
+import com.example.backend.model.PersonEntity;
+import com.example.backend.model.UserEntity;
+import com.example.backend.repository.LoanRepository;
+import com.example.backend.repository.MediaRepository;
+import com.example.backend.repository.PersonRepository;
+import com.example.backend.repository.UserRepository;
+import com.example.backend.security.AuthenticatedUser;
+
+/**
+ * Lasttest für gleichzeitige Ausleihen gegen die Datenbank.
+ * Viele Threads versuchen gleichzeitig, dieselben Medien auszuleihen; jedes
+ * Medium darf danach genau eine Ausleihe haben. Die Daten werden außerhalb
+ * einer Testtransaktion angelegt und anschließend wieder gelöscht.
+ */
+@SpringBootTest
+@ActiveProfiles("test")
+class LoanServiceConcurrencyTest {
+
+  private static final int THREADS = 32;
+  private static final int MEDIA = 10;
+
+  @Autowired
+  private LoanService loanService;
+
+  @Autowired
+  private LoanRepository loanRepository;
+
+  @Autowired
+  private MediaRepository mediaRepository;
+
+  @Autowired
+  private PersonRepository personRepository;
+
+  @Autowired
+  private UserRepository userRepository;
+
+  @Autowired
+  private PlatformTransactionManager transactionManager;
+
+  private UserEntity user;
+  private final List<Long> mediaIds = new ArrayList<>();
+  private final List<Long> personIds = new ArrayList<>();
+
+  @BeforeEach
+  void setUp() {
+    String suffix = String.valueOf(System.nanoTime());
+    user = new UserEntity();
+    user.setUsername("concurrent_" + suffix);
+    user.setPassword("password");
+    user.setEmail("concurrent_" + suffix + "@example.com");
+    user = userRepository.save(user);
+
+    for (int i = 0; i < MEDIA; i++) {
+      MediaEntity media = new MediaEntity();
+      media.setTitle("Contended " + i);
+      media.setType(MediaType.BOOK);
+      media.setMediaState(MediaState.AVAILABLE);
+      media.setUser(user);
+      mediaIds.add(mediaRepository.save(media).getMediaId());
+    }
+    for (int i = 0; i < THREADS; i++) {
+      PersonEntity person = new PersonEntity();
+      person.setFirstName("Borrower" + i);
+      person.setLastName("Test");
+      person.setAddress("Street " + i);
+      person.setEmail("borrower" + i + "_" + suffix + "@example.com");
+      person.setUser(user);
+      personIds.add(personRepository.save(person).getPersonId());
+    }
+  }
+
+  @AfterEach
+  void tearDown() {
+    new TransactionTemplate(transactionManager).executeWithoutResult(status -> {
+      loanRepository.deleteByMediaIds(mediaIds);
+      mediaRepository.deleteAllById(mediaIds);
+      personRepository.deleteAllById(personIds);
+      userRepository.deleteById(user.getUserId());
+    });
+  }
+
+  /**
+   * Testet, dass bei gleichzeitigen Ausleihen derselben Medien durch viele
+   * Threads jedes Medium genau einmal ausgeliehen wird. Alle anderen Versuche
+   * müssen mit "Media is not available for loan" abgelehnt werden.
+   */
+  @Test
+  void testCreateLoan_ConcurrentCheckouts_NoDoubleLoans() throws Exception {
+    Map<Long, AtomicInteger> successes = new ConcurrentHashMap<>();
+    AtomicInteger rejected = new AtomicInteger();
+    List<Throwable> unexpected = new CopyOnWriteArrayList<>();
+    CountDownLatch start = new CountDownLatch(1);
+    ExecutorService executor = Executors.newFixedThreadPool(THREADS);
+    try {
+      List<Future<?>> futures = new ArrayList<>();
+      for (int t = 0; t < THREADS; t++) {
+        Long personId = personIds.get(t);
+        List<Long> order = new ArrayList<>(mediaIds);
+        Collections.shuffle(order);
+        futures.add(
+          executor.submit(() -> {
+            // Jeder Thread verhält sich wie eine eigene Anfrage des Benutzers
+            RequestContextHolder.setRequestAttributes(
+              new ServletRequestAttributes(new MockHttpServletRequest())
+            );
+            SecurityContextHolder
+              .getContext()
+              .setAuthentication(
+                new UsernamePasswordAuthenticationToken(
+                  new AuthenticatedUser(user.getUserId(), user.getUsername()),
+                  null,
+                  List.of()
+                )
+              );
+            start.await();
+            for (Long mediaId : order) {
+              try {
+                loanService.createLoan(mediaId, personId, null, LocalDateTime.now());
+                successes
+                  .computeIfAbsent(mediaId, id -> new AtomicInteger())
+                  .incrementAndGet();
+              } catch (RuntimeException e) {
+                if ("Media is not available for loan".equals(e.getMessage())) {
+                  rejected.incrementAndGet();
+                } else {
+                  unexpected.add(e);
+                }
+              }
+            }
+            SecurityContextHolder.clearContext();
+            RequestContextHolder.resetRequestAttributes();
+            return null;
+          })
+        );
+      }
+      start.countDown();
+      for (Future<?> future : futures) {
+        future.get(60, TimeUnit.SECONDS);
+      }
+    } finally {
+      executor.shutdownNow();
+    }
+
+    assertTrue(unexpected.isEmpty(), () -> "Unexpected failures: " + unexpected);
+    assertEquals(MEDIA, successes.size());
+    successes.forEach((mediaId, count) ->
+      assertEquals(1, count.get(), "Loans created for media " + mediaId)
+    );
+    assertEquals(THREADS * MEDIA - MEDIA, rejected.get());
+
+    Map<Long, Long> loansPerMedia = loanRepository
+      .findLoanDTOsByUserId(user.getUserId())
+      .stream()
+      .collect(
+        Collectors.groupingBy(loan -> loan.getMedia().getMediaId(), Collectors.counting())
+      );
+    assertEquals(MEDIA, loansPerMedia.size());
+    loansPerMedia.forEach((mediaId, count) ->
+      assertEquals(1L, count, "Loans stored for media " + mediaId)
+    );
+    for (MediaEntity media : mediaRepository.findAllById(mediaIds)) {
+      assertEquals(MediaState.BORROWED, media.getMediaState());
+    }
+  }
+}
@@ -1,6 +1,7 @@
 package com.example.backend.service;
 
 import java.time.LocalDateTime;
+import java.util.List;
 import java.util.Optional;
 
 import static org.junit.jupiter.api.Assertions.assertEquals;
@@ -12,24 +13,25 @@ import org.junit.jupiter.api.extension.ExtendWith;
 import static org.mockito.ArgumentMatchers.any;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
-import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.lenient;
 import static org.mockito.Mockito.never;
 import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.verifyNoInteractions;
 import static org.mockito.Mockito.verifyNoMoreInteractions;
 import static org.mockito.Mockito.when;
 import org.mockito.junit.jupiter.MockitoExtension;
-import org.springframework.security.core.Authentication;
-import org.springframework.security.core.context.SecurityContext;
-import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.transaction.PlatformTransactionManager;
 
+import com.example.backend.cache.UserDataVersions;
+import com.example.backend.dto.LoanReturnProjection;
 import com.example.backend.exception.MediaNotFoundException;
 import com.example.backend.exception.PersonNotFoundException;
-import com.example.backend.model.LoanEntity;
 import com.example.backend.model.MediaEntity;
 import com.example.backend.model.MediaState;
 import com.example.backend.model.UserEntity;
 import com.example.backend.repository.LoanRepository;
+import com.example.backend.repository.MediaRepository;
+import com.example.backend.security.AuthenticatedUser;
 
 @ExtendWith(MockitoExtension.class)
 class LoanServiceEdgeCaseTest {
@@ -43,19 +45,27 @@ class LoanServiceEdgeCaseTest {
   @Mock
   private MediaService mediaService;
 
+  @Mock
+  private MediaRepository mediaRepository;
+
   @Mock
   private PersonService personService;
 
   @Mock
-  private Authentication authentication;
+  private UserDataVersions userDataVersions;
+
+  @Mock
+  private AuthenticatedUser authenticatedUser;
+
+  @Mock
+  private PlatformTransactionManager transactionManager;
 
   @InjectMocks
   private LoanService loanService;
 
   @BeforeEach
-  void setupSecurityContext() {
-    SecurityContext context = mock(SecurityContext.class);
-    SecurityContextHolder.setContext(context);
+  void setUp() {
+    lenient().when(authenticatedUser.getUserId()).thenReturn(1L);
   }
 
   /**
@@ -65,24 +75,11 @@ class LoanServiceEdgeCaseTest {
  */
   @Test
   void testCreateLoan_whenMediaAlreadyBorrowed_shouldThrowRuntimeException() {
-    String username = "edgeUser";
-
-    UserEntity user = new UserEntity();
-    user.setUserId(42L);
-
     MediaEntity mediaEntity = new MediaEntity();
     mediaEntity.setMediaId(555L);
     mediaEntity.setMediaState(MediaState.BORROWED);
+    mediaEntity.setUser(owner());
 
-    Authentication authenticationMock = mock(Authentication.class);
-    when(authenticationMock.getName()).thenReturn(username);
-
-    SecurityContext securityContextMock = mock(SecurityContext.class);
-    when(securityContextMock.getAuthentication())
-      .thenReturn(authenticationMock);
-    SecurityContextHolder.setContext(securityContextMock);
-
-    when(userService.getUserByUsername(username)).thenReturn(Optional.of(user));
     when(mediaService.getMediaById(555L)).thenReturn(Optional.of(mediaEntity));
 
     RuntimeException exception = assertThrows(
@@ -91,7 +88,6 @@ class LoanServiceEdgeCaseTest {
         loanService.createLoan(
           555L,
           1000L,
-          SecurityContextHolder.getContext().getAuthentication(),
           null,
           null
         )
@@ -99,9 +95,8 @@ class LoanServiceEdgeCaseTest {
 
     assertEquals("Media is not available for loan", exception.getMessage());
 
-    verify(userService).getUserByUsername(username);
     verify(mediaService).getMediaById(555L);
-    verifyNoInteractions(personService);
+    verifyNoInteractions(personService, userService);
   }
 
   /**
@@ -112,25 +107,15 @@ class LoanServiceEdgeCaseTest {
   void testCreateLoan_MediaNotFound() {
     Long mediaId = 1L;
     Long personId = 1L;
-    String username = "testuser";
-
-    UserEntity mockUser = new UserEntity();
-    mockUser.setUsername(username);
-
-    when(authentication.getName()).thenReturn(username);
-    when(userService.getUserByUsername(username))
-      .thenReturn(Optional.of(mockUser));
     when(mediaService.getMediaById(mediaId)).thenReturn(Optional.empty()); // Nur Stub für mediaService
 
     MediaNotFoundException exception = assertThrows(
       MediaNotFoundException.class,
       () ->
-        loanService.createLoan(mediaId, personId, authentication, null, null)
+        loanService.createLoan(mediaId, personId, null, null)
     );
     assertEquals("Media not found with ID: " + mediaId, exception.getMessage());
 
-    verify(authentication).getName();
-    verify(userService).getUserByUsername(username);
     verify(mediaService).getMediaById(mediaId);
     verifyNoMoreInteractions(
       userService,
@@ -146,18 +131,20 @@ class LoanServiceEdgeCaseTest {
  */
   @Test
   void testMarkAsReturned_whenLoanAlreadyHasReturnedAt_shouldThrowException() {
-    LoanEntity loan = new LoanEntity();
-    loan.setLoanId(999L);
-    loan.setBorrowedAt(LocalDateTime.now().minusDays(2));
-    loan.setReturnedAt(LocalDateTime.now().minusHours(1)); // Bereits zurück
+    LoanReturnProjection loan = loan(
+      999L,
+      LocalDateTime.now().minusDays(2),
+      LocalDateTime.now().minusHours(1) // Bereits zurück
+    );
 
-    when(loanRepository.findById(999L)).thenReturn(Optional.of(loan));
+    when(loanRepository.lockForReturn(List.of(999L))).thenReturn(List.of(loan));
+    when(mediaRepository.findOwnedIds(1L, List.of(555L))).thenReturn(List.of(555L));
 
     assertThrows(
       RuntimeException.class,
       () -> loanService.markAsReturned(999L, LocalDateTime.now())
     );
-    verify(loanRepository, never()).save(any());
+    verify(loanRepository, never()).markReturned(any(), any(), any());
   }
 
   /**
@@ -166,7 +153,7 @@ class LoanServiceEdgeCaseTest {
  */
   @Test
   void testMarkAsReturned_whenLoanNotFound_shouldThrowRuntimeException() {
-    when(loanRepository.findById(123L)).thenReturn(Optional.empty());
+    when(loanRepository.lockForReturn(List.of(123L))).thenReturn(List.of());
 
     RuntimeException ex = assertThrows(
       RuntimeException.class,
@@ -183,17 +170,20 @@ class LoanServiceEdgeCaseTest {
   @Test
   void testMarkAsReturned_whenReturnedAtBeforeBorrowedAt_shouldThrowIllegalArgumentException() {
     // Arrange
-    LoanEntity loan = new LoanEntity();
-    loan.setLoanId(200L);
-    loan.setBorrowedAt(LocalDateTime.now().plusDays(1)); // Ungültig: Zukünftiges BorrowedAt
+    LoanReturnProjection loan = loan(
+      200L,
+      LocalDateTime.now().plusDays(1), // Ungültig: Zukünftiges BorrowedAt
+      null
+    );
 
-    when(loanRepository.findById(200L)).thenReturn(Optional.of(loan));
+    when(loanRepository.lockForReturn(List.of(200L))).thenReturn(List.of(loan));
+    when(mediaRepository.findOwnedIds(1L, List.of(555L))).thenReturn(List.of(555L));
 
     assertThrows(
       IllegalArgumentException.class,
       () -> loanService.markAsReturned(200L, LocalDateTime.now())
     );
-    verify(loanRepository, never()).save(any()); // Sicherstellen, dass nichts gespeichert wird
+    verify(loanRepository, never()).markReturned(any(), any(), any()); // Sicherstellen, dass nichts gespeichert wird
   }
 
 
@@ -203,24 +193,11 @@ class LoanServiceEdgeCaseTest {
  */
   @Test
   void testCreateLoan_whenPersonNotFound_shouldThrowPersonNotFoundException() {
-    String username = "edgeUser";
-
-    UserEntity user = new UserEntity();
-    user.setUserId(42L);
-
     MediaEntity mediaEntity = new MediaEntity();
     mediaEntity.setMediaId(555L);
     mediaEntity.setMediaState(MediaState.AVAILABLE);
+    mediaEntity.setUser(owner());
 
-    Authentication authenticationMock = mock(Authentication.class);
-    when(authenticationMock.getName()).thenReturn(username);
-
-    SecurityContext securityContextMock = mock(SecurityContext.class);
-    when(securityContextMock.getAuthentication())
-      .thenReturn(authenticationMock);
-    SecurityContextHolder.setContext(securityContextMock);
-
-    when(userService.getUserByUsername(username)).thenReturn(Optional.of(user));
     when(mediaService.getMediaById(555L)).thenReturn(Optional.of(mediaEntity));
     when(personService.getPersonById(999L)).thenReturn(Optional.empty());
 
@@ -230,7 +207,6 @@ class LoanServiceEdgeCaseTest {
         loanService.createLoan(
           555L,
           999L,
-          SecurityContextHolder.getContext().getAuthentication(),
           null,
           null
         )
@@ -238,9 +214,43 @@ class LoanServiceEdgeCaseTest {
 
     assertEquals("Person not found with ID: 999", exception.getMessage());
 
-    verify(userService).getUserByUsername(username);
     verify(mediaService).getMediaById(555L);
     verify(personService).getPersonById(999L);
-    verifyNoMoreInteractions(userService, mediaService, personService);
+    verifyNoMoreInteractions(mediaService, personService);
+    verifyNoInteractions(userService);
+  }
+
+  private static UserEntity owner() {
+    UserEntity owner = new UserEntity();
+    owner.setUserId(1L);
+    return owner;
+  }
+
+  private static LoanReturnProjection loan(
+    Long loanId,
+    LocalDateTime borrowedAt,
+    LocalDateTime returnedAt
+  ) {
+    return new LoanReturnProjection() {
+      @Override
+      public Long getLoanId() {
+        return loanId;
+      }
+
+      @Override
+      public Long getMediaId() {
+        return 555L;
+      }
+
+      @Override
+      public LocalDateTime getBorrowedAt() {
+        return borrowedAt;
+      }
+
+      @Override
+      public LocalDateTime getReturnedAt() {
+        return returnedAt;
+      }
+    };
   }
 }
@@ -1,13 +1,14 @@
 package com.example.backend.service;
 
 import java.time.LocalDate;
+import java.time.LocalDateTime;
 import java.util.Collections;
 import java.util.List;
-import java.util.NoSuchElementException;
-import java.util.Optional;
 
 import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
 import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNull;
 import static org.junit.jupiter.api.Assertions.assertThrows;
 import static org.junit.jupiter.api.Assertions.assertTrue;
 import org.junit.jupiter.api.BeforeEach;
@@ -18,22 +19,24 @@ import static org.mockito.ArgumentMatchers.eq;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import static org.mockito.Mockito.lenient;
-import static org.mockito.Mockito.mock;
 import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.verifyNoInteractions;
+import static org.mockito.Mockito.verifyNoMoreInteractions;
 import static org.mockito.Mockito.when;
 import org.mockito.junit.jupiter.MockitoExtension;
-import org.springframework.security.core.Authentication;
-import org.springframework.security.core.context.SecurityContext;
-import org.springframework.security.core.context.SecurityContextHolder;
-import org.springframework.security.core.userdetails.UsernameNotFoundException;
-
-import com.example.backend.model.LoanEntity;
-import com.example.backend.model.PersonEntity;
-import com.example.backend.model.UserEntity;
+
+import com.example.backend.cache.UserDataVersions;
+import com.example.backend.dto.LoanCursor;
+import com.example.backend.dto.LoanDTO;
+import com.example.backend.dto.LoanHistoryFilterDTO;
+import com.example.backend.dto.LoanPageDTO;
+import com.example.backend.dto.LoanStatus;
+import com.example.backend.exception.LoanException;
+import com.example.backend.model.MediaState;
+import com.example.backend.model.MediaType;
 import com.example.backend.repository.LoanRepository;
 import com.example.backend.repository.PersonRepository;
-import com.example.backend.repository.UserRepository;
+import com.example.backend.security.AuthenticatedUser;
 
 @ExtendWith(MockitoExtension.class)
 class LoanServiceReadTests {
@@ -42,190 +45,120 @@ class LoanServiceReadTests {
   private LoanRepository loanRepository;
 
   @Mock
-  private UserRepository userRepository;
+  private PersonRepository personRepository;
 
   @Mock
-  private PersonRepository personRepository;
+  private UserService userService;
+
+  @Mock
+  private AuthenticatedUser authenticatedUser;
+
+  @Mock
+  private UserDataVersions userDataVersions;
 
   @InjectMocks
   private LoanService loanService;
 
   @BeforeEach
-  void setupSecurityContext() {
-    // Mock SecurityContext
-    SecurityContext context = mock(SecurityContext.class);
-    Authentication authentication = mock(Authentication.class);
-    lenient().when(authentication.getName()).thenReturn("testuser");
-    lenient().when(context.getAuthentication()).thenReturn(authentication);
-    SecurityContextHolder.setContext(context);
+  void setupAuthenticatedUser() {
+    lenient().when(authenticatedUser.getUserId()).thenReturn(1L);
+    lenient().when(authenticatedUser.getUsername()).thenReturn("testuser");
   }
 
   /**
  * Testet das Abrufen der Leihvorgänge für den eingeloggten Benutzer.
- * Zu erwarten:Liste von Leihvorgängen zurückgegeben, wenn der Benutzer existiert
- * und mindestens eine zugeordnete Person mit Leihvorgängen vorhanden ist.
+ * Zu erwarten: Die Leihvorgänge werden als DTOs mit Kurzfassungen von Person
+ * und Medium zurückgegeben.
  */
   @Test
   void testGetLoansByUser_shouldReturnListOfLoansForLoggedInUser() {
-    String username = "testuser";
-    UserEntity userEntity = new UserEntity();
-    userEntity.setUserId(1L);
-    userEntity.setUsername(username);
-
-    PersonEntity personEntity = new PersonEntity();
-    personEntity.setPersonId(10L);
-    personEntity.setUser(userEntity);
-
-    LoanEntity loan1 = new LoanEntity();
-    LoanEntity loan2 = new LoanEntity();
-    List<LoanEntity> loans = List.of(loan1, loan2);
-
-    when(userRepository.findByUsername(username))
-      .thenReturn(Optional.of(userEntity));
-    when(personRepository.findByUserUserId(1L))
-      .thenReturn(Collections.singletonList(personEntity));
-    when(loanRepository.findByPersons(Collections.singletonList(personEntity)))
-      .thenReturn(loans);
+    LoanDTO loan1 = loan(1L, null);
+    LoanDTO loan2 = loan(2L, LocalDateTime.now());
+
+    when(loanRepository.findLoanDTOsByUserId(1L)).thenReturn(List.of(loan1, loan2));
 
     // Act
-    List<LoanEntity> result = loanService.getLoansByUser();
+    List<LoanDTO> result = loanService.getLoansByUser();
 
     assertEquals(2, result.size());
     assertTrue(result.contains(loan1));
     assertTrue(result.contains(loan2));
+    assertEquals("John", result.get(0).getPerson().getFirstName());
+    assertEquals("Dune", result.get(0).getMedia().getTitle());
   }
 
-
 /**
- * Testet das Abrufen der Leihvorgänge für den eingeloggten Benutzer, wenn der Benutzer nicht gefunden wird.
- * Zu erwarten: `NoSuchElementException` geworfen, wenn der Benutzer nicht existiert.
+ * Testet, dass die Leihvorgänge mit einer einzigen Abfrage geladen werden.
+ * Zu erwarten: Keine Zugriffe auf Benutzer oder Personen, die Benutzer-ID
+ * stammt aus dem angemeldeten Benutzer.
  */
   @Test
-  void testGetLoansByUser_whenUserNotFound_shouldThrowException() {
-    String username = "testuser";
-
-    SecurityContext context = mock(SecurityContext.class);
-    Authentication authentication = mock(Authentication.class);
-    when(authentication.getName()).thenReturn(username);
-    when(context.getAuthentication()).thenReturn(authentication);
-    SecurityContextHolder.setContext(context);
-
-    when(userRepository.findByUsername(username)).thenReturn(Optional.empty());
-
-    NoSuchElementException exception = assertThrows(
-      NoSuchElementException.class,
-      () -> loanService.getLoansByUser()
-    );
-    assertEquals("No value present", exception.getMessage()); // Erwartete Nachricht von NoSuchElementException
-  }
-
-  /**
- * Testet das Abrufen der Leihvorgänge für den eingeloggten Benutzer, wenn keine Personen für den Benutzer gefunden werden.
- * Zu erwarten: Leere Liste zurückgegeben, wenn keine Personen mit Leihvorgängen für den Benutzer existieren.
- */
-  @Test
-  void testGetLoansByUser_whenNoPersonsFound_shouldReturnEmptyList() {
-    String username = "testuser";
-    UserEntity userEntity = new UserEntity();
-    userEntity.setUserId(1L);
-
-    SecurityContext context = mock(SecurityContext.class);
-    Authentication authentication = mock(Authentication.class);
-    when(authentication.getName()).thenReturn(username);
-    when(context.getAuthentication()).thenReturn(authentication);
-    SecurityContextHolder.setContext(context);
-
-    when(userRepository.findByUsername(username))
-      .thenReturn(Optional.of(userEntity));
-    when(personRepository.findByUserUserId(userEntity.getUserId()))
+  void testGetLoansByUser_shouldIssueSingleQuery() {
+    when(loanRepository.findLoanDTOsByUserId(1L))
       .thenReturn(Collections.emptyList());
 
-    List<LoanEntity> result = loanService.getLoansByUser();
+    List<LoanDTO> result = loanService.getLoansByUser();
 
     assertNotNull(result);
     assertTrue(result.isEmpty());
-    verify(userRepository).findByUsername(username);
-    verify(personRepository).findByUserUserId(userEntity.getUserId());
+    verify(loanRepository).findLoanDTOsByUserId(1L);
+    verifyNoMoreInteractions(loanRepository);
+    verifyNoInteractions(personRepository, userService);
   }
 
-
 /**
  * Testet das Abrufen der aktiven Leihvorgänge für den eingeloggten Benutzer.
  * Zu erwarten: Eine Liste mit nur den aktiven Leihvorgängen zurückgegeben wird (Leihvorgänge, die nicht zurückgegeben wurden).
  */
   @Test
   void testGetActiveLoansByUser_shouldReturnActiveLoans() {
-    String username = "testuser";
-    UserEntity userEntity = new UserEntity();
-    userEntity.setUserId(2L);
+    when(authenticatedUser.getUserId()).thenReturn(2L);
 
-    LoanEntity activeLoan = new LoanEntity();
-    activeLoan.setReturnedAt(null); // Active
+    LoanDTO activeLoan = loan(1L, null); // Active
 
-    when(userRepository.findByUsername(username))
-      .thenReturn(Optional.of(userEntity));
-    when(loanRepository.findByPerson_User_UserIdAndReturnedAtIsNull(2L))
+    when(loanRepository.findActiveLoanDTOsByUserId(2L))
       .thenReturn(Collections.singletonList(activeLoan));
 
-    List<LoanEntity> result = loanService.getActiveLoansByUser();
+    List<LoanDTO> result = loanService.getActiveLoansByUser();
 
     assertEquals(1, result.size());
     assertEquals(activeLoan, result.get(0));
   }
 
   /**
- * Testet das Abrufen der aktiven Leihvorgänge für den eingeloggten Benutzer, wenn der Benutzer nicht gefunden wird.
- * Zu erwarten:`UsernameNotFoundException` geworfen, wenn der Benutzer mit dem angegebenen Benutzernamen nicht existiert.
+ * Testet, dass die aktiven Leihvorgänge mit einer einzigen Abfrage geladen werden.
+ * Zu erwarten: Keine Zugriffe auf Benutzer oder Personen.
  */
   @Test
-  void testGetActiveLoansByUser_whenUserNotFound_shouldThrowUsernameNotFoundException() {
-    String username = "testuser";
-
-    SecurityContext context = mock(SecurityContext.class);
-    Authentication authentication = mock(Authentication.class);
-    when(authentication.getName()).thenReturn(username);
-    when(context.getAuthentication()).thenReturn(authentication);
-    SecurityContextHolder.setContext(context);
+  void testGetActiveLoansByUser_shouldIssueSingleQuery() {
+    when(loanRepository.findActiveLoanDTOsByUserId(1L))
+      .thenReturn(Collections.emptyList());
 
-    when(userRepository.findByUsername(username)).thenReturn(Optional.empty());
+    loanService.getActiveLoansByUser();
 
-    UsernameNotFoundException exception = assertThrows(
-      UsernameNotFoundException.class,
-      () -> loanService.getActiveLoansByUser()
-    );
-    assertEquals(
-      "User not found with username: " + username,
-      exception.getMessage()
-    );
-    verify(userRepository).findByUsername(username);
+    verify(loanRepository).findActiveLoanDTOsByUserId(1L);
+    verifyNoMoreInteractions(loanRepository);
+    verifyNoInteractions(personRepository, userService);
   }
 
   /**
  * Testet das Abrufen der überfälligen Leihvorgänge für den eingeloggten Benutzer.
- * Zu erwarten: Liste der überfälligen Leihvorgänge zurückgegeben, wenn die Leihvorgänge das Rückgabedatum überschritten haben 
+ * Zu erwarten: Liste der überfälligen Leihvorgänge zurückgegeben, wenn die Leihvorgänge das Rückgabedatum überschritten haben
  * und nicht zurückgegeben wurden.
  */
   @Test
   void testGetOverdueLoansByUser_shouldReturnOverdueLoans() {
-    String username = "testuser";
-    UserEntity userEntity = new UserEntity();
-    userEntity.setUserId(3L);
+    when(authenticatedUser.getUserId()).thenReturn(3L);
 
-    LoanEntity overdueLoan = new LoanEntity();
+    LoanDTO overdueLoan = loan(1L, null);
     overdueLoan.setDueDate(LocalDate.now().minusDays(1));
-    overdueLoan.setReturnedAt(null);
 
-    when(userRepository.findByUsername(username))
-      .thenReturn(Optional.of(userEntity));
     when(
-      loanRepository.findByPerson_User_UserIdAndDueDateBeforeAndReturnedAtIsNull(
-        eq(3L),
-        any(LocalDate.class)
-      )
+      loanRepository.findOverdueLoanDTOsByUserId(eq(3L), any(LocalDate.class))
     )
       .thenReturn(Collections.singletonList(overdueLoan));
 
-    List<LoanEntity> overdueLoans = loanService.getOverdueLoansByUser(
+    List<LoanDTO> overdueLoans = loanService.getOverdueLoansByUser(
       LocalDate.now()
     );
 
@@ -234,33 +167,108 @@ class LoanServiceReadTests {
   }
 
   /**
- * Testet das Abrufen der überfälligen Leihvorgänge für den eingeloggten Benutzer, wenn der Benutzer nicht gefunden wird.
- * Zu erwarten: `UsernameNotFoundException` geworfen, wenn der Benutzer mit dem angegebenen Benutzernamen nicht existiert.
+ * Testet, dass die überfälligen Leihvorgänge mit einer einzigen Abfrage geladen werden.
+ * Zu erwarten: Keine Zugriffe auf Benutzer oder Personen.
  */
   @Test
-  void testGetOverdueLoansByUser_whenUserNotFound_shouldThrowUsernameNotFoundException() {
-    String username = "testuser";
+  void testGetOverdueLoansByUser_shouldIssueSingleQuery() {
     LocalDate currentDate = LocalDate.now();
+    when(loanRepository.findOverdueLoanDTOsByUserId(1L, currentDate))
+      .thenReturn(Collections.emptyList());
 
-    SecurityContext context = mock(SecurityContext.class);
-    Authentication authentication = mock(Authentication.class);
-    when(authentication.getName()).thenReturn(username);
-    when(context.getAuthentication()).thenReturn(authentication);
-    SecurityContextHolder.setContext(context);
+    loanService.getOverdueLoansByUser(currentDate);
 
-    when(userRepository.findByUsername(username)).thenReturn(Optional.empty());
+    verify(loanRepository).findOverdueLoanDTOsByUserId(1L, currentDate);
+    verifyNoMoreInteractions(loanRepository);
+    verifyNoInteractions(personRepository, userService);
+  }
 
-    UsernameNotFoundException exception = assertThrows(
-      UsernameNotFoundException.class,
-      () -> loanService.getOverdueLoansByUser(currentDate)
+/**
+ * Testet die erste Seite der Ausleihhistorie.
+ * Zu erwarten: Ein Eintrag mehr als die Seitengröße wird abgefragt, aber nicht
+ * geliefert; der Cursor zeigt auf den letzten gelieferten Eintrag.
+ */
+  @Test
+  void testGetLoanHistory_FirstPage_ReturnsCursorOfLastItem() {
+    LoanHistoryFilterDTO filter = new LoanHistoryFilterDTO();
+    LocalDate today = LocalDate.now();
+    LoanDTO first = loan(3L, null);
+    LoanDTO second = loan(2L, null);
+    LoanDTO third = loan(1L, null);
+    when(loanRepository.findHistoryPage(1L, filter, today, null, 3))
+      .thenReturn(List.of(first, second, third));
+
+    LoanPageDTO page = loanService.getLoanHistory(filter, null, 2, today);
+
+    assertEquals(List.of(first, second), page.getItems());
+    assertTrue(page.isHasMore());
+    assertEquals(
+      new LoanCursor(second.getBorrowedAt(), 2L),
+      LoanCursor.decode(page.getNextCursor())
     );
+  }
 
-    assertEquals(
-      "User not found with username: " + username,
-      exception.getMessage()
+/**
+ * Testet eine Folgeseite der Ausleihhistorie.
+ * Zu erwarten: Der Cursor wird dekodiert an das Repository übergeben, auf der
+ * letzten Seite ist kein weiterer Cursor gesetzt.
+ */
+  @Test
+  void testGetLoanHistory_NextPage_PassesCursor() {
+    LoanHistoryFilterDTO filter = new LoanHistoryFilterDTO();
+    filter.setStatus(LoanStatus.RETURNED);
+    LocalDate today = LocalDate.now();
+    LoanCursor cursor = new LoanCursor(LocalDateTime.of(2020, 5, 1, 12, 0), 7L);
+    when(loanRepository.findHistoryPage(1L, filter, today, cursor, 51))
+      .thenReturn(List.of(loan(6L, LocalDateTime.now())));
+
+    LoanPageDTO page = loanService.getLoanHistory(
+      filter,
+      cursor.encode(),
+      50,
+      today
     );
 
-    verify(userRepository).findByUsername(username);
+    assertEquals(1, page.getItems().size());
+    assertFalse(page.isHasMore());
+    assertNull(page.getNextCursor());
+  }
+
+/**
+ * Testet ungültige Anfragen an die Ausleihhistorie.
+ * Zu erwarten: Ein ungültiger Cursor und ein vertauschter Datumsbereich werden
+ * ohne Datenbankzugriff abgelehnt.
+ */
+  @Test
+  void testGetLoanHistory_InvalidRequest_Throws() {
+    LoanHistoryFilterDTO filter = new LoanHistoryFilterDTO();
+    assertThrows(
+      LoanException.class,
+      () -> loanService.getLoanHistory(filter, "not-a-cursor", 50, LocalDate.now())
+    );
+
+    filter.setBorrowedFrom(LocalDate.of(2024, 2, 1));
+    filter.setBorrowedTo(LocalDate.of(2024, 1, 1));
+    assertThrows(
+      LoanException.class,
+      () -> loanService.getLoanHistory(filter, null, 50, LocalDate.now())
+    );
     verifyNoInteractions(loanRepository);
   }
+
+  private static LoanDTO loan(Long loanId, LocalDateTime returnedAt) {
+    return new LoanDTO(
+      loanId,
+      LocalDateTime.now().minusDays(7),
+      returnedAt,
+      LocalDate.now().plusDays(7),
+      10L,
+      "John",
+      "Doe",
+      20L,
+      "Dune",
+      MediaType.BOOK,
+      returnedAt == null ? MediaState.BORROWED : MediaState.AVAILABLE
+    );
+  }
 }
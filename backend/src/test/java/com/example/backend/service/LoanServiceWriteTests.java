@@ -13,23 +13,23 @@ import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
 import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.argThat;
+import static org.mockito.ArgumentMatchers.eq;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import static org.mockito.Mockito.lenient;
-import static org.mockito.Mockito.mock;
 import static org.mockito.Mockito.never;
 import static org.mockito.Mockito.times;
 import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.verifyNoInteractions;
 import static org.mockito.Mockito.when;
 import org.mockito.junit.jupiter.MockitoExtension;
-import org.springframework.security.core.Authentication;
-import org.springframework.security.core.context.SecurityContext;
-import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.transaction.PlatformTransactionManager;
 
+import com.example.backend.cache.UserDataVersions;
+import com.example.backend.dto.LoanReturnProjection;
 import com.example.backend.exception.MediaNotFoundException;
 import com.example.backend.exception.PersonNotFoundException;
-import com.example.backend.exception.UserNotFoundException;
 import com.example.backend.model.LoanEntity;
 import com.example.backend.model.MediaEntity;
 import com.example.backend.model.MediaState;
@@ -37,6 +37,7 @@ import com.example.backend.model.PersonEntity;
 import com.example.backend.model.UserEntity;
 import com.example.backend.repository.LoanRepository;
 import com.example.backend.repository.MediaRepository;
+import com.example.backend.security.AuthenticatedUser;
 
 @ExtendWith(MockitoExtension.class)
 public class LoanServiceWriteTests {
@@ -56,17 +57,21 @@ public class LoanServiceWriteTests {
   @Mock
   private PersonService personService;
 
+  @Mock
+  private UserDataVersions userDataVersions;
+
+  @Mock
+  private AuthenticatedUser authenticatedUser;
+
+  @Mock
+  private PlatformTransactionManager transactionManager;
+
   @InjectMocks
   private LoanService loanService;
 
   @BeforeEach
-  void setupSecurityContext() {
-    // Mock security context in order to set the current user
-    SecurityContext context = mock(SecurityContext.class);
-    Authentication authentication = mock(Authentication.class);
-    lenient().when(authentication.getName()).thenReturn("testuser");
-    lenient().when(context.getAuthentication()).thenReturn(authentication);
-    SecurityContextHolder.setContext(context);
+  void setUp() {
+    lenient().when(authenticatedUser.getUserId()).thenReturn(1L);
   }
 
   /**
@@ -75,33 +80,37 @@ public class LoanServiceWriteTests {
    */
   @Test
   void testCreateLoan_shouldCreateLoanSuccessfully() {
-    String username = "testuser";
-    UserEntity userEntity = new UserEntity();
-    userEntity.setUserId(1L);
-
     MediaEntity mediaEntity = new MediaEntity();
     mediaEntity.setMediaId(10L);
     mediaEntity.setMediaState(MediaState.AVAILABLE);
+    mediaEntity.setUser(user(1L));
 
+    UserEntity owner = new UserEntity();
+    owner.setUserId(1L);
     PersonEntity personEntity = new PersonEntity();
     personEntity.setPersonId(100L);
+    personEntity.setUser(owner);
 
-    when(userService.getUserByUsername(username))
-      .thenReturn(Optional.of(userEntity));
     when(mediaService.getMediaById(10L)).thenReturn(Optional.of(mediaEntity));
     when(personService.getPersonById(100L))
       .thenReturn(Optional.of(personEntity));
+    when(
+      mediaRepository.compareAndSetMediaState(
+        eq(10L),
+        eq(MediaState.AVAILABLE),
+        eq(MediaState.BORROWED),
+        any()
+      )
+    )
+      .thenReturn(1);
     when(loanRepository.save(any(LoanEntity.class)))
       .thenAnswer(invocation -> invocation.getArgument(0));
-    when(mediaRepository.save(any(MediaEntity.class)))
-      .thenAnswer(invocation -> invocation.getArgument(0));
 
     LocalDate dueDate = LocalDate.now().plusDays(14);
     LocalDateTime borrowedAt = LocalDateTime.now().minusDays(1);
     LoanEntity createdLoan = loanService.createLoan(
       10L,
       100L,
-      SecurityContextHolder.getContext().getAuthentication(),
       dueDate,
       borrowedAt
     );
@@ -112,13 +121,15 @@ public class LoanServiceWriteTests {
     assertEquals(mediaEntity, createdLoan.getMedia());
     assertEquals(dueDate, createdLoan.getDueDate());
     assertEquals(borrowedAt, createdLoan.getBorrowedAt());
+    assertEquals(1L, createdLoan.getUserId());
     assertEquals(MediaState.BORROWED, mediaEntity.getMediaState());
 
-    verify(userService).getUserByUsername(username);
+    verifyNoInteractions(userService);
     verify(mediaService).getMediaById(10L);
     verify(personService).getPersonById(100L);
     verify(loanRepository).save(any(LoanEntity.class));
-    verify(mediaRepository).save(any(MediaEntity.class));
+    verify(mediaRepository, never()).save(any(MediaEntity.class));
+    verify(transactionManager).commit(null);
   }
 
    /**
@@ -128,31 +139,35 @@ public class LoanServiceWriteTests {
   @Test
   void testCreateLoan_whenBorrowedAtAndDueDateAreNull_shouldSetDefaultValues() {
     // Arrange
-    String username = "testuser";
-    UserEntity userEntity = new UserEntity();
-    userEntity.setUserId(1L);
-
     MediaEntity mediaEntity = new MediaEntity();
     mediaEntity.setMediaId(10L);
     mediaEntity.setMediaState(MediaState.AVAILABLE);
+    mediaEntity.setUser(user(1L));
 
+    UserEntity owner = new UserEntity();
+    owner.setUserId(1L);
     PersonEntity personEntity = new PersonEntity();
     personEntity.setPersonId(100L);
+    personEntity.setUser(owner);
 
-    when(userService.getUserByUsername(username))
-      .thenReturn(Optional.of(userEntity));
     when(mediaService.getMediaById(10L)).thenReturn(Optional.of(mediaEntity));
     when(personService.getPersonById(100L))
       .thenReturn(Optional.of(personEntity));
+    when(
+      mediaRepository.compareAndSetMediaState(
+        eq(10L),
+        eq(MediaState.AVAILABLE),
+        eq(MediaState.BORROWED),
+        any()
+      )
+    )
+      .thenReturn(1);
     when(loanRepository.save(any(LoanEntity.class)))
       .thenAnswer(invocation -> invocation.getArgument(0));
-    when(mediaRepository.save(any(MediaEntity.class)))
-      .thenAnswer(invocation -> invocation.getArgument(0));
 
     LoanEntity createdLoan = loanService.createLoan(
       10L,
       100L,
-      SecurityContextHolder.getContext().getAuthentication(),
       null,
       null
     );
@@ -172,33 +187,12 @@ public class LoanServiceWriteTests {
 
     assertEquals(MediaState.BORROWED, mediaEntity.getMediaState());
 
-    verify(userService).getUserByUsername(username);
+    verifyNoInteractions(userService);
     verify(mediaService).getMediaById(10L);
     verify(personService).getPersonById(100L);
     verify(loanRepository).save(any(LoanEntity.class));
-    verify(mediaRepository).save(any(MediaEntity.class));
-  }
-
-
-  /**
-   * Testet, dass eine 'UserNotFoundException' geworfen wird, wenn der Benutzer nicht gefunden wird.
-   */
-  @Test
-  void testCreateLoan_whenUserNotFound_shouldThrowUserNotFoundException() {
-    when(userService.getUserByUsername("testuser"))
-      .thenReturn(Optional.empty());
-
-    assertThrows(
-      UserNotFoundException.class,
-      () ->
-        loanService.createLoan(
-          10L,
-          100L,
-          SecurityContextHolder.getContext().getAuthentication(),
-          null,
-          null
-        )
-    );
+    verify(mediaRepository, never()).save(any(MediaEntity.class));
+    verify(transactionManager).commit(null);
   }
 
 
@@ -208,12 +202,6 @@ public class LoanServiceWriteTests {
   @Test
   void testCreateLoan_whenMediaNotFound_shouldThrowMediaNotFoundException() {
     // Arrange
-    String username = "testuser";
-    UserEntity userEntity = new UserEntity();
-    userEntity.setUserId(1L);
-
-    when(userService.getUserByUsername(username))
-      .thenReturn(Optional.of(userEntity));
     when(mediaService.getMediaById(999L)).thenReturn(Optional.empty());
 
     assertThrows(
@@ -222,7 +210,6 @@ public class LoanServiceWriteTests {
         loanService.createLoan(
           999L,
           100L,
-          SecurityContextHolder.getContext().getAuthentication(),
           null,
           null
         )
@@ -234,12 +221,6 @@ public class LoanServiceWriteTests {
    */
   @Test
   void testCreateLoan_whenMediaIsBorrowedOrUnavailable_shouldThrowRuntimeException() {
-    String username = "testuser";
-    UserEntity userEntity = new UserEntity();
-    userEntity.setUserId(1L);
-
-    when(userService.getUserByUsername(username))
-      .thenReturn(Optional.of(userEntity));
 
     MediaEntity mediaEntity = new MediaEntity();
 
@@ -249,6 +230,7 @@ public class LoanServiceWriteTests {
     )) {
       mediaEntity.setMediaId(10L);
       mediaEntity.setMediaState(state);
+      mediaEntity.setUser(user(1L));
 
       when(mediaService.getMediaById(10L)).thenReturn(Optional.of(mediaEntity));
 
@@ -258,8 +240,7 @@ public class LoanServiceWriteTests {
           loanService.createLoan(
             10L,
             100L,
-            SecurityContextHolder.getContext().getAuthentication(),
-            null,
+              null,
             null
           )
       );
@@ -267,28 +248,60 @@ public class LoanServiceWriteTests {
       assertEquals("Media is not available for loan", exception.getMessage());
     }
 
-    verify(userService, times(2)).getUserByUsername(username);
+    verifyNoInteractions(userService);
     verify(mediaService, times(2)).getMediaById(10L);
     verify(loanRepository, never()).save(any());
-    verify(mediaRepository, never()).save(any());
+    verify(mediaRepository, never())
+      .compareAndSetMediaState(any(), any(), any(), any());
     verifyNoInteractions(personService);
   }
 
+  /**
+   * Testet, dass eine gleichzeitige Ausleihe, die das Medium zuerst erhalten hat,
+   * gewinnt: Ändert die bedingte Anweisung keine Zeile, wird keine Ausleihe
+   * angelegt und die Transaktion zurückgerollt.
+   */
+  @Test
+  void testCreateLoan_whenMediaClaimedConcurrently_shouldThrowAndRollBack() {
+    MediaEntity mediaEntity = new MediaEntity();
+    mediaEntity.setMediaId(10L);
+    mediaEntity.setMediaState(MediaState.AVAILABLE);
+    mediaEntity.setUser(user(1L));
+
+    when(mediaService.getMediaById(10L)).thenReturn(Optional.of(mediaEntity));
+    when(personService.getPersonById(100L))
+      .thenReturn(Optional.of(person(100L, 1L)));
+    when(
+      mediaRepository.compareAndSetMediaState(
+        eq(10L),
+        eq(MediaState.AVAILABLE),
+        eq(MediaState.BORROWED),
+        any()
+      )
+    )
+      .thenReturn(0);
+
+    RuntimeException exception = assertThrows(
+      RuntimeException.class,
+      () -> loanService.createLoan(10L, 100L, null, null)
+    );
+
+    assertEquals("Media is not available for loan", exception.getMessage());
+    verify(loanRepository, never()).save(any());
+    verify(transactionManager).rollback(null);
+    verifyNoInteractions(userDataVersions);
+  }
+
    /**
    * Testet, dass eine 'PersonNotFoundException' geworfen wird, wenn die Person nicht gefunden wird.
    */
   @Test
   void testCreateLoan_whenPersonNotFound_shouldThrowPersonNotFoundException() {
-    String username = "testuser";
-    UserEntity userEntity = new UserEntity();
-    userEntity.setUserId(1L);
-
     MediaEntity mediaEntity = new MediaEntity();
     mediaEntity.setMediaId(10L);
     mediaEntity.setMediaState(MediaState.AVAILABLE);
+    mediaEntity.setUser(user(1L));
 
-    when(userService.getUserByUsername(username))
-      .thenReturn(Optional.of(userEntity));
     when(mediaService.getMediaById(10L)).thenReturn(Optional.of(mediaEntity));
     when(personService.getPersonById(999L)).thenReturn(Optional.empty());
 
@@ -298,7 +311,6 @@ public class LoanServiceWriteTests {
         loanService.createLoan(
           10L,
           999L,
-          SecurityContextHolder.getContext().getAuthentication(),
           null,
           null
         )
@@ -307,35 +319,98 @@ public class LoanServiceWriteTests {
 
 
   /**
-   * Testet das Markieren eines Leihvorgangs als zurückgegeben und die Aktualisierung des Medienstatus.
+   * Testet, dass ein Medium eines anderen Benutzers wie ein fehlendes Medium
+   * behandelt wird, ohne die Person zu laden oder den Status zu ändern.
    */
   @Test
-  void testMarkAsReturned_shouldUpdateLoanAndMediaState() {
-    LoanEntity loanEntity = new LoanEntity();
-    loanEntity.setLoanId(123L);
-    loanEntity.setBorrowedAt(LocalDateTime.now().minusDays(5));
-    loanEntity.setReturnedAt(null);
+  void testCreateLoan_whenMediaOfOtherUser_shouldThrowMediaNotFoundException() {
+    MediaEntity mediaEntity = new MediaEntity();
+    mediaEntity.setMediaId(10L);
+    mediaEntity.setMediaState(MediaState.AVAILABLE);
+    mediaEntity.setUser(user(2L));
+    when(mediaService.getMediaById(10L)).thenReturn(Optional.of(mediaEntity));
+
+    assertThrows(
+      MediaNotFoundException.class,
+      () -> loanService.createLoan(10L, 100L, null, null)
+    );
+
+    verifyNoInteractions(personService, userDataVersions);
+    verify(mediaRepository, never())
+      .compareAndSetMediaState(any(), any(), any(), any());
+    verify(transactionManager).rollback(null);
+  }
 
+  /**
+   * Testet, dass eine Person eines anderen Benutzers wie eine fehlende Person
+   * behandelt wird und keine Ausleihe in dessen Historie entsteht.
+   */
+  @Test
+  void testCreateLoan_whenPersonOfOtherUser_shouldThrowPersonNotFoundException() {
     MediaEntity mediaEntity = new MediaEntity();
     mediaEntity.setMediaId(10L);
-    mediaEntity.setMediaState(MediaState.BORROWED);
-    loanEntity.setMedia(mediaEntity);
+    mediaEntity.setMediaState(MediaState.AVAILABLE);
+    mediaEntity.setUser(user(1L));
+    when(mediaService.getMediaById(10L)).thenReturn(Optional.of(mediaEntity));
+    when(personService.getPersonById(100L))
+      .thenReturn(Optional.of(person(100L, 2L)));
 
-    when(loanRepository.findById(123L)).thenReturn(Optional.of(loanEntity));
-    when(loanRepository.save(any(LoanEntity.class)))
-      .thenAnswer(invocation -> invocation.getArgument(0));
-    when(mediaRepository.save(any(MediaEntity.class)))
-      .thenAnswer(invocation -> invocation.getArgument(0));
+    assertThrows(
+      PersonNotFoundException.class,
+      () -> loanService.createLoan(10L, 100L, null, null)
+    );
 
+    verify(mediaRepository, never())
+      .compareAndSetMediaState(any(), any(), any(), any());
+    verify(loanRepository, never()).save(any());
+    verifyNoInteractions(userDataVersions);
+  }
+
+  /**
+   * Testet das Markieren eines Leihvorgangs als zurückgegeben und die Aktualisierung des Medienstatus.
+   * Die Ausleihe wird gesperrt und mit einer bedingten Anweisung zurückgegeben;
+   * das Medium wird nur von {@code BORROWED} auf {@code AVAILABLE} gesetzt.
+   */
+  @Test
+  void testMarkAsReturned_shouldUpdateLoanAndMediaState() {
     LocalDateTime now = LocalDateTime.now();
+    when(loanRepository.lockForReturn(List.of(123L)))
+      .thenReturn(List.of(loan(123L, 10L, now.minusDays(5), null)));
+    when(mediaRepository.findOwnedIds(1L, List.of(10L))).thenReturn(List.of(10L));
 
     loanService.markAsReturned(123L, now);
 
-    assertEquals(now, loanEntity.getReturnedAt());
-    assertEquals(MediaState.AVAILABLE, mediaEntity.getMediaState());
-    verify(loanRepository).findById(123L);
-    verify(loanRepository).save(loanEntity);
-    verify(mediaRepository).save(mediaEntity);
+    verify(loanRepository).markReturned(eq(List.of(123L)), eq(now), any());
+    verify(mediaRepository)
+      .compareAndSetMediaState(
+        eq(10L),
+        eq(MediaState.BORROWED),
+        eq(MediaState.AVAILABLE),
+        any()
+      );
+    verify(mediaRepository, never()).save(any(MediaEntity.class));
+    verify(transactionManager).commit(null);
+    verify(userDataVersions).bump(1L);
+  }
+
+  /**
+   * Testet, dass eine Ausleihe eines Mediums eines anderen Benutzers wie eine
+   * fehlende Ausleihe behandelt wird.
+   */
+  @Test
+  void testMarkAsReturned_whenMediaOfOtherUser_shouldThrowNotFound() {
+    when(loanRepository.lockForReturn(List.of(123L)))
+      .thenReturn(List.of(loan(123L, 10L, LocalDateTime.now().minusDays(5), null)));
+    when(mediaRepository.findOwnedIds(1L, List.of(10L))).thenReturn(List.of());
+
+    RuntimeException exception = assertThrows(
+      RuntimeException.class,
+      () -> loanService.markAsReturned(123L, LocalDateTime.now())
+    );
+    assertEquals("Loan not found with ID: 123", exception.getMessage());
+    verify(loanRepository, never()).markReturned(any(), any(), any());
+    verify(transactionManager).rollback(null);
+    verifyNoInteractions(userDataVersions);
   }
 
     /**
@@ -344,21 +419,22 @@ public class LoanServiceWriteTests {
    */
   @Test
   void testMarkAsReturned_whenLoanAlreadyReturned_shouldThrowException() {
-    // Arrange
-    LoanEntity loanEntity = new LoanEntity();
-    loanEntity.setLoanId(123L);
-    loanEntity.setBorrowedAt(LocalDateTime.now().minusDays(5));
-    loanEntity.setReturnedAt(LocalDateTime.now());
-
-    when(loanRepository.findById(123L)).thenReturn(Optional.of(loanEntity));
+    when(loanRepository.lockForReturn(List.of(123L)))
+      .thenReturn(
+        List.of(
+          loan(123L, 10L, LocalDateTime.now().minusDays(5), LocalDateTime.now())
+        )
+      );
+    when(mediaRepository.findOwnedIds(1L, List.of(10L))).thenReturn(List.of(10L));
 
     RuntimeException exception = assertThrows(
       RuntimeException.class,
       () -> loanService.markAsReturned(123L, LocalDateTime.now())
     );
     assertEquals("Loan already returned with ID: 123", exception.getMessage());
-    verify(loanRepository).findById(123L);
-    verify(loanRepository, never()).save(any());
+    verify(loanRepository, never()).markReturned(any(), any(), any());
+    verify(mediaRepository, never())
+      .compareAndSetMediaState(any(), any(), any(), any());
   }
 
 
@@ -368,13 +444,9 @@ public class LoanServiceWriteTests {
    */
   @Test
   void testMarkAsReturned_whenReturnedDateBeforeBorrowedDate_shouldThrowException() {
-    // Arrange
-    LoanEntity loanEntity = new LoanEntity();
-    loanEntity.setLoanId(123L);
-    loanEntity.setBorrowedAt(LocalDateTime.now());
-    loanEntity.setReturnedAt(null);
-
-    when(loanRepository.findById(123L)).thenReturn(Optional.of(loanEntity));
+    when(loanRepository.lockForReturn(List.of(123L)))
+      .thenReturn(List.of(loan(123L, 10L, LocalDateTime.now(), null)));
+    when(mediaRepository.findOwnedIds(1L, List.of(10L))).thenReturn(List.of(10L));
 
     LocalDateTime invalidReturnDate = LocalDateTime.now().minusDays(1);
 
@@ -386,8 +458,7 @@ public class LoanServiceWriteTests {
       "Returned date cannot be before borrowed date for loan with ID: 123",
       exception.getMessage()
     );
-    verify(loanRepository).findById(123L);
-    verify(loanRepository, never()).save(any());
+    verify(loanRepository, never()).markReturned(any(), any(), any());
   }
 
     /**
@@ -410,13 +481,9 @@ public class LoanServiceWriteTests {
    */
   @Test
   void testMarkAsReturned_whenBorrowedAtIsNull_shouldThrowException() {
-    // Arrange
-    LoanEntity loanEntity = new LoanEntity();
-    loanEntity.setLoanId(123L);
-    loanEntity.setBorrowedAt(null);
-    loanEntity.setReturnedAt(null);
-
-    when(loanRepository.findById(123L)).thenReturn(Optional.of(loanEntity));
+    when(loanRepository.lockForReturn(List.of(123L)))
+      .thenReturn(List.of(loan(123L, 10L, null, null)));
+    when(mediaRepository.findOwnedIds(1L, List.of(10L))).thenReturn(List.of(10L));
 
     RuntimeException exception = assertThrows(
       RuntimeException.class,
@@ -430,39 +497,65 @@ public class LoanServiceWriteTests {
 
   /**
    * Testet, dass das Rückgabedatum auf den aktuellen Zeitpunkt gesetzt wird, wenn es null ist.
-   * Überprüft, dass das Rückgabedatum korrekt gesetzt und der Medienstatus auf "VERFÜGBAR" aktualisiert wird.
    */
   @Test
   void testMarkAsReturned_whenReturnedAtIsNull_shouldSetToNow() {
-    LoanEntity loanEntity = new LoanEntity();
-    loanEntity.setLoanId(123L);
-    loanEntity.setBorrowedAt(LocalDateTime.now().minusDays(5));
-    loanEntity.setReturnedAt(null);
+    when(loanRepository.lockForReturn(List.of(123L)))
+      .thenReturn(List.of(loan(123L, 10L, LocalDateTime.now().minusDays(5), null)));
+    when(mediaRepository.findOwnedIds(1L, List.of(10L))).thenReturn(List.of(10L));
 
-    MediaEntity mediaEntity = new MediaEntity();
-    mediaEntity.setMediaId(10L);
-    mediaEntity.setMediaState(MediaState.BORROWED);
-    loanEntity.setMedia(mediaEntity);
+    loanService.markAsReturned(123L, null);
 
-    when(loanRepository.findById(123L)).thenReturn(Optional.of(loanEntity));
-    when(loanRepository.save(any(LoanEntity.class)))
-      .thenAnswer(invocation -> invocation.getArgument(0));
-    when(mediaRepository.save(any(MediaEntity.class)))
-      .thenAnswer(invocation -> invocation.getArgument(0));
+    verify(loanRepository)
+      .markReturned(
+        eq(List.of(123L)),
+        argThat(returnedAt ->
+          returnedAt.isAfter(LocalDateTime.now().minusSeconds(5)) &&
+          returnedAt.isBefore(LocalDateTime.now().plusSeconds(5))
+        ),
+        any()
+      );
+  }
 
-    loanService.markAsReturned(123L, null);
+  private static UserEntity user(Long userId) {
+    UserEntity user = new UserEntity();
+    user.setUserId(userId);
+    return user;
+  }
 
-    assertNotNull(loanEntity.getReturnedAt());
-    assertTrue(
-      loanEntity.getReturnedAt().isAfter(LocalDateTime.now().minusSeconds(5))
-    );
-    assertTrue(
-      loanEntity.getReturnedAt().isBefore(LocalDateTime.now().plusSeconds(5))
-    );
-    assertEquals(MediaState.AVAILABLE, mediaEntity.getMediaState());
+  private static PersonEntity person(Long personId, Long userId) {
+    PersonEntity person = new PersonEntity();
+    person.setPersonId(personId);
+    person.setUser(user(userId));
+    return person;
+  }
 
-    verify(loanRepository).findById(123L);
-    verify(loanRepository).save(loanEntity);
-    verify(mediaRepository).save(mediaEntity);
+  private static LoanReturnProjection loan(
+    Long loanId,
+    Long mediaId,
+    LocalDateTime borrowedAt,
+    LocalDateTime returnedAt
+  ) {
+    return new LoanReturnProjection() {
+      @Override
+      public Long getLoanId() {
+        return loanId;
+      }
+
+      @Override
+      public Long getMediaId() {
+        return mediaId;
+      }
+
+      @Override
+      public LocalDateTime getBorrowedAt() {
+        return borrowedAt;
+      }
+
+      @Override
+      public LocalDateTime getReturnedAt() {
+        return returnedAt;
+      }
+    };
   }
 }
@@ -0,0 +1,259 @@
+package com.example.backend.service;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Optional;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.ArgumentMatchers.eq;
+import org.mockito.Mock;
+import static org.mockito.Mockito.lenient;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.verifyNoInteractions;
+import static org.mockito.Mockito.when;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.transaction.PlatformTransactionManager;
+
+import com.example.backend.cache.UserDataVersions;
+import com.example.backend.dto.MediaBulkRequestDTO;
+import com.example.backend.dto.MediaBulkResultDTO;
+import com.example.backend.dto.MediaFilterDTO;
+import com.example.backend.exception.MediaException;
+import com.example.backend.model.CategoryEntity;
+import com.example.backend.model.MediaCategory;
+import com.example.backend.model.MediaEntity;
+import com.example.backend.model.MediaState;
+import com.example.backend.model.UserEntity;
+import com.example.backend.repository.CategoryRepository;
+import com.example.backend.repository.LoanRepository;
+import com.example.backend.repository.MediaCategoryRepository;
+import com.example.backend.repository.MediaRepository;
+import com.example.backend.search.MediaSearchService;
+import com.example.backend.security.AuthenticatedUser;
+import com.example.backend.sync.SyncService;
+
+@ExtendWith(MockitoExtension.class)
+class MediaBulkServiceTest {
+
+  @Mock
+  private MediaRepository mediaRepository;
+
+  @Mock
+  private MediaCategoryRepository mediaCategoryRepository;
+
+  @Mock
+  private LoanRepository loanRepository;
+
+  @Mock
+  private CategoryRepository categoryRepository;
+
+  @Mock
+  private AuthenticatedUser authenticatedUser;
+
+  @Mock
+  private MediaSearchService mediaSearchService;
+
+  @Mock
+  private MediaIsbnLookupService mediaIsbnLookupService;
+
+  @Mock
+  private UserDataVersions userDataVersions;
+
+  @Mock
+  private SyncService syncService;
+
+  @Mock
+  private PlatformTransactionManager transactionManager;
+
+  private MediaBulkService mediaBulkService;
+
+  @BeforeEach
+  void setUp() {
+    lenient().when(authenticatedUser.getUserId()).thenReturn(1L);
+    mediaBulkService =
+      new MediaBulkService(
+        mediaRepository,
+        mediaCategoryRepository,
+        loanRepository,
+        categoryRepository,
+        authenticatedUser,
+        mediaSearchService,
+        mediaIsbnLookupService,
+        userDataVersions,
+        syncService,
+        transactionManager
+      );
+  }
+
+  /**
+   * Testet, dass der Status mit einer Anweisung gesetzt und die Versionen nach
+   * dem Commit erhöht werden. Doppelte IDs werden nur einmal übergeben.
+   */
+  @Test
+  void testUpdateState_ById_UpdatesInOneStatement() {
+    when(
+      mediaRepository.updateMediaState(
+        eq(1L),
+        eq(List.of(3L, 4L)),
+        eq(MediaState.BORROWED),
+        any()
+      )
+    )
+      .thenReturn(2);
+
+    MediaBulkResultDTO result = mediaBulkService.updateState(
+      request(MediaState.BORROWED, 3L, 4L, 3L)
+    );
+
+    assertEquals(2, result.getAffected());
+    assertNull(result.getLoansDeleted());
+    verify(transactionManager).commit(null);
+    verify(userDataVersions).bump(1L);
+    verify(mediaIsbnLookupService).invalidateUser(1L);
+  }
+
+  /**
+   * Testet, dass ein Filter mit einer Abfrage aufgelöst und die IDs in Blöcken
+   * von höchstens {@link MediaBulkService#CHUNK_SIZE} verarbeitet werden.
+   */
+  @Test
+  void testUpdateFavorite_ByFilter_UpdatesInChunks() {
+    MediaFilterDTO filter = new MediaFilterDTO();
+    List<Long> ids = new ArrayList<>();
+    for (long i = 1; i <= MediaBulkService.CHUNK_SIZE + 1; i++) {
+      ids.add(i);
+    }
+    when(mediaRepository.findIdsByFilter(1L, filter)).thenReturn(ids);
+    when(mediaRepository.updateFavorite(eq(1L), anyList(), eq(true), any()))
+      .thenReturn(MediaBulkService.CHUNK_SIZE, 1);
+    MediaBulkRequestDTO request = new MediaBulkRequestDTO();
+    request.setFilter(filter);
+    request.setIsFavorite(true);
+
+    MediaBulkResultDTO result = mediaBulkService.updateFavorite(request);
+
+    assertEquals(MediaBulkService.CHUNK_SIZE + 1, result.getAffected());
+    verify(mediaRepository, times(2))
+      .updateFavorite(eq(1L), anyList(), eq(true), any());
+  }
+
+  /**
+   * Testet, dass IDs und Filter nicht gleichzeitig angegeben werden dürfen.
+   */
+  @Test
+  void testUpdateState_IdsAndFilter_Throws() {
+    MediaBulkRequestDTO request = request(MediaState.AVAILABLE, 1L);
+    request.setFilter(new MediaFilterDTO());
+
+    assertThrows(MediaException.class, () -> mediaBulkService.updateState(request));
+    verify(mediaRepository, never())
+      .updateMediaState(any(), anyList(), any(), any());
+  }
+
+  /**
+   * Testet, dass ohne tatsächliche Änderung keine Caches verworfen werden.
+   */
+  @Test
+  void testUpdateState_NothingChanged_KeepsVersions() {
+    when(mediaRepository.updateMediaState(eq(1L), anyList(), any(), any()))
+      .thenReturn(0);
+
+    MediaBulkResultDTO result = mediaBulkService.updateState(
+      request(MediaState.AVAILABLE, 5L)
+    );
+
+    assertEquals(0, result.getAffected());
+    verifyNoInteractions(userDataVersions, mediaIsbnLookupService);
+  }
+
+  /**
+   * Testet, dass beim Löschen nur eigene Medien protokolliert und samt
+   * Kategoriezuordnungen und Ausleihen gelöscht werden.
+   */
+  @Test
+  void testDeleteMedia_DeletesOwnedWithLoansAndCategories() {
+    when(mediaRepository.findOwnedIds(1L, List.of(3L, 4L)))
+      .thenReturn(List.of(3L));
+    when(loanRepository.deleteByMediaIds(List.of(3L))).thenReturn(2);
+    when(mediaRepository.deleteOwned(1L, List.of(3L))).thenReturn(1);
+
+    MediaBulkResultDTO result = mediaBulkService.deleteMedia(
+      request(null, 3L, 4L)
+    );
+
+    assertEquals(1, result.getAffected());
+    assertEquals(2, result.getLoansDeleted());
+    verify(syncService).recordMediaDeletions(List.of(3L));
+    verify(mediaCategoryRepository).deleteByMediaIds(List.of(3L));
+    verify(mediaSearchService).removeMedia(1L, 3L);
+    verify(mediaSearchService, never()).removeMedia(1L, 4L);
+  }
+
+  /**
+   * Testet, dass beim Zuordnen einer Kategorie nur fehlende Verknüpfungen
+   * angelegt werden.
+   */
+  @Test
+  @SuppressWarnings("unchecked")
+  void testAssignCategory_InsertsOnlyMissingLinks() {
+    CategoryEntity category = category(1L);
+    when(categoryRepository.findById(7L)).thenReturn(Optional.of(category));
+    when(mediaRepository.findOwnedIds(1L, List.of(3L, 4L)))
+      .thenReturn(List.of(3L, 4L));
+    when(mediaCategoryRepository.findMediaIdsWithCategory(eq(7L), any()))
+      .thenReturn(List.of(3L));
+    when(mediaRepository.getReferenceById(4L)).thenReturn(new MediaEntity());
+
+    MediaBulkResultDTO result = mediaBulkService.assignCategory(
+      7L,
+      request(null, 3L, 4L)
+    );
+
+    assertEquals(1, result.getAffected());
+    ArgumentCaptor<List<MediaCategory>> saved = ArgumentCaptor.forClass(List.class);
+    verify(mediaCategoryRepository).saveAll(saved.capture());
+    assertEquals(1, saved.getValue().size());
+    assertEquals(category, saved.getValue().get(0).getCategory());
+    verify(mediaRepository, never()).getReferenceById(3L);
+  }
+
+  /**
+   * Testet, dass eine fremde Kategorie abgelehnt wird, bevor Medien geändert werden.
+   */
+  @Test
+  void testRemoveCategory_ForeignCategory_Throws() {
+    when(categoryRepository.findById(7L)).thenReturn(Optional.of(category(2L)));
+
+    assertThrows(
+      RuntimeException.class,
+      () -> mediaBulkService.removeCategory(7L, request(null, 3L))
+    );
+    verifyNoInteractions(mediaCategoryRepository, transactionManager);
+  }
+
+  private static MediaBulkRequestDTO request(MediaState state, Long... ids) {
+    MediaBulkRequestDTO request = new MediaBulkRequestDTO();
+    request.setMediaIds(Arrays.asList(ids));
+    request.setMediaState(state);
+    return request;
+  }
+
+  private static CategoryEntity category(Long userId) {
+    UserEntity user = new UserEntity();
+    user.setUserId(userId);
+    CategoryEntity category = new CategoryEntity();
+    category.setUser(user);
+    return category;
+  }
+}
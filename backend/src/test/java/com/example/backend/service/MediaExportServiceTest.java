@@ -0,0 +1,170 @@
+package com.example.backend.service;
+
+import java.io.ByteArrayOutputStream;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.stream.Stream;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import static org.mockito.Mockito.lenient;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.verifyNoInteractions;
+import static org.mockito.Mockito.when;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.data.projection.ProjectionFactory;
+import org.springframework.data.projection.SpelAwareProxyProjectionFactory;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
+
+import com.example.backend.dto.MediaExportFormat;
+import com.example.backend.dto.MediaExportProjection;
+import com.example.backend.repository.MediaRepository;
+import com.example.backend.security.AuthenticatedUser;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+@ExtendWith(MockitoExtension.class)
+class MediaExportServiceTest {
+
+  private static final ProjectionFactory PROJECTIONS = new SpelAwareProxyProjectionFactory();
+
+  @Mock
+  private MediaRepository mediaRepository;
+
+  @Mock
+  private AuthenticatedUser authenticatedUser;
+
+  @Mock
+  private PlatformTransactionManager transactionManager;
+
+  private final ObjectMapper objectMapper = Jackson2ObjectMapperBuilder
+    .json()
+    .build();
+
+  private MediaExportService mediaExportService;
+
+  @BeforeEach
+  void setUp() {
+    lenient().when(authenticatedUser.getUserId()).thenReturn(1L);
+    mediaExportService =
+      new MediaExportService(
+        mediaRepository,
+        authenticatedUser,
+        objectMapper,
+        transactionManager
+      );
+  }
+
+  /**
+   * Testet, dass mehrere Zeilen desselben Mediums zu einem JSON-Objekt zusammengefasst werden.
+   */
+  @Test
+  void testExportJsonLines_GroupsCategoriesPerMedia() throws Exception {
+    when(mediaRepository.streamMediaForExport(1L))
+      .thenReturn(
+        Stream.of(
+          row(1L, "Dune", 10L, "Sci:Fi"),
+          row(1L, "Dune", 11L, "Klassiker, alt"),
+          row(2L, "Emma", null, null, "Ganze Notiz")
+        )
+      );
+
+    String[] lines = export(MediaExportFormat.JSONL).split("\n");
+
+    assertEquals(2, lines.length);
+    JsonNode first = objectMapper.readTree(lines[0]);
+    assertEquals(1L, first.get("mediaId").asLong());
+    assertEquals(2, first.get("categories").size());
+    assertEquals(
+      "Klassiker, alt",
+      first.get("categories").get(1).get("categoryName").asText()
+    );
+    JsonNode second = objectMapper.readTree(lines[1]);
+    assertEquals(0, second.get("categories").size());
+    // Der Export enthält die vollständigen Notizen, keine Vorschau
+    assertEquals("Ganze Notiz", second.get("notes").asText());
+    assertFalse(second.has("notesPreview"));
+    verify(transactionManager).commit(null);
+  }
+
+  /**
+   * Testet den CSV-Export inklusive Kopfzeile und Maskierung von Sonderzeichen.
+   */
+  @Test
+  void testExportCsv_EscapesValues() throws Exception {
+    when(mediaRepository.streamMediaForExport(1L))
+      .thenReturn(
+        Stream.of(
+          row(1L, "Krieg, Frieden", 10L, "Roman"),
+          row(1L, "Krieg, Frieden", 11L, "Band \"1\"")
+        )
+      );
+
+    String[] lines = export(MediaExportFormat.CSV).split("\r\n");
+
+    assertEquals(2, lines.length);
+    assertTrue(lines[0].startsWith("mediaId,title,"));
+    assertEquals(
+      "1,\"Krieg, Frieden\",,BOOK,AVAILABLE,1869,,false,2024-03-01T10:15,,10;11,\"Roman;Band \"\"1\"\"\"",
+      lines[1]
+    );
+  }
+
+  /**
+   * Testet, dass die Abfrage erst beim Schreiben der Antwort ausgeführt wird.
+   */
+  @Test
+  void testExportMedia_QueriesLazily() {
+    mediaExportService.exportMedia(MediaExportFormat.JSONL);
+
+    verify(authenticatedUser).getUserId();
+    verifyNoInteractions(mediaRepository);
+  }
+
+  private String export(MediaExportFormat format) throws Exception {
+    StreamingResponseBody body = mediaExportService.exportMedia(format);
+    ByteArrayOutputStream out = new ByteArrayOutputStream();
+    body.writeTo(out);
+    return out.toString(StandardCharsets.UTF_8);
+  }
+
+  private static MediaExportProjection row(
+    Long mediaId,
+    String title,
+    Long categoryId,
+    String categoryName
+  ) {
+    return row(mediaId, title, categoryId, categoryName, null);
+  }
+
+  private static MediaExportProjection row(
+    Long mediaId,
+    String title,
+    Long categoryId,
+    String categoryName,
+    String notes
+  ) {
+    Map<String, Object> values = new HashMap<>();
+    values.put("mediaId", mediaId);
+    values.put("userId", 1L);
+    values.put("title", title);
+    values.put("type", "BOOK");
+    values.put("mediaState", "AVAILABLE");
+    values.put("releaseYear", 1869);
+    values.put("isFavorite", false);
+    values.put("createdAt", LocalDateTime.of(2024, 3, 1, 10, 15));
+    values.put("categoryId", categoryId);
+    values.put("categoryName", categoryName);
+    values.put("notes", notes);
+    return PROJECTIONS.createProjection(MediaExportProjection.class, values);
+  }
+}
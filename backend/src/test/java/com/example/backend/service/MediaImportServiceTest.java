@@ -0,0 +1,234 @@
+package com.example.backend.service;
+
+import java.io.ByteArrayInputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.Mockito.verifyNoInteractions;
+import org.mockito.Mock;
+import static org.mockito.Mockito.lenient;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.transaction.PlatformTransactionManager;
+
+import com.example.backend.cache.UserDataVersions;
+import com.example.backend.dto.CategoryDTO;
+import com.example.backend.dto.MediaCreationDTO;
+import com.example.backend.dto.MediaImportResultDTO;
+import com.example.backend.exception.MediaException;
+import com.example.backend.model.CategoryEntity;
+import com.example.backend.model.MediaEntity;
+import com.example.backend.model.UserEntity;
+import com.example.backend.repository.CategoryRepository;
+import com.example.backend.repository.MediaRepository;
+import com.example.backend.search.MediaSearchService;
+import com.example.backend.security.AuthenticatedUser;
+
+import jakarta.persistence.EntityManager;
+
+@ExtendWith(MockitoExtension.class)
+class MediaImportServiceTest {
+
+  @Mock
+  private MediaRepository mediaRepository;
+
+  @Mock
+  private CategoryRepository categoryRepository;
+
+  @Mock
+  private UserService userService;
+
+  @Mock
+  private AuthenticatedUser authenticatedUser;
+
+  @Mock
+  private EntityManager entityManager;
+
+  @Mock
+  private PlatformTransactionManager transactionManager;
+
+  @Mock
+  private MediaSearchService mediaSearchService;
+
+  @Mock
+  private MediaIsbnLookupService mediaIsbnLookupService;
+
+  @Mock
+  private UserDataVersions userDataVersions;
+
+  private MediaImportService mediaImportService;
+
+  @BeforeEach
+  void setUp() {
+    lenient().when(authenticatedUser.getUserId()).thenReturn(1L);
+    lenient()
+      .when(categoryRepository.findCategoryDTOsByUserId(1L))
+      .thenReturn(List.of(new CategoryDTO(10L, "Roman"), new CategoryDTO(11L, "Krimi")));
+    lenient().when(userService.getUserReference(1L)).thenReturn(new UserEntity());
+    lenient()
+      .when(categoryRepository.getReferenceById(10L))
+      .thenReturn(new CategoryEntity());
+    mediaImportService =
+      new MediaImportService(
+        mediaRepository,
+        categoryRepository,
+        userService,
+        authenticatedUser,
+        entityManager,
+        transactionManager,
+        mediaSearchService,
+        mediaIsbnLookupService,
+        userDataVersions
+      );
+  }
+
+  /**
+   * Testet, dass gültige Einträge gespeichert und ungültige mit ihrer Nummer gemeldet werden.
+   */
+  @Test
+  @SuppressWarnings("unchecked")
+  void testImportMedia_ReportsErrorsPerRow() {
+    List<MediaCreationDTO> media = List.of(
+      media("Dune", "BOOK", 10L),
+      media("", "BOOK"),
+      media("Emma", "SCROLL"),
+      media("Fremd", "BOOK", 99L),
+      media("Ilias", "BOOK")
+    );
+
+    MediaImportResultDTO result = mediaImportService.importMedia(media);
+
+    assertEquals(2, result.getImported());
+    assertEquals(3, result.getErrors().size());
+    assertEquals(2, result.getErrors().get(0).getRow());
+    assertEquals(3, result.getErrors().get(1).getRow());
+    assertEquals(4, result.getErrors().get(2).getRow());
+
+    ArgumentCaptor<List<MediaEntity>> saved = ArgumentCaptor.forClass(List.class);
+    verify(mediaRepository).saveAll(saved.capture());
+    assertEquals(2, saved.getValue().size());
+    assertEquals(1, saved.getValue().get(0).getMediaCategories().size());
+    verify(entityManager).flush();
+    verify(entityManager).clear();
+    // Kategorien werden einmal pro Import geladen
+    verify(categoryRepository, times(1)).findCategoryDTOsByUserId(1L);
+    verify(categoryRepository, never()).findById(10L);
+  }
+
+  /**
+   * Testet, dass große Importe in Blöcken gespeichert werden.
+   */
+  @Test
+  void testImportMedia_SavesInChunks() {
+    List<MediaCreationDTO> media = new ArrayList<>();
+    for (int i = 0; i <= MediaImportService.CHUNK_SIZE; i++) {
+      media.add(media("Titel " + i, "BOOK"));
+    }
+
+    MediaImportResultDTO result = mediaImportService.importMedia(media);
+
+    assertEquals(MediaImportService.CHUNK_SIZE + 1, result.getImported());
+    verify(mediaRepository, times(2)).saveAll(anyList());
+    verify(entityManager, times(2)).clear();
+    verify(mediaSearchService).invalidate(1L);
+    verify(mediaIsbnLookupService).invalidateUser(1L);
+  }
+
+  /**
+   * Testet, dass ein fehlgeschlagener Block für jeden seiner Einträge gemeldet wird.
+   */
+  @Test
+  void testImportMedia_FailedChunk_ReportsAllRows() {
+    when(mediaRepository.saveAll(anyList()))
+      .thenThrow(new DataIntegrityViolationException("duplicate"));
+
+    MediaImportResultDTO result = mediaImportService.importMedia(
+      List.of(media("A", "BOOK"), media("B", "BOOK"))
+    );
+
+    assertEquals(0, result.getImported());
+    assertEquals(2, result.getErrors().size());
+    verify(mediaSearchService, never()).invalidate(1L);
+    verify(transactionManager).rollback(null);
+  }
+
+  /**
+   * Testet den CSV-Import mit Feldern in Anführungszeichen, Kategorien und fehlerhaften Zeilen.
+   */
+  @Test
+  @SuppressWarnings("unchecked")
+  void testImportCsv_ParsesQuotedFields() throws Exception {
+    String csv =
+      "title,type,mediaState,releaseYear,notes,categoryIds,unknown\r\n" +
+      "\"Krieg, Frieden\",BOOK,AVAILABLE,1869,\"Zeile 1\nZeile \"\"2\"\"\",10,x\r\n" +
+      "Emma,BOOK,AVAILABLE,abc,,,\r\n" +
+      "\n" +
+      "Ilias,BOOK,AVAILABLE,,,,\n";
+
+    MediaImportResultDTO result = mediaImportService.importCsv(
+      new ByteArrayInputStream(csv.getBytes(StandardCharsets.UTF_8))
+    );
+
+    assertEquals(2, result.getImported());
+    assertEquals(1, result.getErrors().size());
+    assertEquals(2, result.getErrors().get(0).getRow());
+
+    ArgumentCaptor<List<MediaEntity>> saved = ArgumentCaptor.forClass(List.class);
+    verify(mediaRepository).saveAll(saved.capture());
+    MediaEntity first = saved.getValue().get(0);
+    assertEquals("Krieg, Frieden", first.getTitle());
+    assertEquals("Zeile 1\nZeile \"2\"", first.getNotes());
+    assertEquals(1869, first.getReleaseYear());
+    assertEquals(1, first.getMediaCategories().size());
+    assertTrue(saved.getValue().get(1).getMediaCategories().isEmpty());
+  }
+
+  /**
+   * Testet, dass CSV-Daten mit nicht geschlossenem Anführungszeichen als
+   * fehlerhafte Eingabe abgelehnt werden und nichts gespeichert wird.
+   */
+  @Test
+  void testImportCsv_UnterminatedQuote_ThrowsMediaException() {
+    String csv =
+      "title,type,mediaState\r\n" +
+      "Emma,BOOK,AVAILABLE\r\n" +
+      "\"Krieg, Frieden,BOOK,AVAILABLE\r\n";
+
+    MediaException exception = assertThrows(
+      MediaException.class,
+      () ->
+        mediaImportService.importCsv(
+          new ByteArrayInputStream(csv.getBytes(StandardCharsets.UTF_8))
+        )
+    );
+
+    assertEquals("Malformed CSV: unterminated quoted field", exception.getMessage());
+    verifyNoInteractions(mediaRepository);
+  }
+
+  private static MediaCreationDTO media(
+    String title,
+    String type,
+    Long... categories
+  ) {
+    MediaCreationDTO media = new MediaCreationDTO();
+    media.setTitle(title);
+    media.setType(type);
+    media.setMediaState("AVAILABLE");
+    media.setCategories(new ArrayList<>(List.of(categories)));
+    return media;
+  }
+}
@@ -0,0 +1,140 @@
+package com.example.backend.service;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import static org.mockito.Mockito.lenient;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.verifyNoInteractions;
+import static org.mockito.Mockito.when;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import com.example.backend.dto.MediaWithCategoriesDTO;
+import com.example.backend.exception.MediaException;
+import com.example.backend.repository.MediaRepository;
+import com.example.backend.security.AuthenticatedUser;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+
+@ExtendWith(MockitoExtension.class)
+class MediaIsbnLookupServiceTest {
+
+  private static final String ISBN13 = "9783608938289";
+
+  @Mock
+  private MediaRepository mediaRepository;
+
+  @Mock
+  private MediaWithCategoriesLoader mediaWithCategoriesLoader;
+
+  @Mock
+  private AuthenticatedUser authenticatedUser;
+
+  private MediaIsbnLookupService mediaIsbnLookupService;
+
+  @BeforeEach
+  void setUp() {
+    lenient().when(authenticatedUser.getUserId()).thenReturn(1L);
+    mediaIsbnLookupService =
+      new MediaIsbnLookupService(
+        mediaRepository,
+        mediaWithCategoriesLoader,
+        authenticatedUser,
+        new SimpleMeterRegistry(),
+        10,
+        60_000L
+      );
+  }
+
+  /**
+   * Testet, dass ISBN-10 und ISBN-13 über dieselbe normalisierte ISBN gesucht
+   * werden und die Zuordnung nur einmal aus der Datenbank geladen wird.
+   */
+  @Test
+  void testFindByIsbn_NormalizesAndCachesMediaIds() {
+    MediaWithCategoriesDTO media = new MediaWithCategoriesDTO();
+    media.setMediaId(5L);
+    when(mediaRepository.findIdsByUserIdAndNormalizedIsbn(1L, ISBN13))
+      .thenReturn(List.of(5L, 7L));
+    when(mediaWithCategoriesLoader.loadByIds(List.of(5L, 7L)))
+      .thenReturn(List.of(media));
+
+    assertEquals(
+      List.of(media),
+      mediaIsbnLookupService.findByIsbn("978-3-608-93828-9")
+    );
+    assertEquals(List.of(media), mediaIsbnLookupService.findByIsbn("3608938281"));
+
+    verify(mediaRepository, times(1))
+      .findIdsByUserIdAndNormalizedIsbn(1L, ISBN13);
+    // Die Medien selbst werden immer frisch geladen
+    verify(mediaWithCategoriesLoader, times(2)).loadByIds(List.of(5L, 7L));
+  }
+
+  /**
+   * Testet, dass eine invalidierte ISBN erneut aus der Datenbank aufgelöst wird.
+   */
+  @Test
+  void testInvalidate_ReloadsMediaIds() {
+    when(mediaRepository.findIdsByUserIdAndNormalizedIsbn(1L, ISBN13))
+      .thenReturn(List.of())
+      .thenReturn(List.of(9L));
+
+    mediaIsbnLookupService.findByIsbn(ISBN13);
+    mediaIsbnLookupService.invalidate(1L, "3-608-93828-1");
+    mediaIsbnLookupService.findByIsbn(ISBN13);
+    mediaIsbnLookupService.invalidateUser(1L);
+    mediaIsbnLookupService.findByIsbn(ISBN13);
+
+    verify(mediaRepository, times(3))
+      .findIdsByUserIdAndNormalizedIsbn(1L, ISBN13);
+    verify(mediaWithCategoriesLoader, times(2)).loadByIds(List.of(9L));
+  }
+
+  /**
+   * Testet, dass eine Invalidierung, die während des Ladens der Zuordnung
+   * eintrifft, auf das Eintragen wartet und den veralteten Eintrag danach
+   * verwirft.
+   */
+  @Test
+  void testInvalidate_DuringLookup_IsNotLost() throws Exception {
+    Thread writer = new Thread(() -> mediaIsbnLookupService.invalidate(1L, ISBN13));
+    when(mediaRepository.findIdsByUserIdAndNormalizedIsbn(1L, ISBN13))
+      .thenAnswer(invocation -> {
+        if (writer.getState() == Thread.State.NEW) {
+          writer.start();
+          while (writer.getState() != Thread.State.BLOCKED) {
+            Thread.onSpinWait();
+          }
+          return List.of();
+        }
+        return List.of(9L);
+      });
+
+    mediaIsbnLookupService.findByIsbn(ISBN13);
+    writer.join(5_000L);
+    mediaIsbnLookupService.findByIsbn(ISBN13);
+
+    verify(mediaRepository, times(2))
+      .findIdsByUserIdAndNormalizedIsbn(1L, ISBN13);
+    verify(mediaWithCategoriesLoader).loadByIds(List.of(9L));
+  }
+
+  /**
+   * Testet, dass eine ungültige ISBN ohne Datenbankzugriff abgewiesen wird.
+   */
+  @Test
+  void testFindByIsbn_InvalidIsbn_Throws() {
+    assertThrows(
+      MediaException.class,
+      () -> mediaIsbnLookupService.findByIsbn("123")
+    );
+    verifyNoInteractions(mediaRepository, mediaWithCategoriesLoader);
+  }
+}
@@ -0,0 +1,155 @@
+package com.example.backend.service;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.test.context.ActiveProfiles;
+
+import com.example.backend.dto.MediaCreationDTO;
+import com.example.backend.model.CategoryEntity;
+import com.example.backend.model.MediaCategory;
+import com.example.backend.model.MediaEntity;
+import com.example.backend.model.MediaState;
+import com.example.backend.model.MediaType;
+import com.example.backend.model.UserEntity;
+import com.example.backend.repository.SqlStatementCounter;
+import com.example.backend.security.AuthenticatedUser;
+
+import jakarta.persistence.EntityManager;
+import jakarta.transaction.Transactional;
+
+/**
+ * Prüft, wie viele SQL-Anweisungen das Bearbeiten eines Mediums mit vielen
+ * Kategorien ausführt. Unveränderte Zuordnungen dürfen nicht geschrieben
+ * werden; geänderte werden gesammelt eingefügt bzw. gelöscht.
+ */
+@SpringBootTest(
+  properties = "spring.jpa.properties.hibernate.session_factory.statement_inspector=com.example.backend.repository.SqlStatementCounter"
+)
+@ActiveProfiles("test")
+@Transactional
+class MediaServiceStatementCountTest {
+
+  private static final int CATEGORIES = 35;
+  private static final int ASSIGNED = 30;
+  private static final int REPLACED = 5;
+
+  @Autowired
+  private MediaService mediaService;
+
+  @Autowired
+  private EntityManager entityManager;
+
+  private final List<Long> categoryIds = new ArrayList<>();
+
+  private MediaEntity media;
+
+  @BeforeEach
+  void setUp() {
+    String suffix = String.valueOf(System.nanoTime());
+    UserEntity user = new UserEntity();
+    user.setUsername("count_" + suffix);
+    user.setPassword("password");
+    user.setEmail("count_" + suffix + "@example.com");
+    entityManager.persist(user);
+
+    media = new MediaEntity();
+    media.setTitle("Title");
+    media.setType(MediaType.BOOK);
+    media.setMediaState(MediaState.AVAILABLE);
+    media.setIsFavorite(false);
+    media.setUser(user);
+    entityManager.persist(media);
+
+    for (int i = 0; i < CATEGORIES; i++) {
+      CategoryEntity category = new CategoryEntity();
+      category.setCategoryName("Category " + i);
+      category.setUser(user);
+      entityManager.persist(category);
+      categoryIds.add(category.getCategoryId());
+      if (i < ASSIGNED) {
+        MediaCategory mediaCategory = new MediaCategory();
+        mediaCategory.setMedia(media);
+        mediaCategory.setCategory(category);
+        entityManager.persist(mediaCategory);
+      }
+    }
+    entityManager.flush();
+    entityManager.clear();
+
+    SecurityContextHolder
+      .getContext()
+      .setAuthentication(
+        new UsernamePasswordAuthenticationToken(
+          new AuthenticatedUser(user.getUserId(), user.getUsername()),
+          null,
+          List.of()
+        )
+      );
+  }
+
+  @AfterEach
+  void tearDown() {
+    SecurityContextHolder.clearContext();
+  }
+
+  /**
+   * Testet, dass das Ersetzen von 5 der 30 Kategorien eines Mediums samt
+   * geändertem Titel eine feste Anzahl von Anweisungen ausführt: Medium,
+   * bestehende Zuordnungen, neue Kategorien, das Update des Mediums sowie je
+   * ein Batch zum Einfügen und Löschen der Zuordnungen.
+   */
+  @Test
+  void testUpdateMedia_ReplacingCategories_WritesOnlyTheDiff() {
+    List<Long> requested = new ArrayList<>(
+      categoryIds.subList(REPLACED, ASSIGNED + REPLACED)
+    );
+
+    List<String> statements = SqlStatementCounter.record(() -> {
+      mediaService.updateMedia(media.getMediaId(), update(requested));
+      entityManager.flush();
+    });
+
+    assertEquals(6, statements.size(), () -> "Unexpected SQL statements: " + statements);
+  }
+
+  /**
+   * Testet, dass ein Speichern ohne Änderung an den Kategorien keine
+   * Zuordnung schreibt und nur Medium und Zuordnungen liest.
+   */
+  @Test
+  void testUpdateMedia_UnchangedCategories_ReadsOnly() {
+    List<Long> requested = new ArrayList<>(categoryIds.subList(0, ASSIGNED));
+
+    List<String> statements = SqlStatementCounter.record(() -> {
+      mediaService.updateMedia(media.getMediaId(), unchanged(requested));
+      entityManager.flush();
+    });
+
+    assertEquals(2, statements.size(), () -> "Unexpected SQL statements: " + statements);
+  }
+
+  private static MediaCreationDTO update(List<Long> categories) {
+    MediaCreationDTO dto = unchanged(categories);
+    dto.setTitle("Changed");
+    return dto;
+  }
+
+  private static MediaCreationDTO unchanged(List<Long> categories) {
+    MediaCreationDTO dto = new MediaCreationDTO();
+    dto.setTitle("Title");
+    dto.setType(MediaType.BOOK.name());
+    dto.setMediaState(MediaState.AVAILABLE.name());
+    dto.setIsFavorite(false);
+    dto.setCategories(categories);
+    return dto;
+  }
+}
@@ -1,35 +1,56 @@
 package com.example.backend.service;
 
+import java.time.LocalDateTime;
 import java.util.List;
 import java.util.Optional;
+import java.util.Set;
 
 import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
 import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
 import static org.junit.jupiter.api.Assertions.assertTrue;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.ArgumentMatchers.isNull;
+import org.mockito.InOrder;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
-import static org.mockito.Mockito.doNothing;
-import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.inOrder;
+import static org.mockito.Mockito.never;
 import static org.mockito.Mockito.times;
 import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.verifyNoInteractions;
 import static org.mockito.Mockito.when;
 import org.mockito.MockitoAnnotations;
-import org.springframework.security.core.Authentication;
+import org.springframework.transaction.PlatformTransactionManager;
 
+import com.example.backend.cache.UserDataVersions;
 import com.example.backend.dto.MediaCreationDTO;
+import com.example.backend.dto.MediaCursor;
+import com.example.backend.dto.MediaFacetsDTO;
+import com.example.backend.dto.MediaFilterDTO;
+import com.example.backend.dto.MediaNotesDTO;
+import com.example.backend.dto.MediaPageDTO;
+import com.example.backend.dto.MediaSortField;
 import com.example.backend.dto.MediaWithCategoriesDTO;
-import com.example.backend.dto.MediaWithCategoriesProjection;
+import com.example.backend.exception.MediaException;
+import com.example.backend.exception.MediaNotFoundException;
 import com.example.backend.model.CategoryEntity;
 import com.example.backend.model.MediaCategory;
 import com.example.backend.model.MediaEntity;
+import com.example.backend.model.MediaState;
 import com.example.backend.model.MediaType;
 import com.example.backend.model.UserEntity;
 import com.example.backend.repository.CategoryRepository;
 import com.example.backend.repository.MediaCategoryRepository;
 import com.example.backend.repository.MediaRepository;
+import com.example.backend.search.MediaSearchService;
+import com.example.backend.security.AuthenticatedUser;
+import com.example.backend.sync.SyncService;
 
 class MediaServiceTest {
 
@@ -46,7 +67,25 @@ class MediaServiceTest {
   private UserService userService;
 
   @Mock
-  private Authentication authentication;
+  private AuthenticatedUser authenticatedUser;
+
+  @Mock
+  private MediaWithCategoriesLoader mediaWithCategoriesLoader;
+
+  @Mock
+  private MediaSearchService mediaSearchService;
+
+  @Mock
+  private MediaIsbnLookupService mediaIsbnLookupService;
+
+  @Mock
+  private UserDataVersions userDataVersions;
+
+  @Mock
+  private SyncService syncService;
+
+  @Mock
+  private PlatformTransactionManager transactionManager;
 
   @InjectMocks
   private MediaService mediaService;
@@ -54,35 +93,26 @@ class MediaServiceTest {
   @BeforeEach
   void setUp() {
     MockitoAnnotations.openMocks(this);
+    when(authenticatedUser.getUserId()).thenReturn(1L);
+    when(authenticatedUser.getUsername()).thenReturn("testUser");
   }
 
   /**
-   * Testet den Erfolg des Abrufens aller Medien mit Kategorien für einen bestimmten Benutzer.
-   * Überprüft, dass die Medien korrekt abgerufen werden, wenn der Benutzer vorhanden ist.
+   * Testet den Erfolg des Abrufens aller Medien mit Kategorien für den angemeldeten Benutzer.
+   * Überprüft, dass die Medien über die Benutzer-ID geladen werden, ohne den
+   * Benutzer vorher nachzuladen.
    */
   @Test
-  void testGetAllMediaByUsernameWithCategories_Success() {
-    String username = "testUser";
-    UserEntity mockUser = new UserEntity();
-    mockUser.setUserId(123L);
-    mockUser.setUsername(username);
+  void testGetAllMediaWithCategories_Success() {
+    when(authenticatedUser.getUserId()).thenReturn(123L);
+    when(mediaWithCategoriesLoader.loadByUserId(123L))
+      .thenReturn(List.of(dto(1L)));
 
-    when(userService.getUserByUsername(username))
-      .thenReturn(Optional.of(mockUser));
-
-    MediaWithCategoriesProjection projection = mock(
-      MediaWithCategoriesProjection.class
-    );
-    when(projection.getMediaId()).thenReturn(1L);
-    when(mediaRepository.findMediaWithCategoriesByUserId(123L))
-      .thenReturn(List.of(projection));
-
-    List<MediaWithCategoriesDTO> result = mediaService.getAllMediaByUsernameWithCategories(
-      username
-    );
+    List<MediaWithCategoriesDTO> result = mediaService.getAllMediaWithCategories();
 
     assertEquals(1, result.size());
-    verify(mediaRepository, times(1)).findMediaWithCategoriesByUserId(123L);
+    verify(mediaWithCategoriesLoader, times(1)).loadByUserId(123L);
+    verifyNoInteractions(userService);
   }
 
 
@@ -93,14 +123,10 @@ class MediaServiceTest {
    */
   @Test
   void testCreateMedia_Success() {
-    String username = "testUser";
     UserEntity mockUser = new UserEntity();
     mockUser.setUserId(1L);
-    mockUser.setUsername(username);
 
-    when(authentication.getName()).thenReturn(username);
-    when(userService.getUserByUsername(username))
-      .thenReturn(Optional.of(mockUser));
+    when(userService.getUserReference(1L)).thenReturn(mockUser);
 
     MediaCreationDTO dto = new MediaCreationDTO();
     dto.setProducer("Producer");
@@ -117,8 +143,8 @@ class MediaServiceTest {
     categoryEntity.setCategoryId(100L);
     categoryEntity.setCategoryName("TestCategory");
 
-    when(categoryRepository.findById(100L))
-      .thenReturn(Optional.of(categoryEntity));
+    when(categoryRepository.findByUserUserIdAndCategoryIdIn(1L, Set.of(100L)))
+      .thenReturn(List.of(categoryEntity));
     when(mediaRepository.save(any(MediaEntity.class)))
       .thenAnswer(invocation -> {
         MediaEntity saved = invocation.getArgument(0);
@@ -126,15 +152,16 @@ class MediaServiceTest {
         return saved;
       });
 
-    MediaWithCategoriesDTO result = mediaService.createMedia(
-      dto,
-      authentication
-    );
+    MediaWithCategoriesDTO result = mediaService.createMedia(dto);
 
     assertNotNull(result.getMediaId());
     assertEquals("Title", result.getTitle());
+    assertEquals(1L, result.getUserId());
     assertEquals(1, result.getCategories().size());
     verify(mediaRepository, times(1)).save(any(MediaEntity.class));
+    verify(userService, never()).getUserByUsername(any());
+    verify(mediaSearchService).indexMedia(eq(1L), any(MediaEntity.class));
+    verify(userDataVersions).bump(1L);
   }
 
   /**
@@ -143,35 +170,154 @@ class MediaServiceTest {
    */
   @Test
   void testUpdateMedia_Success() {
-    String username = "testUser";
     UserEntity mockUser = new UserEntity();
     mockUser.setUserId(1L);
 
     MediaEntity existingMedia = new MediaEntity();
     existingMedia.setMediaId(10L);
     existingMedia.setUser(mockUser);
+    existingMedia.setIsbn("3-608-93828-1");
 
     MediaCreationDTO dto = new MediaCreationDTO();
+    dto.setIsbn("978-0-261-10221-7");
     dto.setProducer("NewProducer");
     dto.setTitle("NewTitle");
     dto.setMediaState("AVAILABLE");
     dto.setType("BOOK");
     dto.setIsFavorite(true);
 
-    when(authentication.getName()).thenReturn(username);
-    when(userService.getUserByUsername(username))
-      .thenReturn(Optional.of(mockUser));
     when(mediaRepository.findById(10L)).thenReturn(Optional.of(existingMedia));
     when(mediaRepository.save(any(MediaEntity.class)))
       .thenReturn(existingMedia);
 
-    MediaEntity result = mediaService.updateMedia(10L, dto, authentication);
+    MediaEntity result = mediaService.updateMedia(10L, dto);
 
     assertEquals("NewProducer", result.getProducer());
     assertEquals("NewTitle", result.getTitle());
     assertEquals(MediaType.BOOK, result.getType());
     assertTrue(result.getIsFavorite());
     verify(mediaRepository, times(1)).save(existingMedia);
+    verifyNoInteractions(userService);
+    verify(mediaSearchService).indexMedia(1L, existingMedia);
+    // Alte und neue ISBN dürfen nicht mehr aus dem Cache beantwortet werden
+    verify(mediaIsbnLookupService).invalidate(1L, "3-608-93828-1");
+    verify(mediaIsbnLookupService).invalidate(1L, "978-0-261-10221-7");
+  }
+
+  /**
+   * Testet, dass ein Update ohne Notizen die vorhandenen Notizen beibehält.
+   */
+  @Test
+  void testUpdateMedia_WithoutNotes_KeepsExistingNotes() {
+    UserEntity mockUser = new UserEntity();
+    mockUser.setUserId(1L);
+
+    MediaEntity existingMedia = new MediaEntity();
+    existingMedia.setMediaId(10L);
+    existingMedia.setUser(mockUser);
+    existingMedia.setNotes("Alte Notizen");
+
+    MediaCreationDTO dto = new MediaCreationDTO();
+    dto.setTitle("NewTitle");
+    dto.setMediaState("AVAILABLE");
+    dto.setType("BOOK");
+
+    when(mediaRepository.findById(10L)).thenReturn(Optional.of(existingMedia));
+    when(mediaRepository.save(any(MediaEntity.class)))
+      .thenReturn(existingMedia);
+
+    MediaEntity result = mediaService.updateMedia(10L, dto);
+
+    assertEquals("Alte Notizen", result.getNotes());
+  }
+
+  /**
+   * Testet, dass die vollständigen Notizen eines eigenen Mediums geliefert werden.
+   */
+  @Test
+  void testGetMediaNotes_Success() {
+    when(mediaRepository.findNotesByIdAndUserId(10L, 1L))
+      .thenReturn(Optional.of(new MediaNotesDTO(10L, "Lange Notizen")));
+
+    MediaNotesDTO result = mediaService.getMediaNotes(10L);
+
+    assertEquals("Lange Notizen", result.getNotes());
+  }
+
+  /**
+   * Testet, dass für unbekannte oder fremde Medien eine Ausnahme geworfen wird.
+   */
+  @Test
+  void testGetMediaNotes_NotFound_Throws() {
+    when(mediaRepository.findNotesByIdAndUserId(10L, 1L))
+      .thenReturn(Optional.empty());
+
+    assertThrows(
+      MediaNotFoundException.class,
+      () -> mediaService.getMediaNotes(10L)
+    );
+  }
+
+  /**
+   * Testet, dass beim Erstellen eine fremde oder unbekannte Kategorie abgewiesen wird.
+   */
+  @Test
+  void testCreateMedia_CategoryNotOwned_Throws() {
+    MediaCreationDTO dto = new MediaCreationDTO();
+    dto.setTitle("Title");
+    dto.setMediaState("AVAILABLE");
+    dto.setType("BOOK");
+    dto.setCategories(List.of(100L, 101L, 100L));
+    CategoryEntity own = new CategoryEntity();
+    own.setCategoryId(100L);
+    when(
+      categoryRepository.findByUserUserIdAndCategoryIdIn(1L, Set.of(100L, 101L))
+    )
+      .thenReturn(List.of(own));
+
+    assertThrows(RuntimeException.class, () -> mediaService.createMedia(dto));
+    verify(mediaRepository, never()).save(any(MediaEntity.class));
+  }
+
+  /**
+   * Testet, dass beim Update nur geänderte Kategoriezuordnungen geschrieben werden:
+   * entfernte werden gelöscht, neue mit einer Abfrage geladen, unveränderte bleiben erhalten.
+   */
+  @Test
+  void testUpdateMedia_OnlyChangedCategoryLinks() {
+    UserEntity mockUser = new UserEntity();
+    mockUser.setUserId(1L);
+    MediaEntity existingMedia = new MediaEntity();
+    existingMedia.setMediaId(10L);
+    existingMedia.setUser(mockUser);
+    MediaCategory removed = link(existingMedia, 2L);
+    MediaCategory kept = link(existingMedia, 3L);
+
+    MediaCreationDTO dto = new MediaCreationDTO();
+    dto.setTitle("Title");
+    dto.setMediaState("AVAILABLE");
+    dto.setType("BOOK");
+    dto.setCategories(List.of(3L, 4L));
+
+    CategoryEntity added = new CategoryEntity();
+    added.setCategoryId(4L);
+    when(mediaRepository.findById(10L)).thenReturn(Optional.of(existingMedia));
+    when(categoryRepository.findByUserUserIdAndCategoryIdIn(1L, Set.of(4L)))
+      .thenReturn(List.of(added));
+    when(mediaRepository.save(existingMedia)).thenReturn(existingMedia);
+
+    mediaService.updateMedia(10L, dto);
+
+    assertEquals(2, existingMedia.getMediaCategories().size());
+    assertFalse(existingMedia.getMediaCategories().contains(removed));
+    assertTrue(existingMedia.getMediaCategories().contains(kept));
+    assertTrue(
+      existingMedia
+        .getMediaCategories()
+        .stream()
+        .anyMatch(mc -> mc.getCategory() == added)
+    );
+    verify(categoryRepository, never()).findById(any());
   }
 
   /**
@@ -180,11 +326,8 @@ class MediaServiceTest {
    */
   @Test
   void testAssignCategoryToMedia_Success() {
-    String username = "testUser";
-    when(authentication.getName()).thenReturn(username);
-
     UserEntity user = new UserEntity();
-    user.setUsername(username);
+    user.setUserId(1L);
 
     MediaEntity media = new MediaEntity();
     media.setMediaId(1L);
@@ -201,11 +344,7 @@ class MediaServiceTest {
     )
       .thenReturn(false);
 
-    MediaEntity result = mediaService.assignCategoryToMedia(
-      1L,
-      2L,
-      authentication
-    );
+    MediaEntity result = mediaService.assignCategoryToMedia(1L, 2L);
 
     assertEquals(1L, result.getMediaId());
     verify(mediaCategoryRepository, times(1)).save(any(MediaCategory.class));
@@ -217,11 +356,8 @@ class MediaServiceTest {
    */
   @Test
   void testRemoveCategoryFromMedia_Success() {
-    String username = "testUser";
-    when(authentication.getName()).thenReturn(username);
-
     UserEntity user = new UserEntity();
-    user.setUsername(username);
+    user.setUserId(1L);
 
     MediaEntity media = new MediaEntity();
     media.setMediaId(1L);
@@ -242,22 +378,186 @@ class MediaServiceTest {
     )
       .thenReturn(Optional.of(mediaCategory));
 
-    mediaService.removeCategoryFromMedia(1L, 2L, authentication);
+    mediaService.removeCategoryFromMedia(1L, 2L);
 
     verify(mediaCategoryRepository, times(1)).delete(mediaCategory);
+    verify(mediaRepository).save(media);
+    assertNotNull(media.getUpdatedAt());
   }
 
   /**
    * Testet das erfolgreiche Löschen eines Mediums.
-   * Überprüft, dass das Medium aus der Datenbank gelöscht wird.
+   * Überprüft, dass Medium und Ausleihen vor dem Löschen in derselben
+   * Transaktion protokolliert und Index, ISBN-Cache und Datenversion des
+   * Besitzers aktualisiert werden.
    */
   @Test
   void testDeleteMedia_Success() {
-    Long mediaId = 999L;
-    doNothing().when(mediaRepository).deleteById(mediaId);
+    MediaEntity media = ownedMedia(5L, 1L);
+    media.setIsbn("978-3-16-148410-0");
+    when(mediaRepository.findById(5L)).thenReturn(Optional.of(media));
+
+    mediaService.deleteMedia(5L);
+
+    InOrder order = inOrder(syncService, mediaRepository, transactionManager);
+    order.verify(syncService).recordMediaDeletions(List.of(5L));
+    order.verify(mediaRepository).delete(media);
+    order.verify(transactionManager).commit(null);
+    verify(mediaSearchService).removeMedia(1L, 5L);
+    verify(mediaIsbnLookupService).invalidate(1L, "978-3-16-148410-0");
+    verify(userDataVersions).bump(1L);
+  }
 
-    mediaService.deleteMedia(mediaId);
+  /**
+   * Testet, dass ein Medium eines anderen Benutzers wie ein fehlendes
+   * Medium behandelt und weder gelöscht noch protokolliert wird.
+   */
+  @Test
+  void testDeleteMedia_ForeignMedia_ThrowsNotFound() {
+    when(mediaRepository.findById(5L)).thenReturn(Optional.of(ownedMedia(5L, 2L)));
 
-    verify(mediaRepository, times(1)).deleteById(mediaId);
+    assertThrows(MediaNotFoundException.class, () -> mediaService.deleteMedia(5L));
+
+    verify(mediaRepository, never()).delete(any(MediaEntity.class));
+    verify(transactionManager).rollback(null);
+    verifyNoInteractions(syncService, mediaSearchService, userDataVersions);
+  }
+
+  /**
+   * Testet das Abrufen der ersten Seite: Die IDs werden in der Reihenfolge der Keyset-Abfrage geladen,
+   * ein zusätzlicher Eintrag signalisiert eine weitere Seite und liefert den nächsten Cursor.
+   */
+  @Test
+  void testGetMediaPage_FirstPage_HasMore() {
+    MediaFilterDTO filter = new MediaFilterDTO();
+    LocalDateTime now = LocalDateTime.of(2024, 5, 1, 12, 0);
+    List<MediaCursor> keys = List.of(
+      MediaCursor.ofCreatedAt(now, 3L),
+      MediaCursor.ofCreatedAt(now, 2L),
+      MediaCursor.ofCreatedAt(now.minusDays(1), 1L)
+    );
+    when(mediaRepository.findPageKeys(eq(1L), eq(filter), isNull(), eq(3)))
+      .thenReturn(keys);
+    when(mediaWithCategoriesLoader.loadByIds(List.of(3L, 2L)))
+      .thenReturn(List.of(dto(3L), dto(2L)));
+
+    MediaPageDTO page = mediaService.getMediaPage(filter, null, 2);
+
+    assertEquals(2, page.getItems().size());
+    assertEquals(3L, page.getItems().get(0).getMediaId());
+    assertEquals(2L, page.getItems().get(1).getMediaId());
+    assertTrue(page.isHasMore());
+    assertEquals(
+      MediaCursor.ofCreatedAt(now, 2L),
+      MediaCursor.decode(page.getNextCursor(), MediaSortField.CREATED_AT)
+    );
+  }
+
+  /**
+   * Testet, dass der Cursor an die Keyset-Abfrage weitergereicht wird und die letzte Seite keinen Cursor liefert.
+   */
+  @Test
+  void testGetMediaPage_LastPage_NoCursor() {
+    MediaFilterDTO filter = new MediaFilterDTO();
+    filter.setSort(MediaSortField.TITLE);
+    MediaCursor after = MediaCursor.ofTitle("A|B", 7L);
+    when(mediaRepository.findPageKeys(1L, filter, after, 51))
+      .thenReturn(List.of(MediaCursor.ofTitle("C", 4L)));
+    when(mediaWithCategoriesLoader.loadByIds(List.of(4L)))
+      .thenReturn(List.of(dto(4L)));
+
+    MediaPageDTO page = mediaService.getMediaPage(filter, after.encode(), 50);
+
+    assertEquals(1, page.getItems().size());
+    assertFalse(page.isHasMore());
+    assertNull(page.getNextCursor());
+  }
+
+  /**
+   * Testet, dass ein leeres Ergebnis keine zweite Abfrage auslöst und die Seitengröße begrenzt wird.
+   */
+  @Test
+  void testGetMediaPage_Empty_ClampsLimit() {
+    MediaFilterDTO filter = new MediaFilterDTO();
+    when(
+      mediaRepository.findPageKeys(
+        1L,
+        filter,
+        null,
+        MediaService.MAX_PAGE_SIZE + 1
+      )
+    )
+      .thenReturn(List.of());
+
+    MediaPageDTO page = mediaService.getMediaPage(filter, "", 10_000);
+
+    assertTrue(page.getItems().isEmpty());
+    assertFalse(page.isHasMore());
+    verifyNoInteractions(mediaWithCategoriesLoader);
+  }
+
+  /**
+   * Testet, dass ungültige Cursor und Cursor einer anderen Sortierung abgewiesen werden.
+   */
+  @Test
+  void testGetMediaPage_InvalidCursor_ShouldThrow() {
+    MediaFilterDTO filter = new MediaFilterDTO();
+    String titleCursor = MediaCursor.ofTitle("Dune", 1L).encode();
+
+    assertThrows(
+      MediaException.class,
+      () -> mediaService.getMediaPage(filter, "not a cursor", 10)
+    );
+    assertThrows(
+      MediaException.class,
+      () -> mediaService.getMediaPage(filter, titleCursor, 10)
+    );
+    verifyNoInteractions(mediaRepository);
+  }
+
+  /**
+   * Testet, dass die Facetten für den angemeldeten Benutzer gezählt werden und
+   * Werte ohne Treffer mit 0 enthalten sind.
+   */
+  @Test
+  void testGetMediaFacets_UsesCurrentUser() {
+    MediaFilterDTO filter = new MediaFilterDTO();
+    filter.setType(MediaType.BOOK);
+    MediaFacetsDTO counts = new MediaFacetsDTO();
+    counts.setTotal(2);
+    counts.getType().put(MediaType.BOOK, 2L);
+    when(mediaRepository.countFacets(1L, filter)).thenReturn(counts);
+
+    MediaFacetsDTO result = mediaService.getMediaFacets(filter);
+
+    assertEquals(2, result.getTotal());
+    assertEquals(2L, result.getType().get(MediaType.BOOK));
+    assertEquals(0L, result.getMediaState().get(MediaState.AVAILABLE));
+    assertEquals(0L, result.getIsFavorite().get(true));
+  }
+
+  private static MediaCategory link(MediaEntity media, Long categoryId) {
+    CategoryEntity category = new CategoryEntity();
+    category.setCategoryId(categoryId);
+    MediaCategory mediaCategory = new MediaCategory();
+    mediaCategory.setMedia(media);
+    mediaCategory.setCategory(category);
+    media.getMediaCategories().add(mediaCategory);
+    return mediaCategory;
+  }
+
+  private static MediaWithCategoriesDTO dto(Long mediaId) {
+    MediaWithCategoriesDTO dto = new MediaWithCategoriesDTO();
+    dto.setMediaId(mediaId);
+    return dto;
+  }
+
+  private static MediaEntity ownedMedia(Long mediaId, Long userId) {
+    UserEntity user = new UserEntity();
+    user.setUserId(userId);
+    MediaEntity media = new MediaEntity();
+    media.setMediaId(mediaId);
+    media.setUser(user);
+    return media;
   }
 }
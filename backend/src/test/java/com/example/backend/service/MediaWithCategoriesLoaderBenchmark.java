@@ -0,0 +1,220 @@
+package com.example.backend.service;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.function.Supplier;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import org.junit.jupiter.api.condition.EnabledIfSystemProperty;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.ValueSource;
+
+import com.example.backend.dto.CategoryDTO;
+import com.example.backend.dto.MediaCategoryProjection;
+import com.example.backend.dto.MediaProjection;
+import com.example.backend.dto.MediaWithCategoriesDTO;
+
+/**
+ * Vergleicht das Zusammensetzen der DTOs aus {@code group_concat}-Zeichenketten
+ * (bisheriges Verfahren) mit dem zweiphasigen Zusammensetzen des
+ * {@link MediaWithCategoriesLoader}. Gemessen wird nur der Anteil in der JVM;
+ * die Datenbankabfragen sind nicht enthalten.
+ *
+ * Läuft nur auf Anforderung:
+ * {@code mvn test -Dtest=MediaWithCategoriesLoaderBenchmark -Dbenchmark=true}
+ */
+@EnabledIfSystemProperty(named = "benchmark", matches = "true")
+class MediaWithCategoriesLoaderBenchmark {
+
+  private static final int CATEGORIES_PER_MEDIA = 3;
+  private static final int WARMUP_ROUNDS = 10;
+  private static final int MEASURED_ROUNDS = 20;
+
+  /**
+   * Misst beide Verfahren für die angegebene Anzahl an Medien und gibt die
+   * durchschnittliche Dauer pro Durchlauf aus.
+   */
+  @ParameterizedTest
+  @ValueSource(ints = { 10_000, 100_000 })
+  void compareAssembly(int mediaCount) {
+    List<ConcatRow> concatRows = new ArrayList<>(mediaCount);
+    List<MediaProjection> media = new ArrayList<>(mediaCount);
+    List<MediaCategoryProjection> categories = new ArrayList<>(
+      mediaCount * CATEGORIES_PER_MEDIA
+    );
+    LocalDateTime createdAt = LocalDateTime.of(2024, 1, 1, 0, 0);
+    for (long id = 1; id <= mediaCount; id++) {
+      MediaRow row = new MediaRow(id, 1L, "Titel " + id, createdAt);
+      media.add(row);
+      StringBuilder pairs = new StringBuilder();
+      for (long c = 1; c <= CATEGORIES_PER_MEDIA; c++) {
+        long categoryId = (id + c) % 50;
+        String name = "Kategorie " + categoryId;
+        categories.add(new CategoryRow(id, categoryId, name));
+        if (pairs.length() > 0) {
+          pairs.append(',');
+        }
+        pairs.append(categoryId).append(':').append(name);
+      }
+      concatRows.add(new ConcatRow(row, pairs.toString()));
+    }
+
+    double concatMillis = measure(() -> fromConcatRows(concatRows));
+    double twoPhaseMillis = measure(() ->
+      MediaWithCategoriesLoader.assemble(media, categories)
+    );
+
+    assertEquals(
+      fromConcatRows(concatRows).get(mediaCount - 1).getCategories(),
+      MediaWithCategoriesLoader
+        .assemble(media, categories)
+        .get(mediaCount - 1)
+        .getCategories()
+    );
+    System.out.printf(
+      "media=%d group_concat=%.2f ms/op two-phase=%.2f ms/op%n",
+      mediaCount,
+      concatMillis,
+      twoPhaseMillis
+    );
+  }
+
+  private static double measure(
+    Supplier<List<MediaWithCategoriesDTO>> task
+  ) {
+    long sink = 0;
+    for (int i = 0; i < WARMUP_ROUNDS; i++) {
+      sink += task.get().size();
+    }
+    long start = System.nanoTime();
+    for (int i = 0; i < MEASURED_ROUNDS; i++) {
+      sink += task.get().size();
+    }
+    long elapsed = System.nanoTime() - start;
+    if (sink == 0) {
+      throw new IllegalStateException();
+    }
+    return elapsed / 1_000_000.0 / MEASURED_ROUNDS;
+  }
+
+  /** Bisheriges Verfahren: Kategorie-Paare aus der Zeichenkette zerlegen. */
+  private static List<MediaWithCategoriesDTO> fromConcatRows(
+    List<ConcatRow> rows
+  ) {
+    List<MediaWithCategoriesDTO> dtos = new ArrayList<>(rows.size());
+    for (ConcatRow row : rows) {
+      MediaWithCategoriesDTO dto = MediaWithCategoriesDTO.fromProjection(
+        row.media()
+      );
+      for (String pair : row.categoryPairs().split(",")) {
+        String[] parts = pair.split(":");
+        if (parts.length == 2) {
+          dto
+            .getCategories()
+            .add(new CategoryDTO(Long.valueOf(parts[0]), parts[1]));
+        }
+      }
+      dtos.add(dto);
+    }
+    return dtos;
+  }
+
+  private record ConcatRow(MediaRow media, String categoryPairs) {}
+
+  private record CategoryRow(Long mediaId, Long categoryId, String categoryName)
+    implements MediaCategoryProjection {
+    @Override
+    public Long getMediaId() {
+      return mediaId;
+    }
+
+    @Override
+    public Long getCategoryId() {
+      return categoryId;
+    }
+
+    @Override
+    public String getCategoryName() {
+      return categoryName;
+    }
+  }
+
+  private record MediaRow(
+    Long mediaId,
+    Long userId,
+    String title,
+    LocalDateTime createdAt
+  )
+    implements MediaProjection {
+    @Override
+    public Long getMediaId() {
+      return mediaId;
+    }
+
+    @Override
+    public Long getUserId() {
+      return userId;
+    }
+
+    @Override
+    public String getProducer() {
+      return null;
+    }
+
+    @Override
+    public String getTitle() {
+      return title;
+    }
+
+    @Override
+    public String getMediaState() {
+      return "AVAILABLE";
+    }
+
+    @Override
+    public String getType() {
+      return "BOOK";
+    }
+
+    @Override
+    public Integer getReleaseYear() {
+      return 2000;
+    }
+
+    @Override
+    public String getNotesPreview() {
+      return null;
+    }
+
+    @Override
+    public String getIsbn() {
+      return null;
+    }
+
+    @Override
+    public String getCoverKey() {
+      return null;
+    }
+
+    @Override
+    public Boolean getIsFavorite() {
+      return false;
+    }
+
+    @Override
+    public LocalDateTime getCreatedAt() {
+      return createdAt;
+    }
+
+    @Override
+    public LocalDateTime getUpdatedAt() {
+      return createdAt;
+    }
+
+    @Override
+    public Long getVersion() {
+      return 0L;
+    }
+  }
+}
@@ -0,0 +1,140 @@
+package com.example.backend.service;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import static org.mockito.ArgumentMatchers.anyCollection;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.verifyNoInteractions;
+import static org.mockito.Mockito.when;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.data.projection.ProjectionFactory;
+import org.springframework.data.projection.SpelAwareProxyProjectionFactory;
+
+import com.example.backend.dto.MediaCategoryProjection;
+import com.example.backend.dto.MediaProjection;
+import com.example.backend.dto.MediaWithCategoriesDTO;
+import com.example.backend.repository.MediaCategoryRepository;
+import com.example.backend.repository.MediaRepository;
+
+@ExtendWith(MockitoExtension.class)
+class MediaWithCategoriesLoaderTest {
+
+  private static final ProjectionFactory PROJECTIONS = new SpelAwareProxyProjectionFactory();
+
+  @Mock
+  private MediaRepository mediaRepository;
+
+  @Mock
+  private MediaCategoryRepository mediaCategoryRepository;
+
+  @InjectMocks
+  private MediaWithCategoriesLoader loader;
+
+  /**
+   * Testet, dass Kategorienamen mit Trennzeichen unverändert übernommen werden
+   * und Medien ohne Kategorie eine leere Liste erhalten.
+   */
+  @Test
+  void testLoadByUserId_KeepsCategoryNamesWithSeparators() {
+    when(mediaRepository.findMediaProjectionsByUserId(1L))
+      .thenReturn(List.of(media(10L), media(11L)));
+    when(mediaCategoryRepository.findCategoriesByMediaIds(List.of(10L, 11L)))
+      .thenReturn(
+        List.of(category(10L, 1L, "Sci:Fi"), category(10L, 2L, "Krimi, Thriller"))
+      );
+
+    List<MediaWithCategoriesDTO> result = loader.loadByUserId(1L);
+
+    assertEquals(2, result.size());
+    assertEquals(2, result.get(0).getCategories().size());
+    assertEquals("Sci:Fi", result.get(0).getCategories().get(0).getCategoryName());
+    assertEquals(
+      "Krimi, Thriller",
+      result.get(0).getCategories().get(1).getCategoryName()
+    );
+    assertEquals(2L, result.get(0).getCategories().get(1).getCategoryId());
+    assertTrue(result.get(1).getCategories().isEmpty());
+  }
+
+  /**
+   * Testet, dass das Ergebnis die Reihenfolge der übergebenen IDs hat und
+   * nicht gefundene IDs übersprungen werden.
+   */
+  @Test
+  void testLoadByIds_PreservesRequestedOrder() {
+    when(mediaRepository.findMediaProjectionsByIds(List.of(3L, 1L, 2L)))
+      .thenReturn(List.of(media(1L), media(3L)));
+    when(mediaCategoryRepository.findCategoriesByMediaIds(List.of(1L, 3L)))
+      .thenReturn(List.of(category(3L, 5L, "Roman")));
+
+    List<MediaWithCategoriesDTO> result = loader.loadByIds(List.of(3L, 1L, 2L));
+
+    assertEquals(2, result.size());
+    assertEquals(3L, result.get(0).getMediaId());
+    assertEquals("Roman", result.get(0).getCategories().get(0).getCategoryName());
+    assertEquals(1L, result.get(1).getMediaId());
+  }
+
+  /**
+   * Testet, dass die Kategorien großer Sammlungen in Blöcken abgefragt werden.
+   */
+  @Test
+  void testLoadByUserId_QueriesCategoriesInBatches() {
+    List<MediaProjection> media = new ArrayList<>();
+    for (long id = 1; id <= MediaWithCategoriesLoader.BATCH_SIZE + 1; id++) {
+      media.add(media(id));
+    }
+    when(mediaRepository.findMediaProjectionsByUserId(1L)).thenReturn(media);
+    when(mediaCategoryRepository.findCategoriesByMediaIds(anyCollection()))
+      .thenReturn(List.of());
+
+    List<MediaWithCategoriesDTO> result = loader.loadByUserId(1L);
+
+    assertEquals(MediaWithCategoriesLoader.BATCH_SIZE + 1, result.size());
+    verify(mediaCategoryRepository, times(2))
+      .findCategoriesByMediaIds(anyCollection());
+  }
+
+  /**
+   * Testet, dass ohne Medien keine Kategorieabfrage ausgeführt wird.
+   */
+  @Test
+  void testLoadByIds_Empty_NoQueries() {
+    assertTrue(loader.loadByIds(List.of()).isEmpty());
+    verifyNoInteractions(mediaRepository, mediaCategoryRepository);
+  }
+
+  private static MediaProjection media(Long mediaId) {
+    return PROJECTIONS.createProjection(
+      MediaProjection.class,
+      Map.of("mediaId", mediaId, "title", "Titel " + mediaId)
+    );
+  }
+
+  private static MediaCategoryProjection category(
+    Long mediaId,
+    Long categoryId,
+    String categoryName
+  ) {
+    return PROJECTIONS.createProjection(
+      MediaCategoryProjection.class,
+      Map.of(
+        "mediaId",
+        mediaId,
+        "categoryId",
+        categoryId,
+        "categoryName",
+        categoryName
+      )
+    );
+  }
+}
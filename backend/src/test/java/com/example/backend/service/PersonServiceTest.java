@@ -12,18 +12,25 @@ import static org.junit.jupiter.api.Assertions.assertTrue;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import static org.mockito.ArgumentMatchers.any;
+import org.mockito.InOrder;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
+import static org.mockito.Mockito.inOrder;
 import static org.mockito.Mockito.never;
 import static org.mockito.Mockito.times;
 import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.verifyNoInteractions;
 import static org.mockito.Mockito.when;
 import org.mockito.MockitoAnnotations;
-import org.springframework.security.core.Authentication;
+import org.springframework.transaction.PlatformTransactionManager;
 
+import com.example.backend.cache.UserDataVersions;
 import com.example.backend.model.PersonEntity;
+import com.example.backend.model.SyncEntityType;
 import com.example.backend.model.UserEntity;
 import com.example.backend.repository.PersonRepository;
+import com.example.backend.security.AuthenticatedUser;
+import com.example.backend.sync.SyncService;
 
 public class PersonServiceTest {
 
@@ -34,7 +41,16 @@ public class PersonServiceTest {
   private UserService userService;
 
   @Mock
-  private Authentication authentication;
+  private AuthenticatedUser authenticatedUser;
+
+  @Mock
+  private UserDataVersions userDataVersions;
+
+  @Mock
+  private SyncService syncService;
+
+  @Mock
+  private PlatformTransactionManager transactionManager;
 
   @InjectMocks
   private PersonService personService;
@@ -50,6 +66,9 @@ public class PersonServiceTest {
     user.setUserId(1L);
     user.setUsername("testUser");
 
+    when(authenticatedUser.getUserId()).thenReturn(1L);
+    when(authenticatedUser.getUsername()).thenReturn("testUser");
+
     person =
       new PersonEntity(
         1L,
@@ -138,15 +157,10 @@ public class PersonServiceTest {
    */
   @Test
   public void testdeletePersonSuccess() {
-    when(authentication.getName()).thenReturn("testUser");
-    when(userService.getUserByUsername("testUser"))
-      .thenReturn(Optional.of(user));
+    when(userService.getUserReference(1L)).thenReturn(user);
     when(personRepository.save(any(PersonEntity.class))).thenReturn(person);
 
-    PersonEntity createdPerson = personService.createPerson(
-      person,
-      authentication
-    );
+    PersonEntity createdPerson = personService.createPerson(person);
 
     assertNotNull(createdPerson);
     assertEquals("testFirstName", createdPerson.getFirstName());
@@ -155,33 +169,28 @@ public class PersonServiceTest {
     assertEquals("testEmail@test.com", createdPerson.getEmail());
     assertEquals("123456", createdPerson.getPhone());
 
-    verify(authentication, times(1)).getName();
-    verify(userService, times(1)).getUserByUsername("testUser");
+    verify(userService, times(1)).getUserReference(1L);
+    verify(userService, never()).getUserById(any());
+    verify(userService, never()).getUserByUsername(any());
     verify(personRepository, times(1)).save(any(PersonEntity.class));
   }
 
 
   /**
-   * Testet das Erstellen einer Person, wenn der Benutzer nicht gefunden wird.
-   * Überprüft, dass eine RuntimeException geworfen wird, wenn der Benutzer für die angegebene ID nicht existiert.
+   * Testet, dass beim Erstellen einer Person der Benutzer nicht geladen,
+   * sondern nur als Referenz für den Fremdschlüssel gesetzt wird.
    */
   @Test
-  public void testdeletePerson_UserNotFound() {
-    when(authentication.getName()).thenReturn("testUser");
-    when(userService.getUserByUsername("testUser"))
-      .thenReturn(Optional.empty());
+  public void testCreatePerson_UsesUserReferenceWithoutLookup() {
+    when(userService.getUserReference(1L)).thenReturn(user);
+    when(personRepository.save(any(PersonEntity.class)))
+      .thenAnswer(invocation -> invocation.getArgument(0));
 
-    RuntimeException exception = assertThrows(
-      RuntimeException.class,
-      () -> {
-        personService.createPerson(person, authentication);
-      }
-    );
+    PersonEntity createdPerson = personService.createPerson(person);
 
-    assertEquals("User not found", exception.getMessage());
-    verify(authentication, times(1)).getName();
-    verify(userService, times(1)).getUserByUsername("testUser");
-    verify(personRepository, never()).save(any(PersonEntity.class));
+    assertEquals(user, createdPerson.getUser());
+    verify(userService, never()).getUserById(any());
+    verify(userDataVersions).bump(1L);
   }
 
     /**
@@ -190,11 +199,6 @@ public class PersonServiceTest {
    */
   @Test
   public void testUpdatePerson() {
-    when(authentication.getName()).thenReturn(user.getUsername());
-
-    when(userService.getUserByUsername(user.getUsername()))
-      .thenReturn(Optional.of(user));
-
     when(personRepository.findById(person.getPersonId()))
       .thenReturn(Optional.of(person));
 
@@ -210,8 +214,7 @@ public class PersonServiceTest {
 
     PersonEntity updatedPerson = personService.updatePerson(
       person.getPersonId(),
-      personDetails,
-      authentication
+      personDetails
     );
 
     assertNotNull(updatedPerson);
@@ -222,8 +225,7 @@ public class PersonServiceTest {
     assertEquals("987654321", updatedPerson.getPhone());
     assertEquals(user, updatedPerson.getUser());
 
-    verify(authentication, times(1)).getName();
-    verify(userService, times(1)).getUserByUsername(user.getUsername());
+    verifyNoInteractions(userService);
     verify(personRepository, times(1)).findById(person.getPersonId());
     verify(personRepository, times(1)).save(any(PersonEntity.class));
   }
@@ -234,30 +236,58 @@ public class PersonServiceTest {
    */
   @Test
   public void testUpdatePerson_NotFound() {
-    when(authentication.getName()).thenReturn(user.getUsername());
-
-    when(userService.getUserByUsername(user.getUsername()))
-      .thenReturn(Optional.of(user));
-
     when(personRepository.findById(person.getPersonId()))
       .thenReturn(Optional.empty());
 
     RuntimeException exception = assertThrows(
       RuntimeException.class,
       () -> {
-        personService.updatePerson(
-          person.getPersonId(),
-          person,
-          authentication
-        );
+        personService.updatePerson(person.getPersonId(), person);
       }
     );
 
     assertEquals("Person not found", exception.getMessage());
 
-    verify(authentication, times(1)).getName();
-    verify(userService, times(1)).getUserByUsername(user.getUsername());
     verify(personRepository, times(1)).findById(person.getPersonId());
     verify(personRepository, never()).save(any(PersonEntity.class));
   }
+
+  /**
+   * Testet das Aktualisieren einer Person, die einem anderen Benutzer gehört.
+   * Überprüft, dass eine RuntimeException geworfen und nichts gespeichert wird.
+   */
+  @Test
+  public void testUpdatePerson_NotOwner() {
+    when(authenticatedUser.getUserId()).thenReturn(2L);
+    when(personRepository.findById(person.getPersonId()))
+      .thenReturn(Optional.of(person));
+
+    assertThrows(
+      RuntimeException.class,
+      () -> personService.updatePerson(person.getPersonId(), new PersonEntity())
+    );
+
+    verify(personRepository, never()).save(any(PersonEntity.class));
+  }
+
+  /**
+   * Testet, dass Person und Ausleihen in derselben Transaktion vor dem
+   * Löschen protokolliert werden und die Datenversion erst danach steigt.
+   */
+  @Test
+  public void testDeletePerson_RecordsDeletionsBeforeDelete() {
+    PersonEntity deletable = new PersonEntity();
+    deletable.setPersonId(4L);
+    deletable.setUser(user);
+    when(personRepository.findById(4L)).thenReturn(Optional.of(deletable));
+
+    personService.deletePerson(4L);
+
+    InOrder order = inOrder(syncService, personRepository, transactionManager, userDataVersions);
+    order.verify(syncService).recordDeletions(1L, SyncEntityType.PERSON, List.of(4L));
+    order.verify(syncService).recordDeletions(1L, SyncEntityType.LOAN, List.of());
+    order.verify(personRepository).deleteById(4L);
+    order.verify(transactionManager).commit(null);
+    order.verify(userDataVersions).bump(1L);
+  }
 }
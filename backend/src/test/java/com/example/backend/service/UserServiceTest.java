@@ -20,12 +20,16 @@ import org.mockito.MockitoAnnotations;
 
 import com.example.backend.model.UserEntity;
 import com.example.backend.repository.UserRepository;
+import com.example.backend.security.CustomUserDetailsService;
 
 public class UserServiceTest {
 
   @Mock
   private UserRepository userRepository;
 
+  @Mock
+  private CustomUserDetailsService userDetailsService;
+
   @InjectMocks
   private UserService userService;
 
@@ -69,6 +73,7 @@ public class UserServiceTest {
     assertEquals("testUser", updatedUser.getUsername());
     verify(userRepository, times(1)).findById(1L);
     verify(userRepository, times(1)).save(user);
+    verify(userDetailsService, times(1)).evictUser(1L);
   }
 
    /**
@@ -82,6 +87,7 @@ public class UserServiceTest {
     userService.deleteUser(1L);
 
     verify(userRepository, times(1)).deleteById(1L);
+    verify(userDetailsService, times(1)).evictUser(1L);
   }
 
   /**
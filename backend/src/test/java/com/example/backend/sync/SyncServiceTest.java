@@ -0,0 +1,139 @@
+package com.example.backend.sync;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import static org.mockito.ArgumentMatchers.any;
+import org.mockito.Mock;
+import static org.mockito.Mockito.lenient;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import com.example.backend.dto.SyncChangesDTO;
+import com.example.backend.dto.SyncTombstoneDTO;
+import com.example.backend.model.DeletionLogEntity;
+import com.example.backend.model.SyncEntityType;
+import com.example.backend.repository.CategoryRepository;
+import com.example.backend.repository.DeletionLogRepository;
+import com.example.backend.repository.LoanRepository;
+import com.example.backend.repository.PersonRepository;
+import com.example.backend.security.AuthenticatedUser;
+import com.example.backend.service.MediaWithCategoriesLoader;
+
+@ExtendWith(MockitoExtension.class)
+class SyncServiceTest {
+
+  @Mock
+  private MediaWithCategoriesLoader mediaLoader;
+
+  @Mock
+  private LoanRepository loanRepository;
+
+  @Mock
+  private PersonRepository personRepository;
+
+  @Mock
+  private CategoryRepository categoryRepository;
+
+  @Mock
+  private DeletionLogRepository deletionLogRepository;
+
+  @Mock
+  private AuthenticatedUser authenticatedUser;
+
+  private SyncService syncService;
+
+  @BeforeEach
+  void setUp() {
+    lenient().when(authenticatedUser.getUserId()).thenReturn(1L);
+    syncService =
+      new SyncService(
+        mediaLoader,
+        loanRepository,
+        personRepository,
+        categoryRepository,
+        deletionLogRepository,
+        authenticatedUser,
+        5_000L,
+        30L
+      );
+  }
+
+  /**
+   * Testet, dass ohne Token der vollständige Stand geliefert wird.
+   */
+  @Test
+  void testGetChanges_WithoutToken_ReturnsFullState() {
+    SyncChangesDTO changes = syncService.getChanges(null);
+
+    assertTrue(changes.isFull());
+    LocalDateTime.parse(changes.getSyncToken());
+    verify(mediaLoader).loadByUserId(1L);
+    verify(loanRepository).findLoanDTOsByUserId(1L);
+    verify(personRepository).findPersonDTOsByUserId(1L);
+    verify(categoryRepository).findCategoryDTOsByUserId(1L);
+    verify(deletionLogRepository, never())
+      .findByUserIdAndDeletedAtGreaterThanEqual(any(), any());
+  }
+
+  /**
+   * Testet, dass mit Token nur Änderungen ab dem Token abzüglich des
+   * Überlappungsfensters abgefragt und Löschungen gemeldet werden.
+   */
+  @Test
+  void testGetChanges_WithToken_ReturnsDeltaWithTombstones() {
+    LocalDateTime token = LocalDateTime.now().minusMinutes(10);
+    LocalDateTime from = token.minusSeconds(5);
+    when(deletionLogRepository.findByUserIdAndDeletedAtGreaterThanEqual(1L, from))
+      .thenReturn(
+        List.of(new DeletionLogEntity(1L, SyncEntityType.PERSON, 4L, token))
+      );
+
+    SyncChangesDTO changes = syncService.getChanges(token.toString());
+
+    assertFalse(changes.isFull());
+    assertEquals(
+      List.of(new SyncTombstoneDTO(SyncEntityType.PERSON, 4L)),
+      changes.getDeleted()
+    );
+    verify(mediaLoader).loadChangedSince(1L, from);
+    verify(loanRepository).findLoanDTOsChangedSince(1L, from);
+    verify(personRepository).findPersonDTOsChangedSince(1L, from);
+    verify(categoryRepository).findCategoryDTOsChangedSince(1L, from);
+    verify(mediaLoader, never()).loadByUserId(any());
+  }
+
+  /**
+   * Testet, dass ein Token außerhalb der Aufbewahrungsfrist des Löschprotokolls
+   * zu einem vollständigen Stand führt.
+   */
+  @Test
+  void testGetChanges_WithExpiredToken_ReturnsFullState() {
+    String token = LocalDateTime.now().minusDays(31).toString();
+
+    SyncChangesDTO changes = syncService.getChanges(token);
+
+    assertTrue(changes.isFull());
+    verify(mediaLoader).loadByUserId(1L);
+  }
+
+  /**
+   * Testet, dass ein ungültiges Token abgewiesen wird.
+   */
+  @Test
+  void testGetChanges_WithInvalidToken_Throws() {
+    assertThrows(
+      IllegalArgumentException.class,
+      () -> syncService.getChanges("gestern")
+    );
+  }
+}
@@ -36,6 +36,7 @@ import DeleteIcon from "@mui/icons-material/Delete";
 import EditNoteTwoToneIcon from "@mui/icons-material/EditNoteTwoTone";
 import CameraAltIcon from "@mui/icons-material/CameraAlt";
 import CloseIcon from "@mui/icons-material/Close";
+import AddPhotoAlternateIcon from "@mui/icons-material/AddPhotoAlternate";
 
 import { useDispatch, useSelector } from "react-redux";
 import BarcodeScannerComponent from "react-qr-barcode-scanner";
@@ -49,7 +50,10 @@ import {
   updateMedia,
   deleteMedia,
   toggleFavorite,
+  fetchMediaNotes,
+  uploadCover,
 } from "../../redux/slices/mediaSlice";
+import api from "../../utils/api";
 import { fetchCategories } from "../../redux/slices/categorySlice";
 import { createLoan } from "../../redux/slices/loanSlice";
 import { fetchPersonsByUsername } from "../../redux/slices/personSlice";
@@ -213,9 +217,16 @@ const MediaTable = () => {
     setOpenDialog(false);
   };
 
-  const handleEditMedia = (id) => {
+  const handleEditMedia = async (id) => {
     const mediaToUpdate = media.find((m) => m.mediaId === id);
     if (mediaToUpdate) {
+      let notes;
+      try {
+        ({ notes } = await dispatch(fetchMediaNotes(id)).unwrap());
+      } catch (error) {
+        toast.error(`Failed to load notes: ${error}`);
+        return;
+      }
       const catIds = mediaToUpdate.categories?.map((c) => c.categoryId) || [];
       setNewMedia({
         title: mediaToUpdate.title || "",
@@ -225,7 +236,7 @@ const MediaTable = () => {
         isbn: mediaToUpdate.isbn || "",
         isFavorite: mediaToUpdate.isFavorite || false,
         mediaState: mediaToUpdate.mediaState || "AVAILABLE",
-        notes: mediaToUpdate.notes || "",
+        notes: notes || "",
         categories: catIds,
       });
       setEditingMediaId(id);
@@ -233,6 +244,16 @@ const MediaTable = () => {
     }
   };
 
+  const handleUploadCover = async (id, file) => {
+    if (!file) return;
+    try {
+      await dispatch(uploadCover({ mediaId: id, file })).unwrap();
+      toast.success("Cover uploaded");
+    } catch (error) {
+      toast.error(`Failed to upload cover: ${error}`);
+    }
+  };
+
   const handleDeleteMedia = async (id) => {
     try {
       await dispatch(deleteMedia(id)).unwrap();
@@ -398,11 +419,46 @@ const MediaTable = () => {
     isbn: m.isbn,
     isFavorite: m.isFavorite,
     mediaState: m.mediaState,
-    notes: m.notes,
+    notes: m.notesPreview ?? m.notes,
+    coverKey: m.coverKey,
     categories: m.categories || [],
   }));
 
   const columns = [
+    {
+      field: "coverKey",
+      headerName: "Cover",
+      width: 70,
+      sortable: false,
+      renderCell: (params) => {
+        if (!params.row) return null;
+        // Vorschaubilder sind inhaltsadressiert und werden vom Browser dauerhaft gecacht
+        return (
+          <IconButton component="label" aria-label="Upload Cover">
+            {params.row.coverKey ? (
+              <img
+                src={`${api.defaults.baseURL}/covers/${params.row.coverKey}/thumbnail`}
+                alt=""
+                loading="lazy"
+                width={40}
+                height={52}
+                style={{ objectFit: "cover" }}
+              />
+            ) : (
+              <AddPhotoAlternateIcon />
+            )}
+            <input
+              hidden
+              type="file"
+              accept="image/jpeg,image/png,image/gif"
+              onChange={(e) =>
+                handleUploadCover(params.row.id, e.target.files?.[0])
+              }
+            />
+          </IconButton>
+        );
+      },
+    },
     { field: "title", headerName: "Title", width: 150 },
     { field: "type", headerName: "Type", width: 80 },
     { field: "producer", headerName: "Producer", width: 140 },
@@ -5,7 +5,7 @@ import { motion } from "framer-motion";
 import { Book, Film, Music, Gamepad2 } from "lucide-react";
 import { ThemeContext } from "../../ThemeContext";
 import { useDispatch, useSelector } from "react-redux";
-import { fetchActiveLoans } from "../../redux/slices/loanSlice";
+import { fetchCalendarLoans } from "../../redux/slices/loanSlice";
 import "./BorrowedMediaCalendar.css";
 
 const getIcon = (type) => {
@@ -30,15 +30,34 @@ const mediaColors = {
   Image: "#EF4444",
 };
 
+// Format as YYYY-MM-DD in local time (toISOString would shift to UTC)
+const toIsoDate = (date) =>
+  `${date.getFullYear()}-${String(date.getMonth() + 1).padStart(2, "0")}-${String(
+    date.getDate()
+  ).padStart(2, "0")}`;
+
+// The month view shows up to a week of the previous and next month
+const visibleRange = (monthStart) => ({
+  from: toIsoDate(
+    new Date(monthStart.getFullYear(), monthStart.getMonth(), 1 - 7)
+  ),
+  to: toIsoDate(
+    new Date(monthStart.getFullYear(), monthStart.getMonth() + 1, 7)
+  ),
+});
+
 export default function BorrowedMediaCalendar() {
   const [value, setValue] = useState(new Date());
+  const [visibleMonth, setVisibleMonth] = useState(
+    () => new Date(new Date().getFullYear(), new Date().getMonth(), 1)
+  );
   const { mode } = useContext(ThemeContext);
   const dispatch = useDispatch();
-  const { activeLoans } = useSelector((state) => state.loans);
+  const { calendarLoans } = useSelector((state) => state.loans);
 
   useEffect(() => {
-    dispatch(fetchActiveLoans());
-  }, [dispatch]);
+    dispatch(fetchCalendarLoans(visibleRange(visibleMonth)));
+  }, [dispatch, visibleMonth]);
 
   const isDueDateLessThanThreeDays = (dueDate) => {
     const today = new Date();
@@ -55,7 +74,7 @@ export default function BorrowedMediaCalendar() {
   };
 
   const getMediaForDate = (date) => {
-    return activeLoans.filter(
+    return calendarLoans.filter(
       (loan) =>
         new Date(loan.dueDate).getDate() === date.getDate() &&
         new Date(loan.dueDate).getMonth() === date.getMonth() &&
@@ -76,6 +95,9 @@ export default function BorrowedMediaCalendar() {
       <Calendar
         onChange={setValue}
         value={value}
+        onActiveStartDateChange={({ activeStartDate, view }) =>
+          view === "month" && setVisibleMonth(activeStartDate)
+        }
         tileContent={({ date, view }) =>
           view === "month" ? (
             <div
@@ -70,10 +70,27 @@ export const fetchActiveLoans = createAsyncThunk(
   }
 );
 
+export const fetchCalendarLoans = createAsyncThunk(
+  "loans/fetchCalendarLoans",
+  async ({ from, to }, { rejectWithValue }) => {
+    try {
+      const response = await axios.get("/loans/calendar", {
+        params: { from, to },
+      });
+      return response.data;
+    } catch (error) {
+      const message = error.response?.data?.message || error.message;
+      console.error("Error fetching calendar loans:", message);
+      return rejectWithValue(message);
+    }
+  }
+);
+
 const initialState = {
   loans: [],
   overdueLoans: [],
   activeLoans: [],
+  calendarLoans: [],
   loading: false,
   error: null,
   success: false,
@@ -89,6 +106,7 @@ const loanSlice = createSlice({
         loans: [],
         overdueLoans: [],
         activeLoans: [],
+        calendarLoans: [],
         loading: false,
         error: null,
         success: false,
@@ -126,6 +144,12 @@ const loanSlice = createSlice({
         state.loading = false;
         state.error = action.payload || "Failed to fetch active loans.";
       })
+      .addCase(fetchCalendarLoans.fulfilled, (state, action) => {
+        state.calendarLoans = action.payload;
+      })
+      .addCase(fetchCalendarLoans.rejected, (state, action) => {
+        state.error = action.payload || "Failed to fetch calendar loans.";
+      })
       // createLoan
       .addCase(createLoan.pending, (state) => {
         state.loading = true;
@@ -16,6 +16,22 @@ export const fetchMedia = createAsyncThunk("media/fetchAllMedia", async () => {
   }
 });
 
+// Die Liste enthält nur den Anfang der Notizen; zum Bearbeiten werden
+// die vollständigen Notizen einzeln geladen.
+export const fetchMediaNotes = createAsyncThunk(
+  "media/fetchNotes",
+  async (mediaId, { rejectWithValue }) => {
+    try {
+      const response = await axios.get(`/media/${mediaId}/notes`);
+      return response.data; // { mediaId, notes }
+    } catch (error) {
+      return rejectWithValue(
+        error.response?.data?.message || "Failed to load notes."
+      );
+    }
+  }
+);
+
 export const assignCategoryToMedia = createAsyncThunk(
   "media/assignCategoryToMedia",
   async ({ mediaId, categoryId }, { rejectWithValue }) => {
@@ -97,6 +113,24 @@ export const toggleFavorite = createAsyncThunk(
   }
 );
 
+// Titelbild als rohe Bilddaten hochladen (kein Multipart)
+export const uploadCover = createAsyncThunk(
+  "media/uploadCover",
+  async ({ mediaId, file }, { rejectWithValue }) => {
+    try {
+      const response = await axios.put(`/media/${mediaId}/cover`, file, {
+        headers: { "Content-Type": file.type },
+        timeout: 60000, // Bilder bis 5 MB
+      });
+      return response.data; // { mediaId, coverKey }
+    } catch (error) {
+      return rejectWithValue(
+        error.response?.data?.message || "Failed to upload cover."
+      );
+    }
+  }
+);
+
 export const deleteMedia = createAsyncThunk(
   "media/delete",
   async (id, { rejectWithValue }) => {
@@ -197,6 +231,18 @@ const mediaSlice = createSlice({
         state.error = action.payload;
       })
 
+      // uploadCover
+      .addCase(uploadCover.fulfilled, (state, action) => {
+        const { mediaId, coverKey } = action.payload;
+        const index = state.media.findIndex((m) => m.mediaId === mediaId);
+        if (index !== -1) {
+          state.media[index].coverKey = coverKey;
+        }
+      })
+      .addCase(uploadCover.rejected, (state, action) => {
+        state.error = action.payload;
+      })
+
       // Assign Category
       .addCase(assignCategoryToMedia.pending, (state) => {
         state.loading = true;